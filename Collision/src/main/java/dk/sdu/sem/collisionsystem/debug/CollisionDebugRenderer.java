@@ -9,12 +9,16 @@ import dk.sdu.sem.commonsystem.NodeManager;
 import dk.sdu.sem.commonsystem.TransformComponent;
 import dk.sdu.sem.commonsystem.Vector2D;
 import dk.sdu.sem.commonsystem.debug.IColliderRenderer;
+import dk.sdu.sem.gamesystem.rendering.DebugDrawBuffer;
+import dk.sdu.sem.gamesystem.rendering.RetainedLayer;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  * Renders collider visualizations for debugging.
@@ -26,6 +30,13 @@ public class CollisionDebugRenderer implements IColliderRenderer {
 	private static final Color TRIGGER_COLOR = Color.YELLOW;
 	private static final Color TILEMAP_COLOR = Color.PURPLE;
 	private static final Color LABEL_COLOR = Color.WHITE;
+	private static final Color TILE_FILL_COLOR = TILEMAP_COLOR.deriveColor(0, 1, 1, 0.3);
+
+	// Renderers are loaded anew every frame, so shared state is static
+	private static final DebugDrawBuffer buffer = new DebugDrawBuffer();
+
+	// Solid tiles only change when a room changes, so each tilemap grid is drawn into an image once
+	private static final Map<GridShape, RetainedLayer> tilemapLayers = new WeakHashMap<>();
 
 	@Override
 	public void drawColliders(GraphicsContext gc) {
@@ -44,84 +55,78 @@ public class CollisionDebugRenderer implements IColliderRenderer {
 				return;
 			}
 
-			// Draw standard colliders
-			gc.setLineWidth(1.0);
 			gc.setGlobalAlpha(0.6);
 
-			for (ColliderNode node : colliderNodes) {
-				if (!NodeValidator.isColliderNodeValid(node)) continue;
-				drawCollider(gc, node.transform, node.collider);
-			}
-
-			// Draw tilemap colliders
+			// Draw tilemap colliders below the others
 			for (TilemapColliderNode node : tilemapNodes) {
 				if (!NodeValidator.isTilemapNodeValid(node)) continue;
 				drawTilemapCollider(gc, node);
 			}
 
+			// Draw standard colliders
+			for (ColliderNode node : colliderNodes) {
+				if (!NodeValidator.isColliderNodeValid(node)) continue;
+				drawCollider(node.transform, node.collider);
+			}
+			buffer.flush(gc);
+
 			// Reset alpha
 			gc.setGlobalAlpha(1.0);
 
 		} catch (Exception e) {
 			LOGGER.error("Error drawing colliders: " + e.getMessage());
 			e.printStackTrace();
+			buffer.clear();
 		}
 	}
 
-	private void drawCollider(GraphicsContext gc, TransformComponent transform, ColliderComponent collider) {
+	private void drawCollider(TransformComponent transform, ColliderComponent collider) {
 		Vector2D worldPos = transform.getPosition().add(collider.getOffset());
 		ICollisionShape shape = collider.getShape();
 
 		// Use different colors based on whether this is a trigger
-		if (collider.isTrigger()) {
-			gc.setStroke(TRIGGER_COLOR);
-			gc.setLineWidth(1.5);
-		} else {
-			gc.setStroke(COLLIDER_COLOR);
-			gc.setLineWidth(1.0);
-		}
+		Color color = collider.isTrigger() ? TRIGGER_COLOR : COLLIDER_COLOR;
+		float lineWidth = collider.isTrigger() ? 1.5f : 1.0f;
 
 		if (shape instanceof CircleShape) {
-			drawCircleShape(gc, worldPos, (CircleShape)shape);
+			drawCircleShape(worldPos, (CircleShape)shape, color, lineWidth);
 		}
 		else if (shape instanceof BoxShape) {
-			drawBoxShape(gc, worldPos, (BoxShape)shape);
+			drawBoxShape(worldPos, (BoxShape)shape, color, lineWidth);
 		}
 
 		// Draw collision layer information
-		String layerName = collider.getLayer().toString();
-		gc.setFill(LABEL_COLOR);
-		gc.fillText(layerName, worldPos.x(), worldPos.y() - 5);
+		buffer.text(collider.getLayer().toString(), worldPos.x(), worldPos.y() - 5, LABEL_COLOR);
 	}
 
-	private void drawCircleShape(GraphicsContext gc, Vector2D pos, CircleShape circle) {
+	private void drawCircleShape(Vector2D pos, CircleShape circle, Color color, float lineWidth) {
 		float x = pos.x();
 		float y = pos.y();
 		float radius = circle.getRadius();
 
-		gc.strokeOval(x - radius, y - radius, radius * 2, radius * 2);
+		buffer.circle(x, y, radius, color, lineWidth);
 
 		// Draw cross at center
 		float crossSize = 3;
-		gc.strokeLine(x - crossSize, y, x + crossSize, y);
-		gc.strokeLine(x, y - crossSize, x, y + crossSize);
+		buffer.line(x - crossSize, y, x + crossSize, y, color, lineWidth);
+		buffer.line(x, y - crossSize, x, y + crossSize, color, lineWidth);
 
 		// Draw metadata
-		gc.fillText("r = " + String.format("%.1f", radius), x + radius + 2, y);
+		buffer.text("r = " + String.format("%.1f", radius), x + radius + 2, y, LABEL_COLOR);
 	}
 
-	private void drawBoxShape(GraphicsContext gc, Vector2D pos, BoxShape box) {
+	private void drawBoxShape(Vector2D pos, BoxShape box, Color color, float lineWidth) {
 		float width = box.getWidth();
 		float height = box.getHeight();
 
-		gc.strokeRect(pos.x(), pos.y(), width, height);
+		buffer.rect(pos.x(), pos.y(), width, height, color, lineWidth);
 
 		// Draw diagonal cross to show center
-		gc.strokeLine(pos.x(), pos.y(), pos.x() + width, pos.y() + height);
-		gc.strokeLine(pos.x() + width, pos.y(), pos.x(), pos.y() + height);
+		buffer.line(pos.x(), pos.y(), pos.x() + width, pos.y() + height, color, lineWidth);
+		buffer.line(pos.x() + width, pos.y(), pos.x(), pos.y() + height, color, lineWidth);
 
 		// Draw size info
-		gc.fillText(String.format("%.1fx%.1f", width, height), pos.x(), pos.y() - 5);
+		buffer.text(String.format("%.1fx%.1f", width, height), pos.x(), pos.y() - 5, LABEL_COLOR);
 	}
 
 	private void drawTilemapCollider(GraphicsContext gc, TilemapColliderNode node) {
@@ -131,31 +136,44 @@ public class CollisionDebugRenderer implements IColliderRenderer {
 
 		// Get the grid shape from the tilemap collider
 		GridShape gridShape = node.getGridShape();
-		int[][] collisionFlags = gridShape.getCollisionFlags();
 		int width = gridShape.getGridWidth();
 		int height = gridShape.getGridHeight();
 
+		// The image only has to change when the solid tiles or the tile size change
+		long version = 31L * gridShape.getVersion() + tileSize;
+
+		RetainedLayer layer = tilemapLayers.computeIfAbsent(gridShape, shape -> new RetainedLayer());
+		if (layer.isStale(version)) {
+			layer.redraw(width * tileSize, height * tileSize, version,
+				layerGc -> drawSolidTiles(layerGc, gridShape, tileSize));
+		}
+		layer.draw(gc, position.x(), position.y());
+
 		// Draw layer info
-		gc.setFill(LABEL_COLOR);
-		gc.fillText("Layer: " + node.collider.getLayer().toString(), position.x(), position.y() - 10);
+		buffer.text("Layer: " + node.collider.getLayer().toString(), position.x(), position.y() - 10, LABEL_COLOR);
+	}
+
+	/**
+	 * Draws the grid boundary and solid tiles of a tilemap collider with its top-left corner at (0, 0).
+	 */
+	private void drawSolidTiles(GraphicsContext gc, GridShape gridShape, int tileSize) {
+		DebugDrawBuffer tiles = new DebugDrawBuffer();
+		int width = gridShape.getGridWidth();
+		int height = gridShape.getGridHeight();
 
 		// Draw grid boundaries
-		gc.setStroke(TILEMAP_COLOR);
-		gc.setLineWidth(0.5);
-		gc.strokeRect(position.x(), position.y(), width * tileSize, height * tileSize);
+		tiles.rect(0, 0, width * tileSize, height * tileSize, TILEMAP_COLOR, 0.5f);
 
 		// Draw solid tiles
-		gc.setFill(TILEMAP_COLOR.deriveColor(0, 1, 1, 0.3));
 		for (int x = 0; x < width; x++) {
 			for (int y = 0; y < height; y++) {
 				if (gridShape.isSolid(x, y)) {
-					float tileX = position.x() + (x * tileSize);
-					float tileY = position.y() + (y * tileSize);
-
-					gc.fillRect(tileX, tileY, tileSize, tileSize);
-					gc.strokeRect(tileX, tileY, tileSize, tileSize);
+					tiles.fillRect(x * tileSize, y * tileSize, tileSize, tileSize, TILE_FILL_COLOR);
+					tiles.rect(x * tileSize, y * tileSize, tileSize, tileSize, TILEMAP_COLOR, 0.5f);
 				}
 			}
 		}
+
+		tiles.flush(gc);
 	}
-}
\ No newline at end of file
+}
@@ -15,6 +15,12 @@ public interface IDebugController {
 	/** Toggle pathfinding visualization (F7) */
 	void togglePathfindingVisualization();
 
+	/** Toggle the render statistics overlay (F8) */
+	void toggleRenderStatistics();
+
+	/** Toggle the asset memory overlay (F9) */
+	void toggleAssetMemory();
+
 	/** Check if collider visualization is enabled */
 	boolean isColliderVisualizationEnabled();
 
@@ -24,6 +30,12 @@ public interface IDebugController {
 	/** Check if pathfinding visualization is enabled */
 	boolean isPathfindingVisualizationEnabled();
 
+	/** Check if the render statistics overlay is enabled */
+	boolean isRenderStatisticsEnabled();
+
+	/** Check if the asset memory overlay is enabled */
+	boolean isAssetMemoryEnabled();
+
 	/** Set collider visualization enabled state */
 	void setColliderVisualizationEnabled(boolean enabled);
 
@@ -33,6 +45,12 @@ public interface IDebugController {
 	/** Set pathfinding visualization enabled state */
 	void setPathfindingVisualizationEnabled(boolean enabled);
 
+	/** Set render statistics overlay enabled state */
+	void setRenderStatisticsEnabled(boolean enabled);
+
+	/** Set asset memory overlay enabled state */
+	void setAssetMemoryEnabled(boolean enabled);
+
 	/**
 	 * Gets the controller instance.
 	 * This provides consistent access to the implementation across modules.
@@ -1,6 +1,7 @@
 package dk.sdu.sem.commonsystem.debug;
 
 import dk.sdu.sem.commonsystem.Vector2D;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 /**
@@ -22,6 +23,9 @@ public interface IDebugDrawManager {
 	/** Draws text at the specified position */
 	void drawText(String text, Vector2D position, Color color, float duration);
 
+	/** Draws all current debug drawings */
+	void drawAll(GraphicsContext gc);
+
 	/** Updates debug drawings, removing expired elements */
 	void update(double deltaTime);
 
@@ -14,6 +14,9 @@ public class GridShape implements ICollisionShape {
 	private final int height;
 	private Bounds bounds;
 
+	// Bumped every time a tile changes, so cached views of the grid know when to update
+	private long version = 0;
+
 	/**
 	 * Creates a new grid shape for a tilemap.
 	 *
@@ -29,11 +32,27 @@ public class GridShape implements ICollisionShape {
 
 	/**
 	 * Gets the collision flags array.
+	 * Tiles changed through the array directly must be followed by {@link #markChanged()}.
 	 */
 	public int[][] getCollisionFlags() {
 		return collisionFlags;
 	}
 
+	/**
+	 * Gets the version of the solid tiles, which changes every time a tile changes.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Marks the solid tiles as changed after the collision flags array was written to directly.
+	 */
+	public void markChanged() {
+		version++;
+		bounds = null;
+	}
+
 	/**
 	 * Gets the tile size.
 	 */
@@ -78,7 +97,11 @@ public class GridShape implements ICollisionShape {
 	 */
 	public void setSolid(int x, int y, boolean solid) {
 		if (x >= 0 && y >= 0 && x < width && y < height) {
-			collisionFlags[x][y] = solid ? 1 : 0;
+			int flag = solid ? 1 : 0;
+			if (collisionFlags[x][y] != flag) {
+				collisionFlags[x][y] = flag;
+				markChanged();
+			}
 		}
 	}
 
@@ -8,6 +8,9 @@ public abstract class BaseInventory<T> implements IComponent {
 
 	private ArrayList<T> itemInventory = new ArrayList<>();
 
+	// Incremented whenever the contents change
+	private int version = 0;
+
 	/**
 	 * checks if the player has a certain active item
 	 * @param item
@@ -37,6 +40,7 @@ public abstract class BaseInventory<T> implements IComponent {
 	 */
 	public void addItem(T item) {
 		itemInventory.add(item);
+		version++;
 	}
 
 	/**
@@ -44,7 +48,8 @@ public abstract class BaseInventory<T> implements IComponent {
 	 * @param item
 	 */
 	public void removeItem(T item) {
-		itemInventory.remove(item);
+		if (itemInventory.remove(item))
+			version++;
 	}
 
 	/**
@@ -53,6 +58,7 @@ public abstract class BaseInventory<T> implements IComponent {
 	 */
 	public void removeItem(int index) {
 		itemInventory.remove(index);
+		version++;
 	}
 
 	/**
@@ -60,5 +66,13 @@ public abstract class BaseInventory<T> implements IComponent {
 	 */
 	public void removeAllItems() {
 		itemInventory.clear();
+		version++;
+	}
+
+	/**
+	 * Gets a counter that changes whenever the inventory contents change
+	 */
+	public int getVersion() {
+		return version;
 	}
 }
@@ -16,6 +16,7 @@ public abstract class Particle {
 	public float rotation() { return 0.0f; }
 	public Vector2D position() { return spawn; }
 	public Color color() { return Color.GREEN; }
+	public ParticleShape shape() { return ParticleShape.SQUARE; }
 
 	// helper functions
 	protected float clamp(float v, float min, float max) {
@@ -0,0 +1,11 @@
+package dk.sdu.sem.commonparticle;
+
+/**
+ * How a particle is rasterized.
+ */
+public enum ParticleShape {
+	// Solid square, rotated by the particle rotation
+	SQUARE,
+	// Round dot that fades out towards its edge
+	SOFT_DOT
+}
@@ -30,6 +30,9 @@ public class StatsComponent implements IComponent {
 
 	private float currentHealth;
 
+	// Incremented whenever any stat value may have changed
+	private int version = 0;
+
 	/**
 	 * Creates a new stats component with default values.
 	 */
@@ -249,6 +252,7 @@ public class StatsComponent implements IComponent {
 	public void setDefaultStat(StatType statType, float defaultValue) {
 		defaultStats.put(statType, defaultValue);
 		cacheDirty = true;
+		version++;
 	}
 
 	/**
@@ -317,6 +321,8 @@ public class StatsComponent implements IComponent {
 		if (oldValue == newValue)
 			return;
 
+		version++;
+
 		var listeners = statChangeListeners.get(statType);
 		if (listeners == null)
 			return;
@@ -326,6 +332,14 @@ public class StatsComponent implements IComponent {
 		}
 	}
 
+	/**
+	 * Gets a counter that changes whenever a stat value changes.
+	 * Lets UI and other observers skip work while nothing has changed.
+	 */
+	public int getVersion() {
+		return version;
+	}
+
 	/**
 	 * Convenience method to get current health.
 	 */
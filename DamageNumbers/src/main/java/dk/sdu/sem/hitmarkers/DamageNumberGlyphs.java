@@ -0,0 +1,94 @@
+package dk.sdu.sem.hitmarkers;
+
+import dk.sdu.sem.gamesystem.rendering.RenderStatistics;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+/**
+ * Pre-rendered images of the characters used by damage numbers.
+ * The glyphs are rendered once, so drawing a number is a few image draws
+ * without any text layout or string formatting.
+ */
+class DamageNumberGlyphs {
+	private static final String CHARACTERS = "0123456789.";
+	private static final int DOT = 10;
+
+	private static final double FONT_SIZE = 20;
+
+	private final WritableImage[] glyphs = new WritableImage[CHARACTERS.length()];
+
+	// Scratch space for the characters of the number being drawn
+	private final int[] digits = new int[12];
+
+	private double glyphHeight;
+
+	/**
+	 * Renders the glyphs. Must be called on the JavaFX application thread.
+	 */
+	private void ensureLoaded() {
+		if (glyphs[0] != null) {
+			return;
+		}
+
+		// Same look as the text nodes used before: bold white Impact with a black outline
+		Font font = Font.font("Impact", FontWeight.BOLD, FONT_SIZE);
+		SnapshotParameters parameters = new SnapshotParameters();
+		parameters.setFill(Color.TRANSPARENT);
+
+		for (int i = 0; i < CHARACTERS.length(); i++) {
+			Text text = new Text(String.valueOf(CHARACTERS.charAt(i)));
+			text.setFont(font);
+			text.setFill(Color.WHITE);
+			text.setStroke(Color.BLACK);
+			text.setStrokeWidth(1);
+
+			glyphs[i] = text.snapshot(parameters, null);
+			RenderStatistics.getInstance().countSnapshot();
+			glyphHeight = Math.max(glyphHeight, glyphs[i].getHeight());
+		}
+	}
+
+	/**
+	 * Draws a number with one decimal, centered on (x, y) and scaled around its center.
+	 *
+	 * @param tenths The value in tenths, so 12.5 is 125
+	 */
+	void draw(GraphicsContext gc, float x, float y, int tenths, float scale) {
+		if (scale <= 0) {
+			return;
+		}
+
+		ensureLoaded();
+
+		// Characters in reverse reading order: one decimal, dot, integer digits
+		int count = 0;
+		int value = Math.max(0, tenths);
+		digits[count++] = value % 10;
+		digits[count++] = DOT;
+		value /= 10;
+		do {
+			digits[count++] = value % 10;
+			value /= 10;
+		} while (value > 0 && count < digits.length);
+
+		double width = 0;
+		for (int i = 0; i < count; i++) {
+			width += glyphs[digits[i]].getWidth();
+		}
+
+		double drawX = x - width * scale / 2;
+		double drawY = y - glyphHeight * scale / 2;
+		for (int i = count - 1; i >= 0; i--) {
+			WritableImage glyph = glyphs[digits[i]];
+			double glyphWidth = glyph.getWidth() * scale;
+			gc.drawImage(glyph, drawX, drawY, glyphWidth, glyph.getHeight() * scale);
+			drawX += glyphWidth;
+		}
+		RenderStatistics.getInstance().countDrawImages(count);
+	}
+}
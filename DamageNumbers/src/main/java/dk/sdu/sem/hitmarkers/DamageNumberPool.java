@@ -0,0 +1,129 @@
+package dk.sdu.sem.hitmarkers;
+
+/**
+ * Fixed-capacity pool of damage numbers, stored in parallel arrays.
+ * Spawning reuses the oldest number when the pool is full, so hits never allocate.
+ * Numbers can be spawned from any thread; updating and drawing happen on the game loop.
+ */
+class DamageNumberPool {
+	// Grow in for the first 0.1 seconds, then shrink away until 0.3 seconds
+	static final float GROW_DURATION = 0.1f;
+	static final float LIFETIME = 0.3f;
+
+	private final float[] xs;
+	private final float[] ys;
+	private final float[] ages;
+	private final int[] values;
+	private final boolean[] active;
+
+	// Index of the slot that is overwritten when the pool is full
+	private int next = 0;
+	private int activeCount = 0;
+
+	DamageNumberPool(int capacity) {
+		xs = new float[capacity];
+		ys = new float[capacity];
+		ages = new float[capacity];
+		values = new int[capacity];
+		active = new boolean[capacity];
+	}
+
+	/**
+	 * Starts showing a damage number.
+	 *
+	 * @param tenths The damage in tenths, so 12.5 damage is 125
+	 */
+	synchronized void spawn(float x, float y, int tenths) {
+		int slot = -1;
+		for (int i = 0; i < active.length; i++) {
+			int candidate = (next + i) % active.length;
+			if (!active[candidate]) {
+				slot = candidate;
+				break;
+			}
+		}
+
+		// Full, so the oldest number makes room
+		if (slot < 0) {
+			slot = next;
+			activeCount--;
+		}
+
+		xs[slot] = x;
+		ys[slot] = y;
+		ages[slot] = 0;
+		values[slot] = tenths;
+		active[slot] = true;
+		activeCount++;
+		next = (slot + 1) % active.length;
+	}
+
+	/**
+	 * Ages all numbers and frees the ones that have finished.
+	 */
+	synchronized void update(float deltaTime) {
+		if (activeCount == 0) {
+			return;
+		}
+
+		for (int i = 0; i < active.length; i++) {
+			if (!active[i]) {
+				continue;
+			}
+
+			ages[i] += deltaTime;
+			if (ages[i] >= LIFETIME) {
+				active[i] = false;
+				activeCount--;
+			}
+		}
+	}
+
+	/**
+	 * Calls the visitor for each active number with its current scale.
+	 */
+	synchronized void forEachActive(Visitor visitor) {
+		if (activeCount == 0) {
+			return;
+		}
+
+		for (int i = 0; i < active.length; i++) {
+			if (active[i]) {
+				visitor.visit(xs[i], ys[i], values[i], scaleAt(ages[i]));
+			}
+		}
+	}
+
+	synchronized void clear() {
+		for (int i = 0; i < active.length; i++) {
+			active[i] = false;
+		}
+		activeCount = 0;
+		next = 0;
+	}
+
+	synchronized int getActiveCount() {
+		return activeCount;
+	}
+
+	int getCapacity() {
+		return active.length;
+	}
+
+	/**
+	 * Ease out while growing, ease in while shrinking.
+	 */
+	static float scaleAt(float age) {
+		if (age < GROW_DURATION) {
+			float t = age / GROW_DURATION;
+			return 1 - (1 - t) * (1 - t);
+		}
+
+		float t = Math.min(1, (age - GROW_DURATION) / (LIFETIME - GROW_DURATION));
+		return 1 - t * t;
+	}
+
+	interface Visitor {
+		void visit(float x, float y, int tenths, float scale);
+	}
+}
@@ -3,21 +3,21 @@ package dk.sdu.sem.hitmarkers;
 import dk.sdu.sem.commonstats.StatType;
 import dk.sdu.sem.commonstats.StatsComponent;
 import dk.sdu.sem.commonsystem.Vector2D;
-import dk.sdu.sem.gamesystem.Game;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
-import javafx.geometry.Point2D;
-import javafx.scene.text.Text;
-import javafx.util.Duration;
+import dk.sdu.sem.gamesystem.Time;
+import dk.sdu.sem.gamesystem.services.IGUIUpdate;
+import dk.sdu.sem.gamesystem.services.IUpdate;
+import javafx.scene.canvas.GraphicsContext;
 
 import java.util.*;
 import java.util.function.BiConsumer;
 
-public class HitMarkerSystem {
+public class HitMarkerSystem implements IUpdate, IGUIUpdate {
 	private static final HashMap<StatsComponent, BiConsumer<Float, Float>> registeredStats = new HashMap<>();
 
+	// Shared by the update and GUI instances created by the service loader
+	private static final DamageNumberPool pool = new DamageNumberPool(64);
+	private static final DamageNumberGlyphs glyphs = new DamageNumberGlyphs();
+
 	public static void registerNode(HitMarkerNode hitMarkerNode) {
 		if (registeredStats.containsKey(hitMarkerNode.stats))
 			return;
@@ -38,45 +38,23 @@ public class HitMarkerSystem {
 			return;
 
 		Vector2D position = node.transform.getPosition();
-		Point2D scenePos = Game.getInstance().getCanvas().localToScene(position.x(), position.y());
-
-		Text text = new Text(String.format("%.1f", oldValue - newValue));
+		int tenths = Math.round((oldValue - newValue) * 10);
 
-		text.setManaged(false);
-		text.setStyle(
-			"""
-			-fx-font-size: 20px;
-			-fx-stroke: black;
-			-fx-stroke-width: 1;
-			-fx-fill: #ffffff;
-			-fx-font-weight: bold;
-			-fx-font-family: Impact;
-			"""
+		// Drawn on the game canvas, so canvas scaling is applied already
+		pool.spawn(
+			position.x() + (float) (Math.random() * 40 - 20),
+			position.y() - 25,
+			tenths
 		);
-		float scale = (float) Game.getInstance().getCanvas().getScaleX();
-
-		text.setLayoutX(scenePos.getX() + (Math.random() * 40 - 20) * scale);
-		text.setLayoutY(scenePos.getY() - 25 * scale);
-		text.setScaleX(0);
-		text.setScaleY(0);
-
-		KeyValue scaleAnimX = new KeyValue(text.scaleXProperty(), scale, Interpolator.EASE_OUT);
-		KeyValue scaleAnimY = new KeyValue(text.scaleYProperty(), scale, Interpolator.EASE_OUT);
-
-		KeyFrame frame1 = new KeyFrame(Duration.seconds(0.1), scaleAnimX, scaleAnimY);
-
-		KeyValue scaleAnimX2 = new KeyValue(text.scaleXProperty(), 0, Interpolator.EASE_IN);
-		KeyValue scaleAnimY2 = new KeyValue(text.scaleYProperty(), 0, Interpolator.EASE_IN);
-
-		KeyFrame frame2 = new KeyFrame(Duration.seconds(0.3), scaleAnimX2, scaleAnimY2);
-
-		Timeline timeline = new Timeline(frame1, frame2);
-		timeline.setOnFinished(event -> {
-			Game.getInstance().getRoot().getChildren().remove(text);
-		});
+	}
 
-		Game.getInstance().getRoot().getChildren().add(text);
+	@Override
+	public void update() {
+		pool.update((float) Time.getDeltaTime());
+	}
 
-		timeline.play();
+	@Override
+	public void onGUI(GraphicsContext gc) {
+		pool.forEachActive((x, y, tenths, scale) -> glyphs.draw(gc, x, y, tenths, scale));
 	}
-}
\ No newline at end of file
+}
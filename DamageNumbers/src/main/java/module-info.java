@@ -1,5 +1,7 @@
 import dk.sdu.sem.commonsystem.INodeProvider;
 import dk.sdu.sem.commonsystem.Node;
+import dk.sdu.sem.gamesystem.services.IGUIUpdate;
+import dk.sdu.sem.gamesystem.services.IUpdate;
 
 module DamageNumbers {
 	requires CommonStats;
@@ -9,4 +11,6 @@ module DamageNumbers {
 
 	provides Node with dk.sdu.sem.hitmarkers.HitMarkerNode;
 	provides INodeProvider with dk.sdu.sem.hitmarkers.HitMarkerNode;
+	provides IUpdate with dk.sdu.sem.hitmarkers.HitMarkerSystem;
+	provides IGUIUpdate with dk.sdu.sem.hitmarkers.HitMarkerSystem;
 }
\ No newline at end of file
@@ -16,6 +16,8 @@ public class DebugController implements IDebugController {
 	private static final AtomicBoolean colliderVisualizationEnabled = new AtomicBoolean(false);
 	private static final AtomicBoolean raycastVisualizationEnabled = new AtomicBoolean(false);
 	private static final AtomicBoolean pathfindingVisualizationEnabled = new AtomicBoolean(false);
+	private static final AtomicBoolean renderStatisticsEnabled = new AtomicBoolean(false);
+	private static final AtomicBoolean assetMemoryEnabled = new AtomicBoolean(false);
 
 	public DebugController() {
 		LOGGER.debug("DebugController instance created - current state: " +
@@ -65,6 +67,24 @@ public class DebugController implements IDebugController {
 		notifyStateChanged();
 	}
 
+	@Override
+	public void toggleRenderStatistics() {
+		boolean newValue = !renderStatisticsEnabled.get();
+		renderStatisticsEnabled.set(newValue);
+		LOGGER.debug("Render statistics toggled to: " + newValue);
+
+		notifyStateChanged();
+	}
+
+	@Override
+	public void toggleAssetMemory() {
+		boolean newValue = !assetMemoryEnabled.get();
+		assetMemoryEnabled.set(newValue);
+		LOGGER.debug("Asset memory overlay toggled to: " + newValue);
+
+		notifyStateChanged();
+	}
+
 	@Override
 	public boolean isColliderVisualizationEnabled() {
 		return colliderVisualizationEnabled.get();
@@ -80,6 +100,16 @@ public class DebugController implements IDebugController {
 		return pathfindingVisualizationEnabled.get();
 	}
 
+	@Override
+	public boolean isRenderStatisticsEnabled() {
+		return renderStatisticsEnabled.get();
+	}
+
+	@Override
+	public boolean isAssetMemoryEnabled() {
+		return assetMemoryEnabled.get();
+	}
+
 	@Override
 	public void setColliderVisualizationEnabled(boolean enabled) {
 		if (colliderVisualizationEnabled.get() != enabled) {
@@ -113,6 +143,26 @@ public class DebugController implements IDebugController {
 		}
 	}
 
+	@Override
+	public void setRenderStatisticsEnabled(boolean enabled) {
+		if (renderStatisticsEnabled.get() != enabled) {
+			renderStatisticsEnabled.set(enabled);
+			LOGGER.debug("Render statistics set to: " + enabled);
+
+			notifyStateChanged();
+		}
+	}
+
+	@Override
+	public void setAssetMemoryEnabled(boolean enabled) {
+		if (assetMemoryEnabled.get() != enabled) {
+			assetMemoryEnabled.set(enabled);
+			LOGGER.debug("Asset memory overlay set to: " + enabled);
+
+			notifyStateChanged();
+		}
+	}
+
 	private void notifyStateChanged() {
 		LOGGER.debug("Notifying debug state change listeners. Current state: " +
 			"collider=" + colliderVisualizationEnabled.get() +
@@ -2,29 +2,46 @@ package dk.sdu.sem.debugrenderer;
 
 import dk.sdu.sem.commonsystem.Vector2D;
 import dk.sdu.sem.commonsystem.debug.IDebugDrawManager;
+import dk.sdu.sem.gamesystem.rendering.DebugDrawBuffer;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Manages primitive debug drawing operations like lines, circles, etc.
+ * Timed primitives are kept in parallel primitive arrays that are compacted in place as
+ * they expire, and are drawn through a {@link DebugDrawBuffer} batched by style.
  */
 public class DebugDrawManager implements IDebugDrawManager {
 	private static final Logging LOGGER = Logging.createLogger("DebugDrawManager", LoggingLevel.DEBUG);
 
+	private static final byte LINE = 0;
+	private static final byte CIRCLE = 1;
+	private static final byte RECT = 2;
+	private static final byte TEXT = 3;
+
+	private static final float RAY_WIDTH = 2.0f;
+	private static final float LINE_WIDTH = 1.5f;
+	private static final float SHAPE_WIDTH = 1.0f;
+	private static final float ARROW_SIZE = 5.0f;
+
 	// Use static fields for state and collections to ensure consistency across instances
 	private static final AtomicBoolean enabled = new AtomicBoolean(false);
-	private static final List<DebugRay> rays = new ArrayList<>();
-	private static final List<DebugLine> lines = new ArrayList<>();
-	private static final List<DebugCircle> circles = new ArrayList<>();
-	private static final List<DebugRect> rects = new ArrayList<>();
-	private static final List<DebugText> texts = new ArrayList<>();
+	private static final Object lock = new Object();
+	private static final DebugDrawBuffer drawBuffer = new DebugDrawBuffer();
+
+	private static int count = 0;
+	private static byte[] kinds = new byte[64];
+	private static float[] coords = new float[64 * 4];
+	private static float[] widths = new float[64];
+	private static float[] remainingTimes = new float[64];
+	private static Color[] colors = new Color[64];
+	private static Color[] fillColors = new Color[64];
+	private static String[] texts = new String[64];
 
 	public DebugDrawManager() {
 		LOGGER.debug("Creating DebugDrawManager instance. Enabled: " + enabled.get());
@@ -48,234 +65,167 @@ public class DebugDrawManager implements IDebugDrawManager {
 
 	@Override
 	public void clear() {
-		int total = rays.size() + lines.size() + circles.size() + rects.size() + texts.size();
-		if (total > 0) {
-			LOGGER.debug("Clearing debug drawings (" + total + " elements)");
-			rays.clear();
-			lines.clear();
-			circles.clear();
-			rects.clear();
-			texts.clear();
+		synchronized (lock) {
+			if (count > 0) {
+				LOGGER.debug("Clearing debug drawings (" + count + " elements)");
+				Arrays.fill(colors, 0, count, null);
+				Arrays.fill(fillColors, 0, count, null);
+				Arrays.fill(texts, 0, count, null);
+				count = 0;
+			}
 		}
 	}
 
+	/**
+	 * Counts down the remaining time of every element and removes expired ones,
+	 * moving the remaining elements down so the arrays stay packed.
+	 */
 	@Override
 	public void update(double deltaTime) {
 		if (!enabled.get()) return;
 
-		updateCollection(rays, deltaTime);
-		updateCollection(lines, deltaTime);
-		updateCollection(circles, deltaTime);
-		updateCollection(rects, deltaTime);
-		updateCollection(texts, deltaTime);
-	}
-
-	/**
-	 * Updates a collection of debug elements, removing expired ones.
-	 */
-	private <T extends DebugElement> void updateCollection(List<T> collection, double deltaTime) {
-		int elementsRemoved = 0;
-		Iterator<T> iterator = collection.iterator();
-		while (iterator.hasNext()) {
-			T element = iterator.next();
-			element.remainingTime -= (float) deltaTime;
-			if (element.remainingTime <= 0) {
-				iterator.remove();
-				elementsRemoved++;
+		synchronized (lock) {
+			int kept = 0;
+			for (int i = 0; i < count; i++) {
+				float remaining = remainingTimes[i] - (float) deltaTime;
+				if (remaining <= 0) {
+					continue;
+				}
+
+				if (kept != i) {
+					kinds[kept] = kinds[i];
+					System.arraycopy(coords, i * 4, coords, kept * 4, 4);
+					widths[kept] = widths[i];
+					colors[kept] = colors[i];
+					fillColors[kept] = fillColors[i];
+					texts[kept] = texts[i];
+				}
+				remainingTimes[kept] = remaining;
+				kept++;
 			}
-		}
 
-		if (elementsRemoved > 0) {
-			LOGGER.debug("Removed " + elementsRemoved + " elements from collection. Remaining: " + collection.size());
+			Arrays.fill(colors, kept, count, null);
+			Arrays.fill(fillColors, kept, count, null);
+			Arrays.fill(texts, kept, count, null);
+			count = kept;
 		}
 	}
 
 	@Override
 	public void drawRay(Vector2D start, Vector2D direction, Color color, float duration) {
 		if (!enabled.get()) return;
-		rays.add(new DebugRay(start, direction, color, duration));
+
+		Vector2D end = start.add(direction);
+
+		synchronized (lock) {
+			add(LINE, start.x(), start.y(), end.x(), end.y(), RAY_WIDTH, color, null, null, duration);
+
+			// Arrowhead to indicate direction
+			Vector2D dir = direction.normalize();
+			Vector2D perpendicular = new Vector2D(-dir.y(), dir.x());
+			Vector2D back = end.subtract(dir.scale(ARROW_SIZE));
+			Vector2D side = perpendicular.scale(ARROW_SIZE * 0.5f);
+
+			add(LINE, end.x(), end.y(), back.x() + side.x(), back.y() + side.y(), RAY_WIDTH, color, null, null, duration);
+			add(LINE, end.x(), end.y(), back.x() - side.x(), back.y() - side.y(), RAY_WIDTH, color, null, null, duration);
+		}
 	}
 
 	@Override
 	public void drawLine(Vector2D start, Vector2D end, Color color, float duration) {
 		if (!enabled.get()) return;
-		lines.add(new DebugLine(start, end, color, duration));
+
+		synchronized (lock) {
+			add(LINE, start.x(), start.y(), end.x(), end.y(), LINE_WIDTH, color, null, null, duration);
+		}
 	}
 
 	@Override
 	public void drawCircle(Vector2D center, float radius, Color color, float duration) {
 		if (!enabled.get()) return;
-		circles.add(new DebugCircle(center, radius, color, duration));
+
+		synchronized (lock) {
+			add(CIRCLE, center.x(), center.y(), radius, 0, SHAPE_WIDTH, color, translucent(color), null, duration);
+		}
 	}
 
 	@Override
 	public void drawRect(Vector2D position, float width, float height, Color color, float duration) {
 		if (!enabled.get()) return;
-		rects.add(new DebugRect(position, width, height, color, duration));
+
+		synchronized (lock) {
+			add(RECT, position.x(), position.y(), width, height, SHAPE_WIDTH, color, translucent(color), null, duration);
+		}
 	}
 
 	@Override
 	public void drawText(String text, Vector2D position, Color color, float duration) {
 		if (!enabled.get()) return;
-		texts.add(new DebugText(text, position, color, duration));
+
+		synchronized (lock) {
+			add(TEXT, position.x(), position.y(), 0, 0, 0, color, null, text, duration);
+		}
 	}
 
 	/**
 	 * Draws all debug elements using the provided graphics context.
 	 */
+	@Override
 	public void drawAll(GraphicsContext gc) {
 		if (!enabled.get()) return;
 
-		for (DebugRay ray : rays) ray.draw(gc);
-		for (DebugLine line : lines) line.draw(gc);
-		for (DebugCircle circle : circles) circle.draw(gc);
-		for (DebugRect rect : rects) rect.draw(gc);
-		for (DebugText text : texts) text.draw(gc);
-	}
-
-	// Base class for all debug elements
-	private abstract static class DebugElement {
-		protected final Color color;
-		protected float remainingTime;
-		protected final float duration;
-
-		protected DebugElement(Color color, float duration) {
-			this.color = color;
-			this.duration = duration;
-			this.remainingTime = duration;
-		}
-
-		/**
-		 * Draws this element using the graphics context.
-		 */
-		abstract void draw(GraphicsContext gc);
-	}
-
-	/**
-	 * Ray debug element
-	 */
-	private static class DebugRay extends DebugElement {
-		private final Vector2D start;
-		private final Vector2D direction;
-
-		public DebugRay(Vector2D start, Vector2D direction, Color color, float duration) {
-			super(color, duration);
-			this.start = start;
-			this.direction = direction;
-		}
-
-		@Override
-		void draw(GraphicsContext gc) {
-			Vector2D end = start.add(direction);
-			gc.setStroke(color);
-			gc.setLineWidth(2.0);
-			gc.strokeLine(start.x(), start.y(), end.x(), end.y());
-
-			// Draw arrowhead to indicate direction
-			double arrowSize = 5.0;
-			Vector2D dir = direction.normalize();
-			Vector2D perpendicular = new Vector2D(-dir.y(), dir.x());
-
-			Vector2D arrowLeft = end.subtract(dir.scale((float)arrowSize))
-				.add(perpendicular.scale((float)arrowSize * 0.5f));
-			Vector2D arrowRight = end.subtract(dir.scale((float)arrowSize))
-				.subtract(perpendicular.scale((float)arrowSize * 0.5f));
-
-			gc.strokeLine(end.x(), end.y(), arrowLeft.x(), arrowLeft.y());
-			gc.strokeLine(end.x(), end.y(), arrowRight.x(), arrowRight.y());
-		}
-	}
-
-	/**
-	 * Line debug element
-	 */
-	private static class DebugLine extends DebugElement {
-		private final Vector2D start;
-		private final Vector2D end;
-
-		public DebugLine(Vector2D start, Vector2D end, Color color, float duration) {
-			super(color, duration);
-			this.start = start;
-			this.end = end;
-		}
-
-		@Override
-		void draw(GraphicsContext gc) {
-			gc.setStroke(color);
-			gc.setLineWidth(1.5);
-			gc.strokeLine(start.x(), start.y(), end.x(), end.y());
-		}
-	}
-
-	/**
-	 * Circle debug element
-	 */
-	private static class DebugCircle extends DebugElement {
-		private final Vector2D center;
-		private final float radius;
-
-		public DebugCircle(Vector2D center, float radius, Color color, float duration) {
-			super(color, duration);
-			this.center = center;
-			this.radius = radius;
+		synchronized (lock) {
+			for (int i = 0; i < count; i++) {
+				int c = i * 4;
+				switch (kinds[i]) {
+					case LINE:
+						drawBuffer.line(coords[c], coords[c + 1], coords[c + 2], coords[c + 3], colors[i], widths[i]);
+						break;
+					case CIRCLE:
+						drawBuffer.fillCircle(coords[c], coords[c + 1], coords[c + 2], fillColors[i]);
+						drawBuffer.circle(coords[c], coords[c + 1], coords[c + 2], colors[i], widths[i]);
+						break;
+					case RECT:
+						drawBuffer.fillRect(coords[c], coords[c + 1], coords[c + 2], coords[c + 3], fillColors[i]);
+						drawBuffer.rect(coords[c], coords[c + 1], coords[c + 2], coords[c + 3], colors[i], widths[i]);
+						break;
+					case TEXT:
+						drawBuffer.text(texts[i], coords[c], coords[c + 1], colors[i]);
+						break;
+				}
+			}
 		}
 
-		@Override
-		void draw(GraphicsContext gc) {
-			gc.setStroke(color);
-			gc.setFill(color.deriveColor(0, 1, 1, 0.2));
-
-			double x = center.x() - radius;
-			double y = center.y() - radius;
-			double diameter = radius * 2;
-
-			gc.fillOval(x, y, diameter, diameter);
-			gc.strokeOval(x, y, diameter, diameter);
-		}
+		drawBuffer.flush(gc);
 	}
 
-	/**
-	 * Rectangle debug element
-	 */
-	private static class DebugRect extends DebugElement {
-		private final Vector2D position;
-		private final float width;
-		private final float height;
-
-		public DebugRect(Vector2D position, float width, float height, Color color, float duration) {
-			super(color, duration);
-			this.position = position;
-			this.width = width;
-			this.height = height;
+	private static void add(byte kind, float a, float b, float c, float d, float width,
+							Color color, Color fillColor, String text, float duration) {
+		if (count == kinds.length) {
+			int capacity = count * 2;
+			kinds = Arrays.copyOf(kinds, capacity);
+			coords = Arrays.copyOf(coords, capacity * 4);
+			widths = Arrays.copyOf(widths, capacity);
+			remainingTimes = Arrays.copyOf(remainingTimes, capacity);
+			colors = Arrays.copyOf(colors, capacity);
+			fillColors = Arrays.copyOf(fillColors, capacity);
+			texts = Arrays.copyOf(texts, capacity);
 		}
 
-		@Override
-		void draw(GraphicsContext gc) {
-			gc.setStroke(color);
-			gc.setFill(color.deriveColor(0, 1, 1, 0.2));
-
-			gc.fillRect(position.x(), position.y(), width, height);
-			gc.strokeRect(position.x(), position.y(), width, height);
-		}
+		int i = count++;
+		kinds[i] = kind;
+		coords[i * 4] = a;
+		coords[i * 4 + 1] = b;
+		coords[i * 4 + 2] = c;
+		coords[i * 4 + 3] = d;
+		widths[i] = width;
+		remainingTimes[i] = duration;
+		colors[i] = color;
+		fillColors[i] = fillColor;
+		texts[i] = text;
 	}
 
-	/**
-	 * Text debug element
-	 */
-	private static class DebugText extends DebugElement {
-		private final String text;
-		private final Vector2D position;
-
-		public DebugText(String text, Vector2D position, Color color, float duration) {
-			super(color, duration);
-			this.text = text;
-			this.position = position;
-		}
-
-		@Override
-		void draw(GraphicsContext gc) {
-			gc.setFill(color);
-			gc.fillText(text, position.x(), position.y());
-		}
+	private static Color translucent(Color color) {
+		return color.deriveColor(0, 1, 1, 0.2);
 	}
-}
\ No newline at end of file
+}
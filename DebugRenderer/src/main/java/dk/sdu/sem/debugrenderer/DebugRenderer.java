@@ -1,13 +1,21 @@
 package dk.sdu.sem.debugrenderer;
 
 import dk.sdu.sem.commonsystem.debug.*;
+import dk.sdu.sem.gamesystem.GameConstants;
 import dk.sdu.sem.gamesystem.Time;
+import dk.sdu.sem.gamesystem.assets.managers.AssetMemoryReport;
+import dk.sdu.sem.gamesystem.assets.managers.AssetUsage;
+import dk.sdu.sem.gamesystem.assets.managers.SceneAssetManager;
+import dk.sdu.sem.gamesystem.rendering.RenderStatistics;
 import dk.sdu.sem.gamesystem.services.IGUIUpdate;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
 
+import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
 
 public class DebugRenderer implements IGUIUpdate {
@@ -15,6 +23,19 @@ public class DebugRenderer implements IGUIUpdate {
 	private static int frameCounter = 0;
 	private static final int LOG_INTERVAL = 60; // Log every 60 frames
 
+	private static final Font STATS_FONT = Font.font("Courier New", 12);
+	private static final Color STATS_BACKGROUND = Color.rgb(0, 0, 0, 0.6);
+	private static final double STATS_WIDTH = 170;
+	private static final double STATS_LINE_HEIGHT = 14;
+
+	private static final double ASSETS_WIDTH = 330;
+	private static final int ASSETS_LISTED = 5;
+	private static final int ASSETS_REFRESH_INTERVAL = 30; // Frames between memory reports
+	private static final Color LEAK_COLOR = Color.rgb(255, 120, 120);
+
+	// The report walks every asset, so it is only refreshed now and then
+	private static AssetMemoryReport assetReport;
+
 	private final IDebugController controller;
 	private final IDebugDrawManager drawManager;
 
@@ -58,9 +79,9 @@ public class DebugRenderer implements IGUIUpdate {
 				gc.fillText("Debug Visualization Active", 10, 10);
 			}
 
-			// Render other debug drawings before?
+			// Timed primitives such as raycasts are drawn first, below the visualizers
 			if (drawManager.isEnabled()) {
-				//drawManager.drawAll(gc);
+				drawManager.drawAll(gc);
 			}
 
 			// Then, render visualizers based on enabled state
@@ -68,6 +89,19 @@ public class DebugRenderer implements IGUIUpdate {
 				renderVisualizers(gc, shouldLog);
 			}
 
+			if (controller.isRenderStatisticsEnabled()) {
+				renderStatisticsOverlay(gc);
+			}
+
+			if (controller.isAssetMemoryEnabled()) {
+				if (assetReport == null || frameCounter % ASSETS_REFRESH_INTERVAL == 0) {
+					assetReport = SceneAssetManager.getInstance().createMemoryReport();
+				}
+				renderAssetMemoryOverlay(gc, assetReport);
+			} else {
+				assetReport = null;
+			}
+
 		} catch (Exception e) {
 			LOGGER.error("Error in DebugRenderer.onGUI: " + e.getMessage());
 			e.printStackTrace();
@@ -144,4 +178,100 @@ public class DebugRenderer implements IGUIUpdate {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Draws the render counters of the last complete frame in the top-right corner.
+	 */
+	private void renderStatisticsOverlay(GraphicsContext gc) {
+		RenderStatistics statistics = RenderStatistics.getInstance();
+
+		double x = GameConstants.WORLD_SIZE.x() * GameConstants.TILE_SIZE - STATS_WIDTH - 10;
+		double y = 10;
+
+		gc.setFill(STATS_BACKGROUND);
+		gc.fillRect(x, y, STATS_WIDTH, STATS_LINE_HEIGHT * 8 + 8);
+
+		gc.setFill(Color.WHITE);
+		gc.setFont(STATS_FONT);
+		double textX = x + 6;
+		double textY = y + STATS_LINE_HEIGHT;
+		gc.fillText("drawImage      " + statistics.getDrawImageCalls(), textX, textY);
+		gc.fillText("save/restore   " + statistics.getSaveRestorePairs(), textX, textY += STATS_LINE_HEIGHT);
+		gc.fillText("light blits    " + statistics.getLightComposites(), textX, textY += STATS_LINE_HEIGHT);
+		gc.fillText("snapshots      " + statistics.getSnapshots(), textX, textY += STATS_LINE_HEIGHT);
+		gc.fillText("drawn          " + statistics.getDrawnRenderables(), textX, textY += STATS_LINE_HEIGHT);
+		gc.fillText("culled         " + statistics.getCulledRenderables(), textX, textY += STATS_LINE_HEIGHT);
+		gc.fillText("tilemap builds " + statistics.getTilemapCacheRebuilds(), textX, textY += STATS_LINE_HEIGHT);
+		gc.fillText("layer redraws  " + statistics.getLayerRedraws(), textX, textY += STATS_LINE_HEIGHT);
+	}
+
+	/**
+	 * Draws asset memory use by type and scene, the largest assets and suspected leaks in the bottom-left corner.
+	 */
+	private void renderAssetMemoryOverlay(GraphicsContext gc, AssetMemoryReport report) {
+		List<AssetMemoryReport.Leak> leaks = report.getLeaks();
+		List<AssetUsage> evicted = report.getEvictedReachable();
+		List<AssetUsage> largest = report.getAssets().subList(0, Math.min(ASSETS_LISTED, report.getAssets().size()));
+		int leakLines = Math.min(ASSETS_LISTED, leaks.size());
+		int evictedLines = Math.min(ASSETS_LISTED, evicted.size());
+
+		int lines = 3 + report.getBytesByType().size() + report.getBytesByScene().size() + largest.size()
+			+ (leaks.isEmpty() ? 0 : 1 + leakLines) + (evicted.isEmpty() ? 0 : 1 + evictedLines);
+
+		double height = STATS_LINE_HEIGHT * (lines + 1) + 8;
+		double x = 10;
+		double y = GameConstants.WORLD_SIZE.y() * GameConstants.TILE_SIZE - height - 10;
+
+		gc.setFill(STATS_BACKGROUND);
+		gc.fillRect(x, y, ASSETS_WIDTH, height);
+
+		gc.setFont(STATS_FONT);
+		gc.setFill(Color.WHITE);
+		double textX = x + 6;
+		double textY = y + STATS_LINE_HEIGHT;
+
+		gc.fillText(String.format("assets %d  %s / %s", report.getAssets().size(),
+			AssetMemoryReport.formatBytes(report.getResidentBytes()),
+			AssetMemoryReport.formatBytes(report.getMemoryBudget())), textX, textY);
+
+		gc.fillText("by type", textX, textY += STATS_LINE_HEIGHT);
+		for (Map.Entry<String, Long> type : report.getBytesByType().entrySet()) {
+			gc.fillText(String.format("  %-18s %s", type.getKey(), AssetMemoryReport.formatBytes(type.getValue())),
+				textX, textY += STATS_LINE_HEIGHT);
+		}
+
+		gc.fillText("by scene", textX, textY += STATS_LINE_HEIGHT);
+		for (Map.Entry<String, Long> scene : report.getBytesByScene().entrySet()) {
+			gc.fillText(String.format("  %-18s %s", scene.getKey(), AssetMemoryReport.formatBytes(scene.getValue())),
+				textX, textY += STATS_LINE_HEIGHT);
+		}
+
+		gc.fillText("largest", textX, textY += STATS_LINE_HEIGHT);
+		for (AssetUsage asset : largest) {
+			gc.fillText(String.format("  %-28s %s", shorten(asset.assetId()), AssetMemoryReport.formatBytes(asset.bytes())),
+				textX, textY += STATS_LINE_HEIGHT);
+		}
+
+		gc.setFill(LEAK_COLOR);
+		if (!leaks.isEmpty()) {
+			gc.fillText("referenced after unload: " + leaks.size(), textX, textY += STATS_LINE_HEIGHT);
+			for (AssetMemoryReport.Leak leak : leaks.subList(0, leakLines)) {
+				gc.fillText(String.format("  %-28s %s", shorten(leak.asset().assetId()), leak.sceneName()),
+					textX, textY += STATS_LINE_HEIGHT);
+			}
+		}
+
+		if (!evicted.isEmpty()) {
+			gc.fillText(String.format("evicted but reachable: %d (%s)", evicted.size(),
+				AssetMemoryReport.formatBytes(report.getEvictedReachableBytes())), textX, textY += STATS_LINE_HEIGHT);
+			for (AssetUsage asset : evicted.subList(0, evictedLines)) {
+				gc.fillText(String.format("  %-28s %s", shorten(asset.assetId()), AssetMemoryReport.formatBytes(asset.bytes())),
+					textX, textY += STATS_LINE_HEIGHT);
+			}
+		}
+	}
+
+	private static String shorten(String assetId) {
+		return assetId.length() <= 28 ? assetId : "..." + assetId.substring(assetId.length() - 25);
+	}
+}
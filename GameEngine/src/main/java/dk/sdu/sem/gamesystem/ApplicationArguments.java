@@ -7,6 +7,27 @@ import java.util.List;
 public class ApplicationArguments {
 	public static String[] originalArguments;
 
+	// Frame-rate cap of the game loop, 0 for no cap
+	public static int targetFps = 60;
+
+	// Megabytes of decoded images kept resident before unused ones are evicted
+	public static int assetBudgetMB = 256;
+
+	// Packed asset bundle read before the classpath, null to only read from the classpath
+	public static String assetBundle = null;
+
+	// Folder of decoded images kept between launches, null to always decode from scratch
+	public static String imageCache = null;
+
+	// Megabytes the image cache may occupy before the least recently used entries are deleted
+	public static int imageCacheMB = 512;
+
+	// Folder the software renderer writes frames to as PNG, null to not run it
+	public static String frameDump = null;
+
+	// Only every n-th frame is written to the frame dump folder
+	public static int frameDumpInterval = 60;
+
 	public static void parse(String[] args) {
 		originalArguments = args;
 
@@ -19,6 +40,34 @@ public class ApplicationArguments {
 					String[] loggers = value.split(",");
 					Logging.only(List.of(loggers));
 				}
+
+				if (key.equals("fps")) {
+					targetFps = Math.max(0, Integer.parseInt(value));
+				}
+
+				if (key.equals("assetbudget")) {
+					assetBudgetMB = Math.max(0, Integer.parseInt(value));
+				}
+
+				if (key.equals("bundle")) {
+					assetBundle = value;
+				}
+
+				if (key.equals("imagecache")) {
+					imageCache = value;
+				}
+
+				if (key.equals("imagecachesize")) {
+					imageCacheMB = Math.max(1, Integer.parseInt(value));
+				}
+
+				if (key.equals("framedump")) {
+					frameDump = value;
+				}
+
+				if (key.equals("framedumpinterval")) {
+					frameDumpInterval = Math.max(1, Integer.parseInt(value));
+				}
 			} catch (Exception error) {}
 		}
 	}
@@ -0,0 +1,95 @@
+package dk.sdu.sem.gamesystem;
+
+/**
+ * Decides which animation pulses run a frame, and how much time each frame advances.
+ * Pulses arriving sooner than the target frame time are skipped, and the delta time
+ * is clamped and smoothed so a single late pulse does not cause a jump.
+ */
+public class FramePacer {
+	// Frames longer than this, such as after a pause or a hitch, only advance by this much
+	static final double MAX_DELTA_TIME = 0.1;
+
+	// How much of the difference to the latest frame time is applied to the smoothed delta
+	static final double SMOOTHING = 0.25;
+
+	// Pulses this close to the target are still run, as pulse timing jitters slightly
+	private static final long TOLERANCE_NANOS = 1_000_000;
+
+	private long targetFrameNanos;
+	private long lastFrameTime = -1;
+	private long nextFrameTime = 0;
+	private double deltaTime = 0.0;
+
+	/**
+	 * @param targetFps Frames per second to cap at, or 0 for no cap
+	 */
+	public FramePacer(int targetFps) {
+		setTargetFps(targetFps);
+	}
+
+	/**
+	 * Sets the frame-rate cap.
+	 *
+	 * @param targetFps Frames per second to cap at, or 0 for no cap
+	 */
+	public void setTargetFps(int targetFps) {
+		if (targetFps < 0) {
+			throw new IllegalArgumentException("Target FPS cannot be negative: " + targetFps);
+		}
+		targetFrameNanos = targetFps == 0 ? 0 : 1_000_000_000L / targetFps;
+	}
+
+	public int getTargetFps() {
+		return targetFrameNanos == 0 ? 0 : (int) Math.round(1_000_000_000.0 / targetFrameNanos);
+	}
+
+	/**
+	 * Called on every pulse.
+	 *
+	 * @param now Pulse time in nanoseconds
+	 * @return True if a frame should run, in which case {@link #getDeltaTime()} holds its delta time
+	 */
+	public boolean beginFrame(long now) {
+		if (lastFrameTime < 0) {
+			lastFrameTime = now;
+			nextFrameTime = now + targetFrameNanos;
+			deltaTime = targetFrameNanos > 0 ? targetFrameNanos / 1_000_000_000.0 : 0.0;
+			return true;
+		}
+
+		if (targetFrameNanos > 0) {
+			if (now < nextFrameTime - TOLERANCE_NANOS) {
+				return false;
+			}
+
+			// Deadlines advance by whole frames, so pulse rates that are not a multiple of the
+			// target still average out to it. After falling behind, pacing starts over from now
+			nextFrameTime += targetFrameNanos;
+			if (now - nextFrameTime > targetFrameNanos) {
+				nextFrameTime = now + targetFrameNanos;
+			}
+		}
+
+		long elapsed = now - lastFrameTime;
+		lastFrameTime = now;
+
+		double frameTime = Math.min(MAX_DELTA_TIME, Math.max(0.0, elapsed / 1_000_000_000.0));
+		deltaTime = deltaTime == 0.0 ? frameTime : deltaTime + (frameTime - deltaTime) * SMOOTHING;
+		return true;
+	}
+
+	/**
+	 * Returns the delta time of the current frame in seconds.
+	 */
+	public double getDeltaTime() {
+		return deltaTime;
+	}
+
+	/**
+	 * Forgets the last frame, so the next pulse starts fresh.
+	 */
+	public void reset() {
+		lastFrameTime = -1;
+		deltaTime = 0.0;
+	}
+}
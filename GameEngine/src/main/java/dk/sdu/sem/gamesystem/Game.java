@@ -9,39 +9,55 @@ import dk.sdu.sem.commonsystem.Vector2D;
 import dk.sdu.sem.commonsystem.debug.IDebugController;
 import dk.sdu.sem.commonsystem.ui.IMenuSPI;
 import dk.sdu.sem.enemy.IEnemyFactory;
+import dk.sdu.sem.gamesystem.assets.AssetBundle;
+import dk.sdu.sem.gamesystem.assets.DecodedImageCache;
 import dk.sdu.sem.gamesystem.assets.AssetFacade;
+import dk.sdu.sem.gamesystem.assets.managers.AssetManager;
 import dk.sdu.sem.gamesystem.input.Input;
 import dk.sdu.sem.gamesystem.input.Key;
+import dk.sdu.sem.gamesystem.rendering.CanvasLayers;
 import dk.sdu.sem.gamesystem.rendering.FXRenderSystem;
+import dk.sdu.sem.gamesystem.rendering.IRenderSystem;
+import dk.sdu.sem.gamesystem.rendering.ImagePixelStore;
+import dk.sdu.sem.gamesystem.rendering.SoftwareRenderSystem;
 import dk.sdu.sem.gamesystem.rendering.SpriteMap;
 import dk.sdu.sem.gamesystem.scenes.SceneManager;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 import dk.sdu.sem.player.IPlayerFactory;
 import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
+import javafx.beans.binding.DoubleBinding;
 import javafx.geometry.Point2D;
-import javafx.scene.CacheHint;
 import javafx.scene.Cursor;
-import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
 
 public class Game {
 	private static Game instance = new Game();
 	Logging LOGGER = Logging.createLogger("Game", LoggingLevel.DEBUG);
 
 	private AnimationTimer renderLoop;
+	private final FramePacer framePacer = new FramePacer(ApplicationArguments.targetFps);
 	private GameLoop gameLoop;
 	private FXRenderSystem renderSystem;
+	// Software backend drawing the same frames for --framedump, null when not dumping frames
+	private IRenderSystem frameDumpRenderer;
 	private Canvas canvas;
+	private CanvasLayers canvasLayers;
 	private IMenuSPI menuManager;
 	private Stage stage;
 	private StackPane root;
@@ -93,6 +109,14 @@ public class Game {
 					LOGGER.debug("F7 pressed - toggling pathfinding visualization");
 					toggleDebugVisualization(IDebugController::togglePathfindingVisualization);
 					break;
+				case F8:
+					LOGGER.debug("F8 pressed - toggling render statistics");
+					toggleDebugVisualization(IDebugController::toggleRenderStatistics);
+					break;
+				case F9:
+					LOGGER.debug("F9 pressed - toggling asset memory overlay");
+					toggleDebugVisualization(IDebugController::toggleAssetMemory);
+					break;
 				case F1:
 					Input.setKeyPressed(Key.F1, true);
 					break;
@@ -146,7 +170,7 @@ public class Game {
 		});
 
 		scene.setOnMouseMoved(event -> {
-			Point2D p = canvas.sceneToLocal(event.getSceneX(), event.getSceneY());
+			Point2D p = canvasLayers.sceneToCanvas(event.getSceneX(), event.getSceneY());
 
 			Input.setMousePosition(new Vector2D(
 				(float)(p.getX()),
@@ -155,7 +179,7 @@ public class Game {
 		});
 
 		scene.setOnMouseDragged(event -> {
-			Point2D p = canvas.sceneToLocal(event.getSceneX(), event.getSceneY());
+			Point2D p = canvasLayers.sceneToCanvas(event.getSceneX(), event.getSceneY());
 
 			Input.setMousePosition(new Vector2D(
 				(float)(p.getX()),
@@ -223,60 +247,100 @@ public class Game {
 		float baseWidth = GameConstants.WORLD_SIZE.x() * GameConstants.TILE_SIZE;
 		float baseHeight = GameConstants.WORLD_SIZE.y() * GameConstants.TILE_SIZE;
 
-		canvas = new Canvas(baseWidth, baseHeight);
-		Group canvasGroup = new Group(canvas);
-		root = new StackPane(canvasGroup);
+		// World, actors, lighting and HUD are drawn on separate stacked canvases.
+		// The HUD canvas is on top and is the one GUI systems draw on
+		canvasLayers = new CanvasLayers(baseWidth, baseHeight);
+		canvas = canvasLayers.getCanvas(CanvasLayers.Layer.HUD);
+		root = new StackPane(canvasLayers.getRoot());
 		root.setStyle("-fx-background-color: black;");
 
 		Scene gameScene = new Scene(root, baseWidth, baseHeight);
 		gameScene.setCursor(Cursor.NONE);
 
-		// Bind scale properties while maintaining aspect ratio
-		canvas.scaleXProperty().bind(Bindings.createDoubleBinding(
-			() -> Math.min(gameScene.getWidth() / baseWidth, gameScene.getHeight() / baseHeight),
+		// The layers are drawn in native coordinates and scaled as they are drawn, without smoothing.
+		// Whole scale factors keep every game pixel the same size on screen
+		DoubleBinding viewScale = Bindings.createDoubleBinding(
+			() -> computeViewScale(gameScene.getWidth(), gameScene.getHeight(), baseWidth, baseHeight),
 			gameScene.widthProperty(), gameScene.heightProperty()
-		));
-		canvas.scaleYProperty().bind(canvas.scaleXProperty()); // Keep proportions
-
-		// Center the canvas dynamically
-		canvas.layoutXProperty().bind(gameScene.widthProperty().subtract(baseWidth).divide(2));
-		canvas.layoutYProperty().bind(gameScene.heightProperty().subtract(baseHeight).divide(2));
-
-		//This apparently helps performance, needs to be tested
-		canvas.setCache(true);
-		canvas.setCacheHint(CacheHint.SPEED);
+		);
+		canvasLayers.setScale(viewScale.get());
+		viewScale.addListener((observable, oldScale, newScale) -> canvasLayers.setScale(newScale.doubleValue()));
 
 		stage.setScene(gameScene);
 
 		stage.show();
 	}
 
+	/**
+	 * Returns the largest whole scale at which the native view fits the window.
+	 * Windows smaller than the native view fall back to a fractional scale.
+	 */
+	static double computeViewScale(double windowWidth, double windowHeight, double baseWidth, double baseHeight) {
+		double fit = Math.min(windowWidth / baseWidth, windowHeight / baseHeight);
+		if (fit < 1) {
+			return fit;
+		}
+		return Math.floor(fit);
+	}
+
 	public void startGame(Stage stage) {
 		try {
 			this.stage = stage;
 			createGameView(stage);
 
-			setupInputs(canvas.getScene());
+			setupInputs(stage.getScene());
 
-			// IMPORTANT: Init assets BEFORE creating any game entities
-			initializeAssets();
+			// IMPORTANT: Init assets BEFORE creating any game entities.
+			// Assets load in the background while the window shows progress, and the
+			// rest of the startup continues on the JavaFX thread once they are done
+			initializeAssets()
+				.thenRunAsync(this::startGameLoop, Platform::runLater)
+				.exceptionally(t -> {
+					LOGGER.error("Application start failed:");
+					t.printStackTrace();
+					return null;
+				});
 
-			gameLoop = new GameLoop();
-			gameLoop.start();
+		} catch (Throwable t) {
+			LOGGER.error("Application start failed:");
+			t.printStackTrace();
+		}
+	}
 
+	/**
+	 * Creates the game loop and renderer and starts rendering. Called once assets are loaded.
+	 */
+	private void startGameLoop() {
+		try {
 			// Get renderer
 			GraphicsContext gc = canvas.getGraphicsContext2D();
 			renderSystem = FXRenderSystem.getInstance();
-			renderSystem.initialize(gc);
+			renderSystem.initialize(canvasLayers);
+
+			if (ApplicationArguments.frameDump != null) {
+				frameDumpRenderer = ServiceLoader.load(IRenderSystem.class).stream()
+					.filter(provider -> provider.type() == SoftwareRenderSystem.class)
+					.findFirst()
+					.map(ServiceLoader.Provider::get)
+					.orElse(null);
+				if (frameDumpRenderer != null) {
+					frameDumpRenderer.initialize(null);
+					LOGGER.info("Writing frames to " + Path.of(ApplicationArguments.frameDump).toAbsolutePath());
+				}
+			}
+
+			gameLoop = new GameLoop();
+			gameLoop.setFrameRecorder(this::recordFrame);
+			gameLoop.start();
 
 			// For rendering and UI
 			renderLoop = new AnimationTimer() {
-				private double lastNanoTime = System.nanoTime();
-
 				@Override
 				public void handle(long now) {
-					double deltaTime = (now - lastNanoTime) / 1_000_000_000.0;
-					lastNanoTime = now;
+					// Pulses faster than the frame-rate cap are skipped entirely
+					if (!framePacer.beginFrame(now))
+						return;
+					double deltaTime = framePacer.getDeltaTime();
 
 					if (gameLoop == null || Time.getTimeScale() == 0)
 						return;
@@ -289,7 +353,10 @@ public class Game {
 					if (gameLoop == null || Time.getTimeScale() == 0)
 						return;
 
+					gameLoop.recordFrame();
 					renderSystem.lateUpdate(); // Not adhering to architecture, I know
+					if (frameDumpRenderer != null)
+						frameDumpRenderer.lateUpdate();
 
 					gameLoop.guiUpdate(gc);
 
@@ -311,17 +378,94 @@ public class Game {
 		}
 	}
 
+	/**
+	 * Records the frame for the renderer, and for the frame dump renderer if there is one.
+	 */
+	private void recordFrame() {
+		renderSystem.recordFrame();
+		if (frameDumpRenderer != null)
+			frameDumpRenderer.recordFrame();
+	}
+
 	/**
 	 * Initialize the asset system.
+	 * The asset providers run in parallel on background threads.
 	 */
-	private void initializeAssets() {
+	private CompletableFuture<Void> initializeAssets() {
+		drawLoadingProgress(0, 1);
+
+		AssetManager.getInstance().setMemoryBudget(ApplicationArguments.assetBudgetMB * 1024L * 1024L);
+		// The software renderer draws from plain copies of the decoded pixels, which are only kept when asked for
+		ImagePixelStore.getInstance().setEnabled(ApplicationArguments.frameDump != null);
+		mountAssetBundle();
+		if (ApplicationArguments.imageCache != null) {
+			DecodedImageCache imageCache = new DecodedImageCache(
+				Path.of(ApplicationArguments.imageCache), ApplicationArguments.imageCacheMB * 1024L * 1024L);
+			AssetManager.getInstance().setImageCache(imageCache);
+			// Drops entries left over from images that changed since, without holding up loading
+			AssetManager.getInstance().getLoadExecutor().execute(imageCache::trim);
+		}
+
 		// Init the asset system - will load all providers automatically
-		AssetFacade.initialize();
+		return AssetFacade.initializeAsync((completed, total) ->
+				Platform.runLater(() -> drawLoadingProgress(completed, total)))
+			.thenRun(() -> {
+				// Preload floor as a sprite sheet
+				AssetFacade.preloadAsType("floor", SpriteMap.class);
+
+				// Move everything loaded so far into a few shared textures
+				AssetFacade.buildTextureAtlas();
 
-		// Preload floor as a sprite sheet
-		AssetFacade.preloadAsType("floor", SpriteMap.class);
+				LOGGER.debug("Asset system initialized.");
+			});
+	}
 
-		LOGGER.debug("Asset system initialized.");
+	/**
+	 * Mounts the asset bundle given with --bundle, so resources are read from it instead of the classpath.
+	 * Bundles are only mounted when asked for, so a stale file lying in the working directory is never picked up.
+	 */
+	private void mountAssetBundle() {
+		if (ApplicationArguments.assetBundle == null) {
+			return;
+		}
+
+		Path bundlePath = Path.of(ApplicationArguments.assetBundle);
+		if (!Files.isRegularFile(bundlePath)) {
+			LOGGER.warn("No asset bundle at " + bundlePath.toAbsolutePath() + ", reading resources from the classpath");
+			return;
+		}
+
+		try {
+			AssetBundle bundle = AssetBundle.open(bundlePath);
+			LOGGER.info("Reading " + bundle.getEntryCount() + " resources from " + bundlePath.toAbsolutePath() + " instead of the classpath");
+			AssetManager.getInstance().mountBundle(bundle);
+		} catch (IOException e) {
+			LOGGER.error("Failed to open asset bundle " + bundlePath + ": " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Draws a progress bar on the HUD canvas while assets load.
+	 */
+	private void drawLoadingProgress(int completed, int total) {
+		GraphicsContext gc = canvas.getGraphicsContext2D();
+		double width = canvasLayers.getWidth();
+		double height = canvasLayers.getHeight();
+		double barWidth = width / 2;
+		double barX = (width - barWidth) / 2;
+		double barY = height / 2;
+
+		gc.setFill(Color.BLACK);
+		gc.fillRect(0, 0, width, height);
+
+		gc.setStroke(Color.WHITE);
+		gc.setLineWidth(1);
+		gc.strokeRect(barX, barY, barWidth, 8);
+
+		gc.setFill(Color.WHITE);
+		gc.fillRect(barX, barY, barWidth * completed / Math.max(1, total), 8);
+		gc.fillText("Loading...", barX, barY - 6);
 	}
 
 	//Restarts the game
@@ -332,12 +476,15 @@ public class Game {
 			gameLoop.stop();
 
 		gameLoop = new GameLoop();
+		gameLoop.setFrameRecorder(this::recordFrame);
 		gameLoop.start();
 
 		//Restart scenemanager
 		SceneManager.getInstance().restart();
 
 		renderSystem.clear();
+		if (frameDumpRenderer != null)
+			frameDumpRenderer.clear();
 
 		//Setup world again
 		setupGameWorld();
@@ -355,6 +502,8 @@ public class Game {
 		SceneManager.getInstance().restart();
 
 		renderSystem.clear();
+		if (frameDumpRenderer != null)
+			frameDumpRenderer.clear();
 	}
 
 	private void togglePause() {
@@ -398,10 +547,28 @@ public class Game {
 		return stage;
     }
 
+	/**
+	 * Sets the frame-rate cap of the game loop, or 0 for no cap.
+	 */
+	public void setTargetFps(int targetFps) {
+		framePacer.setTargetFps(targetFps);
+	}
+
+	public int getTargetFps() {
+		return framePacer.getTargetFps();
+	}
+
 	public Canvas getCanvas() {
 		return canvas;
 	}
 
+	/**
+	 * Returns the stacked canvases making up the game view.
+	 */
+	public CanvasLayers getCanvasLayers() {
+		return canvasLayers;
+	}
+
 	public StackPane getRoot() {
 		return root;
 	}
@@ -21,6 +21,12 @@ public class GameLoop {
 	private final List<IGUIUpdate> guiUpdateListeners = new ArrayList<>();
 	private final List<IStart> startListeners = new ArrayList<>();
 
+	// Held by each fixed update and while a frame is recorded, so recording never sees half a step
+	private final Object stepLock = new Object();
+
+	// Records the simulated state for rendering once per frame
+	private volatile Runnable frameRecorder;
+
 	public GameLoop() {
 		// Load update listeners
 		ServiceLoader.load(IFixedUpdate.class).forEach(fixedUpdateListeners::add);
@@ -58,8 +64,33 @@ public class GameLoop {
 		if (Time.getTimeScale() == 0)
 			return;
 
-		for (IFixedUpdate listener : fixedUpdateListeners) {
-			listener.fixedUpdate();
+		synchronized (stepLock) {
+			for (IFixedUpdate listener : fixedUpdateListeners) {
+				listener.fixedUpdate();
+			}
+		}
+	}
+
+	/**
+	 * Sets what records the simulated state for rendering. It is run by {@link #recordFrame()}.
+	 */
+	public void setFrameRecorder(Runnable frameRecorder) {
+		this.frameRecorder = frameRecorder;
+	}
+
+	/**
+	 * Records the simulated state for rendering. Runs once per frame on the UI thread after LateUpdate,
+	 * so the systems on this thread are done for the frame, and waits for any running fixed update,
+	 * so no system changes the state while it is copied.
+	 */
+	public void recordFrame() {
+		Runnable recorder = frameRecorder;
+		if (recorder == null) {
+			return;
+		}
+
+		synchronized (stepLock) {
+			recorder.run();
 		}
 	}
 
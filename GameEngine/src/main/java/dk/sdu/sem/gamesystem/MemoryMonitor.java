@@ -74,8 +74,10 @@ public class MemoryMonitor implements IUpdate {
 			sb.append(String.format(", Peak: %d MB", peakMemoryUsed));
 
 			// Add asset stats
-			sb.append(String.format(" | Assets: %d loaded, %d descriptors",
-				assetCount, descriptorCount));
+			sb.append(String.format(" | Assets: %d loaded, %d descriptors, %d / %d MB resident",
+				assetCount, descriptorCount,
+				AssetManager.getInstance().getResidentBytes() / (1024 * 1024),
+				AssetManager.getInstance().getMemoryBudget() / (1024 * 1024)));
 
 			// Add frame count
 			sb.append(String.format(" | Frame: %d", updateCounter));
@@ -2,6 +2,7 @@ package dk.sdu.sem.gamesystem.animation;
 
 import dk.sdu.sem.commonsystem.NodeManager;
 import dk.sdu.sem.gamesystem.Time;
+import dk.sdu.sem.gamesystem.assets.managers.AssetHandles;
 import dk.sdu.sem.gamesystem.components.AnimatorComponent;
 import dk.sdu.sem.gamesystem.components.SpriteRendererComponent;
 import dk.sdu.sem.gamesystem.data.AnimatorNode;
@@ -52,8 +53,13 @@ public class AnimationSystem implements IUpdate {
 		if (animation != null) {
 			animation.update((float)Time.getDeltaTime());
 
-			// Update sprite using frame reference
-			renderer.setSprite(animation.getCurrentFrameReference());
+			// Set the frame by handle, or by its already resolved sprite when it has none
+			int frameHandle = animation.getCurrentFrameHandle();
+			if (frameHandle != AssetHandles.INVALID) {
+				renderer.setSprite(frameHandle);
+			} else {
+				renderer.setSprite(animation.getCurrentFrameReference(), animation.getCurrentFrame());
+			}
 
 			// Check if a non-looping animation has finished
 			if (!animation.isLooping() && animation.isFinished()) {
@@ -31,9 +31,6 @@ public class TileAnimationSystem implements IUpdate {
 			for (Integer tileId : animComponent.getAnimatedTileIds()) {
 				animComponent.updateAnimationTime(tileId, deltaTime);
 			}
-
-			// Mark renderer's snapshot for update when animations have changed
-			node.renderer.invalidateSnapshot();
 		}
 	}
 }
\ No newline at end of file
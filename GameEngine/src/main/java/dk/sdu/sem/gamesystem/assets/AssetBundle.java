@@ -0,0 +1,186 @@
+package dk.sdu.sem.gamesystem.assets;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A single packed file holding many resources, memory-mapped as a whole.
+ * Opening a resource is a map lookup and a view of the mapped file, with no file opens or classpath scans.
+ * <p>
+ * Layout, big-endian:
+ * <pre>
+ * int    MAGIC
+ * int    VERSION
+ * int    entry count
+ * entry count times:
+ *   short  name length in bytes
+ *   byte[] name, UTF-8, '/' separated and relative to the resource root
+ *   long   data offset from the start of the file
+ *   int    data size
+ * data of all entries
+ * </pre>
+ * Bundles are built by {@link AssetBundlePacker}, and are at most {@link #MAX_SIZE} bytes
+ * so the whole file fits in a single mapped buffer.
+ */
+public class AssetBundle {
+	public static final int MAGIC = 0x52414231; // "RAB1"
+	public static final int VERSION = 1;
+	public static final long MAX_SIZE = Integer.MAX_VALUE;
+
+	private final Path path;
+	private final MappedByteBuffer data;
+	private final Map<String, Entry> entries;
+
+	// Offsets fit in an int, since they are checked against the size of the mapped file
+	private record Entry(int offset, int size) {
+	}
+
+	private AssetBundle(Path path, MappedByteBuffer data, Map<String, Entry> entries) {
+		this.path = path;
+		this.data = data;
+		this.entries = entries;
+	}
+
+	/**
+	 * Maps a bundle file and reads its index.
+	 *
+	 * @throws IOException If the file cannot be read or is not a valid bundle
+	 */
+	public static AssetBundle open(Path path) throws IOException {
+		MappedByteBuffer data;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() > MAX_SIZE) {
+				throw new IOException("Asset bundle larger than " + MAX_SIZE + " bytes: " + path);
+			}
+			// The mapping stays valid after the channel is closed
+			data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		try {
+			if (data.getInt() != MAGIC) {
+				throw new IOException("Not an asset bundle: " + path);
+			}
+			int version = data.getInt();
+			if (version != VERSION) {
+				throw new IOException("Unsupported asset bundle version " + version + ": " + path);
+			}
+
+			int count = data.getInt();
+			Map<String, Entry> entries = new HashMap<>(count * 2);
+			for (int i = 0; i < count; i++) {
+				byte[] name = new byte[data.getShort() & 0xFFFF];
+				data.get(name);
+				long offset = data.getLong();
+				int size = data.getInt();
+
+				if (offset < 0 || size < 0 || offset + size > data.capacity()) {
+					throw new IOException("Corrupt asset bundle entry " + i + ": " + path);
+				}
+				entries.put(new String(name, StandardCharsets.UTF_8), new Entry((int) offset, size));
+			}
+
+			return new AssetBundle(path, data, entries);
+		} catch (RuntimeException e) {
+			// Reading past the end of a truncated file
+			throw new IOException("Corrupt asset bundle: " + path, e);
+		}
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	public boolean contains(String name) {
+		return entries.containsKey(normalize(name));
+	}
+
+	public Set<String> getNames() {
+		return Collections.unmodifiableSet(entries.keySet());
+	}
+
+	public int getEntryCount() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns a read-only view of a resource's bytes inside the mapped file, or null if it is not in the bundle.
+	 */
+	public ByteBuffer getBuffer(String name) {
+		Entry entry = entries.get(normalize(name));
+		if (entry == null) {
+			return null;
+		}
+		return data.slice(entry.offset, entry.size).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Opens a stream over a resource, or returns null if it is not in the bundle.
+	 */
+	public InputStream openStream(String name) {
+		ByteBuffer buffer = getBuffer(name);
+		return buffer != null ? new BufferInputStream(buffer) : null;
+	}
+
+	/**
+	 * Converts a resource path to the form names are stored in.
+	 */
+	static String normalize(String name) {
+		String normalized = name.replace('\\', '/');
+		while (normalized.startsWith("/")) {
+			normalized = normalized.substring(1);
+		}
+		return normalized;
+	}
+
+	/**
+	 * Reads from a buffer without copying it first.
+	 */
+	private static final class BufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		BufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+
+			int count = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public long skip(long n) {
+			int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
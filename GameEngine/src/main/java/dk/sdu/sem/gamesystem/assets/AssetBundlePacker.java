@@ -0,0 +1,147 @@
+package dk.sdu.sem.gamesystem.assets;
+
+import dk.sdu.sem.logging.Logging;
+import dk.sdu.sem.logging.LoggingLevel;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Builds an {@link AssetBundle} from resource folders.
+ * <p>
+ * Usage: {@code AssetBundlePacker <output file> [resource folder...]}.
+ * Without folders, every {@code src/main/resources} folder of the modules in the working directory is packed.
+ * Names are relative to their resource folder, like classpath resources. When several folders contain the
+ * same name, the first one wins.
+ */
+public class AssetBundlePacker {
+	private static final Logging LOGGER = Logging.createLogger("AssetBundlePacker", LoggingLevel.DEBUG);
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: AssetBundlePacker <output file> [resource folder...]");
+			System.exit(1);
+		}
+
+		List<Path> roots = new ArrayList<>();
+		for (int i = 1; i < args.length; i++) {
+			roots.add(Path.of(args[i]));
+		}
+		if (roots.isEmpty()) {
+			roots = findModuleResourceFolders(Path.of("."));
+		}
+
+		int count = pack(Path.of(args[0]), roots);
+		System.out.println("Packed " + count + " resources from " + roots.size() + " folder(s) into " + args[0]);
+	}
+
+	/**
+	 * Writes a bundle of all files in the given folders.
+	 *
+	 * @return The number of resources in the bundle
+	 */
+	public static int pack(Path output, List<Path> roots) throws IOException {
+		// Name to file, in the order names were found
+		Map<String, Path> files = new LinkedHashMap<>();
+		for (Path root : roots) {
+			if (!Files.isDirectory(root)) {
+				LOGGER.warn("Skipping missing resource folder: " + root);
+				continue;
+			}
+
+			try (Stream<Path> walk = Files.walk(root)) {
+				for (Path file : walk.filter(Files::isRegularFile).sorted().toList()) {
+					String name = AssetBundle.normalize(root.relativize(file).toString());
+					Path existing = files.putIfAbsent(name, file);
+					if (existing != null) {
+						LOGGER.debug("Duplicate resource " + name + ", keeping " + existing);
+					}
+				}
+			}
+		}
+
+		// The data starts right after the index, so the index size is needed first
+		List<byte[]> names = new ArrayList<>(files.size());
+		long indexSize = 12;
+		for (String name : files.keySet()) {
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			if (bytes.length > 0xFFFF) {
+				throw new IOException("Resource name too long: " + name);
+			}
+			names.add(bytes);
+			indexSize += 2 + bytes.length + 8 + 4;
+		}
+
+		// Checked before writing, so an oversized bundle leaves no partial file behind
+		List<Path> paths = new ArrayList<>(files.values());
+		long[] sizes = new long[paths.size()];
+		long bundleSize = indexSize;
+		for (int i = 0; i < paths.size(); i++) {
+			sizes[i] = Files.size(paths.get(i));
+			bundleSize += sizes[i];
+		}
+		if (bundleSize > AssetBundle.MAX_SIZE) {
+			throw new IOException("Asset bundle would be " + bundleSize + " bytes, more than the maximum of " + AssetBundle.MAX_SIZE);
+		}
+
+		Path parent = output.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+
+		try (OutputStream file = Files.newOutputStream(output);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+			out.writeInt(AssetBundle.MAGIC);
+			out.writeInt(AssetBundle.VERSION);
+			out.writeInt(paths.size());
+
+			long offset = indexSize;
+			for (int i = 0; i < paths.size(); i++) {
+				out.writeShort(names.get(i).length);
+				out.write(names.get(i));
+				out.writeLong(offset);
+				out.writeInt((int) sizes[i]);
+				offset += sizes[i];
+			}
+
+			for (Path path : paths) {
+				Files.copy(path, out);
+			}
+		}
+
+		return paths.size();
+	}
+
+	/**
+	 * Finds the resource folders of all modules directly below a project folder.
+	 */
+	static List<Path> findModuleResourceFolders(Path projectRoot) throws IOException {
+		List<Path> roots = new ArrayList<>();
+		try (Stream<Path> modules = Files.list(projectRoot)) {
+			for (Path module : modules.filter(Files::isDirectory).sorted().toList()) {
+				Path main = module.resolve("src").resolve("main");
+				if (!Files.isDirectory(main)) {
+					continue;
+				}
+
+				try (Stream<Path> folders = Files.list(main)) {
+					folders.filter(Files::isDirectory)
+						.filter(folder -> folder.getFileName().toString().equalsIgnoreCase("resources"))
+						.sorted()
+						.forEach(roots::add);
+				}
+			}
+		}
+		return roots;
+	}
+}
@@ -9,8 +9,10 @@ import dk.sdu.sem.gamesystem.rendering.SpriteAnimation;
 import dk.sdu.sem.gamesystem.rendering.SpriteMap;
 import javafx.scene.image.Image;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * API for asset management.
@@ -27,6 +29,16 @@ public final class AssetFacade {
 		AssetSystem.initialize();
 	}
 
+	/**
+	 * Initializes the asset system in the background, running the asset providers in parallel.
+	 *
+	 * @param listener Notified as providers finish, on a loader thread, or null
+	 * @return Completes when all providers have defined their assets
+	 */
+	public static CompletableFuture<Void> initializeAsync(IAssetLoadListener listener) {
+		return AssetSystem.initializeAsync(listener);
+	}
+
 	/**
 	 * Creates a new sprite builder.
 	 * @param name Base name of the sprite
@@ -59,11 +71,33 @@ public final class AssetFacade {
 	 * The animation must have been previously created.
 	 *
 	 * @param name The name of the animation to load
-	 * @return The loaded animation
+	 * @return A new instance with its own playback state, sharing the animation's frames
 	 */
 	public static SpriteAnimation getAnimation(String name) {
 		SpriteAnimation animation = AssetManager.getInstance().getAssetByName(name, SpriteAnimation.class);
-		return new SpriteAnimation(animation.getFrameReferences(), animation.getFrameDuration(), animation.isLooping());
+		return animation.createInstance();
+	}
+
+	/**
+	 * Loads an existing animation by handle.
+	 *
+	 * @param handle The animation's handle, from {@link #getHandle}
+	 * @return A new instance with its own playback state, sharing the animation's frames
+	 */
+	public static SpriteAnimation getAnimation(int handle) {
+		SpriteAnimation animation = AssetManager.getInstance().getAsset(handle, SpriteAnimation.class);
+		return animation.createInstance();
+	}
+
+	/**
+	 * Gets the integer handle of an asset, for APIs that resolve assets by handle instead of by name.
+	 * Look it up once, e.g. when setting up an entity type, and keep it.
+	 *
+	 * @param name Name of the asset
+	 * @param assetType The class of the asset type (e.g. Sprite.class)
+	 */
+	public static int getHandle(String name, Class<?> assetType) {
+		return AssetManager.getInstance().getHandle(AssetReferenceFactory.getNamespacedAssetId(name, assetType));
 	}
 
 	/**
@@ -89,6 +123,33 @@ public final class AssetFacade {
 		return AssetSystem.preloadAsType(name, assetType);
 	}
 
+	/**
+	 * Loads registered assets of a type in the background, together with the images
+	 * and sprite maps they depend on.
+	 *
+	 * @param assetType The class of the asset type
+	 * @param listener Notified after each loaded asset, on a loader thread, or null
+	 * @param names Names of the assets
+	 * @return Completes when all assets are loaded
+	 */
+	public static CompletableFuture<Void> preloadAsync(Class<?> assetType, IAssetLoadListener listener, String... names) {
+		List<String> assetIds = new ArrayList<>();
+		for (String name : names) {
+			assetIds.add(AssetReferenceFactory.getNamespacedAssetId(name, assetType));
+		}
+		return AssetManager.getInstance().preloadAssetsAsync(assetIds, listener);
+	}
+
+	/**
+	 * Packs all loaded sprites and sprite maps into shared texture atlas pages.
+	 * Call this once the asset providers have loaded their assets.
+	 *
+	 * @return The number of source images that were packed
+	 */
+	public static int buildTextureAtlas() {
+		return AssetSystem.buildTextureAtlas();
+	}
+
 	/**
 	 * Unloads all unused assets.
 	 */
@@ -5,6 +5,7 @@ import dk.sdu.sem.gamesystem.assets.references.*;
 import dk.sdu.sem.gamesystem.rendering.Sprite;
 import dk.sdu.sem.gamesystem.rendering.SpriteAnimation;
 import dk.sdu.sem.gamesystem.rendering.SpriteMap;
+import dk.sdu.sem.gamesystem.rendering.TextureAtlas;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 import javafx.scene.image.Image;
@@ -13,6 +14,10 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Domain layer for asset management.
@@ -20,27 +25,58 @@ import java.util.*;
 class AssetSystem {
 	private static final Logging LOGGER = Logging.createLogger("AssetSystem", LoggingLevel.DEBUG);
 
+	// Atlas pages are stored as assets under this prefix followed by their index
+	static final String ATLAS_PAGE_PREFIX = "texture_atlas_page_";
+
+	// Images being decoded, so providers running in parallel decode a shared image only once
+	private static final Map<String, CompletableFuture<Image>> decodingImages = new ConcurrentHashMap<>();
+
 	/**
 	 * Initializes the asset system.
 	 */
 	static void initialize() {
+		initializeAsync(null).join();
+	}
+
+	/**
+	 * Initializes the asset system in the background.
+	 */
+	static CompletableFuture<Void> initializeAsync(IAssetLoadListener listener) {
 		// Load asset providers
-		loadAssetProviders();
+		return loadAssetProviders(listener);
 	}
 
 	/**
 	 * Loads all asset providers.
+	 * Providers only define their own assets, so they run in parallel on the loader threads,
+	 * which spreads image decoding across cores.
 	 */
-	private static void loadAssetProviders() {
-		ServiceLoader.load(dk.sdu.sem.gamesystem.assets.providers.IAssetProvider.class).forEach(provider -> {
-			try {
-				LOGGER.debug("Loading assets from: " + provider.getClass().getName());
-				provider.provideAssets();
-			} catch (Exception e) {
-				LOGGER.error("Error loading assets from provider: " + provider.getClass().getName());
-				e.printStackTrace();
-			}
-		});
+	private static CompletableFuture<Void> loadAssetProviders(IAssetLoadListener listener) {
+		List<dk.sdu.sem.gamesystem.assets.providers.IAssetProvider> providers = new ArrayList<>();
+		ServiceLoader.load(dk.sdu.sem.gamesystem.assets.providers.IAssetProvider.class).forEach(providers::add);
+
+		Executor executor = AssetManager.getInstance().getLoadExecutor();
+		AtomicInteger completed = new AtomicInteger();
+
+		CompletableFuture<?>[] loads = new CompletableFuture<?>[providers.size()];
+		for (int i = 0; i < providers.size(); i++) {
+			var provider = providers.get(i);
+			loads[i] = CompletableFuture.runAsync(() -> {
+				try {
+					LOGGER.debug("Loading assets from: " + provider.getClass().getName());
+					provider.provideAssets();
+				} catch (Exception e) {
+					LOGGER.error("Error loading assets from provider: " + provider.getClass().getName());
+					e.printStackTrace();
+				}
+
+				int done = completed.incrementAndGet();
+				if (listener != null) {
+					listener.onProgress(done, providers.size());
+				}
+			}, executor);
+		}
+		return CompletableFuture.allOf(loads);
 	}
 
 	/**
@@ -87,28 +123,7 @@ class AssetSystem {
 				} catch (Exception ex) {
 					// Load the image from resources
 					LOGGER.debug("Image not found, loading from resources");
-					InputStream is = AssetSystem.class.getClassLoader().getResourceAsStream(imagePath + ".png");
-					if (is == null) {
-						is = AssetSystem.class.getClassLoader().getResourceAsStream(imagePath + ".jpg");
-					}
-					if (is == null) {
-						is = AssetSystem.class.getClassLoader().getResourceAsStream(imagePath);
-					}
-
-					if (is == null) {
-						LOGGER.error("Searching for image: " + imagePath);
-						throw new IllegalArgumentException("Image not found: " + imagePath);
-					}
-
-					// Create image
-					image = new Image(is);
-
-					// Register with AssetManager
-					AssetDescriptor<Image> descriptor = new AssetDescriptor<>(imageId, Image.class, imagePath);
-					manager.registerAsset(descriptor);
-
-					// Store the actual image
-					manager.storeAsset(imageId, image);
+					image = decodeImage(imageId, imagePath);
 					LOGGER.debug("Registered image: " + imageId);
 				}
 
@@ -147,34 +162,34 @@ class AssetSystem {
 		try {
 			return manager.getAsset(new ImageReference(imageId));
 		} catch (Exception e) {
-			// Load the image with different extensions
-			InputStream is = null;
-
-			// Try with png extension
-			is = AssetSystem.class.getClassLoader().getResourceAsStream(name + ".png");
-			if (is == null) {
-				// Try with jpg extension
-				is = AssetSystem.class.getClassLoader().getResourceAsStream(name + ".jpg");
-			}
-			if (is == null) {
-				// Try exact name
-				is = AssetSystem.class.getClassLoader().getResourceAsStream(name);
-			}
-			if (is == null) {
-				//Try direct file
-				try {
-					is = new FileInputStream(name);
-				} catch (FileNotFoundException ex) {
-					throw new IllegalArgumentException("Image not found: " + name);
-				}
-			}
+			return decodeImage(imageId, name);
+		}
+	}
 
-			if (is == null) {
-				throw new IllegalArgumentException("Image not found: " + name);
+	/**
+	 * Decodes an image from resources and stores it in the AssetManager.
+	 * When another thread is already decoding the same image, waits for that one instead.
+	 */
+	private static Image decodeImage(String imageId, String name) {
+		CompletableFuture<Image> decoding = new CompletableFuture<>();
+		CompletableFuture<Image> existing = decodingImages.putIfAbsent(imageId, decoding);
+		if (existing != null) {
+			Image image = existing.join();
+			AssetManager.getInstance().storeAsset(imageId, image);
+			return image;
+		}
+
+		try {
+			// Another thread may have finished decoding it just before
+			AssetManager manager = AssetManager.getInstance();
+			if (manager.isAssetLoaded(imageId)) {
+				Image image = manager.getAsset(new ImageReference(imageId));
+				decoding.complete(image);
+				return image;
 			}
 
 			// Create image
-			Image image = new Image(is);
+			Image image = manager.decodeImage(openImage(name));
 
 			// Register with AssetManager
 			AssetDescriptor<Image> descriptor = new AssetDescriptor<>(imageId, Image.class, name);
@@ -183,10 +198,45 @@ class AssetSystem {
 			// Store the actual image
 			manager.storeAsset(imageId, image);
 
+			decoding.complete(image);
 			return image;
+		} catch (RuntimeException e) {
+			decoding.completeExceptionally(e);
+			throw e;
+		} finally {
+			decodingImages.remove(imageId);
 		}
 	}
 
+	/**
+	 * Opens an image resource, trying different extensions and finally a direct file.
+	 * Resources are read from the mounted asset bundles before the classpath.
+	 */
+	private static InputStream openImage(String name) {
+		AssetManager manager = AssetManager.getInstance();
+
+		// Try with png extension
+		InputStream is = manager.openResource(name + ".png");
+		if (is == null) {
+			// Try with jpg extension
+			is = manager.openResource(name + ".jpg");
+		}
+		if (is == null) {
+			// Try exact name
+			is = manager.openResource(name);
+		}
+		if (is == null) {
+			//Try direct file
+			try {
+				is = new FileInputStream(name);
+			} catch (FileNotFoundException ex) {
+				LOGGER.error("Searching for image: " + name);
+				throw new IllegalArgumentException("Image not found: " + name);
+			}
+		}
+		return is;
+	}
+
 	/**
 	 * Loads or creates a sprite sheet.
 	 * Ensures proper namespacing to prevent type collisions.
@@ -258,21 +308,18 @@ class AssetSystem {
 		// Generate namespaced ID for animation
 		String animId = AssetReferenceFactory.getNamespacedAssetId(name, SpriteAnimation.class);
 
-		// Get all tiles from the sprite map
-		Map<Integer, Sprite> tiles = spriteMap.getAllTiles();
-		if (tiles.isEmpty()) {
+		// Every tile of the grid is a frame, the tiles themselves are only created when drawn
+		int tileCount = spriteMap.getTileCount();
+		if (tileCount == 0) {
 			throw new IllegalArgumentException("SpriteMap has no tiles: " + spriteMap.getName());
 		}
 
 		// Create tile references for all frames
 		List<IAssetReference<Sprite>> frameReferences = new ArrayList<>();
-		int maxIndex = tiles.keySet().stream().max(Integer::compareTo).orElse(-1);
-		for (int i = 0; i <= maxIndex; i++) {
-			if (tiles.containsKey(i)) {
-				// Create a reference to this tile in the sprite map
-				frameReferences.add(AssetReferenceFactory.createSpriteMapTileReference(
-					spriteMap.getName(), i));
-			}
+		for (int i = 0; i < tileCount; i++) {
+			// Create a reference to this tile in the sprite map
+			frameReferences.add(AssetReferenceFactory.createSpriteMapTileReference(
+				spriteMap.getName(), i));
 		}
 
 		if (frameReferences.isEmpty()) {
@@ -317,8 +364,7 @@ class AssetSystem {
 		List<IAssetReference<Sprite>> frameReferences = new ArrayList<>();
 		for (int index : tileIndices) {
 			// First verify the tile exists in the sprite map
-			Sprite sprite = spriteMap.getTile(index);
-			if (sprite == null) {
+			if (index < 0 || index >= spriteMap.getTileCount()) {
 				throw new IllegalArgumentException("Tile index " + index + " not found in sprite map: " + spriteMap.getName());
 			}
 
@@ -494,6 +540,30 @@ class AssetSystem {
 		}
 	}
 
+	/**
+	 * Packs the images of all loaded sprites and sprite maps into the texture atlas.
+	 * The packed images are released afterwards, since their pixels now live in the atlas.
+	 */
+	static int buildTextureAtlas() {
+		AssetManager manager = AssetManager.getInstance();
+		TextureAtlas atlas = TextureAtlas.getInstance();
+		int packed = atlas.pack(
+			manager.getLoadedAssets(Sprite.class),
+			manager.getLoadedAssets(SpriteMap.class)
+		);
+
+		int released = manager.releaseImages(atlas::isPacked);
+		LOGGER.debug("Released " + released + " image(s) packed into the texture atlas");
+
+		// Pages hold decoded pixels like the images they replace, so they count towards the memory budget.
+		// They have no descriptor, so they are never evicted.
+		List<Image> pages = atlas.getPages();
+		for (int i = 0; i < pages.size(); i++) {
+			manager.storeAsset(ATLAS_PAGE_PREFIX + i, pages.get(i));
+		}
+		return packed;
+	}
+
 	/**
 	 * Unloads all unused assets.
 	 */
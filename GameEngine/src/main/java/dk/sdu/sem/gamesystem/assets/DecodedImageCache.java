@@ -0,0 +1,261 @@
+package dk.sdu.sem.gamesystem.assets;
+
+import dk.sdu.sem.logging.Logging;
+import dk.sdu.sem.logging.LoggingLevel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * An on-disk cache of decoded images, stored as raw premultiplied ARGB pixels.
+ * Entries are keyed by a hash of the encoded source bytes, so a changed source image
+ * simply gets a new entry, and loading one is a file read instead of running a decoder.
+ * <p>
+ * Each entry is a file holding, big-endian: int MAGIC, int width, int height, then width * height pixels.
+ * <p>
+ * The cache is kept below a size limit by deleting the least recently used entries,
+ * which also removes entries of source images that have since changed.
+ */
+public class DecodedImageCache {
+	private static final Logging LOGGER = Logging.createLogger("DecodedImageCache", LoggingLevel.DEBUG);
+
+	static final int MAGIC = 0x52494331; // "RIC1"
+	private static final int HEADER_SIZE = 12;
+	private static final String EXTENSION = ".argb";
+
+	private final Path directory;
+	private final long maxBytes;
+
+	// Size of all entries, -1 until the directory has been scanned
+	private final AtomicLong totalBytes = new AtomicLong(-1);
+
+	/**
+	 * Decoded pixels read from the cache.
+	 *
+	 * @param pixels Premultiplied ARGB pixels, row by row
+	 */
+	public record CachedPixels(int width, int height, IntBuffer pixels) {
+	}
+
+	/**
+	 * @param maxBytes How large the entries may grow in total before the least recently used are deleted
+	 */
+	public DecodedImageCache(Path directory, long maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("Cache size limit must be positive");
+		}
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Returns the cache key of an encoded image.
+	 */
+	public static String key(byte[] source) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(source);
+			StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+				hex.append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java runtime is required to support SHA-1
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Reads the pixels cached under a key.
+	 *
+	 * @return The pixels, or null if there is no valid entry
+	 */
+	public CachedPixels read(String key) {
+		Path file = fileFor(key);
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_SIZE) {
+				throw new IOException("Truncated cache entry");
+			}
+
+			MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			int magic = data.getInt();
+			int width = data.getInt();
+			int height = data.getInt();
+			if (magic != MAGIC || width <= 0 || height <= 0 || size != HEADER_SIZE + (long) width * height * 4) {
+				throw new IOException("Invalid cache entry");
+			}
+
+			// The modification time orders entries for trimming, so a read counts as a use
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+
+			return new CachedPixels(width, height, data.slice().asIntBuffer());
+		} catch (IOException e) {
+			LOGGER.warn("Discarding unreadable image cache entry " + file + ": " + e.getMessage());
+			delete(file);
+			return null;
+		}
+	}
+
+	/**
+	 * Stores decoded pixels under a key.
+	 * The entry is written to a temporary file and moved into place, so readers never see a partial entry.
+	 *
+	 * @param pixels Premultiplied ARGB pixels, row by row
+	 */
+	public void write(String key, int width, int height, int[] pixels) {
+		if (pixels.length != width * height) {
+			throw new IllegalArgumentException("Expected " + width * height + " pixels but got " + pixels.length);
+		}
+
+		Path file = fileFor(key);
+		Path temporary = null;
+		try {
+			long previousSize = Files.isRegularFile(file) ? Files.size(file) : 0;
+			Files.createDirectories(directory);
+			temporary = Files.createTempFile(directory, key, ".tmp");
+
+			ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + pixels.length * 4);
+			buffer.putInt(MAGIC).putInt(width).putInt(height);
+			buffer.asIntBuffer().put(pixels);
+			buffer.rewind();
+
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+
+			try {
+				Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			long total = totalBytes.get();
+			if (total < 0 || totalBytes.addAndGet(buffer.capacity() - previousSize) > maxBytes) {
+				trim();
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Could not write image cache entry " + file + ": " + e.getMessage());
+			if (temporary != null) {
+				delete(temporary);
+			}
+		}
+	}
+
+	/**
+	 * Deletes the least recently used entries until the cache fits its size limit,
+	 * along with temporary files left behind by interrupted writes.
+	 */
+	public synchronized void trim() {
+		if (!Files.isDirectory(directory)) {
+			totalBytes.set(0);
+			return;
+		}
+
+		List<Path> entries = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			files.forEach(file -> {
+				String name = file.getFileName().toString();
+				if (name.endsWith(EXTENSION)) {
+					entries.add(file);
+				} else if (name.endsWith(".tmp") && isStale(file)) {
+					delete(file);
+				}
+			});
+		} catch (IOException e) {
+			LOGGER.warn("Could not list image cache " + directory + ": " + e.getMessage());
+			return;
+		}
+
+		long total = 0;
+		List<Entry> sized = new ArrayList<>(entries.size());
+		for (Path file : entries) {
+			try {
+				Entry entry = new Entry(file, Files.size(file), Files.getLastModifiedTime(file).toMillis());
+				sized.add(entry);
+				total += entry.bytes();
+			} catch (IOException ignored) {
+				// Deleted meanwhile
+			}
+		}
+
+		// Oldest first
+		sized.sort(Comparator.comparingLong(Entry::lastUsed));
+		int deleted = 0;
+		for (Entry entry : sized) {
+			if (total <= maxBytes) {
+				break;
+			}
+			delete(entry.file());
+			total -= entry.bytes();
+			deleted++;
+		}
+
+		totalBytes.set(total);
+		if (deleted > 0) {
+			LOGGER.debug("Deleted " + deleted + " unused image cache entries, " + total / (1024 * 1024) + " MB remain");
+		}
+	}
+
+	/**
+	 * Returns the size of all entries, as of the last write or trim.
+	 */
+	public long getTotalBytes() {
+		return Math.max(0, totalBytes.get());
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	private record Entry(Path file, long bytes, long lastUsed) {
+	}
+
+	// Temporary files of writes in progress are recent, older ones were abandoned
+	private static boolean isStale(Path file) {
+		try {
+			return System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis() > 60_000;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private Path fileFor(String key) {
+		return directory.resolve(key + EXTENSION);
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException ignored) {
+			// Nothing more to do, the entry is ignored either way
+		}
+	}
+}
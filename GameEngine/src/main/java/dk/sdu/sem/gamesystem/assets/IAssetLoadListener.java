@@ -0,0 +1,16 @@
+package dk.sdu.sem.gamesystem.assets;
+
+/**
+ * Receives progress while assets are loaded in the background.
+ * Called on loader threads, so anything touching the scene graph must be passed to the JavaFX thread.
+ */
+@FunctionalInterface
+public interface IAssetLoadListener {
+	/**
+	 * Called each time a unit of loading work finishes.
+	 *
+	 * @param completed Number of units finished so far
+	 * @param total Total number of units
+	 */
+	void onProgress(int completed, int total);
+}
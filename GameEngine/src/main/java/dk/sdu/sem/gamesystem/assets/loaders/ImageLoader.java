@@ -1,6 +1,7 @@
 package dk.sdu.sem.gamesystem.assets.loaders;
 
 import dk.sdu.sem.gamesystem.assets.AssetDescriptor;
+import dk.sdu.sem.gamesystem.assets.managers.AssetManager;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 import javafx.scene.image.Image;
@@ -22,14 +23,23 @@ public class ImageLoader implements IAssetLoader<Image> {
 	public Image loadAsset(AssetDescriptor<Image> descriptor) {
 		try {
 			String path = descriptor.getPath();
-			InputStream inputStream = getClass().getClassLoader().getResourceAsStream(path);
+
+			// Images are often registered by name without extension, so they can be loaded again after eviction
+			AssetManager manager = AssetManager.getInstance();
+			InputStream inputStream = manager.openResource(path);
+			if (inputStream == null) {
+				inputStream = manager.openResource(path + ".png");
+			}
+			if (inputStream == null) {
+				inputStream = manager.openResource(path + ".jpg");
+			}
 
 			if (inputStream == null) {
 				LOGGER.error("Resource not found: " + path);
 				return null;
 			}
 
-			return new Image(inputStream);
+			return manager.decodeImage(inputStream);
 		} catch (Exception e) {
 			LOGGER.error("Failed to load image: " + descriptor.getPath());
 			e.printStackTrace();
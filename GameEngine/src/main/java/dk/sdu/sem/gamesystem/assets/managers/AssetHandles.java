@@ -0,0 +1,150 @@
+package dk.sdu.sem.gamesystem.assets.managers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Interns asset IDs as dense integer handles, each with a slot holding a value for it.
+ * Handles are assigned in order from 0 and stay valid for the lifetime of the table,
+ * so looking up a slot by handle is an array index instead of hashing the ID.
+ *
+ * @param <V> The type of value kept per handle
+ */
+public class AssetHandles<V> {
+	/**
+	 * Returned for IDs that have not been interned.
+	 */
+	public static final int INVALID = -1;
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	private final Map<String, Integer> handles = new ConcurrentHashMap<>();
+
+	// Replaced by a larger copy when full, always under the lock
+	private volatile String[] names = new String[INITIAL_CAPACITY];
+	private volatile AtomicReferenceArray<V> slots = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+	private volatile int size;
+
+	private final Object lock = new Object();
+
+	/**
+	 * Returns the handle of an ID, assigning the next free one if the ID is new.
+	 */
+	public int intern(String name) {
+		Integer handle = handles.get(name);
+		if (handle != null) {
+			return handle;
+		}
+
+		synchronized (lock) {
+			handle = handles.get(name);
+			if (handle != null) {
+				return handle;
+			}
+
+			int next = size;
+			if (next == names.length) {
+				grow(next * 2);
+			}
+			names[next] = name;
+			size = next + 1;
+			// Published last, so any thread that sees the handle also sees its name and slot
+			handles.put(name, next);
+			return next;
+		}
+	}
+
+	/**
+	 * Returns the handle of an ID without interning it.
+	 *
+	 * @return The handle, or {@link #INVALID} if the ID has not been interned
+	 */
+	public int find(String name) {
+		Integer handle = handles.get(name);
+		return handle != null ? handle : INVALID;
+	}
+
+	/**
+	 * Returns the ID a handle was assigned to.
+	 *
+	 * @throws IllegalArgumentException if the handle was not assigned by this table
+	 */
+	public String getName(int handle) {
+		checkHandle(handle);
+		return names[handle];
+	}
+
+	/**
+	 * Returns the value in a handle's slot, or null if it is empty.
+	 */
+	public V get(int handle) {
+		AtomicReferenceArray<V> current = slots;
+		if (handle < 0 || handle >= current.length()) {
+			return null;
+		}
+		return current.get(handle);
+	}
+
+	/**
+	 * Puts a value in the slot of an ID, interning it if needed.
+	 *
+	 * @return The ID's handle
+	 */
+	public int set(String name, V value) {
+		int handle = intern(name);
+		synchronized (lock) {
+			slots.set(handle, value);
+		}
+		return handle;
+	}
+
+	/**
+	 * Empties the slot of an ID if it still holds the given value.
+	 * IDs that have not been interned are ignored.
+	 */
+	public void clear(String name, V expected) {
+		int handle = find(name);
+		if (handle != INVALID) {
+			synchronized (lock) {
+				slots.compareAndSet(handle, expected, null);
+			}
+		}
+	}
+
+	/**
+	 * Empties every slot. Handles stay assigned.
+	 */
+	public void clearAll() {
+		synchronized (lock) {
+			slots = new AtomicReferenceArray<>(names.length);
+		}
+	}
+
+	/**
+	 * Returns the number of interned IDs.
+	 */
+	public int size() {
+		return size;
+	}
+
+	private void grow(int capacity) {
+		String[] grownNames = new String[capacity];
+		System.arraycopy(names, 0, grownNames, 0, names.length);
+
+		AtomicReferenceArray<V> grownSlots = new AtomicReferenceArray<>(capacity);
+		AtomicReferenceArray<V> current = slots;
+		for (int i = 0; i < current.length(); i++) {
+			grownSlots.set(i, current.get(i));
+		}
+
+		names = grownNames;
+		slots = grownSlots;
+	}
+
+	private void checkHandle(int handle) {
+		if (handle < 0 || handle >= size) {
+			throw new IllegalArgumentException("Unknown asset handle: " + handle);
+		}
+	}
+}
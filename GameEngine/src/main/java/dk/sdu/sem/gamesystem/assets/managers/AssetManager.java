@@ -1,29 +1,65 @@
 package dk.sdu.sem.gamesystem.assets.managers;
 
+import dk.sdu.sem.gamesystem.assets.AssetBundle;
 import dk.sdu.sem.gamesystem.assets.AssetDescriptor;
+import dk.sdu.sem.gamesystem.assets.DecodedImageCache;
+import dk.sdu.sem.gamesystem.assets.IAssetLoadListener;
 import dk.sdu.sem.gamesystem.assets.IDisposable;
 import dk.sdu.sem.gamesystem.assets.loaders.IAssetLoader;
 import dk.sdu.sem.gamesystem.assets.references.AssetReferenceFactory;
 import dk.sdu.sem.gamesystem.assets.references.IAssetReference;
 import dk.sdu.sem.gamesystem.assets.references.SpriteMapTileReference;
+import dk.sdu.sem.gamesystem.rendering.ImagePixelStore;
 import dk.sdu.sem.gamesystem.rendering.Sprite;
+import dk.sdu.sem.gamesystem.rendering.SpriteAnimation;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 import javafx.application.Platform;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 import dk.sdu.sem.gamesystem.rendering.SpriteMap;
 
 /**
  * Manages all asset lifecycle operations in the infrastructure layer.
  * Provides a single source of truth for asset caching and reference counting.
+ * <p>
+ * {@link #getAsset} only borrows an asset, while {@link #acquireAsset} and {@link #releaseAsset}
+ * keep it resident. Decoded images are counted against a memory budget, and when it is exceeded
+ * the least recently used unreferenced images are evicted along with the sprites and sprite maps
+ * cut from them. Evicted assets are reloaded from their descriptors when needed again.
  */
 public class AssetManager {
 	private static final Logging LOGGER = Logging.createLogger("AssetManager", LoggingLevel.DEBUG);
@@ -31,36 +67,96 @@ public class AssetManager {
 	// Singleton instance
 	private static final AssetManager instance = new AssetManager();
 
+	private static final int LAST_STAGE = 4;
+
+	public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+
 	// Asset entry is used for reference counting
 	private static class AssetEntry {
 		final Object asset;
 		final Class<?> type;
+		final long bytes;
 		int refCount;
-		long lastAccessTime;
+		volatile long lastAccessTime;
 
 		AssetEntry(Object asset) {
 			this.asset = asset;
 			this.type = asset.getClass();
-			this.refCount = 1;
-			this.lastAccessTime = System.currentTimeMillis();
+			this.bytes = estimateBytes(asset);
+			this.refCount = 0;
+			this.lastAccessTime = System.nanoTime();
+		}
+
+		void touch() {
+			lastAccessTime = System.nanoTime();
+		}
+
+		// Assets are loaded from several threads, so counting is synchronized per entry
+		synchronized void retain() {
+			refCount++;
+			touch();
+		}
+
+		synchronized int release() {
+			if (refCount > 0) {
+				refCount--;
+			}
+			return refCount;
 		}
 
-		void updateAccessTime() {
-			this.lastAccessTime = System.currentTimeMillis();
+		synchronized int getRefCount() {
+			return refCount;
+		}
+
+		synchronized boolean isUnused() {
+			return refCount <= 0;
 		}
 	}
 
 	// Maps asset IDs to the actual assets
 	private final Map<String, AssetEntry> assetRegistry = new ConcurrentHashMap<>();
 
+	// Integer handles of asset IDs, with each handle's slot mirroring the registry
+	private final AssetHandles<AssetEntry> handles = new AssetHandles<>();
+
+	// Held while the registry and the handle slots are updated, so a slot never disagrees with the registry
+	private final Object registryLock = new Object();
+
 	// Maps asset types to their loaders
 	private final Map<Class<?>, IAssetLoader<?>> assetLoaders = new HashMap<>();
 
 	// Maps asset ID's to their descriptors
 	private final Map<String, AssetDescriptor<?>> assetDescriptors = new ConcurrentHashMap<>();
 
-	// Track unused descriptors to clean them up
-	private final Set<String> unusedDescriptors = new HashSet<>();
+	// Evicted assets, kept weakly so one still in use elsewhere is revived instead of loaded again
+	private final Map<String, WeakReference<Object>> evictedAssets = new ConcurrentHashMap<>();
+
+	// Decoded size of all resident assets, and how large it may grow before unused ones are evicted
+	private final AtomicLong residentBytes = new AtomicLong();
+	private volatile long memoryBudget = DEFAULT_MEMORY_BUDGET;
+	private final Object evictionLock = new Object();
+
+	// Assets currently being loaded in the background, so each is only loaded once
+	private final Map<String, CompletableFuture<Object>> pendingLoads = new ConcurrentHashMap<>();
+
+	// Background loading leaves one core for the game thread
+	private final ExecutorService loadExecutor = Executors.newFixedThreadPool(
+		Math.max(1, Runtime.getRuntime().availableProcessors() - 1), new LoaderThreadFactory());
+
+	// Packed resource bundles, searched before the classpath
+	private final List<AssetBundle> bundles = new CopyOnWriteArrayList<>();
+
+	// Decoded pixels of previously loaded images, null when disabled
+	private volatile DecodedImageCache imageCache;
+
+	// Flipped and tinted copies of sprites, dropped together with the sprite they were made from
+	private final Map<Sprite, Map<Long, Sprite>> spriteVariants = Collections.synchronizedMap(new WeakHashMap<>());
+
+	// Most variants kept per sprite, the least recently used one is dropped beyond this
+	public static final int MAX_VARIANTS_PER_SPRITE = 8;
+
+	// Levels per tint channel, so slightly different tints share a variant
+	private static final int TINT_LEVELS = 16;
 
 	private AssetManager() {
 		// Load all asset providers from modules
@@ -79,34 +175,159 @@ public class AssetManager {
 			assetLoaders.put(loader.getAssetType(), loader));
 	}
 
+	/**
+	 * Adds a bundle that resources are read from before falling back to the classpath.
+	 * Bundles mounted first take precedence.
+	 */
+	public void mountBundle(AssetBundle bundle) {
+		bundles.add(bundle);
+		LOGGER.debug("Mounted asset bundle " + bundle.getPath() + " with " + bundle.getEntryCount() + " resources");
+	}
+
+	public void unmountBundles() {
+		bundles.clear();
+	}
+
+	/**
+	 * Opens a resource from the mounted bundles, or from the classpath if no bundle has it.
+	 *
+	 * @param name Resource path relative to the resource root
+	 * @return A stream over the resource, or null if it does not exist
+	 */
+	public InputStream openResource(String name) {
+		for (AssetBundle bundle : bundles) {
+			InputStream stream = bundle.openStream(name);
+			if (stream != null) {
+				return stream;
+			}
+		}
+		return AssetManager.class.getClassLoader().getResourceAsStream(name);
+	}
+
+	/**
+	 * Enables the on-disk cache of decoded images, or disables it when null.
+	 */
+	public void setImageCache(DecodedImageCache cache) {
+		imageCache = cache;
+		if (cache != null) {
+			LOGGER.debug("Caching decoded images in " + cache.getDirectory().toAbsolutePath());
+		}
+	}
+
+	public DecodedImageCache getImageCache() {
+		return imageCache;
+	}
+
+	/**
+	 * Decodes an image and closes the stream.
+	 * With the image cache enabled, an image decoded on an earlier launch is read back as raw pixels
+	 * instead of running the decoder; otherwise its pixels are added to the cache in the background.
+	 * With the {@link ImagePixelStore} enabled, the decoded pixels are kept there as well.
+	 */
+	public Image decodeImage(InputStream stream) {
+		DecodedImageCache cache = imageCache;
+		ImagePixelStore pixelStore = ImagePixelStore.getInstance();
+		try (stream) {
+			if (cache == null && !pixelStore.isEnabled()) {
+				return new Image(stream);
+			}
+
+			byte[] source = stream.readAllBytes();
+			String key = cache != null ? DecodedImageCache.key(source) : null;
+
+			DecodedImageCache.CachedPixels cached = cache != null ? cache.read(key) : null;
+			if (cached != null) {
+				WritableImage image = new WritableImage(cached.width(), cached.height());
+				image.getPixelWriter().setPixels(0, 0, cached.width(), cached.height(),
+					PixelFormat.getIntArgbPreInstance(), cached.pixels(), cached.width());
+				pixelStore.put(image, cached.width(), cached.height(), cached.pixels());
+				return image;
+			}
+
+			Image image = new Image(new ByteArrayInputStream(source));
+			if (!image.isError()) {
+				int width = (int) image.getWidth();
+				int height = (int) image.getHeight();
+				int[] pixels = new int[width * height];
+				image.getPixelReader().getPixels(0, 0, width, height,
+					PixelFormat.getIntArgbPreInstance(), pixels, 0, width);
+				pixelStore.put(image, width, height, pixels);
+				if (cache != null) {
+					loadExecutor.execute(() -> cache.write(key, width, height, pixels));
+				}
+			}
+			return image;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	/**
 	 * Registers an asset descriptor without loading the asset.
 	 * This allows assets to be defined in one module and loaded later.
 	 */
 	public <T> void registerAsset(AssetDescriptor<T> descriptor) {
 		assetDescriptors.put(descriptor.getId(), descriptor);
+		handles.intern(descriptor.getId());
 	}
 
 	/**
-	 * Gets or loads an asset by its reference.
-	 * Includes type safety checks to prevent ClassCastExceptions.
+	 * Returns the integer handle of an asset ID, assigning one if the ID has none yet.
+	 * Handles are assigned when assets are registered and never change, so they can be
+	 * looked up once and kept for resolving the asset with {@link #getAsset(int, Class)}.
+	 *
+	 * @param assetId The namespaced asset ID
+	 */
+	public int getHandle(String assetId) {
+		return handles.intern(assetId);
+	}
+
+	/**
+	 * Returns the asset ID a handle was assigned to.
+	 */
+	public String getAssetId(int handle) {
+		return handles.getName(handle);
+	}
+
+	/**
+	 * Gets or loads an asset by its handle, without holding a reference to it.
+	 * A resident asset is found by array index; otherwise it is loaded like {@link #getAsset(IAssetReference)}.
 	 */
 	@SuppressWarnings("unchecked")
+	public <T> T getAsset(int handle, Class<T> assetType) {
+		AssetEntry entry = handles.get(handle);
+		if (entry != null) {
+			if (!assetType.isInstance(entry.asset)) {
+				throw new AssetTypeException(handles.getName(handle), assetType, entry.type);
+			}
+
+			entry.touch();
+			return (T) entry.asset;
+		}
+
+		return getAsset(handles.getName(handle), assetType);
+	}
+
+	/**
+	 * Gets or loads an asset by its reference, without holding a reference to it.
+	 * The asset may be evicted once nothing has acquired it; use {@link #acquireAsset} to keep it resident.
+	 * Includes type safety checks to prevent ClassCastExceptions.
+	 */
 	public <T> T getAsset(IAssetReference<T> reference) {
-		String assetId = reference.getAssetId();
-		Class<T> assetType = reference.getAssetType();
+		return getAsset(reference.getAssetId(), reference.getAssetType());
+	}
 
+	@SuppressWarnings("unchecked")
+	private <T> T getAsset(String assetId, Class<T> assetType) {
 		// Return asset if already loaded
-		if (assetRegistry.containsKey(assetId)) {
-			AssetEntry entry = assetRegistry.get(assetId);
-
+		AssetEntry entry = findEntry(assetId);
+		if (entry != null) {
 			// Type safety check to prevent ClassCastException
 			if (!assetType.isInstance(entry.asset)) {
 				throw new AssetTypeException(assetId, assetType, entry.type);
 			}
 
-			entry.refCount++;
-			entry.updateAccessTime();
+			entry.touch();
 			return (T) entry.asset;
 		}
 
@@ -129,9 +350,19 @@ public class AssetManager {
 			throw new AssetLoadException(assetId);
 		}
 
-		assetRegistry.put(assetId, new AssetEntry(asset));
-		// Remove from unused descriptors if present
-		unusedDescriptors.remove(assetId);
+		return register(assetId, asset);
+	}
+
+	/**
+	 * Gets or loads an asset and holds a reference to it, so it is not evicted
+	 * until it is released with {@link #releaseAsset}.
+	 */
+	public <T> T acquireAsset(IAssetReference<T> reference) {
+		T asset = getAsset(reference);
+		AssetEntry entry = assetRegistry.get(reference.getAssetId());
+		if (entry != null) {
+			entry.retain();
+		}
 		return asset;
 	}
 
@@ -157,6 +388,88 @@ public class AssetManager {
 		return getAsset(reference);
 	}
 
+	/**
+	 * Gets a copy of a sprite with flipping and tinting baked into its pixels.
+	 * Variants are created on first use and cached, so drawing a flipped or tinted
+	 * sprite does not need transforms or effects. Tints are rounded to 16 levels per channel,
+	 * and at most {@link #MAX_VARIANTS_PER_SPRITE} variants are kept per sprite.
+	 * Variants are standalone images, so dropped ones are reclaimed by the garbage collector.
+	 *
+	 * @param tint Tint color, or null for no tint
+	 * @return The variant, the sprite itself when nothing changes, or null if no variant could be made
+	 */
+	public Sprite getSpriteVariant(Sprite sprite, boolean flipX, boolean flipY, Color tint) {
+		if (sprite == null || (!flipX && !flipY && tint == null)) {
+			return sprite;
+		}
+
+		Color quantizedTint = tint != null ? quantize(tint) : null;
+		long key = (quantizedTint != null ? Integer.toUnsignedLong(toArgb(quantizedTint)) << 2 | 1L << 34 : 0L)
+			| (flipX ? 1 : 0)
+			| (flipY ? 2 : 0);
+
+		Map<Long, Sprite> variants = spriteVariants.computeIfAbsent(sprite, s -> createVariantCache());
+		synchronized (variants) {
+			Sprite variant = variants.get(key);
+			if (variant == null) {
+				variant = sprite.createVariant(flipX, flipY, quantizedTint);
+				if (variant == null) {
+					return null;
+				}
+				variants.put(key, variant);
+			}
+			return variant;
+		}
+	}
+
+	/**
+	 * Returns the number of cached sprite variants.
+	 */
+	public int getSpriteVariantCount() {
+		synchronized (spriteVariants) {
+			int count = 0;
+			for (Map<Long, Sprite> variants : spriteVariants.values()) {
+				synchronized (variants) {
+					count += variants.size();
+				}
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Creates the variant cache of a single sprite, ordered by last use.
+	 */
+	private static Map<Long, Sprite> createVariantCache() {
+		return new LinkedHashMap<>(4, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Sprite> eldest) {
+				return size() > MAX_VARIANTS_PER_SPRITE;
+			}
+		};
+	}
+
+	/**
+	 * Rounds each channel of a color to one of {@link #TINT_LEVELS} levels.
+	 */
+	private static Color quantize(Color color) {
+		return new Color(
+			quantize(color.getRed()), quantize(color.getGreen()),
+			quantize(color.getBlue()), quantize(color.getOpacity())
+		);
+	}
+
+	private static double quantize(double channel) {
+		return Math.round(channel * (TINT_LEVELS - 1)) / (double) (TINT_LEVELS - 1);
+	}
+
+	private static int toArgb(Color color) {
+		return ((int) Math.round(color.getOpacity() * 255) << 24)
+			| ((int) Math.round(color.getRed() * 255) << 16)
+			| ((int) Math.round(color.getGreen() * 255) << 8)
+			| (int) Math.round(color.getBlue() * 255);
+	}
+
 	/**
 	 * Directly stores an asset that's already been created.
 	 * Includes type collision detection to prevent overwriting different types.
@@ -167,18 +480,17 @@ public class AssetManager {
 		}
 
 		// Check for type collision
-		AssetEntry existing = assetRegistry.get(assetId);
+		AssetEntry existing = findEntry(assetId);
 		if (existing != null) {
 			if (!existing.asset.getClass().equals(asset.getClass())) {
 				throw new AssetTypeException(assetId, asset.getClass(), existing.type);
 			}
-			// Same type, just increase ref count
-			existing.refCount++;
-			existing.updateAccessTime();
-		} else {
-			// New asset
-			assetRegistry.put(assetId, new AssetEntry(asset));
+			// Same type, keep the resident one
+			existing.touch();
+			return;
 		}
+
+		register(assetId, asset);
 	}
 
 	/**
@@ -192,7 +504,7 @@ public class AssetManager {
 	 * Checks if an asset is already loaded in the registry.
 	 */
 	public boolean isAssetLoaded(String assetId) {
-		return assetRegistry.containsKey(assetId);
+		return findEntry(assetId) != null;
 	}
 
 	/**
@@ -200,7 +512,7 @@ public class AssetManager {
 	 * Returns null if the asset is not loaded.
 	 */
 	public Class<?> getLoadedAssetType(String assetId) {
-		AssetEntry entry = assetRegistry.get(assetId);
+		AssetEntry entry = findEntry(assetId);
 		return entry != null ? entry.type : null;
 	}
 
@@ -215,15 +527,26 @@ public class AssetManager {
 	}
 
 	/**
-	 * Pre-loads an asset by its ID
+	 * Pre-loads an asset by its ID and holds a reference to it, like {@link #acquireAsset}.
 	 */
-	@SuppressWarnings("unchecked")
 	public <T> T preloadAsset(String assetId) {
+		T asset = loadAsset(assetId);
+		AssetEntry entry = assetRegistry.get(assetId);
+		if (entry != null) {
+			entry.retain();
+		}
+		return asset;
+	}
+
+	/**
+	 * Loads an asset by its ID without holding a reference to it.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T loadAsset(String assetId) {
 		// Skip if already loaded
-		if (assetRegistry.containsKey(assetId)) {
-			AssetEntry entry = assetRegistry.get(assetId);
-			entry.refCount++;
-			entry.updateAccessTime();
+		AssetEntry entry = findEntry(assetId);
+		if (entry != null) {
+			entry.touch();
 			return (T) entry.asset;
 		}
 
@@ -244,15 +567,194 @@ public class AssetManager {
 			throw new AssetLoadException(assetId);
 		}
 
-		assetRegistry.put(assetId, new AssetEntry(asset));
-		// Remove from unused descriptors if present
-		unusedDescriptors.remove(assetId);
+		return register(assetId, asset);
+	}
+
+	/**
+	 * Adds a freshly loaded asset to the registry.
+	 * If another thread registered the same asset meanwhile, that one is kept and returned.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T register(String assetId, T asset) {
+		AssetEntry entry = new AssetEntry(asset);
+		AssetEntry existing;
+		synchronized (registryLock) {
+			existing = assetRegistry.putIfAbsent(assetId, entry);
+			if (existing == null) {
+				handles.set(assetId, entry);
+			}
+		}
+		if (existing != null) {
+			existing.touch();
+			return (T) existing.asset;
+		}
+
+		evictedAssets.remove(assetId);
+		if (entry.bytes > 0 && residentBytes.addAndGet(entry.bytes) > memoryBudget) {
+			evictToBudget();
+		}
 		return asset;
 	}
 
+	/**
+	 * Returns the resident entry of an asset, reviving it if it was evicted but is still in use elsewhere.
+	 */
+	private AssetEntry findEntry(String assetId) {
+		AssetEntry entry = assetRegistry.get(assetId);
+		if (entry != null) {
+			return entry;
+		}
+
+		WeakReference<Object> evicted = evictedAssets.get(assetId);
+		Object asset = evicted != null ? evicted.get() : null;
+		if (asset == null) {
+			return null;
+		}
+
+		register(assetId, asset);
+		return assetRegistry.get(assetId);
+	}
+
+	/**
+	 * Loads registered assets in the background.
+	 * Assets the given ones depend on through their "imageId" or "spriteMapId" metadata are loaded too.
+	 * Loading happens in stages, images, then sprite maps, then sprites, then animations,
+	 * and the assets within a stage are loaded in parallel.
+	 *
+	 * @param assetIds Namespaced IDs of registered assets
+	 * @param listener Notified after each asset, on a loader thread, or null
+	 * @return Completes when all assets are loaded, or exceptionally with the first failure
+	 */
+	public CompletableFuture<Void> preloadAssetsAsync(Collection<String> assetIds, IAssetLoadListener listener) {
+		// Collect the assets and their dependencies, grouped by stage
+		List<List<String>> stages = new ArrayList<>();
+		for (int i = 0; i <= LAST_STAGE; i++) {
+			stages.add(new ArrayList<>());
+		}
+
+		Set<String> visited = new HashSet<>();
+		Deque<String> toVisit = new ArrayDeque<>(assetIds);
+		while (!toVisit.isEmpty()) {
+			String assetId = toVisit.pop();
+			if (!visited.add(assetId)) {
+				continue;
+			}
+
+			AssetDescriptor<?> descriptor = assetDescriptors.get(assetId);
+			if (descriptor == null) {
+				return CompletableFuture.failedFuture(new AssetNotFoundException(assetId, null));
+			}
+			stages.get(getLoadStage(descriptor.getAssetType())).add(assetId);
+
+			addDependency(toVisit, descriptor.getMetadata("imageId"), Image.class);
+			addDependency(toVisit, descriptor.getMetadata("spriteMapId"), SpriteMap.class);
+		}
+
+		int total = visited.size();
+		AtomicInteger completed = new AtomicInteger();
+
+		CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
+		for (List<String> stage : stages) {
+			if (stage.isEmpty()) {
+				continue;
+			}
+
+			result = result.thenCompose(previous -> CompletableFuture.allOf(stage.stream()
+				.map(assetId -> loadAsync(assetId).thenRun(() -> {
+					int done = completed.incrementAndGet();
+					if (listener != null) {
+						listener.onProgress(done, total);
+					}
+				}))
+				.toArray(CompletableFuture[]::new)));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the given assets together with every registered asset they depend on,
+	 * directly or indirectly, through their "imageId" or "spriteMapId" metadata.
+	 * A sprite map's image is included, for example, as that is where its memory goes.
+	 */
+	public Set<String> getAssetsWithDependencies(Collection<String> assetIds) {
+		Set<String> visited = new HashSet<>();
+		Deque<String> toVisit = new ArrayDeque<>(assetIds);
+		while (!toVisit.isEmpty()) {
+			String assetId = toVisit.pop();
+			if (!visited.add(assetId)) {
+				continue;
+			}
+
+			AssetDescriptor<?> descriptor = assetDescriptors.get(assetId);
+			if (descriptor != null) {
+				addDependency(toVisit, descriptor.getMetadata("imageId"), Image.class);
+				addDependency(toVisit, descriptor.getMetadata("spriteMapId"), SpriteMap.class);
+			}
+		}
+		return visited;
+	}
+
+	/**
+	 * Returns the executor assets are loaded on in the background.
+	 */
+	public Executor getLoadExecutor() {
+		return loadExecutor;
+	}
+
+	private CompletableFuture<Object> loadAsync(String assetId) {
+		AssetEntry entry = findEntry(assetId);
+		if (entry != null) {
+			entry.touch();
+			return CompletableFuture.completedFuture(entry.asset);
+		}
+
+		CompletableFuture<Object> load = new CompletableFuture<>();
+		CompletableFuture<Object> pending = pendingLoads.putIfAbsent(assetId, load);
+		if (pending != null) {
+			return pending;
+		}
+
+		loadExecutor.execute(() -> {
+			try {
+				load.complete(loadAsset(assetId));
+			} catch (Throwable t) {
+				LOGGER.error("Failed to load asset in background: " + assetId);
+				load.completeExceptionally(t);
+			} finally {
+				pendingLoads.remove(assetId);
+			}
+		});
+		return load;
+	}
+
+	private void addDependency(Deque<String> toVisit, Object dependency, Class<?> type) {
+		if (dependency instanceof String name) {
+			// Sprite maps are referenced by plain name, images by namespaced ID
+			String assetId = assetDescriptors.containsKey(name)
+				? name
+				: AssetReferenceFactory.getNamespacedAssetId(name, type);
+			if (assetDescriptors.containsKey(assetId)) {
+				toVisit.push(assetId);
+			}
+		}
+	}
+
+	/**
+	 * Returns when an asset type is loaded; assets only depend on types in earlier stages.
+	 */
+	private static int getLoadStage(Class<?> type) {
+		if (type == Image.class) return 0;
+		if (type == SpriteMap.class) return 1;
+		if (type == Sprite.class) return 2;
+		if (type == SpriteAnimation.class) return 3;
+		return LAST_STAGE;
+	}
+
 	/**
 	 * Releases a reference to an asset. When the reference count reaches zero,
-	 * the asset is unloaded.
+	 * the asset stays cached but may be evicted to stay within the memory budget.
+	 *
+	 * @return True if no references to the asset remain
 	 */
 	public boolean releaseAsset(String assetId) {
 		AssetEntry entry = assetRegistry.get(assetId);
@@ -260,11 +762,10 @@ public class AssetManager {
 			return false;
 		}
 
-		entry.refCount--;
-		if (entry.refCount <= 0) {
-			unloadAsset(assetId);
-			// Mark the descriptor as unused
-			unusedDescriptors.add(assetId);
+		if (entry.release() <= 0) {
+			if (residentBytes.get() > memoryBudget) {
+				evictToBudget();
+			}
 			return true;
 		}
 		return false;
@@ -274,12 +775,150 @@ public class AssetManager {
 	 * Unloads an asset by its ID and disposes of any resources
 	 */
 	public void unloadAsset(String assetId) {
-		AssetEntry entry = assetRegistry.remove(assetId);
+		evictedAssets.remove(assetId);
+		AssetEntry entry = removeEntry(assetId);
 		if (entry != null) {
+			residentBytes.addAndGet(-entry.bytes);
 			disposeAsset(entry.asset);
 		}
 	}
 
+	/**
+	 * Sets how many bytes of decoded images may stay resident before unreferenced ones are evicted.
+	 */
+	public void setMemoryBudget(long bytes) {
+		if (bytes < 0) {
+			throw new IllegalArgumentException("Memory budget cannot be negative: " + bytes);
+		}
+		memoryBudget = bytes;
+		evictToBudget();
+	}
+
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Returns the decoded size in bytes of all resident images.
+	 */
+	public long getResidentBytes() {
+		return residentBytes.get();
+	}
+
+	/**
+	 * Evicts unreferenced images, least recently used first, until the resident size fits the budget.
+	 * Sprites and sprite maps cut from an evicted image are evicted with it, and an image is
+	 * kept while any of them is referenced.
+	 */
+	private void evictToBudget() {
+		synchronized (evictionLock) {
+			if (residentBytes.get() <= memoryBudget) {
+				return;
+			}
+
+			// Assets made from each image or sprite map, found through their descriptors
+			Map<String, List<String>> dependents = new HashMap<>();
+			for (String assetId : assetRegistry.keySet()) {
+				AssetDescriptor<?> descriptor = assetDescriptors.get(assetId);
+				if (descriptor == null) {
+					continue;
+				}
+				addDependent(dependents, descriptor.getMetadata("imageId"), assetId);
+				addDependent(dependents, descriptor.getMetadata("spriteMapId"), assetId);
+			}
+
+			List<Map.Entry<String, AssetEntry>> candidates = new ArrayList<>();
+			for (Map.Entry<String, AssetEntry> candidate : assetRegistry.entrySet()) {
+				if (candidate.getValue().bytes > 0 && candidate.getValue().isUnused()) {
+					candidates.add(candidate);
+				}
+			}
+			candidates.sort(Comparator.comparingLong(candidate -> candidate.getValue().lastAccessTime));
+
+			for (Map.Entry<String, AssetEntry> candidate : candidates) {
+				if (residentBytes.get() <= memoryBudget) {
+					break;
+				}
+
+				Set<String> group = new HashSet<>();
+				if (collectEvictionGroup(candidate.getKey(), dependents, group)) {
+					LOGGER.debug("Evicting " + candidate.getKey() + " and " + (group.size() - 1) + " dependent asset(s)");
+					group.forEach(this::evict);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects an asset and everything made from it.
+	 *
+	 * @return False if any of them is referenced or cannot be loaded again, so the group must stay
+	 */
+	private boolean collectEvictionGroup(String assetId, Map<String, List<String>> dependents, Set<String> group) {
+		if (!group.add(assetId)) {
+			return true;
+		}
+
+		AssetEntry entry = assetRegistry.get(assetId);
+		if (entry == null) {
+			return true;
+		}
+		if (!entry.isUnused() || !assetDescriptors.containsKey(assetId)) {
+			return false;
+		}
+
+		for (String dependent : dependents.getOrDefault(assetId, List.of())) {
+			if (!collectEvictionGroup(dependent, dependents, group)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void addDependent(Map<String, List<String>> dependents, Object dependency, String assetId) {
+		if (dependency instanceof String name) {
+			// Sprite maps are referenced by plain name, images by namespaced ID
+			String dependencyId = assetRegistry.containsKey(name)
+				? name
+				: AssetReferenceFactory.getNamespacedAssetId(name, SpriteMap.class);
+			dependents.computeIfAbsent(dependencyId, k -> new ArrayList<>()).add(assetId);
+		}
+	}
+
+	/**
+	 * Drops the cache's hold on an asset without disposing it, as it may still be in use elsewhere.
+	 */
+	private void evict(String assetId) {
+		AssetEntry entry = removeEntry(assetId);
+		if (entry != null) {
+			residentBytes.addAndGet(-entry.bytes);
+			evictedAssets.put(assetId, new WeakReference<>(entry.asset));
+		}
+	}
+
+	/**
+	 * Removes an asset from the registry and empties its handle slot.
+	 *
+	 * @return The removed entry, or null if the asset was not resident
+	 */
+	private AssetEntry removeEntry(String assetId) {
+		synchronized (registryLock) {
+			AssetEntry entry = assetRegistry.remove(assetId);
+			if (entry != null) {
+				handles.clear(assetId, entry);
+			}
+			return entry;
+		}
+	}
+
+	private static long estimateBytes(Object asset) {
+		// Sprites and sprite maps share the image they are cut from, which is counted on its own
+		if (asset instanceof Image image) {
+			return (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * 4;
+		}
+		return 0;
+	}
+
 	/**
 	 * Disposes of resources held by an asset
 	 */
@@ -287,13 +926,14 @@ public class AssetManager {
 		// Properly dispose of different asset types using IDisposable where applicable
 		if (asset instanceof IDisposable) {
 			((IDisposable) asset).dispose();
-		} else if (asset instanceof Image) {
+		} else if (asset instanceof Image image && image.getProgress() < 1.0) {
 			// It is on purpose the JavaFX Image is not marked as IDisposable
 			// JavaFX resources need to be disposed on the JavaFX thread
+			// Only images still loading in the background have anything to cancel
 			Platform.runLater(() -> {
 				try {
 					// Cancel any ongoing loading and allow image to be garbage collected
-					((Image)asset).cancel();
+					image.cancel();
 				} catch (Exception e) {
 					LOGGER.error("Error disposing image: " + e.getMessage());
 				}
@@ -307,28 +947,67 @@ public class AssetManager {
 	}
 
 	/**
-	 * Unloads all assets that aren't being referenced
+	 * Drops the cache's hold on resident images that match a filter, such as images whose pixels
+	 * were copied into the texture atlas. Only images with a descriptor are released, so they
+	 * are loaded again if requested.
+	 *
+	 * @return The number of images released
+	 */
+	public int releaseImages(Predicate<Image> filter) {
+		int released = 0;
+		synchronized (evictionLock) {
+			for (Map.Entry<String, AssetEntry> resident : assetRegistry.entrySet()) {
+				if (resident.getValue().asset instanceof Image image && filter.test(image)
+					&& assetDescriptors.containsKey(resident.getKey())) {
+					evict(resident.getKey());
+					released++;
+				}
+			}
+		}
+		return released;
+	}
+
+	/**
+	 * Evicts assets that aren't being referenced until the resident size fits the memory budget.
+	 * Their descriptors are kept, so they can be loaded again.
 	 */
 	public void unloadUnusedAssets() {
-		// Create a list to avoid possible concurrency problems
-		assetRegistry.keySet().stream()
-			.filter(id -> assetRegistry.get(id).refCount <= 0)
-			.toList()
-			.forEach(this::unloadAsset);
+		evictToBudget();
 
-		cleanupUnusedDescriptors();
+		// Evicted assets nothing else holds on to are gone for good
+		evictedAssets.values().removeIf(reference -> reference.get() == null);
+	}
+
+	/**
+	 * Returns the memory use of every resident asset, and of evicted assets still reachable from elsewhere.
+	 */
+	public List<AssetUsage> getAssetUsage() {
+		List<AssetUsage> usage = new ArrayList<>(assetRegistry.size());
+		for (Map.Entry<String, AssetEntry> resident : assetRegistry.entrySet()) {
+			AssetEntry entry = resident.getValue();
+			usage.add(new AssetUsage(resident.getKey(), entry.type, entry.bytes, entry.getRefCount(), true));
+		}
+
+		for (Map.Entry<String, WeakReference<Object>> evicted : evictedAssets.entrySet()) {
+			Object asset = evicted.getValue().get();
+			if (asset != null && !assetRegistry.containsKey(evicted.getKey())) {
+				usage.add(new AssetUsage(evicted.getKey(), asset.getClass(), estimateBytes(asset), 0, false));
+			}
+		}
+		return usage;
 	}
 
 	/**
-	 * Removes descriptors for assets that have been unloaded and
-	 * are no longer needed by any scene
+	 * Returns all loaded assets of the given type, without touching their reference counts
 	 */
-	public void cleanupUnusedDescriptors() {
-		// Only remove descriptors that have been marked as unused
-		for (String id : unusedDescriptors) {
-			assetDescriptors.remove(id);
+	public <T> List<T> getLoadedAssets(Class<T> type) {
+		List<T> assets = new ArrayList<>();
+		for (AssetEntry entry : assetRegistry.values()) {
+			if (type.isInstance(entry.asset)) {
+				assets.add(type.cast(entry.asset));
+			}
 		}
-		unusedDescriptors.clear();
+		return assets;
 	}
 
 	/**
@@ -353,7 +1032,26 @@ public class AssetManager {
 		for (String assetId : new HashSet<>(assetRegistry.keySet())) {
 			unloadAsset(assetId);
 		}
-		assetRegistry.clear();
+		synchronized (registryLock) {
+			assetRegistry.clear();
+			handles.clearAll();
+		}
+		evictedAssets.clear();
+		residentBytes.set(0);
+	}
+
+	/**
+	 * Creates daemon threads for background loading, so they never keep the application alive.
+	 */
+	private static class LoaderThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "asset-loader-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
 	}
 
 	/**
@@ -0,0 +1,205 @@
+package dk.sdu.sem.gamesystem.assets.managers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A snapshot of how much memory assets occupy and who owns them.
+ * <p>
+ * Two kinds of suspected leaks are reported:
+ * assets still referenced after every scene owning them was unloaded, which points at an
+ * acquire without a matching release, and assets evicted from the cache that are still reachable,
+ * which points at something holding on to them directly.
+ */
+public class AssetMemoryReport {
+	/**
+	 * An asset still referenced after the scene that owned it was unloaded.
+	 */
+	public record Leak(String sceneName, AssetUsage asset) {
+	}
+
+	private final long memoryBudget;
+	private final long residentBytes;
+	private final long evictedReachableBytes;
+	private final List<AssetUsage> assets;
+	private final Map<String, Long> bytesByType = new TreeMap<>();
+	private final Map<String, Long> bytesByScene = new TreeMap<>();
+	private final List<Leak> leaks = new ArrayList<>();
+	private final List<AssetUsage> evictedReachable = new ArrayList<>();
+
+	/**
+	 * @param usage Memory use of the assets, as returned by {@link AssetManager#getAssetUsage()}
+	 * @param memoryBudget The asset manager's memory budget
+	 * @param loadedScenes Asset IDs owned by each loaded scene
+	 * @param unloadedScenes Asset IDs owned by each scene that has been unloaded
+	 */
+	public AssetMemoryReport(List<AssetUsage> usage, long memoryBudget,
+							 Map<String, Set<String>> loadedScenes, Map<String, Set<String>> unloadedScenes) {
+		this.memoryBudget = memoryBudget;
+
+		List<AssetUsage> sorted = new ArrayList<>(usage);
+		sorted.sort(Comparator.comparingLong(AssetUsage::bytes).reversed().thenComparing(AssetUsage::assetId));
+		this.assets = Collections.unmodifiableList(sorted);
+
+		Map<String, AssetUsage> residentById = new HashMap<>();
+		long resident = 0;
+		long evicted = 0;
+		for (AssetUsage asset : sorted) {
+			if (asset.resident()) {
+				residentById.put(asset.assetId(), asset);
+				bytesByType.merge(asset.type().getSimpleName(), asset.bytes(), Long::sum);
+				resident += asset.bytes();
+			} else {
+				evictedReachable.add(asset);
+				evicted += asset.bytes();
+			}
+		}
+		this.residentBytes = resident;
+		this.evictedReachableBytes = evicted;
+
+		// Assets shared by several scenes count towards each of them
+		for (Map.Entry<String, Set<String>> scene : loadedScenes.entrySet()) {
+			long bytes = 0;
+			for (String assetId : scene.getValue()) {
+				AssetUsage asset = residentById.get(assetId);
+				if (asset != null) {
+					bytes += asset.bytes();
+				}
+			}
+			bytesByScene.put(scene.getKey(), bytes);
+		}
+
+		for (Map.Entry<String, Set<String>> scene : unloadedScenes.entrySet()) {
+			for (String assetId : scene.getValue()) {
+				AssetUsage asset = residentById.get(assetId);
+				if (asset != null && asset.referenceCount() > 0 && !isOwnedByAny(assetId, loadedScenes)) {
+					leaks.add(new Leak(scene.getKey(), asset));
+				}
+			}
+		}
+		leaks.sort(Comparator.comparing((Leak leak) -> leak.asset().assetId()));
+	}
+
+	private static boolean isOwnedByAny(String assetId, Map<String, Set<String>> scenes) {
+		for (Set<String> assets : scenes.values()) {
+			if (assets.contains(assetId)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Returns the decoded size of all assets held by the cache.
+	 */
+	public long getResidentBytes() {
+		return residentBytes;
+	}
+
+	/**
+	 * Returns the decoded size of evicted assets that have not been garbage collected, because something still holds them.
+	 */
+	public long getEvictedReachableBytes() {
+		return evictedReachableBytes;
+	}
+
+	/**
+	 * Returns every asset, largest first.
+	 */
+	public List<AssetUsage> getAssets() {
+		return assets;
+	}
+
+	/**
+	 * Returns the resident bytes per asset type, by simple class name.
+	 */
+	public Map<String, Long> getBytesByType() {
+		return Collections.unmodifiableMap(bytesByType);
+	}
+
+	/**
+	 * Returns the resident bytes owned by each loaded scene.
+	 */
+	public Map<String, Long> getBytesByScene() {
+		return Collections.unmodifiableMap(bytesByScene);
+	}
+
+	public List<Leak> getLeaks() {
+		return Collections.unmodifiableList(leaks);
+	}
+
+	public List<AssetUsage> getEvictedReachable() {
+		return Collections.unmodifiableList(evictedReachable);
+	}
+
+	public boolean hasSuspectedLeaks() {
+		return !leaks.isEmpty() || !evictedReachable.isEmpty();
+	}
+
+	/**
+	 * Formats the report over several lines, listing at most the given number of assets per section.
+	 */
+	public String format(int maxAssets) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("Assets: %d, %s resident of %s budget, %s evicted but reachable%n",
+			assets.size(), formatBytes(residentBytes), formatBytes(memoryBudget), formatBytes(evictedReachableBytes)));
+
+		sb.append("By type:").append(System.lineSeparator());
+		bytesByType.forEach((type, bytes) ->
+			sb.append(String.format("  %-16s %s%n", type, formatBytes(bytes))));
+
+		sb.append("By scene:").append(System.lineSeparator());
+		bytesByScene.forEach((scene, bytes) ->
+			sb.append(String.format("  %-16s %s%n", scene, formatBytes(bytes))));
+
+		sb.append("Largest:").append(System.lineSeparator());
+		for (AssetUsage asset : assets.subList(0, Math.min(maxAssets, assets.size()))) {
+			sb.append(String.format("  %-40s %s, %d ref(s)%n", asset.assetId(), formatBytes(asset.bytes()), asset.referenceCount()));
+		}
+
+		if (!leaks.isEmpty()) {
+			sb.append("Still referenced after their scene was unloaded:").append(System.lineSeparator());
+			for (Leak leak : leaks.subList(0, Math.min(maxAssets, leaks.size()))) {
+				sb.append(String.format("  %-40s %d ref(s), from %s%n",
+					leak.asset().assetId(), leak.asset().referenceCount(), leak.sceneName()));
+			}
+		}
+
+		if (!evictedReachable.isEmpty()) {
+			sb.append("Evicted but still reachable:").append(System.lineSeparator());
+			for (AssetUsage asset : evictedReachable.subList(0, Math.min(maxAssets, evictedReachable.size()))) {
+				sb.append(String.format("  %-40s %s%n", asset.assetId(), formatBytes(asset.bytes())));
+			}
+		}
+
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		return format(10);
+	}
+
+	/**
+	 * Formats a byte count in the largest unit that keeps it at or above 1.
+	 */
+	public static String formatBytes(long bytes) {
+		if (bytes < 1024) {
+			return bytes + " B";
+		}
+		if (bytes < 1024 * 1024) {
+			return String.format("%.1f KB", bytes / 1024.0);
+		}
+		return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+	}
+}
@@ -0,0 +1,11 @@
+package dk.sdu.sem.gamesystem.assets.managers;
+
+/**
+ * Memory use of a single asset.
+ *
+ * @param bytes Decoded size in bytes, 0 for assets that share the pixels of another asset
+ * @param referenceCount Number of holders that acquired the asset and have not released it
+ * @param resident False for an asset evicted from the cache that is still reachable from elsewhere
+ */
+public record AssetUsage(String assetId, Class<?> type, long bytes, int referenceCount, boolean resident) {
+}
@@ -3,13 +3,18 @@ package dk.sdu.sem.gamesystem.assets.managers;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages assets tied to specific scenes.
+ * Remembers what unloaded scenes owned, so assets that outlive their scene can be reported.
  */
 public class SceneAssetManager {
 	private final static Logging LOGGER = Logging.createLogger("SceneAssetManager", LoggingLevel.DEBUG);
@@ -23,6 +28,12 @@ public class SceneAssetManager {
 	// Track currently loaded scenes for cleanup
 	private final Set<String> loadedScenes = new HashSet<>();
 
+	// Assets owned by each scene when it was unloaded, checked for assets still referenced afterwards
+	private final Map<String, Set<String>> unloadedScenes = new HashMap<>();
+
+	// Scenes kept resident ahead of use, each completing once its assets are loaded and held
+	private final Map<String, CompletableFuture<Void>> retainedScenes = new HashMap<>();
+
 	private SceneAssetManager() {
 		assetManager = AssetManager.getInstance();
 	}
@@ -53,6 +64,70 @@ public class SceneAssetManager {
 				}
 			}
 			loadedScenes.add(sceneName);
+			unloadedScenes.remove(sceneName);
+		}
+	}
+
+	/**
+	 * Keeps the assets of the given scenes resident, so switching to one of them does not wait on loading.
+	 * Assets not loaded yet are loaded in the background. Scenes retained by an earlier call and
+	 * missing from this one are released.
+	 *
+	 * @return Completes when the assets of all given scenes are loaded
+	 */
+	public CompletableFuture<Void> retainScenesAsync(Collection<String> sceneNames) {
+		Set<String> keep = new HashSet<>(sceneNames);
+
+		Iterator<Map.Entry<String, CompletableFuture<Void>>> retained = retainedScenes.entrySet().iterator();
+		while (retained.hasNext()) {
+			Map.Entry<String, CompletableFuture<Void>> scene = retained.next();
+			if (!keep.contains(scene.getKey())) {
+				Set<String> assets = new HashSet<>(sceneAssets.getOrDefault(scene.getKey(), Set.of()));
+				// Released only after they were held, even if loading is still in progress
+				scene.getValue().thenRun(() -> releaseAll(assets));
+				retained.remove();
+			}
+		}
+
+		for (String sceneName : keep) {
+			if (retainedScenes.containsKey(sceneName)) {
+				continue;
+			}
+
+			Set<String> assets = new HashSet<>(sceneAssets.getOrDefault(sceneName, Set.of()));
+			CompletableFuture<Void> loading = assetManager.preloadAssetsAsync(assets, null)
+				.handle((result, error) -> {
+					if (error != null) {
+						LOGGER.error("Error loading assets of scene " + sceneName + " - " + error.getMessage());
+					}
+					preloadAll(assets);
+					return null;
+				});
+			retainedScenes.put(sceneName, loading);
+		}
+
+		return CompletableFuture.allOf(keep.stream()
+			.map(retainedScenes::get)
+			.toArray(CompletableFuture[]::new));
+	}
+
+	private void preloadAll(Set<String> assetIds) {
+		for (String assetId : assetIds) {
+			try {
+				assetManager.preloadAsset(assetId);
+			} catch (Exception e) {
+				LOGGER.error("Error loading asset: " + assetId + " - " + e.getMessage());
+			}
+		}
+	}
+
+	private void releaseAll(Set<String> assetIds) {
+		for (String assetId : assetIds) {
+			try {
+				assetManager.releaseAsset(assetId);
+			} catch (Exception e) {
+				LOGGER.error("Error unloading asset: " + assetId + " - " + e.getMessage());
+			}
 		}
 	}
 
@@ -70,6 +145,7 @@ public class SceneAssetManager {
 				}
 			}
 			loadedScenes.remove(sceneName);
+			unloadedScenes.put(sceneName, new HashSet<>(assets));
 		}
 	}
 
@@ -86,6 +162,58 @@ public class SceneAssetManager {
 
 		// Clean up unused assets after scene change
 		assetManager.unloadUnusedAssets();
+
+		if (oldSceneName != null) {
+			reportLeaks();
+		}
+	}
+
+	/**
+	 * Logs assets that are still referenced after the scene owning them was unloaded.
+	 */
+	private void reportLeaks() {
+		AssetMemoryReport report = createMemoryReport();
+		for (AssetMemoryReport.Leak leak : report.getLeaks()) {
+			LOGGER.warn("Asset " + leak.asset().assetId() + " is still referenced " + leak.asset().referenceCount() +
+				" time(s) after scene " + leak.sceneName() + " was unloaded");
+		}
+	}
+
+	/**
+	 * Creates a report of asset memory use per type and per loaded scene,
+	 * including assets that outlived the scene that loaded them.
+	 */
+	public AssetMemoryReport createMemoryReport() {
+		// Retained scenes hold their assets too, so they count as owners
+		Map<String, Set<String>> loaded = new HashMap<>();
+		for (String sceneName : loadedScenes) {
+			loaded.put(sceneName, getOwnedAssetIds(sceneAssets.getOrDefault(sceneName, Set.of())));
+		}
+		for (String sceneName : retainedScenes.keySet()) {
+			loaded.put(sceneName, getOwnedAssetIds(sceneAssets.getOrDefault(sceneName, Set.of())));
+		}
+
+		Map<String, Set<String>> unloaded = new HashMap<>();
+		for (Map.Entry<String, Set<String>> scene : unloadedScenes.entrySet()) {
+			unloaded.put(scene.getKey(), getOwnedAssetIds(scene.getValue()));
+		}
+
+		return new AssetMemoryReport(assetManager.getAssetUsage(), assetManager.getMemoryBudget(), loaded, unloaded);
+	}
+
+	/**
+	 * Scenes list sprites, sprite maps and animations, which take no memory of their own,
+	 * so the images they are cut from are owned by the scene as well.
+	 */
+	private Set<String> getOwnedAssetIds(Set<String> assetIds) {
+		return assetManager.getAssetsWithDependencies(assetIds);
+	}
+
+	/**
+	 * Returns the IDs of the assets registered for a scene.
+	 */
+	public Set<String> getSceneAssetIds(String sceneName) {
+		return Collections.unmodifiableSet(sceneAssets.getOrDefault(sceneName, Set.of()));
 	}
 
 	/**
@@ -132,10 +260,12 @@ public class SceneAssetManager {
 		for (String sceneName : new HashSet<>(loadedScenes)) {
 			unloadSceneAssets(sceneName);
 		}
+		retainScenesAsync(Set.of());
 
 		// Clear all registrations
 		sceneAssets.clear();
 		loadedScenes.clear();
+		unloadedScenes.clear();
 
 		// Clean up unused assets
 		assetManager.unloadUnusedAssets();
@@ -1,5 +1,6 @@
 package dk.sdu.sem.gamesystem.assets.references;
 
+import dk.sdu.sem.gamesystem.assets.managers.AssetHandles;
 import dk.sdu.sem.gamesystem.assets.managers.AssetManager;
 import dk.sdu.sem.gamesystem.rendering.Sprite;
 import dk.sdu.sem.gamesystem.rendering.SpriteMap;
@@ -17,6 +18,9 @@ public class SpriteMapTileReference implements IAssetReference<Sprite> {
 	private final int tileIndex;
 	private final String uniqueId;
 
+	// Handle of the sprite map, looked up on first resolve
+	private int spriteMapHandle = AssetHandles.INVALID;
+
 	/**
 	 * Creates a reference to a specific tile within a sprite map.
 	 *
@@ -57,15 +61,18 @@ public class SpriteMapTileReference implements IAssetReference<Sprite> {
 	/**
 	 * Resolves this reference to the actual sprite.
 	 * This handles the namespacing of sprite map IDs.
+	 * Animated tiles resolve every frame, so the sprite map is found by its handle.
 	 */
 	public Sprite resolveSprite() {
 		try {
-			// Create a properly namespaced reference to the sprite map
-			String namespacedId = AssetReferenceFactory.getNamespacedAssetId(spriteMapName, SpriteMap.class);
-			SpriteMapReference spriteMapRef = new SpriteMapReference(namespacedId);
+			AssetManager manager = AssetManager.getInstance();
+			if (spriteMapHandle == AssetHandles.INVALID) {
+				// Create a properly namespaced ID for the sprite map
+				String namespacedId = AssetReferenceFactory.getNamespacedAssetId(spriteMapName, SpriteMap.class);
+				spriteMapHandle = manager.getHandle(namespacedId);
+			}
 
-			// Get the sprite map using the namespaced ID
-			SpriteMap spriteMap = AssetManager.getInstance().getAsset(spriteMapRef);
+			SpriteMap spriteMap = manager.getAsset(spriteMapHandle, SpriteMap.class);
 			if (spriteMap != null) {
 				return spriteMap.getTile(tileIndex);
 			}
@@ -71,8 +71,19 @@ public class AnimatorComponent implements IComponent {
 	 * Adds an animation state.
 	 */
 	public void addState(String stateName, String animationName) {
-		// Load the animation
-		SpriteAnimation animation = AssetFacade.getAnimation(animationName);
+		addState(stateName, AssetFacade.getAnimation(animationName));
+	}
+
+	/**
+	 * Adds an animation state by the animation's handle.
+	 *
+	 * @param animationHandle Handle of the animation, from {@link AssetFacade#getHandle}
+	 */
+	public void addState(String stateName, int animationHandle) {
+		addState(stateName, AssetFacade.getAnimation(animationHandle));
+	}
+
+	private void addState(String stateName, SpriteAnimation animation) {
 		animations.put(stateName, animation);
 
 		// If first state, set as current
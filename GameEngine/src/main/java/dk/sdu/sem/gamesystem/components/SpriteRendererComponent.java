@@ -1,9 +1,12 @@
 package dk.sdu.sem.gamesystem.components;
 
 import dk.sdu.sem.commonsystem.IComponent;
+import dk.sdu.sem.gamesystem.assets.managers.AssetHandles;
 import dk.sdu.sem.gamesystem.assets.managers.AssetManager;
 import dk.sdu.sem.gamesystem.assets.references.IAssetReference;
+import dk.sdu.sem.gamesystem.assets.references.SpriteReference;
 import dk.sdu.sem.gamesystem.rendering.Sprite;
+import javafx.scene.paint.Color;
 
 /**
  * Component that renders a sprite for an entity.
@@ -12,11 +15,18 @@ public class SpriteRendererComponent implements IComponent {
 	private IAssetReference<Sprite> spriteReference;
 	private Sprite cachedSprite;
 
+	// Handle of the sprite when set by handle. It is resolved by array index whenever the sprite is read,
+	// and the reference is only created if someone asks for it.
+	private int spriteHandle = AssetHandles.INVALID;
+
 	private int renderLayer = 0;
 	private boolean flipX = false;
 	private boolean flipY = false;
 	private boolean visible = true;
 
+	// Colour blended over the sprite, e.g. for a damage flash. Null means no tint.
+	private Color tint = null;
+
 	/**
 	 * Creates an empty sprite renderer with no reference.
 	 */
@@ -38,10 +48,25 @@ public class SpriteRendererComponent implements IComponent {
 	}
 
 	/**
-	 * Gets the current sprite by resolving its reference.
-	 * This uses caching.
+	 * Creates a sprite renderer with a sprite handle.
+	 *
+	 * @param spriteHandle Handle of the sprite, from {@link AssetManager#getHandle}
+	 */
+	public SpriteRendererComponent(int spriteHandle, int renderLayer) {
+		setSprite(spriteHandle);
+		this.renderLayer = renderLayer;
+	}
+
+	/**
+	 * Gets the current sprite.
+	 * A sprite set by handle is looked up by array index on every call, so an evicted sprite is not held on to.
+	 * A sprite set by reference is resolved once and cached.
 	 */
 	public Sprite getSprite() {
+		if (spriteHandle != AssetHandles.INVALID) {
+			return AssetManager.getInstance().getAsset(spriteHandle, Sprite.class);
+		}
+
 		if (spriteReference == null) {
 			return null;
 		}
@@ -51,29 +76,70 @@ public class SpriteRendererComponent implements IComponent {
 			return cachedSprite;
 		}
 
-		// Resolve the sprite reference
 		cachedSprite = AssetManager.getInstance().resolveSprite(spriteReference);
 		return cachedSprite;
 	}
 
 	/**
 	 * Sets the sprite by reference.
-	 * This is the only supported way to set sprites.
+	 * Use {@link #setSprite(int)} where the sprite changes often.
 	 *
 	 * @param reference The sprite reference
 	 */
 	public void setSprite(IAssetReference<Sprite> reference) {
 		this.spriteReference = reference;
+		this.spriteHandle = AssetHandles.INVALID;
 		this.cachedSprite = null;
 	}
 
 	/**
-	 * Gets the sprite reference.
+	 * Sets the sprite by handle. The sprite is resolved by array index instead of by name,
+	 * and setting it neither looks anything up nor allocates, so it can be called every frame.
+	 *
+	 * @param spriteHandle Handle of the sprite, from {@link AssetManager#getHandle}
+	 */
+	public void setSprite(int spriteHandle) {
+		if (spriteHandle == AssetHandles.INVALID) {
+			throw new IllegalArgumentException("Invalid sprite handle");
+		}
+
+		if (this.spriteHandle != spriteHandle) {
+			this.spriteReference = null;
+			this.spriteHandle = spriteHandle;
+		}
+		this.cachedSprite = null;
+	}
+
+	/**
+	 * Sets the sprite by reference together with the sprite it was already resolved to,
+	 * so the reference is not resolved again. Used for animation frames.
+	 *
+	 * @param reference The sprite reference
+	 * @param sprite The sprite the reference resolves to, or null to resolve it on demand
+	 */
+	public void setSprite(IAssetReference<Sprite> reference, Sprite sprite) {
+		this.spriteReference = reference;
+		this.spriteHandle = AssetHandles.INVALID;
+		this.cachedSprite = sprite;
+	}
+
+	/**
+	 * Gets the sprite reference, creating it on first use for a sprite set by handle.
 	 */
 	public IAssetReference<Sprite> getSpriteReference() {
+		if (spriteReference == null && spriteHandle != AssetHandles.INVALID) {
+			spriteReference = new SpriteReference(AssetManager.getInstance().getAssetId(spriteHandle));
+		}
 		return spriteReference;
 	}
 
+	/**
+	 * Gets the sprite handle, or {@link AssetHandles#INVALID} if the sprite was set by reference.
+	 */
+	public int getSpriteHandle() {
+		return spriteHandle;
+	}
+
 	/**
 	 * Invalidates the sprite cache, forcing reference resolution on next getSprite().
 	 * This should be called if the referenced sprite might have changed.
@@ -106,6 +172,17 @@ public class SpriteRendererComponent implements IComponent {
 		this.flipY = flipY;
 	}
 
+	public Color getTint() {
+		return tint;
+	}
+
+	/**
+	 * Sets a colour blended over the sprite by the colour's opacity, or null to remove it.
+	 */
+	public void setTint(Color tint) {
+		this.tint = tint;
+	}
+
 	public boolean isVisible() {
 		return visible;
 	}
@@ -14,7 +14,6 @@ public class TilemapRendererComponent implements IComponent {
 	private final TilemapComponent tilemapData;
 	private SpriteMap spriteMap;                 // cached sprites
 	private int renderLayer = 10;                // default render layer
-	private boolean snapshotValid = false;
 
 	public TilemapRendererComponent(TilemapComponent tilemapData) {
 		this.tilemapData = tilemapData;
@@ -60,15 +59,4 @@ public class TilemapRendererComponent implements IComponent {
 		}
 		return (spriteMap != null) ? spriteMap.getTile(tileId) : null;
 	}
-
-	public boolean isSnapshotValid() {
-		return snapshotValid;
-	}
-
-	public void markSnapshotValid() {
-		snapshotValid = true; }
-
-	public void invalidateSnapshot() {
-		snapshotValid = false;
-	}
 }
\ No newline at end of file
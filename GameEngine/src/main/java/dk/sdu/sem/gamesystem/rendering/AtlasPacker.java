@@ -0,0 +1,165 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs rectangles into a fixed size page using the skyline bottom-left algorithm.
+ * The packer only tracks the upper outline of everything placed so far, so each
+ * insert is linear in the number of outline segments.
+ */
+public class AtlasPacker {
+	private final int width;
+	private final int height;
+
+	// Segments of the skyline from left to right, covering the full page width
+	private final List<Segment> skyline = new ArrayList<>();
+
+	private long usedArea = 0;
+
+	public AtlasPacker(int width, int height) {
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException("Atlas page size must be positive: " + width + "x" + height);
+		}
+
+		this.width = width;
+		this.height = height;
+		skyline.add(new Segment(0, 0, width));
+	}
+
+	/**
+	 * Finds a place for a rectangle and reserves it.
+	 *
+	 * @return The top-left corner of the placed rectangle, or null if it does not fit on this page
+	 */
+	public Placement insert(int rectWidth, int rectHeight) {
+		if (rectWidth <= 0 || rectHeight <= 0) {
+			throw new IllegalArgumentException("Rectangle size must be positive: " + rectWidth + "x" + rectHeight);
+		}
+
+		int bestIndex = -1;
+		int bestY = 0;
+		int bestBottom = Integer.MAX_VALUE;
+		int bestSegmentWidth = Integer.MAX_VALUE;
+
+		for (int i = 0; i < skyline.size(); i++) {
+			int y = fit(i, rectWidth, rectHeight);
+			if (y < 0) {
+				continue;
+			}
+
+			// Prefer the lowest resulting top edge, then the tightest segment
+			int bottom = y + rectHeight;
+			int segmentWidth = skyline.get(i).width;
+			if (bottom < bestBottom || (bottom == bestBottom && segmentWidth < bestSegmentWidth)) {
+				bestIndex = i;
+				bestY = y;
+				bestBottom = bottom;
+				bestSegmentWidth = segmentWidth;
+			}
+		}
+
+		if (bestIndex < 0) {
+			return null;
+		}
+
+		int x = skyline.get(bestIndex).x;
+		place(bestIndex, x, bestY + rectHeight, rectWidth);
+		usedArea += (long) rectWidth * rectHeight;
+
+		return new Placement(x, bestY);
+	}
+
+	/**
+	 * Returns the y coordinate a rectangle would rest at when its left edge is at the given segment,
+	 * or -1 if it would stick out of the page.
+	 */
+	private int fit(int index, int rectWidth, int rectHeight) {
+		int x = skyline.get(index).x;
+		if (x + rectWidth > width) {
+			return -1;
+		}
+
+		int y = 0;
+		int remaining = rectWidth;
+		for (int i = index; remaining > 0; i++) {
+			Segment segment = skyline.get(i);
+			y = Math.max(y, segment.y);
+			if (y + rectHeight > height) {
+				return -1;
+			}
+			remaining -= segment.width;
+		}
+
+		return y;
+	}
+
+	/**
+	 * Raises the skyline over the placed rectangle and merges segments of equal height.
+	 */
+	private void place(int index, int x, int top, int rectWidth) {
+		skyline.add(index, new Segment(x, top, rectWidth));
+
+		// Cut away the segments now covered by the new one
+		int end = x + rectWidth;
+		int i = index + 1;
+		while (i < skyline.size()) {
+			Segment segment = skyline.get(i);
+			if (segment.x >= end) {
+				break;
+			}
+
+			int segmentEnd = segment.x + segment.width;
+			if (segmentEnd <= end) {
+				skyline.remove(i);
+			} else {
+				segment.width = segmentEnd - end;
+				segment.x = end;
+				break;
+			}
+		}
+
+		for (int j = 0; j < skyline.size() - 1; j++) {
+			Segment current = skyline.get(j);
+			Segment next = skyline.get(j + 1);
+			if (current.y == next.y) {
+				current.width += next.width;
+				skyline.remove(j + 1);
+				j--;
+			}
+		}
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the fraction of the page covered by placed rectangles.
+	 */
+	public double getOccupancy() {
+		return (double) usedArea / ((long) width * height);
+	}
+
+	/**
+	 * Top-left corner of a placed rectangle.
+	 */
+	public record Placement(int x, int y) {
+	}
+
+	private static final class Segment {
+		int x;
+		int y;
+		int width;
+
+		Segment(int x, int y, int width) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import javafx.geometry.Point2D;
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.effect.BlendMode;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Stacked canvases that together make up the game view.
+ * A layer keeps its pixels until it is cleared, so layers whose content did not change
+ * are left alone and JavaFX just composites them again.
+ * Everything is drawn in native game coordinates. The canvases themselves are sized to the
+ * scaled view and every graphics context scales what is drawn, with image smoothing off,
+ * so each game pixel becomes a block of whole screen pixels instead of being blended.
+ */
+public class CanvasLayers {
+
+	/**
+	 * The layers from bottom to top.
+	 */
+	public enum Layer {
+		// Tilemaps below every sprite, redrawn only when they change
+		WORLD,
+		// Sprites, effects and foreground tiles, redrawn every frame
+		ACTORS,
+		// Accumulated point lights, blended onto the layers below
+		LIGHTING,
+		// Everything drawn by GUI systems
+		HUD
+	}
+
+	private final Group root = new Group();
+	private final Group layerGroup = new Group();
+	private final Map<Layer, Canvas> canvases = new EnumMap<>(Layer.class);
+
+	// Native size of the view, which everything is drawn in
+	private final double width;
+	private final double height;
+
+	// Screen pixels per game pixel
+	private double scale = 1;
+
+	// One pixel below every layer, where images are drawn to upload their textures ahead of use
+	private final Canvas warmupCanvas = new Canvas(1, 1);
+
+	public CanvasLayers(double width, double height) {
+		this.width = width;
+		this.height = height;
+		warmupCanvas.setMouseTransparent(true);
+
+		for (Layer layer : Layer.values()) {
+			Canvas canvas = new Canvas(width, height);
+			canvas.getGraphicsContext2D().setImageSmoothing(false);
+			canvas.setMouseTransparent(true);
+			canvases.put(layer, canvas);
+			layerGroup.getChildren().add(canvas);
+		}
+
+		// The warmup canvas has to be shown for its textures to be uploaded
+		root.getChildren().addAll(warmupCanvas, layerGroup);
+
+		// Lights are drawn normally into their own layer and blended as a whole
+		canvases.get(Layer.LIGHTING).setBlendMode(BlendMode.OVERLAY);
+	}
+
+	/**
+	 * Returns the node shown on screen, used to place the view and apply effects to it.
+	 */
+	public Group getRoot() {
+		return root;
+	}
+
+	/**
+	 * Sets how many screen pixels a game pixel covers. The canvases are resized to match and
+	 * cleared, so every layer has to be drawn again.
+	 */
+	public void setScale(double scale) {
+		if (scale <= 0 || scale == this.scale) {
+			return;
+		}
+
+		this.scale = scale;
+		for (Canvas canvas : canvases.values()) {
+			canvas.setWidth(Math.round(width * scale));
+			canvas.setHeight(Math.round(height * scale));
+			canvas.getGraphicsContext2D().setTransform(scale, 0, 0, scale, 0, 0);
+		}
+		for (Layer layer : Layer.values()) {
+			clear(layer);
+		}
+	}
+
+	public double getScale() {
+		return scale;
+	}
+
+	/**
+	 * Native width of the view, in the coordinates everything is drawn in.
+	 */
+	public double getWidth() {
+		return width;
+	}
+
+	/**
+	 * Native height of the view, in the coordinates everything is drawn in.
+	 */
+	public double getHeight() {
+		return height;
+	}
+
+	/**
+	 * Converts a point in scene coordinates to the native coordinates of the layers.
+	 */
+	public Point2D sceneToCanvas(double sceneX, double sceneY) {
+		Point2D local = layerGroup.sceneToLocal(sceneX, sceneY);
+		return new Point2D(local.getX() / scale, local.getY() / scale);
+	}
+
+	public Canvas getCanvas(Layer layer) {
+		return canvases.get(layer);
+	}
+
+	public GraphicsContext getGraphicsContext(Layer layer) {
+		return canvases.get(layer).getGraphicsContext2D();
+	}
+
+	/**
+	 * Returns the hidden canvas used by {@link TextureWarmup}.
+	 */
+	public Canvas getWarmupCanvas() {
+		return warmupCanvas;
+	}
+
+	/**
+	 * Clears a layer to transparent.
+	 */
+	public void clear(Layer layer) {
+		canvases.get(layer).getGraphicsContext2D().clearRect(0, 0, width, height);
+	}
+}
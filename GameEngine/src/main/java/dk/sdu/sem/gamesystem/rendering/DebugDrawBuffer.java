@@ -0,0 +1,225 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects debug primitives for a frame and draws them batched by style.
+ * Coordinates are stored in float arrays that are reused every frame, and all primitives
+ * sharing a color and line width are drawn as one path with a single stroke or fill.
+ */
+public class DebugDrawBuffer {
+	private final Map<Style, Batch> batchesByStyle = new HashMap<>();
+	private final List<Batch> batches = new ArrayList<>();
+
+	// Consecutive primitives usually share a style, so the last batch is checked before the map
+	private Batch lastBatch;
+
+	// Text is drawn after all shapes
+	private String[] texts = new String[16];
+	private Color[] textColors = new Color[16];
+	private float[] textPositions = new float[32];
+	private int textCount = 0;
+
+	/**
+	 * Adds a stroked line.
+	 */
+	public void line(float x1, float y1, float x2, float y2, Color color, float lineWidth) {
+		batch(color, lineWidth, false).lines.add(x1, y1, x2, y2);
+	}
+
+	/**
+	 * Adds a stroked rectangle outline.
+	 */
+	public void rect(float x, float y, float width, float height, Color color, float lineWidth) {
+		batch(color, lineWidth, false).rects.add(x, y, width, height);
+	}
+
+	/**
+	 * Adds a filled rectangle.
+	 */
+	public void fillRect(float x, float y, float width, float height, Color color) {
+		batch(color, 0, true).rects.add(x, y, width, height);
+	}
+
+	/**
+	 * Adds a stroked circle outline.
+	 */
+	public void circle(float centerX, float centerY, float radius, Color color, float lineWidth) {
+		batch(color, lineWidth, false).circles.add(centerX, centerY, radius, 0);
+	}
+
+	/**
+	 * Adds a filled circle.
+	 */
+	public void fillCircle(float centerX, float centerY, float radius, Color color) {
+		batch(color, 0, true).circles.add(centerX, centerY, radius, 0);
+	}
+
+	/**
+	 * Adds a line of text with its baseline starting at (x, y).
+	 */
+	public void text(String text, float x, float y, Color color) {
+		if (textCount == texts.length) {
+			texts = Arrays.copyOf(texts, textCount * 2);
+			textColors = Arrays.copyOf(textColors, textCount * 2);
+			textPositions = Arrays.copyOf(textPositions, textCount * 4);
+		}
+
+		texts[textCount] = text;
+		textColors[textCount] = color;
+		textPositions[textCount * 2] = x;
+		textPositions[textCount * 2 + 1] = y;
+		textCount++;
+	}
+
+	/**
+	 * Returns the number of primitives added since the last flush.
+	 */
+	public int getPrimitiveCount() {
+		int count = textCount;
+		for (Batch batch : batches) {
+			count += batch.lines.count + batch.rects.count + batch.circles.count;
+		}
+		return count;
+	}
+
+	/**
+	 * Draws everything added since the last flush and empties the buffer.
+	 * Fills are drawn first, then strokes, then text.
+	 */
+	public void flush(GraphicsContext gc) {
+		for (Batch batch : batches) {
+			if (batch.style.fill()) {
+				drawBatch(gc, batch);
+			}
+		}
+		for (Batch batch : batches) {
+			if (!batch.style.fill()) {
+				drawBatch(gc, batch);
+			}
+		}
+
+		Color currentColor = null;
+		for (int i = 0; i < textCount; i++) {
+			if (textColors[i] != currentColor) {
+				currentColor = textColors[i];
+				gc.setFill(currentColor);
+			}
+			gc.fillText(texts[i], textPositions[i * 2], textPositions[i * 2 + 1]);
+		}
+
+		clear();
+	}
+
+	/**
+	 * Removes all primitives, keeping the allocated buffers.
+	 */
+	public void clear() {
+		for (Batch batch : batches) {
+			batch.lines.count = 0;
+			batch.rects.count = 0;
+			batch.circles.count = 0;
+		}
+
+		Arrays.fill(texts, 0, textCount, null);
+		Arrays.fill(textColors, 0, textCount, null);
+		textCount = 0;
+	}
+
+	private void drawBatch(GraphicsContext gc, Batch batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		gc.beginPath();
+
+		float[] lines = batch.lines.values;
+		for (int i = 0; i < batch.lines.count * 4; i += 4) {
+			gc.moveTo(lines[i], lines[i + 1]);
+			gc.lineTo(lines[i + 2], lines[i + 3]);
+		}
+
+		float[] rects = batch.rects.values;
+		for (int i = 0; i < batch.rects.count * 4; i += 4) {
+			gc.rect(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+		}
+
+		float[] circles = batch.circles.values;
+		for (int i = 0; i < batch.circles.count * 4; i += 4) {
+			float radius = circles[i + 2];
+			gc.moveTo(circles[i] + radius, circles[i + 1]);
+			gc.arc(circles[i], circles[i + 1], radius, radius, 0, 360);
+		}
+
+		if (batch.style.fill()) {
+			gc.setFill(batch.style.color());
+			gc.fill();
+		} else {
+			gc.setStroke(batch.style.color());
+			gc.setLineWidth(batch.style.lineWidth());
+			gc.stroke();
+		}
+	}
+
+	private Batch batch(Color color, float lineWidth, boolean fill) {
+		if (lastBatch != null && lastBatch.style.color().equals(color)
+			&& lastBatch.style.lineWidth() == lineWidth && lastBatch.style.fill() == fill) {
+			return lastBatch;
+		}
+
+		Style style = new Style(color, lineWidth, fill);
+		Batch batch = batchesByStyle.get(style);
+		if (batch == null) {
+			batch = new Batch(style);
+			batchesByStyle.put(style, batch);
+			batches.add(batch);
+		}
+		lastBatch = batch;
+		return batch;
+	}
+
+	private record Style(Color color, float lineWidth, boolean fill) {
+	}
+
+	private static final class Batch {
+		final Style style;
+		final FloatQuads lines = new FloatQuads();
+		final FloatQuads rects = new FloatQuads();
+		final FloatQuads circles = new FloatQuads();
+
+		Batch(Style style) {
+			this.style = style;
+		}
+
+		boolean isEmpty() {
+			return lines.count == 0 && rects.count == 0 && circles.count == 0;
+		}
+	}
+
+	/**
+	 * A growable array of four floats per primitive.
+	 */
+	private static final class FloatQuads {
+		float[] values = new float[64];
+		int count = 0;
+
+		void add(float a, float b, float c, float d) {
+			int i = count * 4;
+			if (i + 4 > values.length) {
+				values = Arrays.copyOf(values, values.length * 2);
+			}
+			values[i] = a;
+			values[i + 1] = b;
+			values[i + 2] = c;
+			values[i + 3] = d;
+			count++;
+		}
+	}
+}
@@ -1,14 +1,7 @@
 package dk.sdu.sem.gamesystem.rendering;
 
 import dk.sdu.sem.commonsystem.*;
-import dk.sdu.sem.gamesystem.assets.references.IAssetReference;
-import dk.sdu.sem.gamesystem.components.AnimatorComponent;
-import dk.sdu.sem.gamesystem.components.PointLightComponent;
-import dk.sdu.sem.gamesystem.components.SpriteRendererComponent;
-import dk.sdu.sem.gamesystem.components.TileAnimatorComponent;
-import dk.sdu.sem.gamesystem.data.PointLightNode;
 import dk.sdu.sem.gamesystem.data.SpriteNode;
-import dk.sdu.sem.gamesystem.data.TilemapNode;
 import dk.sdu.sem.gamesystem.scenes.SceneManager;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
@@ -18,7 +11,7 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.effect.BlendMode;
 import javafx.scene.image.WritableImage;
-import javafx.scene.paint.*;
+import javafx.scene.paint.Color;
 
 import java.util.*;
 
@@ -29,8 +22,43 @@ public class FXRenderSystem implements IRenderSystem {
 
 	private GraphicsContext gc;
 	private Canvas canvas;
+
+	// Size of the view in the coordinates everything is drawn in
+	private double viewWidth;
+	private double viewHeight;
 	private Canvas transitionCanvas;
-	private final HashMap<TilemapNode, WritableImage> snapshots = new HashMap<>();
+
+	// Cached images of the tilemaps of the drawn frame, by their order in the frame
+	private final List<TilemapSnapshot> tilemapSnapshots = new ArrayList<>();
+
+	// Point lights are accumulated here and composited once per run of light effects
+	private final LightBuffer lightBuffer = new LightBuffer();
+
+	// Frames recorded once the simulation is done for the frame, and drawn by the renderer
+	private final RenderCommandStream commandStream = new RenderCommandStream();
+
+	// Used for rendering room snapshots on the JavaFX thread
+	private final RenderCommandBuffer scratchCommands = new RenderCommandBuffer();
+
+	private final RenderStatistics statistics = RenderStatistics.getInstance();
+
+	// Records the active scene for each frame
+	private final SceneRecorder frameRecorder = new SceneRecorder();
+
+	// Records rooms for snapshots, which are not the active scene
+	private final SceneRecorder snapshotRecorder = new SceneRecorder();
+
+	// Set once a canvas is available
+	private boolean recording = false;
+
+	// Stacked output canvases, or null when everything is drawn on a single canvas
+	private CanvasLayers layers;
+
+	// Number of tilemaps currently drawn on the world layer, and the view scale they were drawn at
+	private int worldLayerCount = 0;
+	private double worldLayerScale = 0;
+	private boolean worldLayerValid = false;
+	private boolean lightingLayerDirty = false;
 
 	// Transition state
 	private boolean inTransitionMode = false;
@@ -43,31 +71,57 @@ public class FXRenderSystem implements IRenderSystem {
 	private Vector2D fromRoomPosition = Vector2D.ZERO;
 	private Vector2D toRoomPosition = Vector2D.ZERO;
 
-	// Important entities to render separately during transitions
-	private final List<Entity> transitionOverlayEntities = new ArrayList<>();
+	// Room snapshots prepared ahead of a transition, one room per frame
+	private final Map<Scene, WritableImage> preparedRoomSnapshots = new HashMap<>();
+	private final Deque<Scene> pendingRoomSnapshots = new ArrayDeque<>();
 
 	public static FXRenderSystem getInstance() {
 		return instance;
 	}
 
+	/**
+	 * Initializes the renderer with stacked canvases. Sprites are drawn on the actor layer,
+	 * which also serves as the main graphics context.
+	 */
+	public void initialize(CanvasLayers layers) {
+		this.layers = layers;
+		worldLayerValid = false;
+		worldLayerCount = 0;
+		TextureWarmup.getInstance().initialize(layers.getWarmupCanvas().getGraphicsContext2D());
+		// The layer canvases are scaled to the window, but drawn to in native coordinates
+		initialize(layers.getGraphicsContext(CanvasLayers.Layer.ACTORS), layers.getWidth(), layers.getHeight());
+	}
+
 	@Override
 	public void initialize(GraphicsContext gc) {
+		if (gc == null) {
+			initialize(null, 0, 0);
+		} else {
+			initialize(gc, gc.getCanvas().getWidth(), gc.getCanvas().getHeight());
+		}
+	}
+
+	private void initialize(GraphicsContext gc, double width, double height) {
 		this.gc = gc;
 		if (gc != null) {
 			gc.setImageSmoothing(false);
+			viewWidth = width;
+			viewHeight = height;
+			frameRecorder.setViewport(width, height);
+			snapshotRecorder.setViewport(width, height);
 		}
+		recording = gc != null;
 	}
 
 	@Override
 	public void clear() {
-		snapshots.clear();
+		tilemapSnapshots.clear();
 		clearTransitionData();
-
-		// Invalidate all tilemap snapshots by updating TilemapRendererComponents
-		Set<TilemapNode> tilemapNodes = NodeManager.active().getNodes(TilemapNode.class);
-		for (TilemapNode node : tilemapNodes) {
-			node.renderer.invalidateSnapshot();
-		}
+		preparedRoomSnapshots.clear();
+		pendingRoomSnapshots.clear();
+		TextureWarmup.getInstance().clear();
+		commandStream.reset();
+		worldLayerValid = false;
 	}
 
 	/**
@@ -78,14 +132,42 @@ public class FXRenderSystem implements IRenderSystem {
 		toRoomSnapshot = null;
 		fromRoomPosition = Vector2D.ZERO;
 		toRoomPosition = Vector2D.ZERO;
-		transitionOverlayEntities.clear();
 	}
 
 	@Override
 	public void lateUpdate() {
+		if (gc != null) {
+			// Everything drawn since the last frame, including GUI, belongs to the previous frame
+			statistics.beginFrame();
+		}
+
 		render();
 	}
 
+	/**
+	 * Records the active scene into the command stream. Called on the JavaFX thread once per frame through
+	 * {@link dk.sdu.sem.gamesystem.GameLoop#recordFrame()}, after LateUpdate and between fixed updates,
+	 * so the recorded positions, sprites and tiles all belong to the same state.
+	 * The frame is recorded during room transitions too, for the player drawn over the room snapshots.
+	 */
+	@Override
+	public void recordFrame() {
+		if (!recording) {
+			return;
+		}
+
+		try {
+			Scene scene = SceneManager.getInstance().getActiveScene();
+			RenderCommandBuffer buffer = commandStream.beginFrame();
+			frameRecorder.recordRenderables(frameRecorder.collectSortedRenderables(scene), buffer);
+			buffer.setCulledCount(frameRecorder.getCulledCount());
+			commandStream.publish();
+		} catch (Exception e) {
+			LOGGER.error("Error recording render commands: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
 	/**
 	 * Set the transition mode state
 	 */
@@ -129,131 +211,102 @@ public class FXRenderSystem implements IRenderSystem {
 
 		// Create transition canvas if needed
 		if (transitionCanvas == null) {
-			transitionCanvas = new Canvas(gc.getCanvas().getWidth(), gc.getCanvas().getHeight());
+			transitionCanvas = new Canvas(viewWidth, viewHeight);
 			transitionCanvas.getGraphicsContext2D().setImageSmoothing(false);
 		}
 
-		// Cache current active scene to restore later
-		Scene originalActive = Scene.getActiveScene();
-
 		try {
-			// Clear transition overlay entities
-			transitionOverlayEntities.clear();
-
-			// Ensure both scenes are properly initialized before rendering
-			ensureSceneInitialized(fromScene);
-			ensureSceneInitialized(toScene);
+			// The room being left was rendered last frame, so only initialize it if it wasn't active
+			if (fromScene != SceneManager.getInstance().getActiveScene()) {
+				ensureSceneInitialized(fromScene);
+			}
 
 			// Pre-render "from" room
-			Scene.setActiveScene(fromScene);
 			fromRoomSnapshot = renderSceneToImage(fromScene);
 
-			// Pre-render "to" room
-			Scene.setActiveScene(toScene);
-			toRoomSnapshot = renderSceneToImage(toScene);
-
-			// Identify important entities to render separately (like player)
-			identifyOverlayEntities();
+			// Use the "to" room prepared during idle frames, and only render it now if it wasn't ready
+			toRoomSnapshot = preparedRoomSnapshots.remove(toScene);
+			if (toRoomSnapshot == null) {
+				LOGGER.debug("No prepared snapshot for " + toScene.getName() + ", rendering it now");
+				ensureSceneInitialized(toScene);
+				toRoomSnapshot = renderSceneToImage(toScene);
+			}
 
 			LOGGER.debug("Pre-rendered both rooms for transition");
 		} catch (Exception e) {
 			LOGGER.error("Error pre-rendering rooms: " + e.getMessage());
 			e.printStackTrace();
-		} finally {
-			// Restore original scene
-			Scene.setActiveScene(originalActive);
 		}
 	}
 
 	/**
-	 * Ensures a scene is properly initialized for rendering
-	 * This addresses the issue where rooms are not rendered on first visit
+	 * Queues rooms to be rendered to images over the following frames, one room per frame,
+	 * so a later transition into one of them only has to slide prepared images.
+	 * Prepared snapshots of rooms that are not in the given collection are discarded.
 	 */
-	private void ensureSceneInitialized(Scene scene) {
-		if (scene == null) return;
+	public void prepareRoomSnapshots(Collection<Scene> scenes) {
+		preparedRoomSnapshots.keySet().retainAll(scenes);
+		pendingRoomSnapshots.clear();
 
-		// Temporarily activate this scene to process it
-		Scene previousActive = Scene.getActiveScene();
-		Scene.setActiveScene(scene);
-
-		try {
-			// Force process any unprocessed entities
-			for (Entity entity : scene.getEntities()) {
-				NodeManager.active().processEntity(entity);
-			}
-
-			// Force tilemap renderers to update if needed
-			Set<TilemapNode> tilemaps = NodeManager.active().getNodes(TilemapNode.class);
-			for (TilemapNode node : tilemaps) {
-				if (node.renderer != null) {
-					node.renderer.invalidateSnapshot();
-				}
+		for (Scene scene : scenes) {
+			if (scene != null && !preparedRoomSnapshots.containsKey(scene)) {
+				pendingRoomSnapshots.add(scene);
 			}
-
-			// Force sprites to update animations if needed
-			Set<SpriteNode> sprites = NodeManager.active().getNodes(SpriteNode.class);
-			for (SpriteNode node : sprites) {
-				updateAnimation(node);
-			}
-
-			LOGGER.debug("Ensured scene " + scene.getName() + " is initialized for rendering");
-		} catch (Exception e) {
-			LOGGER.error("Error initializing scene for rendering: " + e.getMessage());
-		} finally {
-			// Restore previous active scene
-			Scene.setActiveScene(previousActive);
 		}
 	}
 
 	/**
-	 * Identify entities that should be rendered as overlays during transitions
-	 * (like the player character)
+	 * Renders the next queued room snapshot, if any
 	 */
-	private void identifyOverlayEntities() {
-		// Clear any existing overlay entities
-		transitionOverlayEntities.clear();
+	private void processPendingRoomSnapshot() {
+		Scene scene = pendingRoomSnapshots.poll();
+		if (scene == null) {
+			return;
+		}
 
-		// Find player entity in either scene
-		findPlayerEntitiesInScene(fromScene);
-		findPlayerEntitiesInScene(toScene);
+		if (transitionCanvas == null) {
+			transitionCanvas = new Canvas(viewWidth, viewHeight);
+			transitionCanvas.getGraphicsContext2D().setImageSmoothing(false);
+		}
 
-		// If no player entities found through regular means, attempt a broader search
-		if (transitionOverlayEntities.isEmpty()) {
-			LOGGER.debug("No player entities found directly, performing broad search");
-			broadSearchForPlayerEntities();
+		try {
+			ensureSceneInitialized(scene);
+
+			WritableImage snapshot = renderSceneToImage(scene);
+			if (snapshot != null) {
+				preparedRoomSnapshots.put(scene, snapshot);
+				LOGGER.debug("Prepared transition snapshot for " + scene.getName());
+			}
+		} catch (Exception e) {
+			LOGGER.error("Error preparing room snapshot: " + e.getMessage());
 		}
 	}
 
 	/**
-	 * Find player entities in the specified scene
+	 * Ensures a scene is properly initialized for rendering
+	 * This addresses the issue where rooms are not rendered on first visit.
+	 * Rooms other than the active one are not simulated, so they are read here on the JavaFX thread.
 	 */
-	private void findPlayerEntitiesInScene(Scene scene) {
+	private void ensureSceneInitialized(Scene scene) {
 		if (scene == null) return;
 
-		for (Entity entity : scene.getEntities()) {
-			if (entity.hasComponent(PlayerComponent.class)) {
-				transitionOverlayEntities.add(entity);
-				LOGGER.debug("Added player entity to transition overlays: " + entity.getID());
+		try {
+			NodeManager nodeManager = scene.getNodeManager();
+
+			// Force process any unprocessed entities
+			for (Entity entity : scene.getEntities()) {
+				nodeManager.processEntity(entity);
 			}
-		}
-	}
 
-	/**
-	 * Perform a broader search for player entities in the active scenes
-	 * This handles cases where the player entity is being transferred between scenes
-	 */
-	private void broadSearchForPlayerEntities() {
-		// Sometimes player entity can be in SceneManager's persisted entities
-		// Try to get it from there
-		SceneManager sceneManager = SceneManager.getInstance();
-		if (sceneManager != null) {
-			Set<Entity> persistedEntities = sceneManager.getActiveScene().getPersistedEntities();
-			for (Entity entity : persistedEntities) {
-				if (entity.hasComponent(dk.sdu.sem.player.PlayerComponent.class)) {
-					transitionOverlayEntities.add(entity);
-					LOGGER.debug("Added persisted player entity to overlays: " + entity.getID());
-				}
+			// Force sprites to update animations if needed
+			Set<SpriteNode> sprites = nodeManager.getNodes(SpriteNode.class);
+			for (SpriteNode node : sprites) {
+				snapshotRecorder.updateAnimation(node);
 			}
+
+			LOGGER.debug("Ensured scene " + scene.getName() + " is initialized for rendering");
+		} catch (Exception e) {
+			LOGGER.error("Error initializing scene for rendering: " + e.getMessage());
 		}
 	}
 
@@ -270,46 +323,30 @@ public class FXRenderSystem implements IRenderSystem {
 			GraphicsContext tempGC = transitionCanvas.getGraphicsContext2D();
 			tempGC.clearRect(0, 0, transitionCanvas.getWidth(), transitionCanvas.getHeight());
 
-			// Build set of entities to exclude (for faster lookups)
-			Set<Entity> entitiesToExclude = new HashSet<>(transitionOverlayEntities);
+			// Collect all renderables from the scene, except the player, which is drawn over the snapshots
+			List<SceneRecorder.RenderableItem> renderables = snapshotRecorder.collectRenderablesFromScene(scene);
 
-			// Additional check for player entities that might not be in the overlay list
-			for (Entity entity : scene.getEntities()) {
-				if (entity.hasComponent(dk.sdu.sem.player.PlayerComponent.class)) {
-					entitiesToExclude.add(entity);
-				}
-			}
-
-			// Get a clean scene state
-			Scene.setActiveScene(scene);
-
-			// Collect all renderables from the scene, except overlay entities
-			List<RenderableItem> renderables = collectRenderablesFromScene(scene);
-
-			// Filter out excluded entities
 			renderables = renderables.stream()
-				.filter(item -> {
-					Entity entity = item.node.getEntity();
-					return !(entitiesToExclude.contains(entity) || entity.hasComponent(PlayerComponent.class));
-				})
+				.filter(item -> !item.node.getEntity().hasComponent(PlayerComponent.class))
 				.sorted(Comparator
-					.comparingInt(RenderableItem::getRenderLayer)
-					.thenComparingDouble(RenderableItem::getYPosition))
+					.comparingInt(SceneRecorder.RenderableItem::getRenderLayer)
+					.thenComparingDouble(SceneRecorder.RenderableItem::getYPosition))
 				.toList();
 
 			// Render to the temporary canvas
 			GraphicsContext origGC = gc;
 			gc = tempGC; // Temporarily redirect rendering
 
-			for (RenderableItem item : renderables) {
-				renderItem(item);
-			}
+			scratchCommands.clear();
+			snapshotRecorder.recordRenderables(renderables, scratchCommands);
+			executeCommands(scratchCommands, 0, false, false);
 
 			gc = origGC; // Restore original graphics context
 
 			// Create snapshot of the canvas
 			SnapshotParameters sp = new SnapshotParameters();
 			sp.setFill(Color.TRANSPARENT);
+			statistics.countSnapshot();
 			return transitionCanvas.snapshot(sp, null);
 		} catch (Exception e) {
 			LOGGER.error("Error rendering scene to image: " + e.getMessage());
@@ -336,19 +373,36 @@ public class FXRenderSystem implements IRenderSystem {
 		}
 
 		// Clear the screen
-		gc.clearRect(0, 0, gc.getCanvas().getWidth(), gc.getCanvas().getHeight());
+		gc.clearRect(0, 0, viewWidth, viewHeight);
+		if (layers != null) {
+			// GUI systems draw on the HUD layer right after the renderer every frame
+			layers.clear(CanvasLayers.Layer.HUD);
+			clearLightingLayer();
+		}
+
+		// Only the most recently published frame is drawn, never the components themselves
+		RenderCommandBuffer buffer = commandStream.acquireLatest();
+		statistics.countCulled(buffer.getCulledCount());
 
 		if (inTransitionMode) {
-			renderTransition();
+			// Both rooms are drawn from snapshots on the actor layer during transitions
+			clearWorldLayer();
+			renderTransition(buffer);
 		} else {
-			renderActiveScene();
+			renderActiveScene(buffer);
+
+			// Spread preparation of adjacent room snapshots over frames outside transitions
+			processPendingRoomSnapshot();
 		}
+
+		// Upload textures of newly loaded images a few at a time, before they are first drawn
+		TextureWarmup.getInstance().update();
 	}
 
 	/**
 	 * Renders the transition between rooms using pre-rendered images
 	 */
-	private void renderTransition() {
+	private void renderTransition(RenderCommandBuffer buffer) {
 		try {
 			// Check if we have valid room snapshots
 			boolean hasValidSnapshots = (fromRoomSnapshot != null && toRoomSnapshot != null);
@@ -357,449 +411,289 @@ public class FXRenderSystem implements IRenderSystem {
 				// Normal case - draw both room snapshots at their current positions
 				gc.drawImage(fromRoomSnapshot, fromRoomPosition.x(), fromRoomPosition.y());
 				gc.drawImage(toRoomSnapshot, toRoomPosition.x(), toRoomPosition.y());
+				statistics.countDrawImage();
+				statistics.countDrawImage();
+
+				// Always render overlay entities (like player) on top
+				executeOverlayCommands(buffer);
 			} else {
-				// Fallback - if snapshots are missing, try to render scenes directly
-				LOGGER.debug("Missing room snapshots, falling back to direct rendering");
-				fallbackRenderScenes();
+				// Fallback - if snapshots are missing, keep drawing the latest frame of the active scene
+				LOGGER.debug("Missing room snapshots, falling back to the active scene");
+				executeCommands(buffer, 0, false, true);
 			}
-
-			// Always render overlay entities (like player) on top
-			renderOverlayEntities();
-
 		} catch (Exception e) {
 			LOGGER.error("Error rendering transition: " + e.getMessage());
 			e.printStackTrace();
-
-			// If we encounter an error during transition rendering,
-			// try to at least render the active scene
-			try {
-				renderActiveScene();
-			} catch (Exception ex) {
-				LOGGER.error("Even fallback rendering failed: " + ex.getMessage());
-			}
 		}
 	}
 
 	/**
-	 * Fallback method to directly render scenes when snapshots are unavailable
+	 * Renders the active scene (normal case, no transition) from the latest complete frame
 	 */
-	private void fallbackRenderScenes() {
-		Scene originalActive = Scene.getActiveScene();
-
+	private void renderActiveScene(RenderCommandBuffer buffer) {
 		try {
-			// Try to directly render the scenes in their current positions
-			if (fromScene != null) {
-				GraphicsContext origGC = gc;
-
-				// Setup a transform for the from-scene position
-				gc.save();
-				gc.translate(fromRoomPosition.x(), fromRoomPosition.y());
-
-				Scene.setActiveScene(fromScene);
-				renderAllObjectsSorted();
-
-				gc.restore();
+			if (layers == null) {
+				executeCommands(buffer, 0, false, true);
+				return;
 			}
 
-			if (toScene != null) {
-				GraphicsContext origGC = gc;
-
-				// Setup a transform for the to-scene position
-				gc.save();
-				gc.translate(toRoomPosition.x(), toRoomPosition.y());
-
-				Scene.setActiveScene(toScene);
-				renderAllObjectsSorted();
-
-				gc.restore();
-			}
+			int start = renderWorldLayer(buffer);
+			executeCommands(buffer, start, true, true);
 		} catch (Exception e) {
-			LOGGER.error("Error in fallback scene rendering: " + e.getMessage());
-		} finally {
-			// Restore original scene
-			Scene.setActiveScene(originalActive);
+			LOGGER.error("Error rendering active scene: " + e.getMessage());
+			e.printStackTrace();
 		}
 	}
 
 	/**
-	 * Render overlay entities (like player) on top of pre-rendered room images
+	 * Draws the tilemaps at the start of a buffer onto the world layer. The layer is only
+	 * redrawn when the position, size or tiles of those tilemaps changed since the last frame.
+	 *
+	 * @return The index of the first command that was not drawn
 	 */
-	private void renderOverlayEntities() {
-		Scene originalActive = Scene.getActiveScene();
-
-		try {
-			// Temporarily activate the scene with the player
-			Scene playerScene = originalActive;
-
-			// Find which scene contains overlay entities
-			for (Entity entity : transitionOverlayEntities) {
-				if (entity.getScene() != null) {
-					playerScene = entity.getScene();
-					break;
-				}
-			}
-
-			Scene.setActiveScene(playerScene);
+	private int renderWorldLayer(RenderCommandBuffer buffer) {
+		int count = 0;
+		while (count < buffer.getCount() && buffer.getKind(count) == RenderCommandBuffer.TILEMAP) {
+			count++;
+		}
 
-			// Render each overlay entity
-			for (Entity entity : transitionOverlayEntities) {
-				SpriteNode spriteNode = null;
+		// Scaling the view clears the layers
+		boolean unchanged = worldLayerValid && count == worldLayerCount && worldLayerScale == layers.getScale();
+		for (int i = 0; i < count && unchanged; i++) {
+			unchanged = i < tilemapSnapshots.size() && tilemapSnapshots.get(i).matches(buffer, i);
+		}
+		if (unchanged) {
+			return count;
+		}
 
-				// Find if entity has a sprite node
-				Set<SpriteNode> spriteNodes = NodeManager.active().getNodes(SpriteNode.class);
-				for (SpriteNode node : spriteNodes) {
-					if (node.getEntity() == entity) {
-						spriteNode = node;
-						break;
-					}
-				}
+		layers.clear(CanvasLayers.Layer.WORLD);
 
-				// Render the sprite if found
-				if (spriteNode != null) {
-					renderSprite(spriteNode);
-				}
+		GraphicsContext origGC = gc;
+		gc = layers.getGraphicsContext(CanvasLayers.Layer.WORLD); // Temporarily redirect rendering
+		try {
+			for (int i = 0; i < count; i++) {
+				statistics.countDrawn();
+				renderTilemap(buffer, i, i);
 			}
-		} catch (Exception e) {
-			LOGGER.error("Error rendering overlay entities: " + e.getMessage());
-			e.printStackTrace();
 		} finally {
-			// Restore original active scene
-			Scene.setActiveScene(originalActive);
+			gc = origGC;
 		}
-	}
 
-	/**
-	 * Renders the active scene (normal case, no transition)
-	 */
-	private void renderActiveScene() {
-		renderAllObjectsSorted();
+		worldLayerCount = count;
+		worldLayerScale = layers.getScale();
+		worldLayerValid = true;
+		statistics.countLayerRedraw();
+		return count;
 	}
 
 	/**
-	 * Collect renderables from a scene
+	 * Empties the world layer, so the next frame draws it again.
 	 */
-	private List<RenderableItem> collectRenderablesFromScene(Scene scene) {
-		List<RenderableItem> renderables = new ArrayList<>();
-
-		// Get all visible tilemap nodes
-		List<TilemapNode> tilemapNodes = NodeManager.active().getNodes(TilemapNode.class).stream()
-			.filter(node -> node.tilemap.isVisible())
-			.filter(this::isNodeVisible)
-			.toList();
-
-		// Get all visible sprite nodes
-		List<SpriteNode> spriteNodes = NodeManager.active().getNodes(SpriteNode.class).stream()
-			.filter(node -> node.spriteRenderer.isVisible())
-			.filter(this::isNodeVisible)
-			.toList();
-
-		// Get all visible point light nodes
-		List<PointLightNode> pointLightNodes = NodeManager.active().getNodes(PointLightNode.class).stream()
-			.filter(node -> node.pointLight.isOn())
-			.toList();
-
-		// Adding the renderables to the list
-		for (TilemapNode node : tilemapNodes) {
-			renderables.add(new RenderableItem(node, RenderableType.TILEMAP, node.renderer.getRenderLayer()));
-		}
-		for (SpriteNode node : spriteNodes) {
-			renderables.add(new RenderableItem(node, RenderableType.SPRITE, node.spriteRenderer.getRenderLayer()));
+	private void clearWorldLayer() {
+		if (layers != null && (worldLayerValid || worldLayerCount > 0)) {
+			layers.clear(CanvasLayers.Layer.WORLD);
+			worldLayerCount = 0;
 		}
-		for (PointLightNode node : pointLightNodes) {
-			renderables.add(new RenderableItem(node, RenderableType.EFFECT, node.pointLight.getRenderLayer()));
-		}
-
-		return renderables;
+		worldLayerValid = false;
 	}
 
 	/**
-	 * Render a single renderable item
+	 * Empties the lighting layer if lights were drawn on it last frame.
 	 */
-	private void renderItem(RenderableItem item) {
-		switch (item.type) {
-			case TILEMAP:
-				renderTilemap((TilemapNode) item.node);
-				break;
-			case SPRITE:
-				renderSprite((SpriteNode) item.node);
-				break;
-			case EFFECT:
-				renderPointLight((PointLightNode) item.node);
-				break;
-			default:
-				throw new IllegalArgumentException("Unknown type: " + item.type);
+	private void clearLightingLayer() {
+		if (lightingLayerDirty) {
+			layers.clear(CanvasLayers.Layer.LIGHTING);
+			lightingLayerDirty = false;
 		}
 	}
 
 	/**
-	 * Renders all objects with respect to layer order and Y-position sorting
+	 * Draws the commands of a buffer in order from the given index. Accumulated lights are composited
+	 * as soon as a run of lights ends, so they keep their place in the layer order.
+	 * All commands before the start index must be tilemaps.
+	 *
+	 * @param separateLighting If true, all lights are composited once onto the lighting layer
+	 * @param snapshotTilemaps If true, tilemaps are drawn from cached snapshots, otherwise tile by tile
 	 */
-	private void renderAllObjectsSorted() {
-		try {
-			List<RenderableItem> renderables = collectRenderablesFromScene(Scene.getActiveScene());
-
-			renderables.sort(Comparator
-				.comparingInt(RenderableItem::getRenderLayer)
-				.thenComparingDouble(RenderableItem::getYPosition));
-
-			// Render each item in sorted order
-			for (RenderableItem item : renderables) {
-				renderItem(item);
+	private void executeCommands(RenderCommandBuffer buffer, int start, boolean separateLighting,
+								 boolean snapshotTilemaps) {
+		int tilemapIndex = start;
+		for (int i = start; i < buffer.getCount(); i++) {
+			byte kind = buffer.getKind(i);
+			if (kind != RenderCommandBuffer.LIGHT && !separateLighting) {
+				flushLights();
 			}
+			statistics.countDrawn();
 
-		} catch (Exception e) {
-			LOGGER.error("Error in renderAllObjectsSorted: " + e.getMessage());
-			e.printStackTrace();
+			switch (kind) {
+				case RenderCommandBuffer.SPRITE:
+					drawSprite(buffer, i);
+					break;
+				case RenderCommandBuffer.TILEMAP:
+					if (snapshotTilemaps) {
+						renderTilemap(buffer, i, tilemapIndex++);
+					} else {
+						drawTiles(gc, buffer, i);
+					}
+					break;
+				case RenderCommandBuffer.LIGHT:
+					int color = buffer.getColor(i);
+					// Lights are drawn from cached textures into the low-resolution buffer
+					lightBuffer.ensureSize(viewWidth, viewHeight);
+					lightBuffer.addLight(
+						buffer.getX(i), buffer.getY(i), buffer.getWidth(i),
+						(color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF,
+						buffer.getBrightness(i)
+					);
+					break;
+			}
 		}
-	}
-
-	private void renderPointLight(PointLightNode node) {
-		TransformComponent transform = node.transform;
-		Vector2D position = transform.getPosition();
-		PointLightComponent light = node.pointLight;
-
-		BlendMode origMode = gc.getGlobalBlendMode();
-		Paint origPaint = gc.getFill();
-		gc.setGlobalBlendMode(BlendMode.OVERLAY);
-
-		// Create a radial gradient (centered at 100,100, radius 100)
-		RadialGradient gradient = new RadialGradient(
-			0, 0,                     // focus angle, distance
-			position.x(), position.y(),                 // centerX, centerY
-			light.getSize() / 2,                      // radius
-			false,                    // proportional
-			CycleMethod.NO_CYCLE,     // cycle
-			new Stop(0.0, Color.rgb(light.getR(), light.getG(), light.getB(), light.getBrightness())),  // center color (red-ish light)
-			new Stop(1.0, Color.rgb(light.getR(), light.getG(), light.getB(), 0.0))   // edge fully transparent
-		);
 
+		if (separateLighting && lightBuffer.hasPendingLights()) {
+			lightBuffer.composite(layers.getGraphicsContext(CanvasLayers.Layer.LIGHTING), BlendMode.SRC_OVER);
+			lightingLayerDirty = true;
+		}
+		flushLights();
 
-		gc.setFill(gradient);
-		gc.fillOval(
-			position.x() - gradient.getRadius(),
-			position.y() - gradient.getRadius(),
-			light.getSize(),
-			light.getSize())
-		;
-
-		gc.setFill(origPaint);
-		gc.setGlobalBlendMode(origMode);
+		if (snapshotTilemaps && tilemapSnapshots.size() > tilemapIndex) {
+			// Drop snapshots of tilemaps no longer in the frame
+			tilemapSnapshots.subList(tilemapIndex, tilemapSnapshots.size()).clear();
+		}
 	}
 
 	/**
-	 * Renders a single tilemap.
+	 * Draws the sprites of a buffer marked as overlays, such as the player during room transitions.
 	 */
-	// "no‑tile" case should be -1
-	private void renderTilemap(TilemapNode node) {
-		// Check if we have a valid snapshot that hasn't been invalidated
-		if (snapshots.containsKey(node) && node.renderer.isSnapshotValid()) {
-			gc.drawImage(snapshots.get(node), 0, 0);
-			return;
-		}
-
-		// Skip if no sprite map or tile indices
-		SpriteMap spriteMap = node.renderer.getSpriteMap();
-		if (spriteMap == null || node.tilemap.getTileIndices() == null) {
-			return;
-		}
-
-		// Get animation component if available
-		TileAnimatorComponent animComponent = node.getEntity().getComponent(TileAnimatorComponent.class);
-
-		Vector2D position = node.transform.getPosition();
-		int tileSize = node.tilemap.getTileSize();
-		int[][] tileIndices = node.tilemap.getTileIndices();
-
-		// Calculate view bounds for culling (only render visible tiles)
-		double canvasWidth = gc.getCanvas().getWidth();
-		double canvasHeight = gc.getCanvas().getHeight();
-
-		int startCol = Math.max(0, (int)(-position.x() / tileSize));
-		int endCol = Math.min(tileIndices.length, (int)((-position.x() + canvasWidth) / tileSize) + 1);
-		int startRow = Math.max(0, (int)(-position.y() / tileSize));
-		int endRow = Math.min(tileIndices[0].length, (int)((-position.y() + canvasHeight) / tileSize) + 1);
-
-		if (canvas == null) {
-			canvas = new Canvas(canvasWidth, canvasHeight);
-			canvas.getGraphicsContext2D().setImageSmoothing(false);
-		}
-
-		canvas.getGraphicsContext2D().clearRect(0, 0, canvasWidth, canvasHeight);
-
-		for (int x = startCol; x < endCol; x++) {
-			for (int y = startRow; y < endRow; y++) {
-				int tileId = tileIndices[x][y];
-				if (tileId >= 0) { // Skip negative tile IDs
-					double drawX = position.x() + (x * tileSize);
-					double drawY = position.y() + (y * tileSize);
-
-					// Get sprite, checking for animations
-					Sprite sprite;
-					if (animComponent != null && animComponent.hasTileAnimation(tileId)) {
-						sprite = animComponent.getCurrentFrameSprite(tileId);
-					} else {
-						sprite = spriteMap.getTile(tileId);
-					}
-
-					if (sprite != null) {
-						sprite.draw(canvas.getGraphicsContext2D(), drawX, drawY, tileSize, tileSize, 0);
-					}
-				}
+	private void executeOverlayCommands(RenderCommandBuffer buffer) {
+		for (int i = 0; i < buffer.getCount(); i++) {
+			if (buffer.getKind(i) == RenderCommandBuffer.SPRITE && buffer.isOverlay(i)) {
+				statistics.countDrawn();
+				drawSprite(buffer, i);
 			}
 		}
+	}
 
-		SnapshotParameters sp = new SnapshotParameters();
-		sp.setFill(Color.TRANSPARENT);
-
-		WritableImage snapshot = canvas.snapshot(sp, null);
-		if (!node.renderer.isSnapshotValid() || !snapshots.containsKey(node)) {
-			snapshots.put(node, snapshot);
-			gc.drawImage(snapshot, 0, 0);
-		}
-
-		// Mark snapshot as valid after drawing
-		node.renderer.markSnapshotValid();
+	private void drawSprite(RenderCommandBuffer buffer, int i) {
+		buffer.getSprite(i).draw(
+			gc, buffer.getX(i), buffer.getY(i), buffer.getWidth(i), buffer.getHeight(i),
+			buffer.getRotation(i), buffer.isFlipX(i), buffer.isFlipY(i)
+		);
 	}
 
 	/**
-	 * Checks if a TilemapNode is visible within the viewport.
+	 * Composites any lights accumulated in the light buffer onto the canvas
 	 */
-	private boolean isNodeVisible(TilemapNode node) {
-		Vector2D position = node.transform.getPosition();
-		int tileSize = node.tilemap.getTileSize();
-		int[][] tileIndices = node.tilemap.getTileIndices();
-
-		if (tileIndices == null || tileIndices.length == 0) {
-			return false;
+	private void flushLights() {
+		if (lightBuffer.hasPendingLights()) {
+			lightBuffer.composite(gc);
 		}
-
-		double mapWidth = tileIndices.length * tileSize;
-		double mapHeight = tileIndices[0].length * tileSize;
-
-		// Check if the tilemap intersects with the viewport
-		return !(position.x() + mapWidth < 0 ||
-			position.x() > gc.getCanvas().getWidth() ||
-			position.y() + mapHeight < 0 ||
-			position.y() > gc.getCanvas().getHeight());
 	}
 
 	/**
-	 * Checks if a SpriteNode is visible within the viewport
+	 * Renders a tilemap command from its cached snapshot, rebuilding the snapshot if the tilemap
+	 * moved or any of its tiles changed, such as when an animated tile advanced a frame.
+	 *
+	 * @param index The order of the tilemap among the tilemaps of the frame, which identifies its snapshot
 	 */
-	private boolean isNodeVisible(SpriteNode node) {
-		if (node.spriteRenderer.getSprite() == null) {
-			return false;
+	private void renderTilemap(RenderCommandBuffer buffer, int i, int index) {
+		while (tilemapSnapshots.size() <= index) {
+			tilemapSnapshots.add(new TilemapSnapshot());
 		}
 
-		Vector2D position = node.transform.getPosition();
-		Vector2D scale = node.transform.getScale();
+		TilemapSnapshot snapshot = tilemapSnapshots.get(index);
+		if (!snapshot.matches(buffer, i)) {
+			if (canvas == null) {
+				canvas = new Canvas(viewWidth, viewHeight);
+				canvas.getGraphicsContext2D().setImageSmoothing(false);
+			}
+
+			canvas.getGraphicsContext2D().clearRect(0, 0, viewWidth, viewHeight);
+			drawTiles(canvas.getGraphicsContext2D(), buffer, i);
 
-		double width = node.spriteRenderer.getSprite().getSourceRect().getWidth() * scale.x();
-		double height = node.spriteRenderer.getSprite().getSourceRect().getHeight() * scale.y();
+			SnapshotParameters sp = new SnapshotParameters();
+			sp.setFill(Color.TRANSPARENT);
 
-		// Calculate sprite boundaries (centered)
-		double left = position.x() - (width / 2);
-		double right = position.x() + (width / 2);
-		double top = position.y() - (height / 2);
-		double bottom = position.y() + (height / 2);
+			snapshot.update(buffer, i, canvas.snapshot(sp, null));
+			statistics.countSnapshot();
+			statistics.countTilemapCacheRebuild();
+		}
 
-		// Check if sprite is within viewport bounds
-		return !(right < 0 ||
-			left > gc.getCanvas().getWidth() ||
-			bottom < 0 ||
-			top > gc.getCanvas().getHeight());
+		gc.drawImage(snapshot.image, 0, 0);
+		statistics.countDrawImage();
 	}
 
 	/**
-	 * Updates sprite animation if present
+	 * Draws the tiles of a tilemap command that are within the view.
 	 */
-	private void updateAnimation(SpriteNode node) {
-		Entity entity = node.getEntity();
-		AnimatorComponent animator = entity.getComponent(AnimatorComponent.class);
-
-		// If entity has an animator, update through that
-		if (animator != null) {
-			// Ensure the current animation frame is what is shown by the sprite renderer
-			SpriteAnimation currentAnimation = animator.getCurrentAnimation();
-			if (currentAnimation != null) {
-				// Get the current frame reference directly from the animation
-				IAssetReference<Sprite> frameReference = currentAnimation.getCurrentFrameReference();
-				if (frameReference != null) {
-					// Pass the reference to the renderer
-					node.spriteRenderer.setSprite(frameReference);
+	// "no‑tile" case is a null sprite
+	private void drawTiles(GraphicsContext target, RenderCommandBuffer buffer, int i) {
+		float positionX = buffer.getX(i);
+		float positionY = buffer.getY(i);
+		int tileSize = buffer.getTileSize(i);
+
+		// Calculate view bounds for culling (only render visible tiles)
+		int startCol = Math.max(0, (int)(-positionX / tileSize));
+		int endCol = Math.min(buffer.getColumns(i), (int)((-positionX + viewWidth) / tileSize) + 1);
+		int startRow = Math.max(0, (int)(-positionY / tileSize));
+		int endRow = Math.min(buffer.getRows(i), (int)((-positionY + viewHeight) / tileSize) + 1);
+
+		for (int x = startCol; x < endCol; x++) {
+			for (int y = startRow; y < endRow; y++) {
+				Sprite sprite = buffer.getTile(i, x, y);
+				if (sprite != null) {
+					sprite.draw(target, positionX + (x * tileSize), positionY + (y * tileSize), tileSize, tileSize, 0);
 				}
 			}
 		}
 	}
 
 	/**
-	 * Renders a single sprite
+	 * A cached image of a tilemap, along with a copy of what it was drawn from.
 	 */
-	private void renderSprite(SpriteNode node) {
-		SpriteRendererComponent renderer = node.spriteRenderer;
-
-		// Update animation before rendering
-		updateAnimation(node);
-
-		Sprite sprite = renderer.getSprite();
-
-		// Skip if no sprite
-		if (sprite == null) {
-			return;
-		}
-
-		Vector2D position = node.transform.getPosition();
-		Vector2D scale = node.transform.getScale();
-
-		// Calculate sprite dimensions based on scale
-		double width = sprite.getSourceRect().getWidth() * scale.x();
-		double height = sprite.getSourceRect().getHeight() * scale.y();
-
-		// Calculate sprite position (centered on transform position)
-		double x = position.x() - (width / 2);
-		double y = position.y() - (height / 2);
-
-		// Draw the sprite
-		sprite.draw(
-			gc, x, y, width, height, node.transform.getRotation(),
-			renderer.isFlipX(), renderer.isFlipY()
-		);
-	}
-
-	private enum RenderableType {
-		TILEMAP,
-		SPRITE,
-		EFFECT
-	}
+	private static class TilemapSnapshot {
+		private WritableImage image;
+		private float x;
+		private float y;
+		private int tileSize;
+		private int columns;
+		private int rows;
+		private Sprite[] tiles = new Sprite[0];
+
+		/**
+		 * Checks if the image shows the tilemap of a command, comparing tiles by sprite.
+		 */
+		boolean matches(RenderCommandBuffer buffer, int i) {
+			if (image == null || x != buffer.getX(i) || y != buffer.getY(i) || tileSize != buffer.getTileSize(i)
+				|| columns != buffer.getColumns(i) || rows != buffer.getRows(i)) {
+				return false;
+			}
 
-	// Information for depth sorting
-	private static class RenderableItem {
-		final Node node;
-		final RenderableType type;
-		final int renderLayer;
-		final float yPosition;
-
-		RenderableItem(Node node, RenderableType type, int renderLayer) {
-			this.node = node;
-			this.type = type;
-			this.renderLayer = renderLayer;
-
-			// Get y position based on node type
-			if (type == RenderableType.TILEMAP) {
-				this.yPosition = ((TilemapNode)node).transform.getPosition().y();
-			} else if (type == RenderableType.SPRITE) {
-				this.yPosition = ((SpriteNode)node).transform.getPosition().y();
-			} else {
-				this.yPosition = 0;
+			for (int column = 0; column < columns; column++) {
+				for (int row = 0; row < rows; row++) {
+					if (tiles[column * rows + row] != buffer.getTile(i, column, row)) {
+						return false;
+					}
+				}
 			}
+			return true;
 		}
 
-		int getRenderLayer() {
-			return renderLayer;
-		}
+		void update(RenderCommandBuffer buffer, int i, WritableImage image) {
+			this.image = image;
+			x = buffer.getX(i);
+			y = buffer.getY(i);
+			tileSize = buffer.getTileSize(i);
+			columns = buffer.getColumns(i);
+			rows = buffer.getRows(i);
 
-		float getYPosition() {
-			return yPosition;
+			if (tiles.length != columns * rows) {
+				tiles = new Sprite[columns * rows];
+			}
+			for (int column = 0; column < columns; column++) {
+				for (int row = 0; row < rows; row++) {
+					tiles[column * rows + row] = buffer.getTile(i, column, row);
+				}
+			}
 		}
 	}
-}
\ No newline at end of file
+}
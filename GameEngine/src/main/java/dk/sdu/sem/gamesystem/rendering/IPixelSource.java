@@ -0,0 +1,21 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+/**
+ * Supplies the decoded pixels sprites are drawn from, for renderers that do not draw through JavaFX.
+ */
+public interface IPixelSource {
+	/**
+	 * Returns the pixels of the whole image a sprite is cut from, so its source rectangle indexes into them.
+	 *
+	 * @return The pixels, or null if they are not available
+	 */
+	Pixels getPixels(Sprite sprite);
+
+	/**
+	 * Decoded pixels of an image.
+	 *
+	 * @param pixels Premultiplied ARGB pixels, row by row
+	 */
+	record Pixels(int width, int height, int[] pixels) {
+	}
+}
@@ -6,4 +6,10 @@ import javafx.scene.canvas.GraphicsContext;
 public interface IRenderSystem extends ILateUpdate {
 	void initialize(GraphicsContext gc);
 	void clear();
-}
\ No newline at end of file
+
+	/**
+	 * Records the active scene, to be drawn by the next {@link #lateUpdate()}.
+	 * Called between fixed updates, so everything recorded belongs to the same state.
+	 */
+	void recordFrame();
+}
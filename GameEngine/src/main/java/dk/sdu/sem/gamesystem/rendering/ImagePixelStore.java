@@ -0,0 +1,80 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import javafx.scene.image.Image;
+
+import java.nio.IntBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps a plain copy of the pixels of every decoded image and atlas page, as they are decoded or packed,
+ * so they can be drawn without reading them back from the JavaFX images.
+ * It holds a second copy of every image, so it stays empty unless enabled before assets are loaded.
+ * Images are held weakly and their pixels go away with them when they are evicted.
+ */
+public class ImagePixelStore implements IPixelSource {
+	private static final ImagePixelStore instance = new ImagePixelStore();
+
+	private final Map<Image, Pixels> pixels = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private volatile boolean enabled = false;
+
+	private ImagePixelStore() {
+	}
+
+	public static ImagePixelStore getInstance() {
+		return instance;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		if (!enabled) {
+			pixels.clear();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Stores the pixels of an image, if the store is enabled. The array is kept, not copied.
+	 *
+	 * @param argb Premultiplied ARGB pixels, row by row
+	 */
+	public void put(Image image, int width, int height, int[] argb) {
+		if (enabled) {
+			pixels.put(image, new Pixels(width, height, argb));
+		}
+	}
+
+	/**
+	 * Stores a copy of the pixels of an image, if the store is enabled.
+	 *
+	 * @param argb Premultiplied ARGB pixels, row by row
+	 */
+	public void put(Image image, int width, int height, IntBuffer argb) {
+		if (enabled) {
+			int[] copy = new int[width * height];
+			argb.duplicate().rewind().get(copy);
+			pixels.put(image, new Pixels(width, height, copy));
+		}
+	}
+
+	/**
+	 * Returns the stored pixels of an image, or null if it has none.
+	 */
+	public Pixels get(Image image) {
+		return image != null ? pixels.get(image) : null;
+	}
+
+	@Override
+	public Pixels getPixels(Sprite sprite) {
+		return get(sprite.getImage());
+	}
+
+	public int getImageCount() {
+		return pixels.size();
+	}
+}
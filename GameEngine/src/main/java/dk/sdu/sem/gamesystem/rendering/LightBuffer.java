@@ -0,0 +1,173 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.effect.BlendMode;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.util.Arrays;
+
+/**
+ * Low-resolution buffer that point lights are accumulated into.
+ * Lights are blended additively from cached textures and the touched region is
+ * uploaded and upscaled onto the main canvas in a single draw call.
+ */
+class LightBuffer {
+	// The buffer is half the canvas width and height, so a quarter of the pixels
+	static final int DOWNSCALE = 2;
+
+	private final LightTextureCache textureCache = LightTextureCache.getInstance();
+
+	private int width;
+	private int height;
+	private int[] pixels;
+	private WritableImage image;
+
+	// Region touched since the last composite, in buffer pixels
+	private int dirtyMinX;
+	private int dirtyMinY;
+	private int dirtyMaxX;
+	private int dirtyMaxY;
+	private boolean dirty = false;
+
+	/**
+	 * Makes sure the buffer matches the given canvas size.
+	 */
+	void ensureSize(double canvasWidth, double canvasHeight) {
+		int newWidth = Math.max(1, (int) Math.ceil(canvasWidth / DOWNSCALE));
+		int newHeight = Math.max(1, (int) Math.ceil(canvasHeight / DOWNSCALE));
+
+		if (pixels != null && newWidth == width && newHeight == height) {
+			return;
+		}
+
+		width = newWidth;
+		height = newHeight;
+		pixels = new int[width * height];
+		image = new WritableImage(width, height);
+		dirty = false;
+	}
+
+	/**
+	 * Adds a light centered at the given canvas coordinates.
+	 */
+	void addLight(double x, double y, double diameter, int r, int g, int b, float brightness) {
+		if (pixels == null || diameter <= 0 || brightness <= 0) {
+			return;
+		}
+
+		int size = Math.max(1, (int) Math.round(diameter / DOWNSCALE));
+		LightTextureCache.LightTexture texture = textureCache.getTexture(size, r, g, b, brightness);
+
+		int left = (int) Math.round(x / DOWNSCALE - size / 2.0);
+		int top = (int) Math.round(y / DOWNSCALE - size / 2.0);
+
+		// Clip against the buffer
+		int startX = Math.max(0, left);
+		int startY = Math.max(0, top);
+		int endX = Math.min(width, left + size);
+		int endY = Math.min(height, top + size);
+		if (startX >= endX || startY >= endY) {
+			return;
+		}
+
+		int[] source = texture.getPixels();
+		for (int py = startY; py < endY; py++) {
+			int srcRow = (py - top) * size - left;
+			int dstRow = py * width;
+			for (int px = startX; px < endX; px++) {
+				int src = source[srcRow + px];
+				if (src != 0) {
+					pixels[dstRow + px] = addSaturated(pixels[dstRow + px], src);
+				}
+			}
+		}
+
+		markDirty(startX, startY, endX, endY);
+	}
+
+	/**
+	 * Checks if any lights have been added since the last composite.
+	 */
+	boolean hasPendingLights() {
+		return dirty;
+	}
+
+	/**
+	 * Uploads the touched region and draws it upscaled onto the canvas, then clears it.
+	 */
+	void composite(GraphicsContext gc) {
+		composite(gc, BlendMode.OVERLAY);
+	}
+
+	/**
+	 * Same as {@link #composite(GraphicsContext)}, drawing with the given blend mode.
+	 * A separate lighting layer uses SRC_OVER and blends the whole layer instead.
+	 */
+	void composite(GraphicsContext gc, BlendMode blendMode) {
+		if (!dirty) {
+			return;
+		}
+
+		int regionWidth = dirtyMaxX - dirtyMinX;
+		int regionHeight = dirtyMaxY - dirtyMinY;
+
+		image.getPixelWriter().setPixels(
+			dirtyMinX, dirtyMinY, regionWidth, regionHeight,
+			PixelFormat.getIntArgbPreInstance(),
+			pixels, dirtyMinY * width + dirtyMinX, width
+		);
+
+		BlendMode origMode = gc.getGlobalBlendMode();
+		boolean origSmoothing = gc.isImageSmoothing();
+		gc.setGlobalBlendMode(blendMode);
+		// Smooth upscaling hides the lower resolution of the soft light falloff
+		gc.setImageSmoothing(true);
+
+		gc.drawImage(
+			image,
+			dirtyMinX, dirtyMinY, regionWidth, regionHeight,
+			dirtyMinX * DOWNSCALE, dirtyMinY * DOWNSCALE, regionWidth * DOWNSCALE, regionHeight * DOWNSCALE
+		);
+
+		gc.setImageSmoothing(origSmoothing);
+		gc.setGlobalBlendMode(origMode);
+
+		RenderStatistics statistics = RenderStatistics.getInstance();
+		statistics.countDrawImage();
+		statistics.countLightComposite();
+
+		for (int py = dirtyMinY; py < dirtyMaxY; py++) {
+			int row = py * width;
+			Arrays.fill(pixels, row + dirtyMinX, row + dirtyMaxX, 0);
+		}
+		dirty = false;
+	}
+
+	private void markDirty(int minX, int minY, int maxX, int maxY) {
+		if (!dirty) {
+			dirtyMinX = minX;
+			dirtyMinY = minY;
+			dirtyMaxX = maxX;
+			dirtyMaxY = maxY;
+			dirty = true;
+			return;
+		}
+
+		dirtyMinX = Math.min(dirtyMinX, minX);
+		dirtyMinY = Math.min(dirtyMinY, minY);
+		dirtyMaxX = Math.max(dirtyMaxX, maxX);
+		dirtyMaxY = Math.max(dirtyMaxY, maxY);
+	}
+
+	/**
+	 * Adds two premultiplied ARGB colors channel by channel, clamping at full intensity.
+	 */
+	private static int addSaturated(int dst, int src) {
+		int a = Math.min(255, (dst >>> 24) + (src >>> 24));
+		int r = Math.min(255, ((dst >> 16) & 0xFF) + ((src >> 16) & 0xFF));
+		int g = Math.min(255, ((dst >> 8) & 0xFF) + ((src >> 8) & 0xFF));
+		int b = Math.min(255, (dst & 0xFF) + (src & 0xFF));
+		return (a << 24) | (r << 16) | (g << 8) | b;
+	}
+}
@@ -0,0 +1,108 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches pre-rendered radial light textures.
+ * Each distinct combination of diameter, colour and intensity is rasterized once
+ * into a premultiplied ARGB pixel array and reused by every light that looks the same.
+ */
+public class LightTextureCache {
+	private static final LightTextureCache instance = new LightTextureCache();
+
+	// Maps packed (diameter, r, g, b, intensity) keys to rasterized textures
+	private final Map<Long, LightTexture> textures = new HashMap<>();
+
+	private LightTextureCache() {
+	}
+
+	public static LightTextureCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Gets the texture for a light, rasterizing it on first use.
+	 *
+	 * @param diameter Diameter of the light in pixels
+	 * @param r Red channel (0-255)
+	 * @param g Green channel (0-255)
+	 * @param b Blue channel (0-255)
+	 * @param brightness Alpha at the center of the light (0-1)
+	 */
+	public LightTexture getTexture(int diameter, int r, int g, int b, float brightness) {
+		int size = Math.max(1, diameter);
+		int intensity = Math.max(0, Math.min(255, Math.round(brightness * 255)));
+
+		long key = ((long) size << 32)
+			| ((long) (r & 0xFF) << 24)
+			| ((g & 0xFF) << 16)
+			| ((b & 0xFF) << 8)
+			| intensity;
+
+		return textures.computeIfAbsent(key, k -> createTexture(size, r & 0xFF, g & 0xFF, b & 0xFF, intensity));
+	}
+
+	/**
+	 * Rasterizes a linear radial falloff from full intensity at the center to transparent at the edge,
+	 * matching the two-stop radial gradient the lights were originally drawn with.
+	 */
+	private LightTexture createTexture(int size, int r, int g, int b, int intensity) {
+		int[] pixels = new int[size * size];
+		double radius = size / 2.0;
+
+		for (int y = 0; y < size; y++) {
+			double dy = y + 0.5 - radius;
+			for (int x = 0; x < size; x++) {
+				double dx = x + 0.5 - radius;
+				double falloff = 1.0 - Math.sqrt(dx * dx + dy * dy) / radius;
+				if (falloff <= 0) {
+					continue;
+				}
+
+				int a = (int) Math.round(intensity * falloff);
+				pixels[y * size + x] = (a << 24)
+					| ((r * a / 255) << 16)
+					| ((g * a / 255) << 8)
+					| (b * a / 255);
+			}
+		}
+
+		return new LightTexture(size, pixels);
+	}
+
+	/**
+	 * Removes all cached textures.
+	 */
+	public void clear() {
+		textures.clear();
+	}
+
+	/**
+	 * Returns the number of cached textures.
+	 */
+	public int getTextureCount() {
+		return textures.size();
+	}
+
+	/**
+	 * A square premultiplied ARGB light texture.
+	 */
+	public static final class LightTexture {
+		private final int size;
+		private final int[] pixels;
+
+		LightTexture(int size, int[] pixels) {
+			this.size = size;
+			this.pixels = pixels;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public int[] getPixels() {
+			return pixels;
+		}
+	}
+}
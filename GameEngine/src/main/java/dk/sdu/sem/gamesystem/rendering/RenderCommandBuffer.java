@@ -0,0 +1,292 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import java.util.Arrays;
+
+/**
+ * Draw commands for a single frame, in the order they should be drawn.
+ * Commands hold copies of everything needed to draw them: positions, sizes and the sprites
+ * to draw, including the sprite of every tile of a tilemap. Nothing in a buffer refers back
+ * to components or nodes, so a recorded frame can be drawn while the simulation moves on.
+ * Commands are stored in parallel primitive arrays, so once the buffer has grown
+ * to the size of a scene, recording a frame does not allocate.
+ */
+public class RenderCommandBuffer {
+	public static final byte SPRITE = 0;
+	public static final byte TILEMAP = 1;
+	public static final byte LIGHT = 2;
+
+	public static final byte FLIP_X = 1;
+	public static final byte FLIP_Y = 2;
+	// Drawn on top of the room snapshots during room transitions, such as the player
+	public static final byte OVERLAY = 4;
+
+	private static final int INITIAL_CAPACITY = 256;
+	private static final int INITIAL_TILE_CAPACITY = 1024;
+
+	private int count = 0;
+	private int tileCount = 0;
+
+	// Frame number assigned when the buffer is published
+	private volatile long frame = 0;
+
+	// Renderables skipped by viewport culling while recording
+	private int culledCount = 0;
+
+	private byte[] kinds = new byte[INITIAL_CAPACITY];
+	private Sprite[] sprites = new Sprite[INITIAL_CAPACITY];
+	private float[] xs = new float[INITIAL_CAPACITY];
+	private float[] ys = new float[INITIAL_CAPACITY];
+	private float[] widths = new float[INITIAL_CAPACITY];
+	private float[] heights = new float[INITIAL_CAPACITY];
+	private float[] rotations = new float[INITIAL_CAPACITY];
+	private byte[] flags = new byte[INITIAL_CAPACITY];
+	private int[] layers = new int[INITIAL_CAPACITY];
+	private int[] colors = new int[INITIAL_CAPACITY];
+
+	// Tilemaps: where their tiles start in the tile pool and the size of their grid
+	private int[] tileStarts = new int[INITIAL_CAPACITY];
+	private int[] columns = new int[INITIAL_CAPACITY];
+	private int[] rows = new int[INITIAL_CAPACITY];
+
+	// Sprites of the tiles of all tilemaps, column by column, null for empty tiles
+	private Sprite[] tiles = new Sprite[INITIAL_TILE_CAPACITY];
+
+	/**
+	 * Removes all commands, keeping the allocated capacity.
+	 */
+	public void clear() {
+		// Drop sprites so those from old frames can be collected
+		Arrays.fill(sprites, 0, count, null);
+		Arrays.fill(tiles, 0, tileCount, null);
+		count = 0;
+		tileCount = 0;
+		culledCount = 0;
+	}
+
+	/**
+	 * Adds a sprite drawn with its top-left corner at (x, y).
+	 *
+	 * @return The index of the command
+	 */
+	public int addSprite(Sprite sprite, float x, float y, float width, float height,
+						 float rotation, boolean flipX, boolean flipY, int layer) {
+		int i = next(SPRITE, sprite, layer);
+		xs[i] = x;
+		ys[i] = y;
+		widths[i] = width;
+		heights[i] = height;
+		rotations[i] = rotation;
+		flags[i] = (byte) ((flipX ? FLIP_X : 0) | (flipY ? FLIP_Y : 0));
+		colors[i] = 0;
+		return i;
+	}
+
+	/**
+	 * Sets the tint of a sprite command, for backends that tint while drawing instead of drawing a baked variant.
+	 *
+	 * @param argb Straight ARGB tint blended over the sprite by its alpha, or 0 for no tint
+	 */
+	public void setTint(int i, int argb) {
+		colors[i] = argb;
+	}
+
+	/**
+	 * Adds a tilemap with its top-left corner at (x, y) and all tiles empty.
+	 * The tiles are filled in with {@link #setTile}.
+	 *
+	 * @return The index of the command
+	 */
+	public int addTilemap(float x, float y, int tileSize, int columnCount, int rowCount, int layer) {
+		int i = next(TILEMAP, null, layer);
+		xs[i] = x;
+		ys[i] = y;
+		widths[i] = tileSize;
+		heights[i] = tileSize;
+		columns[i] = columnCount;
+		rows[i] = rowCount;
+
+		int size = columnCount * rowCount;
+		if (tileCount + size > tiles.length) {
+			tiles = Arrays.copyOf(tiles, Math.max(tiles.length * 2, tileCount + size));
+		}
+		tileStarts[i] = tileCount;
+		tileCount += size;
+		return i;
+	}
+
+	/**
+	 * Sets the sprite of a tile of a tilemap command, or null to leave it empty.
+	 */
+	public void setTile(int i, int column, int row, Sprite sprite) {
+		tiles[tileStarts[i] + column * rows[i] + row] = sprite;
+	}
+
+	/**
+	 * Adds a point light centered at (x, y).
+	 */
+	public void addLight(float x, float y, float diameter, int r, int g, int b, float brightness, int layer) {
+		int i = next(LIGHT, null, layer);
+		xs[i] = x;
+		ys[i] = y;
+		widths[i] = diameter;
+		heights[i] = diameter;
+		rotations[i] = brightness;
+		colors[i] = ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF);
+	}
+
+	/**
+	 * Marks a command to be drawn on top of the room snapshots during room transitions.
+	 */
+	public void setOverlay(int i) {
+		flags[i] |= OVERLAY;
+	}
+
+	private int next(byte kind, Sprite sprite, int layer) {
+		if (count == kinds.length) {
+			grow();
+		}
+
+		int i = count++;
+		kinds[i] = kind;
+		sprites[i] = sprite;
+		layers[i] = layer;
+		flags[i] = 0;
+		return i;
+	}
+
+	private void grow() {
+		int capacity = kinds.length * 2;
+		kinds = Arrays.copyOf(kinds, capacity);
+		sprites = Arrays.copyOf(sprites, capacity);
+		xs = Arrays.copyOf(xs, capacity);
+		ys = Arrays.copyOf(ys, capacity);
+		widths = Arrays.copyOf(widths, capacity);
+		heights = Arrays.copyOf(heights, capacity);
+		rotations = Arrays.copyOf(rotations, capacity);
+		flags = Arrays.copyOf(flags, capacity);
+		layers = Arrays.copyOf(layers, capacity);
+		colors = Arrays.copyOf(colors, capacity);
+		tileStarts = Arrays.copyOf(tileStarts, capacity);
+		columns = Arrays.copyOf(columns, capacity);
+		rows = Arrays.copyOf(rows, capacity);
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	long getFrame() {
+		return frame;
+	}
+
+	void setFrame(long frame) {
+		this.frame = frame;
+	}
+
+	public int getCulledCount() {
+		return culledCount;
+	}
+
+	public void setCulledCount(int culledCount) {
+		this.culledCount = culledCount;
+	}
+
+	public byte getKind(int i) {
+		return kinds[i];
+	}
+
+	/**
+	 * The sprite to draw for sprite commands.
+	 */
+	public Sprite getSprite(int i) {
+		return sprites[i];
+	}
+
+	public float getX(int i) {
+		return xs[i];
+	}
+
+	public float getY(int i) {
+		return ys[i];
+	}
+
+	public float getWidth(int i) {
+		return widths[i];
+	}
+
+	public float getHeight(int i) {
+		return heights[i];
+	}
+
+	/**
+	 * Rotation in radians for sprites.
+	 */
+	public float getRotation(int i) {
+		return rotations[i];
+	}
+
+	/**
+	 * Brightness (0-1) for lights.
+	 */
+	public float getBrightness(int i) {
+		return rotations[i];
+	}
+
+	public boolean isFlipX(int i) {
+		return (flags[i] & FLIP_X) != 0;
+	}
+
+	public boolean isFlipY(int i) {
+		return (flags[i] & FLIP_Y) != 0;
+	}
+
+	public boolean isOverlay(int i) {
+		return (flags[i] & OVERLAY) != 0;
+	}
+
+	public int getLayer(int i) {
+		return layers[i];
+	}
+
+	/**
+	 * RGB colour packed as 0xRRGGBB for lights.
+	 */
+	public int getColor(int i) {
+		return colors[i];
+	}
+
+	/**
+	 * Straight ARGB tint for sprites, 0 if the sprite is not tinted.
+	 */
+	public int getTint(int i) {
+		return colors[i];
+	}
+
+	/**
+	 * Size of a tile in pixels for tilemaps.
+	 */
+	public int getTileSize(int i) {
+		return (int) widths[i];
+	}
+
+	/**
+	 * Number of tile columns for tilemaps.
+	 */
+	public int getColumns(int i) {
+		return columns[i];
+	}
+
+	/**
+	 * Number of tile rows for tilemaps.
+	 */
+	public int getRows(int i) {
+		return rows[i];
+	}
+
+	/**
+	 * The sprite of a tile of a tilemap command, or null if the tile is empty.
+	 */
+	public Sprite getTile(int i, int column, int row) {
+		return tiles[tileStarts[i] + column * rows[i] + row];
+	}
+}
@@ -0,0 +1,57 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands complete frames of render commands from the recorder to the renderer.
+ * The recorder records into its own buffer and publishes it when the frame is complete,
+ * and the renderer always draws the most recently published frame.
+ * Three buffers are rotated, so neither side waits for the other or touches a buffer
+ * the other side is using. Supports one producer and one consumer thread.
+ */
+public class RenderCommandStream {
+	private RenderCommandBuffer writeBuffer = new RenderCommandBuffer();
+	private final AtomicReference<RenderCommandBuffer> readyBuffer = new AtomicReference<>(new RenderCommandBuffer());
+	private RenderCommandBuffer readBuffer = new RenderCommandBuffer();
+
+	private long frameCounter = 0;
+
+	/**
+	 * Gets an empty buffer to record the next frame into. Producer side only.
+	 */
+	public RenderCommandBuffer beginFrame() {
+		writeBuffer.clear();
+		return writeBuffer;
+	}
+
+	/**
+	 * Publishes the buffer returned by {@link #beginFrame()} as the latest complete frame.
+	 * Producer side only.
+	 */
+	public void publish() {
+		writeBuffer.setFrame(++frameCounter);
+		writeBuffer = readyBuffer.getAndSet(writeBuffer);
+	}
+
+	/**
+	 * Gets the most recently published frame. Consumer side only.
+	 * The returned buffer stays valid until the next call.
+	 */
+	public RenderCommandBuffer acquireLatest() {
+		// Only newer frames are ever published, so swapping is safe even if the producer publishes meanwhile
+		if (readyBuffer.get().getFrame() > readBuffer.getFrame()) {
+			readBuffer = readyBuffer.getAndSet(readBuffer);
+		}
+		return readBuffer;
+	}
+
+	/**
+	 * Drops the frames published so far, so nothing is drawn until the next frame is published.
+	 * Consumer side only, so it is safe while the producer keeps recording.
+	 */
+	public void reset() {
+		readBuffer.clear();
+		// Frames up to the one ready now are no longer newer than the read buffer
+		readBuffer.setFrame(Math.max(readBuffer.getFrame(), readyBuffer.get().getFrame()));
+	}
+}
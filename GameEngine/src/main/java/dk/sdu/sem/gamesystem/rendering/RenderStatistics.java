@@ -0,0 +1,156 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+/**
+ * Counts the canvas work issued per frame.
+ * Counters are incremented while a frame is drawn and published when the next frame begins,
+ * so the getters always describe the last complete frame.
+ * All counting happens on the JavaFX application thread. Renderables culled while a frame
+ * is recorded are counted by the recording and added when that frame is drawn.
+ */
+public class RenderStatistics {
+	private static final RenderStatistics instance = new RenderStatistics();
+
+	// Counters for the frame being drawn
+	private int drawImageCalls;
+	private int saveRestorePairs;
+	private int lightComposites;
+	private int snapshots;
+	private int culledRenderables;
+	private int drawnRenderables;
+	private int tilemapCacheRebuilds;
+	private int layerRedraws;
+
+	// Totals of the last complete frame
+	private int lastDrawImageCalls;
+	private int lastSaveRestorePairs;
+	private int lastLightComposites;
+	private int lastSnapshots;
+	private int lastCulledRenderables;
+	private int lastDrawnRenderables;
+	private int lastTilemapCacheRebuilds;
+	private int lastLayerRedraws;
+
+	private long frameCount = 0;
+
+	private RenderStatistics() {
+	}
+
+	public static RenderStatistics getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Publishes the counters of the frame that just finished and starts counting a new one.
+	 */
+	public void beginFrame() {
+		lastDrawImageCalls = drawImageCalls;
+		lastSaveRestorePairs = saveRestorePairs;
+		lastLightComposites = lightComposites;
+		lastSnapshots = snapshots;
+		lastCulledRenderables = culledRenderables;
+		lastDrawnRenderables = drawnRenderables;
+		lastTilemapCacheRebuilds = tilemapCacheRebuilds;
+		lastLayerRedraws = layerRedraws;
+
+		drawImageCalls = 0;
+		saveRestorePairs = 0;
+		lightComposites = 0;
+		snapshots = 0;
+		culledRenderables = 0;
+		drawnRenderables = 0;
+		tilemapCacheRebuilds = 0;
+		layerRedraws = 0;
+
+		frameCount++;
+	}
+
+	public void countDrawImage() {
+		drawImageCalls++;
+	}
+
+	public void countDrawImages(int count) {
+		drawImageCalls += count;
+	}
+
+	public void countSaveRestore() {
+		saveRestorePairs++;
+	}
+
+	public void countLightComposite() {
+		lightComposites++;
+	}
+
+	public void countSnapshot() {
+		snapshots++;
+	}
+
+	public void countCulled(int count) {
+		culledRenderables += count;
+	}
+
+	public void countDrawn() {
+		drawnRenderables++;
+	}
+
+	public void countTilemapCacheRebuild() {
+		tilemapCacheRebuilds++;
+	}
+
+	/**
+	 * Counts a canvas layer that had to be redrawn instead of being kept from the last frame.
+	 */
+	public void countLayerRedraw() {
+		layerRedraws++;
+	}
+
+	public int getDrawImageCalls() {
+		return lastDrawImageCalls;
+	}
+
+	public int getSaveRestorePairs() {
+		return lastSaveRestorePairs;
+	}
+
+	public int getLightComposites() {
+		return lastLightComposites;
+	}
+
+	public int getSnapshots() {
+		return lastSnapshots;
+	}
+
+	public int getCulledRenderables() {
+		return lastCulledRenderables;
+	}
+
+	public int getDrawnRenderables() {
+		return lastDrawnRenderables;
+	}
+
+	public int getTilemapCacheRebuilds() {
+		return lastTilemapCacheRebuilds;
+	}
+
+	public int getLayerRedraws() {
+		return lastLayerRedraws;
+	}
+
+	/**
+	 * Returns the number of frames counted so far.
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	@Override
+	public String toString() {
+		return "drawImage=" + lastDrawImageCalls +
+			", save/restore=" + lastSaveRestorePairs +
+			", lightComposites=" + lastLightComposites +
+			", snapshots=" + lastSnapshots +
+			", drawn=" + lastDrawnRenderables +
+			", culled=" + lastCulledRenderables +
+			", tilemapRebuilds=" + lastTilemapCacheRebuilds +
+			", layerRedraws=" + lastLayerRedraws;
+	}
+}
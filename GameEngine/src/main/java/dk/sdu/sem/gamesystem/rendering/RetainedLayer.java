@@ -0,0 +1,81 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.function.Consumer;
+
+/**
+ * An image that is only re-rendered when the state it shows changes.
+ * Intended for HUD widgets: the widget redraws into the layer when the version of
+ * its data changes, and every other frame costs a single drawImage.
+ */
+public class RetainedLayer {
+	private final Canvas canvas = new Canvas(1, 1);
+	private final SnapshotParameters parameters = new SnapshotParameters();
+
+	private WritableImage image;
+	private long version = Long.MIN_VALUE;
+	private boolean valid = false;
+
+	public RetainedLayer() {
+		parameters.setFill(Color.TRANSPARENT);
+		canvas.getGraphicsContext2D().setImageSmoothing(false);
+	}
+
+	/**
+	 * Checks if the layer has to be redrawn to show the given version of its data.
+	 */
+	public boolean isStale(long version) {
+		return !valid || this.version != version;
+	}
+
+	/**
+	 * Clears the layer, lets the painter draw into it and caches the result.
+	 *
+	 * @param width Width of the layer in pixels
+	 * @param height Height of the layer in pixels
+	 * @param version Version of the data that is drawn
+	 * @param painter Draws the widget with its top-left corner at (0, 0)
+	 */
+	public void redraw(int width, int height, long version, Consumer<GraphicsContext> painter) {
+		width = Math.max(1, width);
+		height = Math.max(1, height);
+
+		if (canvas.getWidth() != width || canvas.getHeight() != height) {
+			canvas.setWidth(width);
+			canvas.setHeight(height);
+			image = null;
+		}
+
+		GraphicsContext gc = canvas.getGraphicsContext2D();
+		gc.clearRect(0, 0, width, height);
+		painter.accept(gc);
+
+		// Reuses the previous image when the size is unchanged
+		image = canvas.snapshot(parameters, image);
+		RenderStatistics.getInstance().countSnapshot();
+		this.version = version;
+		valid = true;
+	}
+
+	/**
+	 * Draws the cached image with its top-left corner at (x, y).
+	 */
+	public void draw(GraphicsContext gc, double x, double y) {
+		if (image != null) {
+			gc.drawImage(image, x, y);
+			RenderStatistics.getInstance().countDrawImage();
+		}
+	}
+
+	/**
+	 * Forces a redraw on the next check.
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+}
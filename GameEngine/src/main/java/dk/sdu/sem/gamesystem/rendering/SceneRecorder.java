@@ -0,0 +1,350 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import dk.sdu.sem.commonsystem.*;
+import dk.sdu.sem.gamesystem.assets.managers.AssetHandles;
+import dk.sdu.sem.gamesystem.assets.managers.AssetManager;
+import dk.sdu.sem.gamesystem.assets.references.IAssetReference;
+import dk.sdu.sem.gamesystem.components.AnimatorComponent;
+import dk.sdu.sem.gamesystem.components.PointLightComponent;
+import dk.sdu.sem.gamesystem.components.SpriteRendererComponent;
+import dk.sdu.sem.gamesystem.components.TileAnimatorComponent;
+import dk.sdu.sem.gamesystem.data.PointLightNode;
+import dk.sdu.sem.gamesystem.data.SpriteNode;
+import dk.sdu.sem.gamesystem.data.TilemapNode;
+import dk.sdu.sem.player.PlayerComponent;
+import javafx.scene.paint.Color;
+
+import java.util.*;
+
+/**
+ * Collects the visible renderables of a scene and records them into a command buffer.
+ * This is the only part of rendering that reads components. It only reads them, so recording
+ * does not change what the simulation sees. An instance is used from one thread at a time.
+ */
+class SceneRecorder {
+	// Size of the view renderables are culled against
+	private volatile double viewportWidth;
+	private volatile double viewportHeight;
+
+	// Renderables skipped by culling in the last collect
+	private int culledCount;
+
+	// Whether flips and tints are baked into sprite variants, or recorded for the backend to apply
+	private boolean bakeVariants = true;
+
+	/**
+	 * Sets the size of the view renderables are culled against.
+	 */
+	void setViewport(double width, double height) {
+		this.viewportWidth = width;
+		this.viewportHeight = height;
+	}
+
+	/**
+	 * Sets whether flips and tints are baked into cached sprite variants, which are JavaFX images.
+	 * Without baking they are recorded in the commands, for backends that apply them while drawing.
+	 */
+	void setBakeVariants(boolean bakeVariants) {
+		this.bakeVariants = bakeVariants;
+	}
+
+	/**
+	 * Collect renderables from a scene
+	 */
+	List<RenderableItem> collectRenderablesFromScene(Scene scene) {
+		List<RenderableItem> renderables = new ArrayList<>();
+		NodeManager nodeManager = scene.getNodeManager();
+		culledCount = 0;
+
+		// Get all visible tilemap nodes
+		List<TilemapNode> tilemapNodes = nodeManager.getNodes(TilemapNode.class).stream()
+			.filter(node -> node.tilemap.isVisible())
+			.filter(node -> countCulling(isNodeVisible(node)))
+			.toList();
+
+		// Get all visible sprite nodes
+		List<SpriteNode> spriteNodes = nodeManager.getNodes(SpriteNode.class).stream()
+			.filter(node -> node.spriteRenderer.isVisible())
+			.filter(node -> countCulling(isNodeVisible(node)))
+			.toList();
+
+		// Get all visible point light nodes
+		List<PointLightNode> pointLightNodes = nodeManager.getNodes(PointLightNode.class).stream()
+			.filter(node -> node.pointLight.isOn())
+			.toList();
+
+		// Adding the renderables to the list
+		for (TilemapNode node : tilemapNodes) {
+			renderables.add(new RenderableItem(node, RenderableType.TILEMAP, node.renderer.getRenderLayer()));
+		}
+		for (SpriteNode node : spriteNodes) {
+			renderables.add(new RenderableItem(node, RenderableType.SPRITE, node.spriteRenderer.getRenderLayer()));
+		}
+		for (PointLightNode node : pointLightNodes) {
+			renderables.add(new RenderableItem(node, RenderableType.EFFECT, node.pointLight.getRenderLayer()));
+		}
+
+		return renderables;
+	}
+
+	/**
+	 * Collects the renderables of a scene, sorted by layer and Y-position
+	 */
+	List<RenderableItem> collectSortedRenderables(Scene scene) {
+		List<RenderableItem> renderables = collectRenderablesFromScene(scene);
+
+		renderables.sort(Comparator
+			.comparingInt(RenderableItem::getRenderLayer)
+			.thenComparingDouble(RenderableItem::getYPosition));
+
+		return renderables;
+	}
+
+	/**
+	 * Returns the number of renderables skipped by viewport culling in the last collect.
+	 */
+	int getCulledCount() {
+		return culledCount;
+	}
+
+	/**
+	 * Records renderables into a command buffer, copying everything that is read from components
+	 */
+	void recordRenderables(List<RenderableItem> renderables, RenderCommandBuffer buffer) {
+		for (RenderableItem item : renderables) {
+			switch (item.type) {
+				case TILEMAP:
+					recordTilemap((TilemapNode) item.node, buffer);
+					break;
+				case SPRITE:
+					recordSprite((SpriteNode) item.node, buffer);
+					break;
+				case EFFECT:
+					recordPointLight((PointLightNode) item.node, buffer);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown type: " + item.type);
+			}
+		}
+	}
+
+	/**
+	 * Records a tilemap along with the sprite of every tile, resolving animated tiles to their current frame
+	 */
+	private void recordTilemap(TilemapNode node, RenderCommandBuffer buffer) {
+		int[][] tileIndices = node.tilemap.getTileIndices();
+		if (node.renderer.getSpriteMap() == null || tileIndices == null || tileIndices.length == 0) {
+			return;
+		}
+
+		TileAnimatorComponent animComponent = node.getEntity().getComponent(TileAnimatorComponent.class);
+		Vector2D position = node.transform.getPosition();
+		int columns = tileIndices.length;
+		int rows = tileIndices[0].length;
+
+		int i = buffer.addTilemap(
+			position.x(), position.y(), node.tilemap.getTileSize(), columns, rows, node.renderer.getRenderLayer());
+		for (int x = 0; x < columns; x++) {
+			for (int y = 0; y < rows; y++) {
+				buffer.setTile(i, x, y, node.renderer.getTileSprite(animComponent, tileIndices[x][y]));
+			}
+		}
+	}
+
+	/**
+	 * Records a point light
+	 */
+	private void recordPointLight(PointLightNode node, RenderCommandBuffer buffer) {
+		Vector2D position = node.transform.getPosition();
+		PointLightComponent light = node.pointLight;
+
+		buffer.addLight(
+			position.x(), position.y(),
+			light.getSize(),
+			light.getR(), light.getG(), light.getB(),
+			light.getBrightness(),
+			light.getRenderLayer()
+		);
+	}
+
+	/**
+	 * Counts renderables skipped by viewport culling, passing the visibility through.
+	 */
+	private boolean countCulling(boolean visible) {
+		if (!visible) {
+			culledCount++;
+		}
+		return visible;
+	}
+
+	/**
+	 * Checks if a TilemapNode is visible within the viewport.
+	 */
+	private boolean isNodeVisible(TilemapNode node) {
+		Vector2D position = node.transform.getPosition();
+		int tileSize = node.tilemap.getTileSize();
+		int[][] tileIndices = node.tilemap.getTileIndices();
+
+		if (tileIndices == null || tileIndices.length == 0) {
+			return false;
+		}
+
+		double mapWidth = tileIndices.length * tileSize;
+		double mapHeight = tileIndices[0].length * tileSize;
+
+		// Check if the tilemap intersects with the viewport
+		return !(position.x() + mapWidth < 0 ||
+			position.x() > viewportWidth ||
+			position.y() + mapHeight < 0 ||
+			position.y() > viewportHeight);
+	}
+
+	/**
+	 * Checks if a SpriteNode is visible within the viewport
+	 */
+	private boolean isNodeVisible(SpriteNode node) {
+		if (node.spriteRenderer.getSprite() == null) {
+			return false;
+		}
+
+		Vector2D position = node.transform.getPosition();
+		Vector2D scale = node.transform.getScale();
+
+		double width = node.spriteRenderer.getSprite().getSourceRect().getWidth() * scale.x();
+		double height = node.spriteRenderer.getSprite().getSourceRect().getHeight() * scale.y();
+
+		// Calculate sprite boundaries (centered)
+		double left = position.x() - (width / 2);
+		double right = position.x() + (width / 2);
+		double top = position.y() - (height / 2);
+		double bottom = position.y() + (height / 2);
+
+		// Check if sprite is within viewport bounds
+		return !(right < 0 ||
+			left > viewportWidth ||
+			bottom < 0 ||
+			top > viewportHeight);
+	}
+
+	/**
+	 * Shows the current frame of a sprite's animation, if it has one.
+	 * The animation system does this for the active scene, so this is only needed for scenes
+	 * rendered while they are not active.
+	 */
+	void updateAnimation(SpriteNode node) {
+		Entity entity = node.getEntity();
+		AnimatorComponent animator = entity.getComponent(AnimatorComponent.class);
+
+		// If entity has an animator, update through that
+		if (animator != null) {
+			// Ensure the current animation frame is what is shown by the sprite renderer
+			SpriteAnimation currentAnimation = animator.getCurrentAnimation();
+			if (currentAnimation != null) {
+				// Set the frame by handle, or by its reference and resolved sprite when it has none
+				int frameHandle = currentAnimation.getCurrentFrameHandle();
+				IAssetReference<Sprite> frameReference = currentAnimation.getCurrentFrameReference();
+				if (frameHandle != AssetHandles.INVALID) {
+					node.spriteRenderer.setSprite(frameHandle);
+				} else if (frameReference != null) {
+					node.spriteRenderer.setSprite(frameReference, currentAnimation.getCurrentFrame());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Records a single sprite, centered on its transform
+	 */
+	private void recordSprite(SpriteNode node, RenderCommandBuffer buffer) {
+		SpriteRendererComponent renderer = node.spriteRenderer;
+
+		Sprite sprite = renderer.getSprite();
+		if (sprite == null) {
+			return;
+		}
+
+		// Flips and tints are baked into a cached variant, so it can be drawn without transforms
+		Sprite variant = bakeVariants ? bakeVariant(sprite, renderer) : sprite;
+		boolean baked = variant != sprite;
+
+		Vector2D position = node.transform.getPosition();
+		Vector2D scale = node.transform.getScale();
+
+		float width = (float) (sprite.getSourceRect().getWidth() * scale.x());
+		float height = (float) (sprite.getSourceRect().getHeight() * scale.y());
+
+		int i = buffer.addSprite(
+			variant,
+			position.x() - width / 2, position.y() - height / 2,
+			width, height,
+			node.transform.getRotation(),
+			!baked && renderer.isFlipX(), !baked && renderer.isFlipY(),
+			renderer.getRenderLayer()
+		);
+
+		if (!bakeVariants && renderer.getTint() != null) {
+			buffer.setTint(i, toArgb(renderer.getTint()));
+		}
+
+		if (node.getEntity().hasComponent(PlayerComponent.class)) {
+			buffer.setOverlay(i);
+		}
+	}
+
+	/**
+	 * Gets the flipped and tinted variant of a sprite, or the sprite itself if none is needed or possible.
+	 */
+	private Sprite bakeVariant(Sprite sprite, SpriteRendererComponent renderer) {
+		if (!renderer.isFlipX() && !renderer.isFlipY() && renderer.getTint() == null) {
+			return sprite;
+		}
+
+		Sprite variant = AssetManager.getInstance().getSpriteVariant(
+			sprite, renderer.isFlipX(), renderer.isFlipY(), renderer.getTint());
+		return variant != null ? variant : sprite;
+	}
+
+	private static int toArgb(Color color) {
+		return ((int) Math.round(color.getOpacity() * 255) << 24)
+			| ((int) Math.round(color.getRed() * 255) << 16)
+			| ((int) Math.round(color.getGreen() * 255) << 8)
+			| (int) Math.round(color.getBlue() * 255);
+	}
+
+	enum RenderableType {
+		TILEMAP,
+		SPRITE,
+		EFFECT
+	}
+
+	// Information for depth sorting
+	static class RenderableItem {
+		final Node node;
+		final RenderableType type;
+		final int renderLayer;
+		final float yPosition;
+
+		RenderableItem(Node node, RenderableType type, int renderLayer) {
+			this.node = node;
+			this.type = type;
+			this.renderLayer = renderLayer;
+
+			// Get y position based on node type
+			if (type == RenderableType.TILEMAP) {
+				this.yPosition = ((TilemapNode)node).transform.getPosition().y();
+			} else if (type == RenderableType.SPRITE) {
+				this.yPosition = ((SpriteNode)node).transform.getPosition().y();
+			} else {
+				this.yPosition = 0;
+			}
+		}
+
+		int getRenderLayer() {
+			return renderLayer;
+		}
+
+		float getYPosition() {
+			return yPosition;
+		}
+	}
+}
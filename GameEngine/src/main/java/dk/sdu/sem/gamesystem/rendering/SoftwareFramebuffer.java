@@ -0,0 +1,301 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A premultiplied ARGB frame held in an int array.
+ * Images are drawn with nearest-neighbour sampling and source-over blending,
+ * and point lights are accumulated separately and blended on with an overlay.
+ */
+public class SoftwareFramebuffer {
+	private final int width;
+	private final int height;
+	private final int[] pixels;
+
+	// Lights accumulated since the last composite
+	private final int[] lightPixels;
+	private boolean lightsPending = false;
+
+	public SoftwareFramebuffer(int width, int height) {
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException("Framebuffer size must be positive: " + width + "x" + height);
+		}
+
+		this.width = width;
+		this.height = height;
+		this.pixels = new int[width * height];
+		this.lightPixels = new int[width * height];
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the pixels in premultiplied ARGB, row by row.
+	 */
+	public int[] getPixels() {
+		return pixels;
+	}
+
+	/**
+	 * Fills the frame with a premultiplied ARGB color.
+	 */
+	public void clear(int argb) {
+		Arrays.fill(pixels, argb);
+		if (lightsPending) {
+			Arrays.fill(lightPixels, 0);
+			lightsPending = false;
+		}
+	}
+
+	/**
+	 * Draws a region of a premultiplied ARGB image into the rectangle at (x, y), rotated
+	 * around the rectangle's center.
+	 *
+	 * @param source Source pixels
+	 * @param sourceStride Width of a row in the source array
+	 * @param rotation Rotation in radians
+	 */
+	public void drawImage(int[] source, int sourceStride,
+						  int sourceX, int sourceY, int sourceWidth, int sourceHeight,
+						  double x, double y, double drawWidth, double drawHeight,
+						  double rotation, boolean flipX, boolean flipY) {
+		drawImage(source, sourceStride, sourceX, sourceY, sourceWidth, sourceHeight,
+			x, y, drawWidth, drawHeight, rotation, flipX, flipY, 0);
+	}
+
+	/**
+	 * Draws a region of an image like {@link #drawImage(int[], int, int, int, int, int, double, double, double, double, double, boolean, boolean)},
+	 * with a tint blended over its colors by the tint's alpha. Transparency is kept.
+	 *
+	 * @param tint Straight ARGB tint, or 0 for no tint
+	 */
+	public void drawImage(int[] source, int sourceStride,
+						  int sourceX, int sourceY, int sourceWidth, int sourceHeight,
+						  double x, double y, double drawWidth, double drawHeight,
+						  double rotation, boolean flipX, boolean flipY, int tint) {
+		if (sourceWidth <= 0 || sourceHeight <= 0 || drawWidth <= 0 || drawHeight <= 0) {
+			return;
+		}
+
+		double centerX = x + drawWidth / 2;
+		double centerY = y + drawHeight / 2;
+		double cos = Math.cos(rotation);
+		double sin = Math.sin(rotation);
+
+		// Bounding box of the rotated rectangle
+		double extentX = (Math.abs(cos) * drawWidth + Math.abs(sin) * drawHeight) / 2;
+		double extentY = (Math.abs(sin) * drawWidth + Math.abs(cos) * drawHeight) / 2;
+		int startX = Math.max(0, (int) Math.floor(centerX - extentX));
+		int startY = Math.max(0, (int) Math.floor(centerY - extentY));
+		int endX = Math.min(width, (int) Math.ceil(centerX + extentX));
+		int endY = Math.min(height, (int) Math.ceil(centerY + extentY));
+		if (startX >= endX || startY >= endY) {
+			return;
+		}
+
+		double scaleX = sourceWidth / drawWidth;
+		double scaleY = sourceHeight / drawHeight;
+
+		for (int py = startY; py < endY; py++) {
+			double dy = py + 0.5 - centerY;
+			int row = py * width;
+			for (int px = startX; px < endX; px++) {
+				double dx = px + 0.5 - centerX;
+
+				// Rotate the pixel center back into the rectangle's local space
+				double u = dx * cos + dy * sin + drawWidth / 2;
+				double v = dy * cos - dx * sin + drawHeight / 2;
+				if (u < 0 || v < 0 || u >= drawWidth || v >= drawHeight) {
+					continue;
+				}
+
+				int sx = Math.min(sourceWidth - 1, (int) (u * scaleX));
+				int sy = Math.min(sourceHeight - 1, (int) (v * scaleY));
+				if (flipX) {
+					sx = sourceWidth - 1 - sx;
+				}
+				if (flipY) {
+					sy = sourceHeight - 1 - sy;
+				}
+
+				int src = source[(sourceY + sy) * sourceStride + sourceX + sx];
+				if (src != 0) {
+					if (tint >>> 24 != 0) {
+						src = tint(src, tint);
+					}
+					pixels[row + px] = blend(pixels[row + px], src);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds a light centered at (x, y). Lights are summed until {@link #compositeLights()} is called.
+	 */
+	public void addLight(LightTextureCache.LightTexture texture, double x, double y) {
+		int size = texture.getSize();
+		int left = (int) Math.round(x - size / 2.0);
+		int top = (int) Math.round(y - size / 2.0);
+
+		int startX = Math.max(0, left);
+		int startY = Math.max(0, top);
+		int endX = Math.min(width, left + size);
+		int endY = Math.min(height, top + size);
+		if (startX >= endX || startY >= endY) {
+			return;
+		}
+
+		int[] source = texture.getPixels();
+		for (int py = startY; py < endY; py++) {
+			int srcRow = (py - top) * size - left;
+			int dstRow = py * width;
+			for (int px = startX; px < endX; px++) {
+				int src = source[srcRow + px];
+				if (src != 0) {
+					lightPixels[dstRow + px] = addSaturated(lightPixels[dstRow + px], src);
+				}
+			}
+		}
+		lightsPending = true;
+	}
+
+	/**
+	 * Checks if any lights have been added since the last composite.
+	 */
+	public boolean hasPendingLights() {
+		return lightsPending;
+	}
+
+	/**
+	 * Blends the accumulated lights onto the frame with an overlay and clears them.
+	 */
+	public void compositeLights() {
+		if (!lightsPending) {
+			return;
+		}
+
+		for (int i = 0; i < pixels.length; i++) {
+			int light = lightPixels[i];
+			if (light == 0) {
+				continue;
+			}
+			pixels[i] = overlay(pixels[i], light);
+			lightPixels[i] = 0;
+		}
+		lightsPending = false;
+	}
+
+	/**
+	 * Writes the frame to a PNG file.
+	 */
+	public void writePng(Path path) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		image.setRGB(0, 0, width, height, unpremultiply(), 0, width);
+
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		ImageIO.write(image, "png", path.toFile());
+	}
+
+	/**
+	 * BufferedImage.setRGB takes straight ARGB, whatever the image type.
+	 */
+	private int[] unpremultiply() {
+		int[] straight = new int[pixels.length];
+		for (int i = 0; i < pixels.length; i++) {
+			int argb = pixels[i];
+			int a = argb >>> 24;
+			if (a == 0 || a == 0xFF) {
+				straight[i] = a == 0 ? 0 : argb;
+				continue;
+			}
+
+			int r = Math.min(255, ((argb >> 16) & 0xFF) * 255 / a);
+			int g = Math.min(255, ((argb >> 8) & 0xFF) * 255 / a);
+			int b = Math.min(255, (argb & 0xFF) * 255 / a);
+			straight[i] = (a << 24) | (r << 16) | (g << 8) | b;
+		}
+		return straight;
+	}
+
+	/**
+	 * Source-over blending of two premultiplied ARGB colors.
+	 */
+	private static int blend(int dst, int src) {
+		int srcA = src >>> 24;
+		if (srcA == 0xFF) {
+			return src;
+		}
+
+		int inverse = 255 - srcA;
+		int a = srcA + ((dst >>> 24) * inverse + 127) / 255;
+		int r = ((src >> 16) & 0xFF) + (((dst >> 16) & 0xFF) * inverse + 127) / 255;
+		int g = ((src >> 8) & 0xFF) + (((dst >> 8) & 0xFF) * inverse + 127) / 255;
+		int b = (src & 0xFF) + ((dst & 0xFF) * inverse + 127) / 255;
+		return (a << 24) | (r << 16) | (g << 8) | b;
+	}
+
+	/**
+	 * Blends a straight ARGB tint over a premultiplied color by the tint's alpha, keeping the color's alpha.
+	 */
+	private static int tint(int src, int tint) {
+		int srcA = src >>> 24;
+		int amount = tint >>> 24;
+		int keep = 255 - amount;
+
+		// The tint is premultiplied by the color's alpha, so the result stays a valid premultiplied color
+		int r = (((src >> 16) & 0xFF) * keep + ((tint >> 16) & 0xFF) * amount * srcA / 255) / 255;
+		int g = (((src >> 8) & 0xFF) * keep + ((tint >> 8) & 0xFF) * amount * srcA / 255) / 255;
+		int b = ((src & 0xFF) * keep + (tint & 0xFF) * amount * srcA / 255) / 255;
+		return (srcA << 24) | (r << 16) | (g << 8) | b;
+	}
+
+	/**
+	 * Overlay blend of a premultiplied light onto a premultiplied destination, weighted by the light's alpha.
+	 */
+	private static int overlay(int dst, int light) {
+		int lightA = light >>> 24;
+		int dstA = dst >>> 24;
+		if (lightA == 0 || dstA == 0) {
+			return dst;
+		}
+
+		int r = overlayChannel((dst >> 16) & 0xFF, dstA, (light >> 16) & 0xFF, lightA);
+		int g = overlayChannel((dst >> 8) & 0xFF, dstA, (light >> 8) & 0xFF, lightA);
+		int b = overlayChannel(dst & 0xFF, dstA, light & 0xFF, lightA);
+		return (dstA << 24) | (r << 16) | (g << 8) | b;
+	}
+
+	private static int overlayChannel(int dst, int dstA, int light, int lightA) {
+		// Work on straight colors, then premultiply again by the destination alpha
+		int base = dst * 255 / dstA;
+		int top = light * 255 / lightA;
+		int mixed = base < 128
+			? 2 * base * top / 255
+			: 255 - 2 * (255 - base) * (255 - top) / 255;
+
+		int result = base + (mixed - base) * lightA / 255;
+		return Math.min(dstA, result * dstA / 255);
+	}
+
+	private static int addSaturated(int dst, int src) {
+		int a = Math.min(255, (dst >>> 24) + (src >>> 24));
+		int r = Math.min(255, ((dst >> 16) & 0xFF) + ((src >> 16) & 0xFF));
+		int g = Math.min(255, ((dst >> 8) & 0xFF) + ((src >> 8) & 0xFF));
+		int b = Math.min(255, (dst & 0xFF) + (src & 0xFF));
+		return (a << 24) | (r << 16) | (g << 8) | b;
+	}
+}
@@ -0,0 +1,225 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import dk.sdu.sem.gamesystem.ApplicationArguments;
+import dk.sdu.sem.gamesystem.GameConstants;
+import dk.sdu.sem.gamesystem.scenes.SceneManager;
+import dk.sdu.sem.logging.Logging;
+import dk.sdu.sem.logging.LoggingLevel;
+import javafx.scene.canvas.GraphicsContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Render backend that draws recorded frames into an int array instead of a canvas.
+ * It reads sprite pixels from an {@link IPixelSource} rather than from JavaFX images, and needs
+ * no graphics context, so it runs without a display. Frames can be written to PNG for golden-image comparisons.
+ * <p>
+ * Created as an {@link IRenderSystem} service, it draws the view at native size from the
+ * {@link ImagePixelStore} and writes every n-th frame to the folder given with --framedump.
+ * Room transitions and the overlay pass are not drawn.
+ */
+public class SoftwareRenderSystem implements IRenderSystem {
+	private static final Logging LOGGER = Logging.createLogger("SoftwareRenderSystem", LoggingLevel.DEBUG);
+
+	private final SoftwareFramebuffer framebuffer;
+	private final IPixelSource pixelSource;
+	private final SceneRecorder recorder = new SceneRecorder();
+	private final RenderCommandStream commandStream = new RenderCommandStream();
+	private final LightTextureCache lightTextures = LightTextureCache.getInstance();
+
+	// Premultiplied ARGB color the frame is cleared to
+	private int clearColor = 0xFF000000;
+
+	// Folder frames are written to, or null to not write them
+	private Path frameDumpDirectory;
+	private int frameDumpInterval = 1;
+	private long renderedFrames = 0;
+
+	/**
+	 * Creates a backend for the native view size, drawing from the {@link ImagePixelStore}
+	 * and writing frames as given with --framedump and --framedumpinterval.
+	 */
+	public SoftwareRenderSystem() {
+		this(
+			(int) (GameConstants.WORLD_SIZE.x() * GameConstants.TILE_SIZE),
+			(int) (GameConstants.WORLD_SIZE.y() * GameConstants.TILE_SIZE),
+			ImagePixelStore.getInstance()
+		);
+
+		if (ApplicationArguments.frameDump != null) {
+			setFrameDump(Path.of(ApplicationArguments.frameDump), ApplicationArguments.frameDumpInterval);
+		}
+	}
+
+	public SoftwareRenderSystem(int width, int height, IPixelSource pixelSource) {
+		this.framebuffer = new SoftwareFramebuffer(width, height);
+		this.pixelSource = pixelSource;
+
+		recorder.setViewport(width, height);
+		// Baked variants are JavaFX images, so flips and tints are applied while drawing instead
+		recorder.setBakeVariants(false);
+	}
+
+	/**
+	 * The graphics context is not used, so null can be passed when running headless.
+	 */
+	@Override
+	public void initialize(GraphicsContext gc) {
+		commandStream.reset();
+		renderedFrames = 0;
+	}
+
+	@Override
+	public void clear() {
+		commandStream.reset();
+	}
+
+	@Override
+	public void recordFrame() {
+		try {
+			RenderCommandBuffer buffer = commandStream.beginFrame();
+			recorder.recordRenderables(
+				recorder.collectSortedRenderables(SceneManager.getInstance().getActiveScene()), buffer);
+			buffer.setCulledCount(recorder.getCulledCount());
+			commandStream.publish();
+		} catch (Exception e) {
+			LOGGER.error("Error recording render commands: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Draws the latest recorded frame, and writes it to the frame dump folder when it is due.
+	 */
+	@Override
+	public void lateUpdate() {
+		try {
+			render(commandStream.acquireLatest());
+		} catch (Exception e) {
+			LOGGER.error("Error rendering frame: " + e.getMessage());
+			e.printStackTrace();
+			return;
+		}
+
+		if (frameDumpDirectory != null && renderedFrames % frameDumpInterval == 0) {
+			writeFrame(frameDumpDirectory.resolve(String.format("frame_%06d.png", renderedFrames)));
+		}
+		renderedFrames++;
+	}
+
+	/**
+	 * Draws a frame of commands into the framebuffer.
+	 */
+	public void render(RenderCommandBuffer commands) {
+		framebuffer.clear(clearColor);
+
+		for (int i = 0; i < commands.getCount(); i++) {
+			byte kind = commands.getKind(i);
+			if (kind != RenderCommandBuffer.LIGHT && framebuffer.hasPendingLights()) {
+				framebuffer.compositeLights();
+			}
+
+			switch (kind) {
+				case RenderCommandBuffer.SPRITE:
+					drawSprite(
+						commands.getSprite(i),
+						commands.getX(i), commands.getY(i), commands.getWidth(i), commands.getHeight(i),
+						commands.getRotation(i), commands.isFlipX(i), commands.isFlipY(i), commands.getTint(i)
+					);
+					break;
+				case RenderCommandBuffer.TILEMAP:
+					drawTilemap(commands, i);
+					break;
+				case RenderCommandBuffer.LIGHT:
+					int color = commands.getColor(i);
+					framebuffer.addLight(
+						lightTextures.getTexture(
+							Math.round(commands.getWidth(i)),
+							(color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF,
+							commands.getBrightness(i)
+						),
+						commands.getX(i), commands.getY(i)
+					);
+					break;
+			}
+		}
+
+		framebuffer.compositeLights();
+	}
+
+	private void drawSprite(Sprite sprite, double x, double y, double width, double height,
+							double rotation, boolean flipX, boolean flipY, int tint) {
+		if (sprite == null || sprite.isDisposed()) {
+			return;
+		}
+
+		IPixelSource.Pixels pixels = pixelSource.getPixels(sprite);
+		if (pixels == null) {
+			return;
+		}
+
+		framebuffer.drawImage(
+			pixels.pixels(), pixels.width(),
+			(int) sprite.getSourceRect().getMinX(), (int) sprite.getSourceRect().getMinY(),
+			(int) sprite.getSourceRect().getWidth(), (int) sprite.getSourceRect().getHeight(),
+			x, y, width, height, rotation, flipX, flipY, tint
+		);
+	}
+
+	/**
+	 * Draws the tiles of a tilemap command that fall inside the frame.
+	 */
+	private void drawTilemap(RenderCommandBuffer commands, int i) {
+		float x = commands.getX(i);
+		float y = commands.getY(i);
+		int tileSize = commands.getTileSize(i);
+
+		int startCol = Math.max(0, (int) (-x / tileSize));
+		int endCol = Math.min(commands.getColumns(i), (int) ((-x + framebuffer.getWidth()) / tileSize) + 1);
+		int startRow = Math.max(0, (int) (-y / tileSize));
+		int endRow = Math.min(commands.getRows(i), (int) ((-y + framebuffer.getHeight()) / tileSize) + 1);
+
+		for (int column = startCol; column < endCol; column++) {
+			for (int row = startRow; row < endRow; row++) {
+				drawSprite(commands.getTile(i, column, row), x + column * tileSize, y + row * tileSize,
+					tileSize, tileSize, 0, false, false, 0);
+			}
+		}
+	}
+
+	/**
+	 * Sets the color the frame is cleared to, as straight ARGB.
+	 */
+	public void setClearColor(int argb) {
+		int a = argb >>> 24;
+		int r = ((argb >> 16) & 0xFF) * a / 255;
+		int g = ((argb >> 8) & 0xFF) * a / 255;
+		int b = (argb & 0xFF) * a / 255;
+		this.clearColor = (a << 24) | (r << 16) | (g << 8) | b;
+	}
+
+	/**
+	 * Writes every n-th drawn frame to a folder, or none when the folder is null.
+	 */
+	public void setFrameDump(Path directory, int interval) {
+		this.frameDumpDirectory = directory;
+		this.frameDumpInterval = Math.max(1, interval);
+	}
+
+	public SoftwareFramebuffer getFramebuffer() {
+		return framebuffer;
+	}
+
+	/**
+	 * Writes the last drawn frame to a PNG file.
+	 */
+	public void writeFrame(Path path) {
+		try {
+			framebuffer.writePng(path);
+		} catch (IOException e) {
+			LOGGER.error("Failed to write frame to " + path + ": " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+}
@@ -4,10 +4,13 @@ import dk.sdu.sem.gamesystem.assets.IDisposable;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
 
 public class Sprite implements IDisposable {
 	private Image image;
-	private final Rectangle2D sourceRect;
+	private Rectangle2D sourceRect;
 	private final String name;
 	private boolean isDisposed;
 
@@ -37,6 +40,18 @@ public class Sprite implements IDisposable {
 		return name;
 	}
 
+	/**
+	 * Points this sprite at a copy of its pixels inside a texture atlas page.
+	 */
+	void moveToAtlas(Image atlasPage, double x, double y) {
+		if (isDisposed) {
+			return;
+		}
+
+		this.image = atlasPage;
+		this.sourceRect = new Rectangle2D(x, y, sourceRect.getWidth(), sourceRect.getHeight());
+	}
+
 	public void draw(GraphicsContext gc, double x, double y) {
 		draw(gc, x, y, sourceRect.getWidth(), sourceRect.getHeight(), 0, false, false);
 	}
@@ -50,6 +65,18 @@ public class Sprite implements IDisposable {
 			return;
 		}
 
+		// Without rotation or flipping no transform is needed
+		if (rotation == 0 && !flipX && !flipY) {
+			gc.drawImage(
+				image,
+				sourceRect.getMinX(), sourceRect.getMinY(),
+				sourceRect.getWidth(), sourceRect.getHeight(),
+				x, y, width, height
+			);
+			RenderStatistics.getInstance().countDrawImage();
+			return;
+		}
+
 		gc.save();
 
 		double pivotX = x + width / 2;
@@ -69,6 +96,64 @@ public class Sprite implements IDisposable {
 		);
 
 		gc.restore();
+
+		RenderStatistics statistics = RenderStatistics.getInstance();
+		statistics.countDrawImage();
+		statistics.countSaveRestore();
+	}
+
+	/**
+	 * Creates a standalone copy of this sprite with flipping and tinting baked into its pixels,
+	 * so it can be drawn without transforms.
+	 * The tint is blended over the original colors by its opacity, and transparency is kept.
+	 *
+	 * @param tint Tint color, or null for no tint
+	 * @return The variant, or null if the pixels of this sprite cannot be read
+	 */
+	public Sprite createVariant(boolean flipX, boolean flipY, Color tint) {
+		if (isDisposed || image == null || image.getPixelReader() == null) {
+			return null;
+		}
+
+		int width = (int) Math.round(sourceRect.getWidth());
+		int height = (int) Math.round(sourceRect.getHeight());
+		if (width <= 0 || height <= 0) {
+			return null;
+		}
+
+		int[] source = new int[width * height];
+		image.getPixelReader().getPixels(
+			(int) Math.round(sourceRect.getMinX()), (int) Math.round(sourceRect.getMinY()), width, height,
+			PixelFormat.getIntArgbInstance(), source, 0, width
+		);
+
+		int tintAmount = tint != null ? (int) Math.round(tint.getOpacity() * 255) : 0;
+		int tintR = tint != null ? (int) Math.round(tint.getRed() * 255) : 0;
+		int tintG = tint != null ? (int) Math.round(tint.getGreen() * 255) : 0;
+		int tintB = tint != null ? (int) Math.round(tint.getBlue() * 255) : 0;
+
+		int[] pixels = new int[width * height];
+		for (int y = 0; y < height; y++) {
+			int sourceY = flipY ? height - 1 - y : y;
+			for (int x = 0; x < width; x++) {
+				int sourceX = flipX ? width - 1 - x : x;
+				int argb = source[sourceY * width + sourceX];
+
+				if (tintAmount > 0 && (argb >>> 24) != 0) {
+					int keep = 255 - tintAmount;
+					int r = (((argb >> 16) & 0xFF) * keep + tintR * tintAmount) / 255;
+					int g = (((argb >> 8) & 0xFF) * keep + tintG * tintAmount) / 255;
+					int b = ((argb & 0xFF) * keep + tintB * tintAmount) / 255;
+					argb = (argb & 0xFF000000) | (r << 16) | (g << 8) | b;
+				}
+
+				pixels[y * width + x] = argb;
+			}
+		}
+
+		WritableImage variant = new WritableImage(width, height);
+		variant.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+		return new Sprite(name, variant);
 	}
 
 	/**
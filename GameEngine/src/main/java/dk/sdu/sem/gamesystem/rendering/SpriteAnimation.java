@@ -1,19 +1,25 @@
 package dk.sdu.sem.gamesystem.rendering;
 
 import dk.sdu.sem.gamesystem.assets.IDisposable;
+import dk.sdu.sem.gamesystem.assets.managers.AssetHandles;
 import dk.sdu.sem.gamesystem.assets.managers.AssetManager;
 import dk.sdu.sem.gamesystem.assets.references.IAssetReference;
 import dk.sdu.sem.gamesystem.assets.references.SpriteMapTileReference;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Represents an animation consisting of sprite frames.
+ * The frames are an immutable definition shared by every instance created with {@link #createInstance()},
+ * so each entity only owns its playback state.
  */
 public class SpriteAnimation implements IDisposable {
-	// Store only references to sprites - no direct sprite instances
-	private final List<IAssetReference<Sprite>> frameReferences;
+	private final Definition definition;
+	// Shortcut to the shared frame references, emptied on dispose
+	private List<IAssetReference<Sprite>> frameReferences;
 	private final double frameDuration; // Duration of each frame in seconds
 
 	private double elapsedTime;
@@ -28,8 +34,13 @@ public class SpriteAnimation implements IDisposable {
 	 * This is the only supported way to create animations.
 	 */
 	public SpriteAnimation(List<IAssetReference<Sprite>> frameReferences, double frameDuration, boolean looping) {
-		this.frameReferences = new ArrayList<>(frameReferences); // Create defensive copy
-		this.frameDuration = frameDuration;
+		this(new Definition(frameReferences, frameDuration), looping);
+	}
+
+	private SpriteAnimation(Definition definition, boolean looping) {
+		this.definition = definition;
+		this.frameReferences = definition.frameReferences;
+		this.frameDuration = definition.frameDuration;
 		this.isLooping = looping;
 		this.isPlaying = true;
 		this.elapsedTime = 0;
@@ -37,6 +48,14 @@ public class SpriteAnimation implements IDisposable {
 		this.isDisposed = false;
 	}
 
+	/**
+	 * Creates a new instance playing the same frames, with its own playback state starting from the first frame.
+	 * The frames are shared rather than copied.
+	 */
+	public SpriteAnimation createInstance() {
+		return new SpriteAnimation(definition, isLooping);
+	}
+
 	/**
 	 * Updates the animation state based on elapsed time.
 	 *
@@ -82,7 +101,8 @@ public class SpriteAnimation implements IDisposable {
 	}
 
 	/**
-	 * Gets the current frame sprite by resolving its reference.
+	 * Gets the current frame sprite.
+	 * Frames are looked up by handle each time, so the animation never keeps an evicted sprite alive.
 	 * This is primarily for rendering and should not be used to modify the sprite.
 	 */
 	public Sprite getCurrentFrame() {
@@ -90,15 +110,7 @@ public class SpriteAnimation implements IDisposable {
 			return null;
 		}
 
-		IAssetReference<Sprite> reference = frameReferences.get(currentFrameIndex);
-
-		// Handle sprite map tile references specially
-		if (reference instanceof SpriteMapTileReference) {
-			return ((SpriteMapTileReference) reference).resolveSprite();
-		}
-
-		// For regular references, use the AssetManager
-		return AssetManager.getInstance().getAsset(reference);
+		return definition.getFrame(currentFrameIndex);
 	}
 
 	/**
@@ -112,6 +124,18 @@ public class SpriteAnimation implements IDisposable {
 		return frameReferences.get(currentFrameIndex);
 	}
 
+	/**
+	 * Gets the handle of the current frame, for setting it on a renderer without looking it up by name.
+	 *
+	 * @return The handle, or {@link AssetHandles#INVALID} if the frame has to be resolved through its reference
+	 */
+	public int getCurrentFrameHandle() {
+		if (frameReferences.isEmpty() || isDisposed) {
+			return AssetHandles.INVALID;
+		}
+		return definition.frameHandles[currentFrameIndex];
+	}
+
 	/**
 	 * Sets the current frame index.
 	 */
@@ -171,6 +195,13 @@ public class SpriteAnimation implements IDisposable {
 		return isReversed;
 	}
 
+	/**
+	 * Checks if the animation is currently advancing frames.
+	 */
+	public boolean isPlaying() {
+		return isPlaying;
+	}
+
 	/**
 	 * Pauses the animation.
 	 */
@@ -249,7 +280,8 @@ public class SpriteAnimation implements IDisposable {
 	@Override
 	public void dispose() {
 		if (!isDisposed) {
-			frameReferences.clear();
+			// The definition may be shared, so only this instance lets go of it
+			frameReferences = List.of();
 			isDisposed = true;
 			isPlaying = false;
 		}
@@ -284,4 +316,51 @@ public class SpriteAnimation implements IDisposable {
 		// Return a copy
 		return new ArrayList<>(frameReferences);
 	}
+
+	/**
+	 * The frames of an animation, shared by all its instances.
+	 */
+	private static final class Definition {
+		private final List<IAssetReference<Sprite>> frameReferences;
+		// Handles of the frames, or INVALID for sprite map tiles, which are resolved through their reference
+		private final int[] frameHandles;
+		private final double frameDuration;
+		// Sprite map tile frames, resolved on first use and held weakly so eviction can reclaim them.
+		// Resolving twice is harmless, so no locking is needed.
+		private final WeakReference<Sprite>[] tileFrames;
+
+		Definition(List<IAssetReference<Sprite>> frameReferences, double frameDuration) {
+			this.frameReferences = Collections.unmodifiableList(new ArrayList<>(frameReferences));
+			this.frameDuration = frameDuration;
+			this.tileFrames = createTileFrames(this.frameReferences.size());
+
+			this.frameHandles = new int[this.frameReferences.size()];
+			for (int i = 0; i < frameHandles.length; i++) {
+				IAssetReference<Sprite> reference = this.frameReferences.get(i);
+				frameHandles[i] = reference instanceof SpriteMapTileReference
+					? AssetHandles.INVALID
+					: AssetManager.getInstance().getHandle(reference.getAssetId());
+			}
+		}
+
+		Sprite getFrame(int index) {
+			AssetManager manager = AssetManager.getInstance();
+			if (frameHandles[index] != AssetHandles.INVALID) {
+				return manager.getAsset(frameHandles[index], Sprite.class);
+			}
+
+			WeakReference<Sprite> cached = tileFrames[index];
+			Sprite frame = cached != null ? cached.get() : null;
+			if (frame == null || frame.isDisposed()) {
+				frame = manager.resolveSprite(frameReferences.get(index));
+				tileFrames[index] = frame != null ? new WeakReference<>(frame) : null;
+			}
+			return frame;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static WeakReference<Sprite>[] createTileFrames(int size) {
+			return (WeakReference<Sprite>[]) new WeakReference[size];
+		}
+	}
 }
\ No newline at end of file
@@ -5,14 +5,20 @@ import javafx.scene.image.Image;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Represents a sprite sheet with multiple tiles/sprites.
+ * Grid tiles are created on first access, with their region computed from the tile index,
+ * so a large sheet only costs a sprite for each tile that is actually used.
  */
 public class SpriteMap implements IDisposable {
+	private static final String TILE_PREFIX = "tile_";
+
 	private Image spriteMapImage;
 	private final String name;
-	private final Map<Integer, Sprite> tiles = new HashMap<>();
+	// One slot per grid tile, empty until the tile is first used
+	private volatile AtomicReferenceArray<Sprite> tiles = new AtomicReferenceArray<>(0);
 	private final Map<String, Sprite> namedSprites = new HashMap<>();
 	private boolean isDisposed;
 	private int columns;
@@ -20,6 +26,10 @@ public class SpriteMap implements IDisposable {
 	private double tileWidth;
 	private double tileHeight;
 
+	// Where the sheet starts once it has been copied into a texture atlas
+	private double atlasOffsetX = 0;
+	private double atlasOffsetY = 0;
+
 	/**
 	 * Creates a sprite map with a sprite sheet image.
 	 */
@@ -54,6 +64,7 @@ public class SpriteMap implements IDisposable {
 
 	/**
 	 * Gets the sprite map image.
+	 * Once the map has been packed into a texture atlas this is the atlas page.
 	 */
 	public Image getImage() {
 		return spriteMapImage;
@@ -90,18 +101,33 @@ public class SpriteMap implements IDisposable {
 	/**
 	 * Define a sprite from this map with a specific region.
 	 */
-	public Sprite defineSprite(String name, double x, double y, double width, double height) {
+	public synchronized Sprite defineSprite(String name, double x, double y, double width, double height) {
 		if (isDisposed || spriteMapImage == null) {
 			return null;
 		}
 
-		Sprite sprite = new Sprite(name, spriteMapImage, x, y, width, height);
+		Sprite sprite = new Sprite(name, spriteMapImage, atlasOffsetX + x, atlasOffsetY + y, width, height);
 		namedSprites.put(name, sprite);
 		return sprite;
 	}
 
+	/**
+	 * Moves the sheet into a texture atlas page, so sprites defined afterwards use the atlas.
+	 * Sprites that already exist are moved by the atlas itself.
+	 */
+	synchronized void moveToAtlas(Image atlasPage, double offsetX, double offsetY) {
+		if (isDisposed) {
+			return;
+		}
+
+		this.spriteMapImage = atlasPage;
+		this.atlasOffsetX = offsetX;
+		this.atlasOffsetY = offsetY;
+	}
+
 	/**
 	 * Define sprites in a grid pattern.
+	 * Only the grid is recorded here, the tile sprites are created when first used.
 	 */
 	public void defineSpritesFromGrid(int columns, int rows, double spriteWidth, double spriteHeight) {
 		if (isDisposed || spriteMapImage == null) {
@@ -112,37 +138,44 @@ public class SpriteMap implements IDisposable {
 		this.rows = rows;
 		this.tileWidth = spriteWidth;
 		this.tileHeight = spriteHeight;
-
-		for (int y = 0; y < rows; y++) {
-			for (int x = 0; x < columns; x++) {
-				int index = y * columns + x;
-				String spriteName = "tile_" + x + "_" + y;
-
-				Sprite sprite = defineSprite(
-					spriteName,
-					x * spriteWidth,
-					y * spriteHeight,
-					spriteWidth,
-					spriteHeight
-				);
-
-				tiles.put(index, sprite);
-			}
-		}
+		this.tiles = new AtomicReferenceArray<>(Math.max(0, columns * rows));
 	}
 
 	/**
 	 * Get a sprite by name.
+	 * Grid tiles can also be found by their name, "tile_x_y".
 	 */
 	public Sprite getSprite(String name) {
-		return namedSprites.get(name);
+		Sprite sprite = namedSprites.get(name);
+		if (sprite != null || !name.startsWith(TILE_PREFIX)) {
+			return sprite;
+		}
+
+		int separator = name.indexOf('_', TILE_PREFIX.length());
+		if (separator < 0) {
+			return null;
+		}
+
+		try {
+			int x = Integer.parseInt(name, TILE_PREFIX.length(), separator, 10);
+			int y = Integer.parseInt(name, separator + 1, name.length(), 10);
+			return getTileAt(x, y);
+		} catch (NumberFormatException e) {
+			return null;
+		}
 	}
 
 	/**
-	 * Get a tile by index.
+	 * Get a tile by index, creating its sprite on first use.
 	 */
 	public Sprite getTile(int index) {
-		return tiles.get(index);
+		AtomicReferenceArray<Sprite> tiles = this.tiles;
+		if (index < 0 || index >= tiles.length()) {
+			return null;
+		}
+
+		Sprite tile = tiles.get(index);
+		return tile != null ? tile : createTile(tiles, index);
 	}
 
 	/**
@@ -150,37 +183,98 @@ public class SpriteMap implements IDisposable {
 	 */
 	public Sprite getTileAt(int x, int y) {
 		if (x >= 0 && x < columns && y >= 0 && y < rows) {
-			return tiles.get(y * columns + x);
+			return getTile(y * columns + x);
 		}
 		return null;
 	}
 
 	/**
-	 * Get all sprites in this map.
+	 * Creates the sprite of a grid tile.
+	 * Synchronized with moving to an atlas, so a new tile always uses the current image and offset.
+	 */
+	private synchronized Sprite createTile(AtomicReferenceArray<Sprite> tiles, int index) {
+		Sprite existing = tiles.get(index);
+		if (existing != null || isDisposed || spriteMapImage == null) {
+			return existing;
+		}
+
+		int x = index % columns;
+		int y = index / columns;
+		Sprite tile = new Sprite(
+			TILE_PREFIX + x + "_" + y,
+			spriteMapImage,
+			atlasOffsetX + x * tileWidth,
+			atlasOffsetY + y * tileHeight,
+			tileWidth,
+			tileHeight
+		);
+		tiles.set(index, tile);
+		return tile;
+	}
+
+	/**
+	 * Gets the number of tiles in the grid, including those that have not been used yet.
+	 */
+	public int getTileCount() {
+		return tiles.length();
+	}
+
+	/**
+	 * Gets the number of tiles whose sprite has been created.
 	 */
-	public Map<String, Sprite> getAllSprites() {
-		return new HashMap<>(namedSprites);
+	public int getCreatedTileCount() {
+		AtomicReferenceArray<Sprite> tiles = this.tiles;
+		int count = 0;
+		for (int i = 0; i < tiles.length(); i++) {
+			if (tiles.get(i) != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Get all sprites that have been created from this map, named sprites and used tiles.
+	 */
+	public synchronized Map<String, Sprite> getAllSprites() {
+		Map<String, Sprite> sprites = new HashMap<>(namedSprites);
+		AtomicReferenceArray<Sprite> tiles = this.tiles;
+		for (int i = 0; i < tiles.length(); i++) {
+			Sprite tile = tiles.get(i);
+			if (tile != null) {
+				sprites.putIfAbsent(tile.getName(), tile);
+			}
+		}
+		return sprites;
 	}
 
 	/**
 	 * Get all tiles by index.
+	 * This creates every tile, prefer {@link #getTile(int)} and {@link #getTileCount()}.
 	 */
 	public Map<Integer, Sprite> getAllTiles() {
-		return new HashMap<>(tiles);
+		Map<Integer, Sprite> result = new HashMap<>();
+		for (int i = 0; i < getTileCount(); i++) {
+			Sprite tile = getTile(i);
+			if (tile != null) {
+				result.put(i, tile);
+			}
+		}
+		return result;
 	}
 
 	/**
 	 * Dispose of all resources.
 	 */
 	@Override
-	public void dispose() {
+	public synchronized void dispose() {
 		if (!isDisposed) {
 			// Dispose all sprites
-			for (Sprite sprite : namedSprites.values()) {
+			for (Sprite sprite : getAllSprites().values()) {
 				sprite.dispose();
 			}
 			namedSprites.clear();
-			tiles.clear();
+			tiles = new AtomicReferenceArray<>(0);
 
 			// Allow the image to be garbage collected
 			spriteMapImage = null;
@@ -197,9 +291,9 @@ public class SpriteMap implements IDisposable {
 	}
 
 	/**
-	 * Get the number of sprites in this map.
+	 * Get the number of sprites in this map, counting every grid tile whether it has been used or not.
 	 */
 	public int getSpriteCount() {
-		return namedSprites.size();
+		return namedSprites.size() + getTileCount();
 	}
 }
\ No newline at end of file
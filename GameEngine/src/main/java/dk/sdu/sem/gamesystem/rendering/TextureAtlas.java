@@ -0,0 +1,257 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import dk.sdu.sem.logging.Logging;
+import dk.sdu.sem.logging.LoggingLevel;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Packs the images behind loaded sprites and sprite maps into a few large atlas pages.
+ * Every source image is copied once, and all sprites cut from it are moved to the matching
+ * region of the page, so most draw calls share the same few backing textures.
+ */
+public class TextureAtlas {
+	private static final Logging LOGGER = Logging.createLogger("TextureAtlas", LoggingLevel.DEBUG);
+
+	private static final TextureAtlas instance = new TextureAtlas();
+
+	public static final int PAGE_SIZE = 2048;
+
+	// Border around each image, filled with its edge pixels so filtering never samples a neighbour
+	private static final int PADDING = 1;
+
+	private final List<Page> pages = new ArrayList<>();
+
+	// Source images that have already been copied into a page, held weakly so they can be reclaimed
+	private final Set<Image> packedSources = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private TextureAtlas() {
+	}
+
+	public static TextureAtlas getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Packs the source images of the given sprites and sprite maps and moves them into the atlas.
+	 * Images that are too large for a page, or not fully loaded, are left as they are.
+	 * Packed images are no longer drawn from, so whoever loaded them can let them go, see {@link #isPacked}.
+	 *
+	 * @return The number of source images that were packed
+	 */
+	public synchronized int pack(Collection<Sprite> sprites, Collection<SpriteMap> spriteMaps) {
+		Map<Image, Source> sources = new IdentityHashMap<>();
+
+		for (SpriteMap spriteMap : spriteMaps) {
+			if (spriteMap.isDisposed() || spriteMap.getImage() == null) {
+				continue;
+			}
+
+			Source source = sources.computeIfAbsent(spriteMap.getImage(), Source::new);
+			source.spriteMaps.add(spriteMap);
+			source.sprites.addAll(spriteMap.getAllSprites().values());
+		}
+
+		for (Sprite sprite : sprites) {
+			if (sprite.isDisposed() || sprite.getImage() == null) {
+				continue;
+			}
+
+			sources.computeIfAbsent(sprite.getImage(), Source::new).sprites.add(sprite);
+		}
+
+		// Taller images first packs noticeably tighter with a skyline packer
+		List<Source> ordered = new ArrayList<>(sources.values());
+		ordered.sort(Comparator.comparingDouble((Source s) -> s.image.getHeight()).reversed());
+
+		int packed = 0;
+		for (Source source : ordered) {
+			if (packSource(source)) {
+				packed++;
+			}
+		}
+
+		LOGGER.debug("Packed " + packed + " of " + ordered.size() + " images into " + pages.size() + " atlas page(s)");
+		return packed;
+	}
+
+	private boolean packSource(Source source) {
+		Image image = source.image;
+		if (packedSources.contains(image) || isPage(image) || !isReadable(image)) {
+			return false;
+		}
+
+		int width = (int) Math.ceil(image.getWidth());
+		int height = (int) Math.ceil(image.getHeight());
+		if (width + PADDING * 2 > PAGE_SIZE || height + PADDING * 2 > PAGE_SIZE) {
+			LOGGER.debug("Image too large for the atlas: " + width + "x" + height);
+			return false;
+		}
+
+		Page page = null;
+		AtlasPacker.Placement placement = null;
+		for (Page candidate : pages) {
+			placement = candidate.packer.insert(width + PADDING * 2, height + PADDING * 2);
+			if (placement != null) {
+				page = candidate;
+				break;
+			}
+		}
+
+		if (page == null) {
+			page = new Page();
+			pages.add(page);
+			placement = page.packer.insert(width + PADDING * 2, height + PADDING * 2);
+		}
+
+		int x = placement.x() + PADDING;
+		int y = placement.y() + PADDING;
+		copyWithBorder(image.getPixelReader(), width, height, page.image.getPixelWriter(), x, y);
+
+		// Keep the plain copy of the page in step, for renderers that do not read JavaFX images
+		ImagePixelStore pixelStore = ImagePixelStore.getInstance();
+		IPixelSource.Pixels sourcePixels = pixelStore.get(image);
+		if (sourcePixels != null) {
+			copyWithBorder(sourcePixels.pixels(), width, height, page.getPixels(), x, y);
+			pixelStore.put(page.image, PAGE_SIZE, PAGE_SIZE, page.getPixels());
+		}
+
+		for (Sprite sprite : source.sprites) {
+			sprite.moveToAtlas(page.image, x + sprite.getSourceRect().getMinX(), y + sprite.getSourceRect().getMinY());
+		}
+		for (SpriteMap spriteMap : source.spriteMaps) {
+			spriteMap.moveToAtlas(page.image, x, y);
+		}
+
+		packedSources.add(image);
+		return true;
+	}
+
+	/**
+	 * Copies an image into a page and extrudes its outermost pixels into the padding, corners included.
+	 */
+	private void copyWithBorder(PixelReader reader, int width, int height, PixelWriter writer, int x, int y) {
+		writer.setPixels(x, y, width, height, reader, 0, 0);
+
+		writer.setPixels(x, y - 1, width, 1, reader, 0, 0);
+		writer.setPixels(x, y + height, width, 1, reader, 0, height - 1);
+		writer.setPixels(x - 1, y, 1, height, reader, 0, 0);
+		writer.setPixels(x + width, y, 1, height, reader, width - 1, 0);
+
+		writer.setArgb(x - 1, y - 1, reader.getArgb(0, 0));
+		writer.setArgb(x + width, y - 1, reader.getArgb(width - 1, 0));
+		writer.setArgb(x - 1, y + height, reader.getArgb(0, height - 1));
+		writer.setArgb(x + width, y + height, reader.getArgb(width - 1, height - 1));
+	}
+
+	/**
+	 * Copies premultiplied ARGB pixels into a page's plain copy, with the same border as {@link #copyWithBorder(PixelReader, int, int, PixelWriter, int, int)}.
+	 */
+	private void copyWithBorder(int[] source, int width, int height, int[] page, int x, int y) {
+		for (int row = -1; row <= height; row++) {
+			int sourceRow = Math.max(0, Math.min(height - 1, row)) * width;
+			int pageRow = (y + row) * PAGE_SIZE + x;
+			System.arraycopy(source, sourceRow, page, pageRow, width);
+			page[pageRow - 1] = source[sourceRow];
+			page[pageRow + width] = source[sourceRow + width - 1];
+		}
+	}
+
+	private boolean isReadable(Image image) {
+		return !image.isError() && image.getProgress() >= 1.0 && image.getPixelReader() != null
+			&& image.getWidth() > 0 && image.getHeight() > 0;
+	}
+
+	private boolean isPage(Image image) {
+		for (Page page : pages) {
+			if (page.image == image) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if an image is one of the atlas pages.
+	 */
+	public synchronized boolean isAtlasPage(Image image) {
+		return isPage(image);
+	}
+
+	/**
+	 * Checks if an image has been copied into the atlas, so sprites no longer draw from it.
+	 */
+	public synchronized boolean isPacked(Image image) {
+		return packedSources.contains(image);
+	}
+
+	/**
+	 * Returns the images of the atlas pages, in the order they were created.
+	 */
+	public synchronized List<Image> getPages() {
+		List<Image> images = new ArrayList<>(pages.size());
+		for (Page page : pages) {
+			images.add(page.image);
+		}
+		return images;
+	}
+
+	/**
+	 * Returns the number of atlas pages.
+	 */
+	public synchronized int getPageCount() {
+		return pages.size();
+	}
+
+	/**
+	 * Returns the number of source images copied into the atlas.
+	 */
+	public synchronized int getPackedImageCount() {
+		return packedSources.size();
+	}
+
+	/**
+	 * Forgets all pages. Sprites already moved keep drawing from their page.
+	 */
+	public synchronized void clear() {
+		pages.clear();
+		packedSources.clear();
+	}
+
+	private static final class Page {
+		final WritableImage image = new WritableImage(PAGE_SIZE, PAGE_SIZE);
+		final AtlasPacker packer = new AtlasPacker(PAGE_SIZE, PAGE_SIZE);
+
+		// Plain copy of the page, only created while the ImagePixelStore is enabled
+		private int[] pixels;
+
+		int[] getPixels() {
+			if (pixels == null) {
+				pixels = new int[PAGE_SIZE * PAGE_SIZE];
+			}
+			return pixels;
+		}
+	}
+
+	private static final class Source {
+		final Image image;
+		final Set<Sprite> sprites = Collections.newSetFromMap(new IdentityHashMap<>());
+		final List<SpriteMap> spriteMaps = new ArrayList<>();
+
+		Source(Image image) {
+			this.image = image;
+		}
+	}
+}
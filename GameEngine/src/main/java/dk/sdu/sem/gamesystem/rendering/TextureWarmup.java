@@ -0,0 +1,145 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import dk.sdu.sem.logging.Logging;
+import dk.sdu.sem.logging.LoggingLevel;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+
+import java.util.List;
+
+/**
+ * Uploads the textures of newly loaded images ahead of their first real use.
+ * JavaFX uploads an image to the GPU the first time it is drawn, on that frame, which
+ * shows as a hitch for large tilesets and sprite sheets. Queued images are instead drawn
+ * into a hidden one-pixel canvas a few megabytes per frame, so the upload is spread out
+ * and done before the image is needed.
+ */
+public class TextureWarmup {
+	private static final Logging LOGGER = Logging.createLogger("TextureWarmup", LoggingLevel.DEBUG);
+
+	private static final TextureWarmup instance = new TextureWarmup();
+
+	public static final long DEFAULT_BYTES_PER_FRAME = 4L * 1024 * 1024;
+
+	// Low enough to never show, but not zero, which JavaFX would skip drawing
+	private static final double WARMUP_ALPHA = 1.0 / 255;
+
+	private final WarmupQueue<Image> queue = new WarmupQueue<>();
+	private GraphicsContext gc;
+	private volatile long bytesPerFrame = DEFAULT_BYTES_PER_FRAME;
+
+	private TextureWarmup() {
+	}
+
+	public static TextureWarmup getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Sets the canvas images are drawn into. It has to be part of the shown scene graph,
+	 * since JavaFX only uploads textures when a canvas is actually rendered.
+	 */
+	public void initialize(GraphicsContext gc) {
+		this.gc = gc;
+	}
+
+	/**
+	 * Queues the image an asset draws from, if it has one.
+	 * Images already queued or warmed up are skipped. Can be called from any thread.
+	 */
+	public void addAsset(Object asset) {
+		if (asset instanceof Image image) {
+			add(image);
+		} else if (asset instanceof Sprite sprite) {
+			add(sprite.getImage());
+		} else if (asset instanceof SpriteMap spriteMap) {
+			add(spriteMap.getImage());
+		}
+	}
+
+	/**
+	 * Queues an image. Images already queued or warmed up are skipped. Can be called from any thread.
+	 */
+	public void add(Image image) {
+		if (image != null && !image.isError()) {
+			queue.add(image, estimateBytes(image));
+		}
+	}
+
+	/**
+	 * Draws queued images up to the per-frame byte budget. Called once per frame on the JavaFX thread.
+	 *
+	 * @return The number of images drawn
+	 */
+	public int update() {
+		if (gc == null || queue.isEmpty()) {
+			return 0;
+		}
+
+		List<Image> images = queue.poll(bytesPerFrame);
+		Canvas canvas = gc.getCanvas();
+		gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+		gc.save();
+		gc.setGlobalAlpha(WARMUP_ALPHA);
+
+		int drawn = 0;
+		for (Image image : images) {
+			if (image.isError()) {
+				continue;
+			}
+			if (image.getProgress() < 1) {
+				// Still loading in the background, try again later
+				queue.requeue(image, estimateBytes(image));
+				continue;
+			}
+
+			try {
+				gc.drawImage(image, 0, 0, canvas.getWidth(), canvas.getHeight());
+				drawn++;
+			} catch (Exception e) {
+				LOGGER.error("Error warming up image: " + e.getMessage());
+			}
+		}
+
+		gc.restore();
+		return drawn;
+	}
+
+	/**
+	 * Sets how many bytes of images are uploaded per frame at most.
+	 * One image is always uploaded per frame, however large.
+	 */
+	public void setBytesPerFrame(long bytes) {
+		if (bytes <= 0) {
+			throw new IllegalArgumentException("Bytes per frame must be positive");
+		}
+		this.bytesPerFrame = bytes;
+	}
+
+	public long getBytesPerFrame() {
+		return bytesPerFrame;
+	}
+
+	/**
+	 * Returns the number of images waiting to be warmed up.
+	 */
+	public int getPendingCount() {
+		return queue.size();
+	}
+
+	public long getPendingBytes() {
+		return queue.getPendingBytes();
+	}
+
+	/**
+	 * Drops all queued images.
+	 */
+	public void clear() {
+		queue.clear();
+	}
+
+	private static long estimateBytes(Image image) {
+		return (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * 4;
+	}
+}
@@ -0,0 +1,98 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Items waiting to be warmed up, handed out a limited number of bytes at a time.
+ * Each item is only queued once: items already queued or handed out are skipped,
+ * and are remembered weakly so they are queued again if loaded anew.
+ * Items can be added from any thread.
+ *
+ * @param <T> The type of item, compared by identity or equals
+ */
+public class WarmupQueue<T> {
+	private record Pending<T>(T item, long bytes) {
+	}
+
+	private final Deque<Pending<T>> pending = new ArrayDeque<>();
+	private final Set<T> seen = Collections.newSetFromMap(new WeakHashMap<>());
+	private long pendingBytes;
+
+	/**
+	 * Queues an item unless it was queued before.
+	 *
+	 * @param bytes The item's size, counted against the budget of {@link #poll}
+	 * @return True if the item was queued
+	 */
+	public synchronized boolean add(T item, long bytes) {
+		if (item == null || !seen.add(item)) {
+			return false;
+		}
+
+		pending.add(new Pending<>(item, bytes));
+		pendingBytes += bytes;
+		return true;
+	}
+
+	/**
+	 * Takes items in the order they were queued, until the next one would exceed the budget.
+	 * At least one item is taken, so items larger than the budget still get through.
+	 */
+	public synchronized List<T> poll(long budget) {
+		List<T> items = new ArrayList<>();
+		long bytes = 0;
+
+		while (!pending.isEmpty()) {
+			Pending<T> next = pending.peek();
+			if (!items.isEmpty() && bytes + next.bytes() > budget) {
+				break;
+			}
+
+			pending.poll();
+			pendingBytes -= next.bytes();
+			bytes += next.bytes();
+			items.add(next.item());
+		}
+		return items;
+	}
+
+	/**
+	 * Puts an item handed out by {@link #poll} back at the end of the queue, e.g. when it was not ready yet.
+	 */
+	public synchronized void requeue(T item, long bytes) {
+		pending.add(new Pending<>(item, bytes));
+		pendingBytes += bytes;
+	}
+
+	public synchronized boolean isEmpty() {
+		return pending.isEmpty();
+	}
+
+	public synchronized int size() {
+		return pending.size();
+	}
+
+	/**
+	 * Returns the total size of the queued items.
+	 */
+	public synchronized long getPendingBytes() {
+		return pendingBytes;
+	}
+
+	/**
+	 * Drops the queued items. Items handed out before are still skipped when added again.
+	 */
+	public synchronized void clear() {
+		for (Pending<T> dropped : pending) {
+			seen.remove(dropped.item());
+		}
+		pending.clear();
+		pendingBytes = 0;
+	}
+}
@@ -2,15 +2,21 @@ package dk.sdu.sem.gamesystem.scenes;
 
 import dk.sdu.sem.commonsystem.Entity;
 import dk.sdu.sem.commonsystem.Scene;
+import dk.sdu.sem.gamesystem.assets.managers.AssetManager;
 import dk.sdu.sem.gamesystem.assets.managers.SceneAssetManager;
+import dk.sdu.sem.gamesystem.rendering.TextureWarmup;
+import javafx.application.Platform;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
 
 public class SceneManager {
 	private static final SceneManager instance = new SceneManager();
 
-	private Scene activeScene = new Scene("Main");
+	// Read by the simulation thread when recording frames
+	private volatile Scene activeScene = new Scene("Main");
 	private final HashMap<String, Scene> scenes = new HashMap<>();
 
 	private SceneManager() {
@@ -50,6 +56,35 @@ public class SceneManager {
 		Scene.setActiveScene(activeScene);
 
 		SceneAssetManager.getInstance().onSceneChanged(oldSceneName, scene.getName());
+
+		// Images of the scene not drawn yet, such as those of attacks and death animations,
+		// are uploaded over the next frames instead of on the frame they first appear
+		warmupScenes(List.of(scene.getName()));
+	}
+
+	/**
+	 * Queues the images of the scenes' loaded assets to have their textures uploaded
+	 * over the following frames, within a per-frame budget. Called for scenes about to be shown,
+	 * so uploading does not happen on the frame an image is first drawn.
+	 * Images already uploaded are skipped. Can be called from any thread.
+	 */
+	public void warmupScenes(Collection<String> sceneNames) {
+		if (!Platform.isFxApplicationThread()) {
+			List<String> names = List.copyOf(sceneNames);
+			Platform.runLater(() -> warmupScenes(names));
+			return;
+		}
+
+		AssetManager assetManager = AssetManager.getInstance();
+		TextureWarmup warmup = TextureWarmup.getInstance();
+		for (String sceneName : sceneNames) {
+			for (String assetId : SceneAssetManager.getInstance().getSceneAssetIds(sceneName)) {
+				// Only assets already loaded, warming up must not load anything
+				if (assetManager.isAssetLoaded(assetId)) {
+					warmup.addAsset(assetManager.getAsset(assetManager.getHandle(assetId), Object.class));
+				}
+			}
+		}
 	}
 
 	/**
@@ -20,6 +20,7 @@ module GameEngine {
 	exports dk.sdu.sem.gamesystem.rendering;
 	exports dk.sdu.sem.gamesystem.animation;
 	exports dk.sdu.sem.gamesystem.assets;
+	exports dk.sdu.sem.gamesystem.assets.managers;
 	exports dk.sdu.sem.gamesystem.assets.providers;
 	exports dk.sdu.sem.gamesystem.assets.references;
 
@@ -63,7 +64,8 @@ module GameEngine {
 		dk.sdu.sem.gamesystem.assets.loaders.SpriteMapLoader;
 
 	provides dk.sdu.sem.gamesystem.rendering.IRenderSystem with
-		dk.sdu.sem.gamesystem.rendering.FXRenderSystem;
+		dk.sdu.sem.gamesystem.rendering.FXRenderSystem,
+		dk.sdu.sem.gamesystem.rendering.SoftwareRenderSystem;
 
 	provides dk.sdu.sem.gamesystem.services.ILateUpdate with
 		dk.sdu.sem.gamesystem.rendering.FXRenderSystem;
@@ -0,0 +1,86 @@
+package dk.sdu.sem.gamesystem;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FramePacerTest {
+	private static final long MS = 1_000_000;
+
+	@Test
+	void testFirstPulseRunsWithTargetFrameTime() {
+		FramePacer pacer = new FramePacer(50);
+
+		assertTrue(pacer.beginFrame(1_000 * MS));
+		assertEquals(0.02, pacer.getDeltaTime(), 1e-9);
+	}
+
+	@Test
+	void testPulsesFasterThanCapAreSkipped() {
+		FramePacer pacer = new FramePacer(60);
+		long now = 0;
+		int frames = 0;
+
+		// One second of pulses from a 144 Hz display
+		for (int i = 0; i < 144; i++) {
+			if (pacer.beginFrame(now)) {
+				frames++;
+			}
+			now += 1_000_000_000L / 144;
+		}
+
+		assertTrue(frames >= 58 && frames <= 62, "Ran " + frames + " frames");
+	}
+
+	@Test
+	void testUncappedRunsEveryPulse() {
+		FramePacer pacer = new FramePacer(0);
+
+		assertTrue(pacer.beginFrame(0));
+		assertTrue(pacer.beginFrame(MS));
+		assertTrue(pacer.beginFrame(2 * MS));
+	}
+
+	@Test
+	void testLongFramesAreClamped() {
+		FramePacer pacer = new FramePacer(0);
+		pacer.beginFrame(0);
+
+		pacer.beginFrame(5_000 * MS);
+
+		assertEquals(FramePacer.MAX_DELTA_TIME, pacer.getDeltaTime(), 1e-9);
+	}
+
+	@Test
+	void testSpikesAreSmoothed() {
+		FramePacer pacer = new FramePacer(60);
+		long now = 0;
+		pacer.beginFrame(now);
+		for (int i = 0; i < 30; i++) {
+			now += 16_667_000;
+			pacer.beginFrame(now);
+		}
+
+		now += 50 * MS;
+		pacer.beginFrame(now);
+
+		assertTrue(pacer.getDeltaTime() > 0.017);
+		assertTrue(pacer.getDeltaTime() < 0.05);
+	}
+
+	@Test
+	void testResetStartsFresh() {
+		FramePacer pacer = new FramePacer(60);
+		pacer.beginFrame(0);
+
+		pacer.reset();
+
+		assertTrue(pacer.beginFrame(MS));
+		assertEquals(60, pacer.getTargetFps());
+	}
+
+	@Test
+	void testRejectsNegativeTarget() {
+		assertThrows(IllegalArgumentException.class, () -> new FramePacer(-1));
+	}
+}
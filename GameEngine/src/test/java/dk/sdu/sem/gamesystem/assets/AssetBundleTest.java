@@ -0,0 +1,155 @@
+package dk.sdu.sem.gamesystem.assets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetBundleTest {
+
+	@Test
+	void testPackedResourcesCanBeRead(@TempDir Path directory) throws IOException {
+		Path resources = directory.resolve("resources");
+		write(resources.resolve("coin.png"), "coin");
+		write(resources.resolve("Hearts/heart_1.png"), "heart");
+
+		Path bundlePath = directory.resolve("assets.bundle");
+		assertEquals(2, AssetBundlePacker.pack(bundlePath, List.of(resources)));
+
+		AssetBundle bundle = AssetBundle.open(bundlePath);
+		assertEquals(2, bundle.getEntryCount());
+		assertEquals("coin", read(bundle.openStream("coin.png")));
+		assertEquals("heart", read(bundle.openStream("Hearts/heart_1.png")));
+	}
+
+	@Test
+	void testLeadingSlashIsIgnored(@TempDir Path directory) throws IOException {
+		Path resources = directory.resolve("resources");
+		write(resources.resolve("background.png"), "background");
+
+		Path bundlePath = directory.resolve("assets.bundle");
+		AssetBundlePacker.pack(bundlePath, List.of(resources));
+
+		AssetBundle bundle = AssetBundle.open(bundlePath);
+		assertTrue(bundle.contains("/background.png"));
+		assertEquals("background", read(bundle.openStream("/background.png")));
+	}
+
+	@Test
+	void testMissingResourceReturnsNull(@TempDir Path directory) throws IOException {
+		Path resources = directory.resolve("resources");
+		write(resources.resolve("coin.png"), "coin");
+
+		Path bundlePath = directory.resolve("assets.bundle");
+		AssetBundlePacker.pack(bundlePath, List.of(resources));
+
+		AssetBundle bundle = AssetBundle.open(bundlePath);
+		assertFalse(bundle.contains("apple.png"));
+		assertNull(bundle.openStream("apple.png"));
+		assertNull(bundle.getBuffer("apple.png"));
+	}
+
+	@Test
+	void testFirstFolderWinsOnDuplicateNames(@TempDir Path directory) throws IOException {
+		Path first = directory.resolve("first");
+		Path second = directory.resolve("second");
+		write(first.resolve("quit_button.png"), "first");
+		write(second.resolve("quit_button.png"), "second");
+		write(second.resolve("start_button.png"), "start");
+
+		Path bundlePath = directory.resolve("assets.bundle");
+		assertEquals(2, AssetBundlePacker.pack(bundlePath, List.of(first, second)));
+
+		AssetBundle bundle = AssetBundle.open(bundlePath);
+		assertEquals("first", read(bundle.openStream("quit_button.png")));
+		assertEquals("start", read(bundle.openStream("start_button.png")));
+	}
+
+	@Test
+	void testStreamsAreIndependent(@TempDir Path directory) throws IOException {
+		Path resources = directory.resolve("resources");
+		write(resources.resolve("floor.png"), "floor");
+
+		Path bundlePath = directory.resolve("assets.bundle");
+		AssetBundlePacker.pack(bundlePath, List.of(resources));
+
+		AssetBundle bundle = AssetBundle.open(bundlePath);
+		InputStream first = bundle.openStream("floor.png");
+		assertEquals('f', first.read());
+
+		assertEquals("floor", read(bundle.openStream("floor.png")));
+		assertEquals("loor", read(first));
+	}
+
+	@Test
+	void testRejectsFileWithoutMagic(@TempDir Path directory) throws IOException {
+		Path notABundle = directory.resolve("not.bundle");
+		write(notABundle, "this is not a bundle");
+
+		assertThrows(IOException.class, () -> AssetBundle.open(notABundle));
+	}
+
+	@Test
+	void testRejectsTruncatedBundle(@TempDir Path directory) throws IOException {
+		Path resources = directory.resolve("resources");
+		write(resources.resolve("coin.png"), "coin");
+
+		Path bundlePath = directory.resolve("assets.bundle");
+		AssetBundlePacker.pack(bundlePath, List.of(resources));
+
+		byte[] bytes = Files.readAllBytes(bundlePath);
+		Path truncated = directory.resolve("truncated.bundle");
+		Files.write(truncated, Arrays.copyOf(bytes, 16));
+
+		assertThrows(IOException.class, () -> AssetBundle.open(truncated));
+	}
+
+	@Test
+	void testRejectsBundleLargerThanMaxSize(@TempDir Path directory) throws IOException {
+		Path resources = directory.resolve("resources");
+		write(resources.resolve("coin.png"), "coin");
+
+		Path bundlePath = directory.resolve("assets.bundle");
+		AssetBundlePacker.pack(bundlePath, List.of(resources));
+
+		// Sparse, so the file takes no space on disk
+		try (RandomAccessFile file = new RandomAccessFile(bundlePath.toFile(), "rw")) {
+			file.setLength(AssetBundle.MAX_SIZE + 1);
+		}
+
+		assertThrows(IOException.class, () -> AssetBundle.open(bundlePath));
+	}
+
+	@Test
+	void testPackerRejectsResourcesLargerThanMaxSize(@TempDir Path directory) throws IOException {
+		Path resources = directory.resolve("resources");
+		Files.createDirectories(resources);
+		try (RandomAccessFile file = new RandomAccessFile(resources.resolve("huge.png").toFile(), "rw")) {
+			file.setLength(AssetBundle.MAX_SIZE);
+		}
+
+		Path bundlePath = directory.resolve("assets.bundle");
+		assertThrows(IOException.class, () -> AssetBundlePacker.pack(bundlePath, List.of(resources)));
+		assertFalse(Files.exists(bundlePath));
+	}
+
+	private static void write(Path file, String content) throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+
+	private static String read(InputStream stream) throws IOException {
+		try (stream) {
+			return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
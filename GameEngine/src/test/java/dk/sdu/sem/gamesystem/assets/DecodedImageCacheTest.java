@@ -0,0 +1,86 @@
+package dk.sdu.sem.gamesystem.assets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecodedImageCacheTest {
+
+	@Test
+	void testWrittenPixelsCanBeRead(@TempDir Path directory) {
+		DecodedImageCache cache = new DecodedImageCache(directory, 1024 * 1024);
+		int[] pixels = {0xFF000000, 0x80FF0000, 0x00000000, 0xFFFFFFFF, 0x7F007F00, 0x12345678};
+		cache.write("coin", 3, 2, pixels);
+
+		DecodedImageCache.CachedPixels cached = cache.read("coin");
+		assertNotNull(cached);
+		assertEquals(3, cached.width());
+		assertEquals(2, cached.height());
+
+		int[] read = new int[cached.pixels().remaining()];
+		cached.pixels().get(read);
+		assertArrayEquals(pixels, read);
+	}
+
+	@Test
+	void testMissingEntryReturnsNull(@TempDir Path directory) {
+		DecodedImageCache cache = new DecodedImageCache(directory.resolve("cache"), 1024 * 1024);
+		assertNull(cache.read("coin"));
+	}
+
+	@Test
+	void testKeyDependsOnSourceBytes() {
+		byte[] coin = "coin".getBytes(StandardCharsets.UTF_8);
+		byte[] heart = "heart".getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(DecodedImageCache.key(coin), DecodedImageCache.key(coin.clone()));
+		assertNotEquals(DecodedImageCache.key(coin), DecodedImageCache.key(heart));
+	}
+
+	@Test
+	void testTruncatedEntryIsDiscarded(@TempDir Path directory) throws IOException {
+		DecodedImageCache cache = new DecodedImageCache(directory, 1024 * 1024);
+		cache.write("coin", 2, 2, new int[4]);
+
+		Path file;
+		try (var files = Files.list(directory)) {
+			file = files.findFirst().orElseThrow();
+		}
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+		assertNull(cache.read("coin"));
+		assertFalse(Files.exists(file));
+	}
+
+	@Test
+	void testLeastRecentlyUsedEntriesAreTrimmed(@TempDir Path directory) throws IOException {
+		// Each entry is a 12 byte header and 4 pixels, so two of them fit
+		DecodedImageCache cache = new DecodedImageCache(directory, 60);
+		cache.write("coin", 2, 2, new int[4]);
+		cache.write("heart", 2, 2, new int[4]);
+		Files.setLastModifiedTime(directory.resolve("coin.argb"), FileTime.fromMillis(1000));
+		Files.setLastModifiedTime(directory.resolve("heart.argb"), FileTime.fromMillis(2000));
+
+		cache.write("key", 2, 2, new int[4]);
+
+		assertNull(cache.read("coin"));
+		assertNotNull(cache.read("heart"));
+		assertNotNull(cache.read("key"));
+		assertEquals(56, cache.getTotalBytes());
+	}
+
+	@Test
+	void testWrongPixelCountIsRejected(@TempDir Path directory) {
+		DecodedImageCache cache = new DecodedImageCache(directory, 1024 * 1024);
+		assertThrows(IllegalArgumentException.class, () -> cache.write("coin", 2, 2, new int[3]));
+	}
+}
@@ -0,0 +1,68 @@
+package dk.sdu.sem.gamesystem.assets.managers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetHandlesTest {
+
+	@Test
+	void testHandlesAreDenseAndStable() {
+		AssetHandles<String> handles = new AssetHandles<>();
+
+		assertEquals(0, handles.intern("coin_sprite"));
+		assertEquals(1, handles.intern("heart_sprite"));
+		assertEquals(0, handles.intern("coin_sprite"));
+		assertEquals(2, handles.size());
+		assertEquals("heart_sprite", handles.getName(1));
+	}
+
+	@Test
+	void testFindDoesNotIntern() {
+		AssetHandles<String> handles = new AssetHandles<>();
+
+		assertEquals(AssetHandles.INVALID, handles.find("coin_sprite"));
+		assertEquals(0, handles.size());
+		assertThrows(IllegalArgumentException.class, () -> handles.getName(0));
+	}
+
+	@Test
+	void testSlotsHoldValuesByHandle() {
+		AssetHandles<String> handles = new AssetHandles<>();
+		int coin = handles.set("coin_sprite", "coin");
+
+		assertEquals("coin", handles.get(coin));
+		assertNull(handles.get(coin + 1));
+		assertNull(handles.get(AssetHandles.INVALID));
+	}
+
+	@Test
+	void testClearOnlyRemovesExpectedValue() {
+		AssetHandles<String> handles = new AssetHandles<>();
+		int coin = handles.set("coin_sprite", "reloaded");
+
+		handles.clear("coin_sprite", "evicted");
+		assertEquals("reloaded", handles.get(coin));
+
+		handles.clear("coin_sprite", "reloaded");
+		assertNull(handles.get(coin));
+		assertEquals(coin, handles.find("coin_sprite"));
+	}
+
+	@Test
+	void testGrowingKeepsHandlesAndValues() {
+		AssetHandles<Integer> handles = new AssetHandles<>();
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, handles.set("asset_" + i, i));
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, handles.find("asset_" + i));
+			assertEquals(i, (int) handles.get(i));
+		}
+
+		handles.clearAll();
+		assertNull(handles.get(999));
+		assertEquals(999, handles.find("asset_999"));
+	}
+}
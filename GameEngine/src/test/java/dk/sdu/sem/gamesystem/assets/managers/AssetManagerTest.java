@@ -0,0 +1,147 @@
+package dk.sdu.sem.gamesystem.assets.managers;
+
+import dk.sdu.sem.gamesystem.assets.AssetDescriptor;
+import dk.sdu.sem.gamesystem.assets.AssetFacade;
+import dk.sdu.sem.gamesystem.rendering.Sprite;
+import dk.sdu.sem.gamesystem.rendering.TextureAtlas;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetManagerTest {
+	// Every test image is 4x4 pixels of 4 bytes
+	private static final long IMAGE_BYTES = 4 * 4 * 4;
+
+	private final AssetManager manager = AssetManager.getInstance();
+
+	@BeforeEach
+	void startEmpty() {
+		manager.clear();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		manager.setMemoryBudget(AssetManager.DEFAULT_MEMORY_BUDGET);
+		manager.clear();
+		TextureAtlas.getInstance().clear();
+	}
+
+	@Test
+	void testLeastRecentlyUsedImageIsEvictedFirst() throws InterruptedException {
+		manager.setMemoryBudget(2 * IMAGE_BYTES);
+		storeImage("eviction_test_a");
+		storeImage("eviction_test_b");
+
+		// Touching a makes b the least recently used
+		Thread.sleep(1);
+		manager.getAsset(manager.getHandle("eviction_test_a"), Image.class);
+		storeImage("eviction_test_c");
+
+		assertTrue(isResident("eviction_test_a"));
+		assertFalse(isResident("eviction_test_b"));
+		assertTrue(isResident("eviction_test_c"));
+		assertEquals(2 * IMAGE_BYTES, manager.getResidentBytes());
+	}
+
+	@Test
+	void testDependentSpritesAreEvictedWithTheirImage() {
+		storeImage("cascade_test_image");
+		storeSprite("cascade_test_sprite", "cascade_test_image");
+
+		manager.setMemoryBudget(0);
+
+		assertFalse(isResident("cascade_test_image"));
+		assertFalse(isResident("cascade_test_sprite"));
+		assertEquals(0, manager.getResidentBytes());
+	}
+
+	@Test
+	void testReferencedSpriteKeepsItsImage() {
+		storeImage("cascade_test_kept_image");
+		storeSprite("cascade_test_kept_sprite", "cascade_test_kept_image");
+		manager.preloadAsset("cascade_test_kept_sprite");
+
+		manager.setMemoryBudget(0);
+
+		assertTrue(isResident("cascade_test_kept_image"));
+		assertTrue(isResident("cascade_test_kept_sprite"));
+		assertEquals(IMAGE_BYTES, manager.getResidentBytes());
+	}
+
+	@Test
+	void testEvictedAssetStillInUseIsRevived() {
+		Image image = storeImage("revival_test_image");
+		manager.setMemoryBudget(0);
+		assertFalse(isResident("revival_test_image"));
+		assertEquals(0, manager.getResidentBytes());
+
+		// The image is still held here, so it comes back instead of being loaded again
+		manager.setMemoryBudget(AssetManager.DEFAULT_MEMORY_BUDGET);
+		assertSame(image, manager.getAsset(manager.getHandle("revival_test_image"), Image.class));
+		assertTrue(isResident("revival_test_image"));
+		assertEquals(IMAGE_BYTES, manager.getResidentBytes());
+	}
+
+	@Test
+	void testReleasingTheLastReferenceBringsResidentBytesWithinBudget() {
+		storeImage("release_test_a");
+		manager.preloadAsset("release_test_a");
+		storeImage("release_test_b");
+		manager.preloadAsset("release_test_b");
+		storeImage("release_test_c");
+
+		manager.setMemoryBudget(IMAGE_BYTES);
+
+		// Only the unreferenced image could be evicted, so both referenced ones are over budget
+		assertFalse(isResident("release_test_c"));
+		assertEquals(2 * IMAGE_BYTES, manager.getResidentBytes());
+
+		assertTrue(manager.releaseAsset("release_test_a"));
+		assertEquals(IMAGE_BYTES, manager.getResidentBytes());
+		assertTrue(isResident("release_test_b"));
+	}
+
+	@Test
+	void testAtlasPagesCountTowardsResidentBytes() {
+		WritableImage image = new WritableImage(8, 8);
+		manager.registerAsset(new AssetDescriptor<>("atlas_test_image", Image.class, "atlas_test_image"));
+		manager.storeAsset("atlas_test_image", image);
+		manager.storeAsset("atlas_test_sprite", new Sprite("atlas_test_sprite", image));
+
+		AssetFacade.buildTextureAtlas();
+
+		// The packed image is released and the page that replaced it is counted instead
+		long pageBytes = (long) TextureAtlas.PAGE_SIZE * TextureAtlas.PAGE_SIZE * 4;
+		assertFalse(isResident("atlas_test_image"));
+		assertTrue(isResident("texture_atlas_page_0"));
+		assertEquals(pageBytes, manager.getResidentBytes());
+
+		// Pages cannot be loaded again, so they are never evicted
+		manager.setMemoryBudget(0);
+		assertTrue(isResident("texture_atlas_page_0"));
+		assertEquals(pageBytes, manager.getResidentBytes());
+	}
+
+	private Image storeImage(String id) {
+		manager.registerAsset(new AssetDescriptor<>(id, Image.class, id));
+		WritableImage image = new WritableImage(4, 4);
+		manager.storeAsset(id, image);
+		return image;
+	}
+
+	private void storeSprite(String id, String imageId) {
+		AssetDescriptor<Sprite> descriptor = new AssetDescriptor<>(id, Sprite.class, id);
+		descriptor.setMetadata("imageId", imageId);
+		manager.registerAsset(descriptor);
+		manager.storeAsset(id, new Sprite(id, null, 0, 0, 4, 4));
+	}
+
+	private boolean isResident(String id) {
+		return manager.getAssetUsage().stream()
+			.anyMatch(usage -> usage.assetId().equals(id) && usage.resident());
+	}
+}
@@ -0,0 +1,116 @@
+package dk.sdu.sem.gamesystem.assets.managers;
+
+import dk.sdu.sem.gamesystem.assets.AssetDescriptor;
+import dk.sdu.sem.gamesystem.rendering.Sprite;
+import dk.sdu.sem.gamesystem.rendering.SpriteAnimation;
+import dk.sdu.sem.gamesystem.rendering.SpriteMap;
+import javafx.scene.image.Image;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetMemoryReportTest {
+
+	@Test
+	void testBytesAreTotalledByType() {
+		AssetMemoryReport report = new AssetMemoryReport(List.of(
+			new AssetUsage("coin", String.class, 400, 0, true),
+			new AssetUsage("heart", String.class, 100, 0, true),
+			new AssetUsage("coin_sprite", Integer.class, 0, 0, true)
+		), 1000, Map.of(), Map.of());
+
+		assertEquals(500, report.getResidentBytes());
+		assertEquals(500, (long) report.getBytesByType().get("String"));
+		assertEquals(0, (long) report.getBytesByType().get("Integer"));
+		assertEquals("coin", report.getAssets().get(0).assetId());
+		assertFalse(report.hasSuspectedLeaks());
+	}
+
+	@Test
+	void testSharedAssetsCountForEachScene() {
+		AssetMemoryReport report = new AssetMemoryReport(List.of(
+			new AssetUsage("floor", String.class, 300, 2, true),
+			new AssetUsage("boss", String.class, 200, 1, true)
+		), 1000, Map.of(
+			"level", Set.of("floor"),
+			"boss_room", Set.of("floor", "boss")
+		), Map.of());
+
+		assertEquals(300, (long) report.getBytesByScene().get("level"));
+		assertEquals(500, (long) report.getBytesByScene().get("boss_room"));
+	}
+
+	@Test
+	void testReferencedAssetOfUnloadedSceneIsLeak() {
+		AssetMemoryReport report = new AssetMemoryReport(List.of(
+			new AssetUsage("menu_background", String.class, 300, 1, true),
+			new AssetUsage("menu_button", String.class, 100, 0, true)
+		), 1000, Map.of(), Map.of("menu", Set.of("menu_background", "menu_button")));
+
+		assertEquals(1, report.getLeaks().size());
+		assertEquals("menu", report.getLeaks().get(0).sceneName());
+		assertEquals("menu_background", report.getLeaks().get(0).asset().assetId());
+	}
+
+	@Test
+	void testAssetOwnedByLoadedSceneIsNotLeak() {
+		AssetMemoryReport report = new AssetMemoryReport(List.of(
+			new AssetUsage("floor", String.class, 300, 1, true)
+		), 1000, Map.of("level_2", Set.of("floor")), Map.of("level_1", Set.of("floor")));
+
+		assertTrue(report.getLeaks().isEmpty());
+	}
+
+	@Test
+	void testEvictedAssetsAreNotResident() {
+		AssetMemoryReport report = new AssetMemoryReport(List.of(
+			new AssetUsage("coin", String.class, 400, 0, true),
+			new AssetUsage("old_background", String.class, 800, 0, false)
+		), 1000, Map.of(), Map.of());
+
+		assertEquals(400, report.getResidentBytes());
+		assertEquals(800, report.getEvictedReachableBytes());
+		assertEquals(1, report.getEvictedReachable().size());
+		assertTrue(report.hasSuspectedLeaks());
+	}
+
+	@Test
+	void testImageBytesCountForScenesUsingItsSprites() {
+		// Registered the way the asset system registers sprite maps, sprites and animations
+		AssetManager manager = AssetManager.getInstance();
+		manager.registerAsset(new AssetDescriptor<>("report_floor_img", Image.class, "report_floor.png"));
+		manager.registerAsset(new AssetDescriptor<>("report_coin_img", Image.class, "report_coin.png"));
+
+		AssetDescriptor<SpriteMap> sheet = new AssetDescriptor<>("report_floor_sheet", SpriteMap.class, "report_floor");
+		sheet.setMetadata("imageId", "report_floor_img");
+		manager.registerAsset(sheet);
+
+		AssetDescriptor<SpriteAnimation> animation = new AssetDescriptor<>("report_torch_anim", SpriteAnimation.class, "report_torch");
+		animation.setMetadata("spriteMapId", "report_floor");
+		manager.registerAsset(animation);
+
+		AssetDescriptor<Sprite> sprite = new AssetDescriptor<>("report_coin_sprite", Sprite.class, "report_coin");
+		sprite.setMetadata("imageId", "report_coin_img");
+		manager.registerAsset(sprite);
+
+		Map<String, Set<String>> scenes = Map.of(
+			"room_1", manager.getAssetsWithDependencies(Set.of("report_floor_sheet")),
+			"room_2", manager.getAssetsWithDependencies(Set.of("report_torch_anim", "report_coin_sprite"))
+		);
+
+		AssetMemoryReport report = new AssetMemoryReport(List.of(
+			new AssetUsage("report_floor_img", Image.class, 4096, 0, true),
+			new AssetUsage("report_coin_img", Image.class, 64, 0, true),
+			new AssetUsage("report_floor_sheet", SpriteMap.class, 0, 1, true),
+			new AssetUsage("report_torch_anim", SpriteAnimation.class, 0, 1, true),
+			new AssetUsage("report_coin_sprite", Sprite.class, 0, 1, true)
+		), 8192, scenes, Map.of());
+
+		assertEquals(4096, (long) report.getBytesByScene().get("room_1"));
+		assertEquals(4096 + 64, (long) report.getBytesByScene().get("room_2"));
+	}
+}
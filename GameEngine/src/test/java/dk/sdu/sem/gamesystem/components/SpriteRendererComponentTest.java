@@ -0,0 +1,98 @@
+package dk.sdu.sem.gamesystem.components;
+
+import dk.sdu.sem.gamesystem.assets.managers.AssetManager;
+import dk.sdu.sem.gamesystem.assets.references.SpriteReference;
+import dk.sdu.sem.gamesystem.rendering.Sprite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteRendererComponentTest {
+	private final AssetManager manager = AssetManager.getInstance();
+	private final List<String> storedIds = new ArrayList<>();
+
+	@AfterEach
+	void unloadStoredSprites() {
+		storedIds.forEach(manager::unloadAsset);
+	}
+
+	@Test
+	void testSpriteSetByHandleIsResolvedWhenRead() {
+		Sprite first = store("renderer_test_frame");
+		int handle = manager.getHandle("renderer_test_frame");
+
+		SpriteRendererComponent renderer = new SpriteRendererComponent();
+		renderer.setSprite(handle);
+		assertSame(first, renderer.getSprite());
+
+		// The renderer does not hold on to the sprite, so it sees the one that replaced it
+		manager.unloadAsset("renderer_test_frame");
+		Sprite second = store("renderer_test_frame");
+		assertSame(second, renderer.getSprite());
+	}
+
+	@Test
+	void testReferenceOfHandleIsCreatedOnRequest() {
+		store("renderer_test_reference");
+		int handle = manager.getHandle("renderer_test_reference");
+
+		SpriteRendererComponent renderer = new SpriteRendererComponent();
+		renderer.setSprite(handle);
+
+		assertEquals(handle, renderer.getSpriteHandle());
+		assertEquals("renderer_test_reference", renderer.getSpriteReference().getAssetId());
+		assertSame(renderer.getSpriteReference(), renderer.getSpriteReference());
+	}
+
+	@Test
+	void testHandleSlotFollowsRegistryUnderContention() throws InterruptedException {
+		String[] ids = new String[2];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = "renderer_test_contended_" + i;
+			storedIds.add(ids[i]);
+		}
+
+		// Threads race to load and unload the same assets
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			int seed = t;
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 50000; i++) {
+					String id = ids[(i + seed) % ids.length];
+					if ((i + seed) % 3 == 0) {
+						manager.unloadAsset(id);
+					} else {
+						manager.storeAsset(id, new Sprite(id, null, 0, 0, 1, 1));
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		SpriteRendererComponent renderer = new SpriteRendererComponent();
+		for (String id : ids) {
+			renderer.setSprite(manager.getHandle(id));
+			if (manager.isAssetLoaded(id)) {
+				assertSame(manager.getAsset(new SpriteReference(id)), renderer.getSprite(), id);
+			} else {
+				// An empty slot falls back to loading by name, and there is no descriptor to load from
+				assertThrows(AssetManager.AssetNotFoundException.class, renderer::getSprite, id);
+			}
+		}
+	}
+
+	private Sprite store(String id) {
+		Sprite sprite = new Sprite(id, null, 0, 0, 1, 1);
+		manager.storeAsset(id, sprite);
+		storedIds.add(id);
+		return sprite;
+	}
+}
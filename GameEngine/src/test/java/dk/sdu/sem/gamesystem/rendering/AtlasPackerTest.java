@@ -0,0 +1,76 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtlasPackerTest {
+
+	@Test
+	void testFirstRectangleIsPlacedInTopLeftCorner() {
+		AtlasPacker packer = new AtlasPacker(64, 64);
+
+		AtlasPacker.Placement placement = packer.insert(16, 16);
+
+		assertEquals(new AtlasPacker.Placement(0, 0), placement);
+	}
+
+	@Test
+	void testRectanglesFillRowBeforeStartingNewOne() {
+		AtlasPacker packer = new AtlasPacker(32, 32);
+
+		assertEquals(new AtlasPacker.Placement(0, 0), packer.insert(16, 16));
+		assertEquals(new AtlasPacker.Placement(16, 0), packer.insert(16, 16));
+		assertEquals(new AtlasPacker.Placement(0, 16), packer.insert(16, 16));
+		assertEquals(new AtlasPacker.Placement(16, 16), packer.insert(16, 16));
+		assertEquals(1.0, packer.getOccupancy(), 1e-9);
+	}
+
+	@Test
+	void testReturnsNullWhenRectangleDoesNotFit() {
+		AtlasPacker packer = new AtlasPacker(32, 32);
+
+		assertNull(packer.insert(33, 8));
+		assertNotNull(packer.insert(32, 32));
+		assertNull(packer.insert(1, 1));
+	}
+
+	@Test
+	void testRejectsInvalidSizes() {
+		assertThrows(IllegalArgumentException.class, () -> new AtlasPacker(0, 16));
+		assertThrows(IllegalArgumentException.class, () -> new AtlasPacker(16, 16).insert(0, 4));
+	}
+
+	@Test
+	void testPlacedRectanglesNeverOverlapOrLeaveThePage() {
+		AtlasPacker packer = new AtlasPacker(256, 256);
+		Random random = new Random(42);
+		List<int[]> placed = new ArrayList<>();
+
+		for (int i = 0; i < 500; i++) {
+			int width = 1 + random.nextInt(40);
+			int height = 1 + random.nextInt(40);
+			AtlasPacker.Placement placement = packer.insert(width, height);
+			if (placement == null) {
+				continue;
+			}
+
+			int[] rect = {placement.x(), placement.y(), width, height};
+			assertTrue(rect[0] >= 0 && rect[1] >= 0);
+			assertTrue(rect[0] + width <= 256 && rect[1] + height <= 256);
+
+			for (int[] other : placed) {
+				boolean overlaps = rect[0] < other[0] + other[2] && other[0] < rect[0] + rect[2]
+					&& rect[1] < other[1] + other[3] && other[1] < rect[1] + rect[3];
+				assertFalse(overlaps, "Rectangles overlap");
+			}
+			placed.add(rect);
+		}
+
+		assertFalse(placed.isEmpty());
+	}
+}
@@ -0,0 +1,131 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderCommandStreamTest {
+
+	@Test
+	void testNothingIsDrawnBeforeTheFirstFrame() {
+		RenderCommandStream stream = new RenderCommandStream();
+
+		assertEquals(0, stream.acquireLatest().getCount());
+	}
+
+	@Test
+	void testLatestPublishedFrameIsAcquired() {
+		RenderCommandStream stream = new RenderCommandStream();
+		record(stream, 1, 1);
+		record(stream, 2, 2);
+
+		RenderCommandBuffer buffer = stream.acquireLatest();
+		assertEquals(2, buffer.getCount());
+		assertEquals(2, buffer.getX(0));
+	}
+
+	@Test
+	void testFrameStaysAcquiredUntilANewerOneIsPublished() {
+		RenderCommandStream stream = new RenderCommandStream();
+		record(stream, 1, 1);
+
+		RenderCommandBuffer first = stream.acquireLatest();
+		assertSame(first, stream.acquireLatest());
+		assertEquals(1, first.getX(0));
+
+		record(stream, 2, 1);
+		RenderCommandBuffer second = stream.acquireLatest();
+		assertNotSame(first, second);
+		assertEquals(2, second.getX(0));
+	}
+
+	@Test
+	void testRecordingNeverTouchesTheAcquiredFrame() {
+		RenderCommandStream stream = new RenderCommandStream();
+		record(stream, 1, 3);
+		RenderCommandBuffer acquired = stream.acquireLatest();
+
+		// The producer keeps going while the consumer is still drawing the acquired frame
+		for (int frame = 2; frame < 10; frame++) {
+			RenderCommandBuffer recording = stream.beginFrame();
+			assertNotSame(acquired, recording);
+			recording.addLight(frame, 0, 1, 0, 0, 0, 1, 0);
+			stream.publish();
+		}
+
+		assertEquals(3, acquired.getCount());
+		assertEquals(1, acquired.getX(0));
+		assertEquals(9, stream.acquireLatest().getX(0));
+	}
+
+	@Test
+	void testResetDropsPublishedFrames() {
+		RenderCommandStream stream = new RenderCommandStream();
+		record(stream, 1, 1);
+		stream.acquireLatest();
+		record(stream, 2, 1);
+
+		stream.reset();
+		assertEquals(0, stream.acquireLatest().getCount());
+
+		record(stream, 3, 1);
+		assertEquals(3, stream.acquireLatest().getX(0));
+	}
+
+	@Test
+	void testFramesStayCompleteAcrossThreads() throws InterruptedException {
+		RenderCommandStream stream = new RenderCommandStream();
+		int frames = 20000;
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		// Every command of a frame holds the frame number, so a mixed frame shows as differing values
+		Thread producer = new Thread(() -> {
+			for (int frame = 1; frame <= frames; frame++) {
+				RenderCommandBuffer buffer = stream.beginFrame();
+				for (int i = 0; i < 1 + frame % 17; i++) {
+					buffer.addLight(frame, frame, 1, 0, 0, 0, 1, 0);
+				}
+				stream.publish();
+			}
+		});
+		producer.start();
+
+		float last = 0;
+		while (producer.isAlive() || last < frames) {
+			RenderCommandBuffer buffer = stream.acquireLatest();
+			if (buffer.getCount() == 0) {
+				continue;
+			}
+
+			float frame = buffer.getX(0);
+			try {
+				assertTrue(frame >= last, "Frames went backwards");
+				assertEquals(1 + (int) frame % 17, buffer.getCount());
+				for (int i = 0; i < buffer.getCount(); i++) {
+					assertEquals(frame, buffer.getX(i));
+					assertEquals(frame, buffer.getY(i));
+				}
+			} catch (Throwable t) {
+				failure.set(t);
+				break;
+			}
+			last = frame;
+		}
+
+		producer.join();
+		if (failure.get() != null) {
+			fail(failure.get());
+		}
+		assertEquals(frames, stream.acquireLatest().getX(0));
+	}
+
+	private static void record(RenderCommandStream stream, int frame, int commands) {
+		RenderCommandBuffer buffer = stream.beginFrame();
+		for (int i = 0; i < commands; i++) {
+			buffer.addLight(frame, 0, 1, 0, 0, 0, 1, 0);
+		}
+		stream.publish();
+	}
+}
@@ -0,0 +1,145 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoftwareFramebufferTest {
+	private static final int RED = 0xFFFF0000;
+	private static final int GREEN = 0xFF00FF00;
+	private static final int BLUE = 0xFF0000FF;
+	private static final int WHITE = 0xFFFFFFFF;
+
+	// 2x2 image: red, green / blue, white
+	private static final int[] QUAD = {RED, GREEN, BLUE, WHITE};
+
+	@Test
+	void testDrawImageCopiesPixelsAtNativeSize() {
+		SoftwareFramebuffer framebuffer = new SoftwareFramebuffer(4, 4);
+
+		framebuffer.drawImage(QUAD, 2, 0, 0, 2, 2, 1, 1, 2, 2, 0, false, false);
+
+		assertEquals(RED, pixel(framebuffer, 1, 1));
+		assertEquals(GREEN, pixel(framebuffer, 2, 1));
+		assertEquals(BLUE, pixel(framebuffer, 1, 2));
+		assertEquals(WHITE, pixel(framebuffer, 2, 2));
+		assertEquals(0, pixel(framebuffer, 0, 0));
+		assertEquals(0, pixel(framebuffer, 3, 3));
+	}
+
+	@Test
+	void testDrawImageScalesWithNearestNeighbour() {
+		SoftwareFramebuffer framebuffer = new SoftwareFramebuffer(4, 4);
+
+		framebuffer.drawImage(QUAD, 2, 0, 0, 2, 2, 0, 0, 4, 4, 0, false, false);
+
+		assertEquals(RED, pixel(framebuffer, 1, 1));
+		assertEquals(GREEN, pixel(framebuffer, 2, 0));
+		assertEquals(BLUE, pixel(framebuffer, 0, 3));
+		assertEquals(WHITE, pixel(framebuffer, 3, 2));
+	}
+
+	@Test
+	void testDrawImageFlipsHorizontally() {
+		SoftwareFramebuffer framebuffer = new SoftwareFramebuffer(2, 2);
+
+		framebuffer.drawImage(QUAD, 2, 0, 0, 2, 2, 0, 0, 2, 2, 0, true, false);
+
+		assertEquals(GREEN, pixel(framebuffer, 0, 0));
+		assertEquals(RED, pixel(framebuffer, 1, 0));
+	}
+
+	@Test
+	void testDrawImageRotatesAroundCenter() {
+		SoftwareFramebuffer framebuffer = new SoftwareFramebuffer(2, 2);
+
+		// A quarter turn clockwise moves the top-left pixel to the top-right
+		framebuffer.drawImage(QUAD, 2, 0, 0, 2, 2, 0, 0, 2, 2, Math.PI / 2, false, false);
+
+		assertEquals(RED, pixel(framebuffer, 1, 0));
+		assertEquals(BLUE, pixel(framebuffer, 0, 0));
+	}
+
+	@Test
+	void testDrawImageClipsAgainstFrame() {
+		SoftwareFramebuffer framebuffer = new SoftwareFramebuffer(2, 2);
+
+		assertDoesNotThrow(() -> framebuffer.drawImage(QUAD, 2, 0, 0, 2, 2, -1, -1, 2, 2, 0, false, false));
+		assertEquals(WHITE, pixel(framebuffer, 0, 0));
+	}
+
+	@Test
+	void testTranslucentPixelsAreBlended() {
+		SoftwareFramebuffer framebuffer = new SoftwareFramebuffer(1, 1);
+		framebuffer.clear(BLUE);
+
+		// Half transparent red, premultiplied
+		int[] source = {0x80800000};
+		framebuffer.drawImage(source, 1, 0, 0, 1, 1, 0, 0, 1, 1, 0, false, false);
+
+		int result = pixel(framebuffer, 0, 0);
+		assertEquals(0xFF, result >>> 24);
+		assertEquals(0x80, (result >> 16) & 0xFF);
+		assertEquals(0x7F, result & 0xFF);
+	}
+
+	@Test
+	void testTintIsBlendedByItsAlphaAndKeepsTransparency() {
+		SoftwareFramebuffer framebuffer = new SoftwareFramebuffer(2, 1);
+
+		// Opaque red and half transparent red, premultiplied, under a half strength blue tint
+		int[] source = {RED, 0x80800000};
+		framebuffer.drawImage(source, 2, 0, 0, 2, 1, 0, 0, 2, 1, 0, false, false, 0x800000FF);
+
+		assertEquals(0xFF7F0080, pixel(framebuffer, 0, 0));
+		assertEquals(0x80, pixel(framebuffer, 1, 0) >>> 24);
+		assertEquals(0x3F, (pixel(framebuffer, 1, 0) >> 16) & 0xFF);
+		assertEquals(0x40, pixel(framebuffer, 1, 0) & 0xFF);
+	}
+
+	@Test
+	void testLightsOnlyAffectCoveredPixels() {
+		SoftwareFramebuffer framebuffer = new SoftwareFramebuffer(8, 8);
+		framebuffer.clear(0xFF404040);
+
+		int[] lightPixels = new int[4 * 4];
+		Arrays.fill(lightPixels, 0xFFFFFFFF);
+		framebuffer.addLight(new LightTextureCache.LightTexture(4, lightPixels), 2, 2);
+		assertTrue(framebuffer.hasPendingLights());
+
+		framebuffer.compositeLights();
+
+		assertFalse(framebuffer.hasPendingLights());
+		assertTrue((pixel(framebuffer, 1, 1) & 0xFF) > 0x40);
+		assertEquals(0xFF404040, pixel(framebuffer, 6, 6));
+	}
+
+	@Test
+	void testWritePngRoundTrips(@TempDir Path directory) throws Exception {
+		SoftwareFramebuffer framebuffer = new SoftwareFramebuffer(2, 2);
+		framebuffer.drawImage(QUAD, 2, 0, 0, 2, 2, 0, 0, 2, 2, 0, false, false);
+
+		Path file = directory.resolve("frames/frame.png");
+		framebuffer.writePng(file);
+
+		BufferedImage image = ImageIO.read(file.toFile());
+		assertEquals(2, image.getWidth());
+		assertEquals(RED, image.getRGB(0, 0));
+		assertEquals(WHITE, image.getRGB(1, 1));
+	}
+
+	@Test
+	void testRejectsInvalidSize() {
+		assertThrows(IllegalArgumentException.class, () -> new SoftwareFramebuffer(0, 4));
+	}
+
+	private static int pixel(SoftwareFramebuffer framebuffer, int x, int y) {
+		return framebuffer.getPixels()[y * framebuffer.getWidth() + x];
+	}
+}
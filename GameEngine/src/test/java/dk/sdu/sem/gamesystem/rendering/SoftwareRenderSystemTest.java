@@ -0,0 +1,125 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoftwareRenderSystemTest {
+	private static final int BLACK = 0xFF000000;
+	private static final int RED = 0xFFFF0000;
+	private static final int GREEN = 0xFF00FF00;
+	private static final int BLUE = 0xFF0000FF;
+	private static final int WHITE = 0xFFFFFFFF;
+	private static final int YELLOW = 0xFFFFFF00;
+
+	// 4x2 sprite sheet: a 2x2 quad of red, green / blue, white next to a yellow 2x2 square
+	private static final IPixelSource.Pixels SHEET = new IPixelSource.Pixels(4, 2, new int[]{
+		RED, GREEN, YELLOW, YELLOW,
+		BLUE, WHITE, YELLOW, YELLOW
+	});
+
+	// Sprites are cut from the sheet without a JavaFX image behind them
+	private final Sprite quad = new Sprite("quad", null, 0, 0, 2, 2);
+	private final Sprite yellow = new Sprite("yellow", null, 2, 0, 2, 2);
+	private final Map<Sprite, IPixelSource.Pixels> sheetPixels = new IdentityHashMap<>(Map.of(quad, SHEET, yellow, SHEET));
+
+	@Test
+	void testFrameDumpMatchesGoldenImage(@TempDir Path directory) throws Exception {
+		SoftwareRenderSystem renderSystem = new SoftwareRenderSystem(8, 8, sheetPixels::get);
+		renderSystem.initialize(null);
+
+		RenderCommandBuffer commands = new RenderCommandBuffer();
+		int tilemap = commands.addTilemap(0, 0, 2, 2, 1, 0);
+		commands.setTile(tilemap, 0, 0, quad);
+		commands.setTile(tilemap, 1, 0, yellow);
+		commands.addSprite(quad, 4, 4, 4, 4, 0, true, false, 1);
+		int tinted = commands.addSprite(yellow, 0, 4, 2, 2, 0, false, false, 1);
+		commands.setTint(tinted, BLUE);
+
+		renderSystem.render(commands);
+		Path file = directory.resolve("frame.png");
+		renderSystem.writeFrame(file);
+
+		assertMatchesGolden(new String[]{
+			"RGYY....",
+			"BWYY....",
+			"........",
+			"........",
+			"BB..GGRR",
+			"BB..GGRR",
+			"....WWBB",
+			"....WWBB"
+		}, ImageIO.read(file.toFile()));
+	}
+
+	@Test
+	void testSpritesWithoutPixelsAreSkipped() {
+		SoftwareRenderSystem renderSystem = new SoftwareRenderSystem(4, 4, sprite -> null);
+
+		RenderCommandBuffer commands = new RenderCommandBuffer();
+		commands.addSprite(quad, 0, 0, 4, 4, 0, false, false, 0);
+
+		assertDoesNotThrow(() -> renderSystem.render(commands));
+		for (int pixel : renderSystem.getFramebuffer().getPixels()) {
+			assertEquals(BLACK, pixel);
+		}
+	}
+
+	@Test
+	void testLightsBrightenTheSpritesUnderThem() {
+		SoftwareRenderSystem renderSystem = new SoftwareRenderSystem(8, 8, sheetPixels::get);
+		renderSystem.setClearColor(0xFF404040);
+
+		RenderCommandBuffer commands = new RenderCommandBuffer();
+		commands.addLight(2, 2, 4, 255, 255, 255, 1, 2);
+		renderSystem.render(commands);
+
+		int[] pixels = renderSystem.getFramebuffer().getPixels();
+		assertTrue((pixels[2 * 8 + 2] & 0xFF) > 0x40);
+		assertEquals(0xFF404040, pixels[7 * 8 + 7]);
+	}
+
+	@Test
+	void testEveryNthFrameIsWritten(@TempDir Path directory) {
+		SoftwareRenderSystem renderSystem = new SoftwareRenderSystem(2, 2, sheetPixels::get);
+		renderSystem.initialize(null);
+		renderSystem.setFrameDump(directory, 2);
+
+		for (int frame = 0; frame < 5; frame++) {
+			renderSystem.lateUpdate();
+		}
+
+		assertTrue(Files.exists(directory.resolve("frame_000000.png")));
+		assertFalse(Files.exists(directory.resolve("frame_000001.png")));
+		assertTrue(Files.exists(directory.resolve("frame_000002.png")));
+		assertTrue(Files.exists(directory.resolve("frame_000004.png")));
+	}
+
+	private static void assertMatchesGolden(String[] golden, BufferedImage image) {
+		assertEquals(golden[0].length(), image.getWidth());
+		assertEquals(golden.length, image.getHeight());
+
+		for (int y = 0; y < golden.length; y++) {
+			for (int x = 0; x < golden[y].length(); x++) {
+				int expected = switch (golden[y].charAt(x)) {
+					case 'R' -> RED;
+					case 'G' -> GREEN;
+					case 'B' -> BLUE;
+					case 'W' -> WHITE;
+					case 'Y' -> YELLOW;
+					default -> BLACK;
+				};
+				assertEquals(Integer.toHexString(expected), Integer.toHexString(image.getRGB(x, y)),
+					"Pixel at " + x + ", " + y);
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import dk.sdu.sem.gamesystem.assets.managers.AssetManager;
+import dk.sdu.sem.gamesystem.assets.references.IAssetReference;
+import dk.sdu.sem.gamesystem.assets.references.SpriteReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteAnimationTest {
+	private static final String FIRST = "animation_test_f0";
+	private static final String SECOND = "animation_test_f1";
+
+	private final AssetManager manager = AssetManager.getInstance();
+
+	@AfterEach
+	void unloadFrames() {
+		manager.unloadAsset(FIRST);
+		manager.unloadAsset(SECOND);
+	}
+
+	@Test
+	void testFramesAreResolvedByHandle() {
+		Sprite first = store(FIRST);
+		Sprite second = store(SECOND);
+		SpriteAnimation animation = createAnimation();
+
+		assertEquals(manager.getHandle(FIRST), animation.getCurrentFrameHandle());
+		assertSame(first, animation.getCurrentFrame());
+
+		animation.update(1);
+		assertEquals(manager.getHandle(SECOND), animation.getCurrentFrameHandle());
+		assertSame(second, animation.getCurrentFrame());
+	}
+
+	@Test
+	void testReloadedFrameReplacesTheOldOne() {
+		store(FIRST);
+		store(SECOND);
+		SpriteAnimation animation = createAnimation();
+		animation.getCurrentFrame();
+
+		manager.unloadAsset(FIRST);
+		Sprite reloaded = store(FIRST);
+
+		assertSame(reloaded, animation.getCurrentFrame());
+		assertSame(reloaded, animation.createInstance().getCurrentFrame());
+	}
+
+	@Test
+	void testAnimationDoesNotKeepUnloadedFramesAlive() throws InterruptedException {
+		store(FIRST);
+		store(SECOND);
+		SpriteAnimation animation = createAnimation();
+		WeakReference<Sprite> frame = new WeakReference<>(animation.getCurrentFrame());
+
+		manager.unloadAsset(FIRST);
+		for (int i = 0; i < 20 && frame.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertNull(frame.get());
+		assertEquals(2, animation.getFrameCount());
+	}
+
+	private SpriteAnimation createAnimation() {
+		List<IAssetReference<Sprite>> frames = List.of(new SpriteReference(FIRST), new SpriteReference(SECOND));
+		return new SpriteAnimation(frames, 0.5, true);
+	}
+
+	private Sprite store(String id) {
+		Sprite sprite = new Sprite(id, null, 0, 0, 1, 1);
+		manager.storeAsset(id, sprite);
+		return sprite;
+	}
+}
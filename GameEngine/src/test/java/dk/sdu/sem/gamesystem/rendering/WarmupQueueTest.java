@@ -0,0 +1,69 @@
+package dk.sdu.sem.gamesystem.rendering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmupQueueTest {
+
+	@Test
+	void testPollStaysWithinBudget() {
+		WarmupQueue<String> queue = new WarmupQueue<>();
+		queue.add("tileset", 400);
+		queue.add("player", 300);
+		queue.add("coin", 200);
+
+		assertEquals(List.of("tileset", "player"), queue.poll(800));
+		assertEquals(200, queue.getPendingBytes());
+		assertEquals(List.of("coin"), queue.poll(800));
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	void testItemLargerThanBudgetIsPolledAlone() {
+		WarmupQueue<String> queue = new WarmupQueue<>();
+		queue.add("boss", 5000);
+		queue.add("coin", 10);
+
+		assertEquals(List.of("boss"), queue.poll(1000));
+		assertEquals(List.of("coin"), queue.poll(1000));
+	}
+
+	@Test
+	void testItemIsOnlyQueuedOnce() {
+		WarmupQueue<String> queue = new WarmupQueue<>();
+
+		assertTrue(queue.add("tileset", 400));
+		assertFalse(queue.add("tileset", 400));
+		queue.poll(1000);
+		assertFalse(queue.add("tileset", 400));
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	void testRequeuedItemGoesLast() {
+		WarmupQueue<String> queue = new WarmupQueue<>();
+		queue.add("tileset", 400);
+		queue.add("coin", 200);
+
+		List<String> polled = queue.poll(400);
+		assertEquals(List.of("tileset"), polled);
+		queue.requeue("tileset", 400);
+
+		assertEquals(600, queue.getPendingBytes());
+		assertEquals(List.of("coin", "tileset"), queue.poll(1000));
+	}
+
+	@Test
+	void testClearedItemsCanBeQueuedAgain() {
+		WarmupQueue<String> queue = new WarmupQueue<>();
+		queue.add("tileset", 400);
+		queue.clear();
+
+		assertEquals(0, queue.size());
+		assertEquals(0, queue.getPendingBytes());
+		assertTrue(queue.add("tileset", 400));
+	}
+}
@@ -1,6 +1,8 @@
 package dk.sdu.sem.inventory;
 
+import dk.sdu.sem.commoninventory.ActiveItemInventory;
 import dk.sdu.sem.commonsystem.NodeManager;
+import dk.sdu.sem.gamesystem.rendering.RetainedLayer;
 import dk.sdu.sem.gamesystem.services.IGUIUpdate;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -14,6 +16,18 @@ import java.util.Set;
  */
 // Very basic example
 public class InventoryDisplay implements IGUIUpdate {
+	private static final Font TITLE_FONT = new Font("Arial", 16);
+	private static final Font ITEM_FONT = new Font("Arial", 12);
+	private static final Color BACKGROUND = new Color(0, 0, 0, 0.5);
+
+	private static final int X = 10;
+	private static final int Y = 10;
+	private static final int WIDTH = 200;
+	private static final int HEIGHT = 100;
+
+	// The panel is redrawn only when the inventory changes
+	private final RetainedLayer layer = new RetainedLayer();
+	private ActiveItemInventory lastInventory;
 
 	@Override
 	public void onGUI(GraphicsContext gc) {
@@ -24,23 +38,40 @@ public class InventoryDisplay implements IGUIUpdate {
 		}
 
 		PlayerInventoryNode playerNode = playerNodes.iterator().next();
+		ActiveItemInventory inventory = playerNode.inventory;
+
+		if (inventory != lastInventory) {
+			layer.invalidate();
+			lastInventory = inventory;
+		}
+
+		if (layer.isStale(inventory.getVersion())) {
+			layer.redraw(WIDTH, HEIGHT, inventory.getVersion(), panel -> drawPanel(panel, inventory));
+		}
+
+		layer.draw(gc, X, Y);
+	}
 
-		gc.setFill(new Color(0, 0, 0, 0.5));
-		gc.fillRect(10, 10, 200, 100);
+	/**
+	 * Draws the panel with its top-left corner at (0, 0)
+	 */
+	private void drawPanel(GraphicsContext gc, ActiveItemInventory inventory) {
+		gc.setFill(BACKGROUND);
+		gc.fillRect(0, 0, WIDTH, HEIGHT);
 
 		gc.setFill(Color.WHITE);
-		gc.setFont(new Font("Arial", 16));
-		gc.fillText("Inventory", 20, 30);
+		gc.setFont(TITLE_FONT);
+		gc.fillText("Inventory", 20 - X, 30 - Y);
 
 		// Draw items
-		 gc.setFont(new Font("Arial", 12));
+		 gc.setFont(ITEM_FONT);
 		int y = 50;
 		/*for (Map.Entry<String, Integer> entry : playerNode.inventory.getItems().entrySet()) {
 			gc.fillText(entry.getKey() + ": " + entry.getValue(), 20, y);
 			y += 20;
 		} */
 
-		gc.fillText("Capacity: " + playerNode.inventory.getItemCount() + "/" +
-			playerNode.inventory.getInventorySize(), 20, y + 10);
+		gc.fillText("Capacity: " + inventory.getItemCount() + "/" +
+			inventory.getInventorySize(), 20 - X, y + 10 - Y);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package dk.sdu.sem.levelsystem;
+
+import dk.sdu.sem.commonlevel.room.RoomData;
+import dk.sdu.sem.commonlevel.room.RoomTileset;
+import dk.sdu.sem.commonsystem.Entity;
+import dk.sdu.sem.commonsystem.Scene;
+import dk.sdu.sem.gamesystem.assets.managers.AssetManager;
+import dk.sdu.sem.gamesystem.assets.references.AssetReferenceFactory;
+import dk.sdu.sem.gamesystem.assets.references.IAssetReference;
+import dk.sdu.sem.gamesystem.assets.references.SpriteMapTileReference;
+import dk.sdu.sem.gamesystem.components.AnimatorComponent;
+import dk.sdu.sem.gamesystem.components.SpriteRendererComponent;
+import dk.sdu.sem.gamesystem.rendering.Sprite;
+import dk.sdu.sem.gamesystem.rendering.SpriteAnimation;
+import dk.sdu.sem.gamesystem.rendering.SpriteMap;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The assets a room needs: the tilesets named in its JSON, and the sprites and animation frames
+ * of the entities spawned into it, such as enemies and barriers.
+ * Used to load a room's assets before the player enters it.
+ */
+public class RoomAssetManifest {
+	private final Set<String> assetIds;
+
+	private RoomAssetManifest(Set<String> assetIds) {
+		this.assetIds = Collections.unmodifiableSet(assetIds);
+	}
+
+	/**
+	 * Creates the manifest of a room from its data and the entities of its built scene.
+	 * Only assets registered with the AssetManager are included.
+	 */
+	public static RoomAssetManifest create(RoomData roomData, Scene scene) {
+		Set<String> assetIds = new LinkedHashSet<>();
+
+		for (RoomTileset tileset : roomData.tilesets) {
+			assetIds.add(AssetReferenceFactory.getNamespacedAssetId(getTilesetName(tileset), SpriteMap.class));
+		}
+
+		for (Entity entity : scene.getEntities()) {
+			SpriteRendererComponent renderer = entity.getComponent(SpriteRendererComponent.class);
+			if (renderer != null) {
+				addSprite(assetIds, renderer.getSpriteReference());
+			}
+
+			AnimatorComponent animator = entity.getComponent(AnimatorComponent.class);
+			if (animator != null) {
+				for (SpriteAnimation animation : animator.getAnimations().values()) {
+					for (IAssetReference<Sprite> frame : animation.getFrameReferences()) {
+						addSprite(assetIds, frame);
+					}
+				}
+			}
+		}
+
+		AssetManager manager = AssetManager.getInstance();
+		assetIds.removeIf(assetId -> !manager.hasAssetDescriptor(assetId));
+		return new RoomAssetManifest(assetIds);
+	}
+
+	/**
+	 * Returns the name a tileset's sprite map is registered under, the file name of its image without extension.
+	 */
+	public static String getTilesetName(RoomTileset tileset) {
+		String[] split = tileset.imagePath.split("/");
+		return split[split.length - 1].replace(".png", "");
+	}
+
+	private static void addSprite(Set<String> assetIds, IAssetReference<Sprite> reference) {
+		if (reference instanceof SpriteMapTileReference tile) {
+			// Loading the sprite map loads every tile of it
+			assetIds.add(AssetReferenceFactory.getNamespacedAssetId(tile.getSpriteMapName(), SpriteMap.class));
+		} else if (reference != null) {
+			assetIds.add(reference.getAssetId());
+		}
+	}
+
+	/**
+	 * Returns the namespaced IDs of the room's assets.
+	 */
+	public Set<String> getAssetIds() {
+		return assetIds;
+	}
+}
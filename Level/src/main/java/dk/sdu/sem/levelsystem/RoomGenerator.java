@@ -12,6 +12,7 @@ import dk.sdu.sem.commonsystem.Vector2D;
 import dk.sdu.sem.commontilemap.TilemapComponent;
 import dk.sdu.sem.gamesystem.GameConstants;
 import dk.sdu.sem.gamesystem.assets.AssetFacade;
+import dk.sdu.sem.gamesystem.assets.managers.SceneAssetManager;
 import dk.sdu.sem.commonsystem.TransformComponent;
 import dk.sdu.sem.gamesystem.components.TileAnimatorComponent;
 import dk.sdu.sem.gamesystem.components.TilemapRendererComponent;
@@ -156,6 +157,12 @@ public class RoomGenerator {
 		// Notify listeners and return the created room
 		if (!scene.getEntities().isEmpty()) {
 			ServiceLoader.load(IRoomCreatedListener.class).forEach(l -> l.onRoomCreated(roomScene));
+
+			// Listeners spawn the room's enemies, so the manifest is made once they are in the scene
+			RoomAssetManifest manifest = RoomAssetManifest.create(dto, scene);
+			SceneAssetManager.getInstance().registerSceneAssets(scene.getName(), manifest.getAssetIds());
+			LOGGER.debug("Room " + room.getRoomName() + " needs " + manifest.getAssetIds().size() + " assets");
+
 			return roomScene;
 		}
 
@@ -185,7 +192,7 @@ public class RoomGenerator {
 		for (RoomTileset tileset : dto.tilesets) {
 			String[] split = tileset.imagePath.split("/");
 			String fileName = split[split.length - 1];
-			String patternName = fileName.replace(".png", "");
+			String patternName = RoomAssetManifest.getTilesetName(tileset);
 
 			// AssetFacade.createSpriteSheet(patternName, image, 16, 16);
 			AssetFacade.createSpriteMap(patternName)
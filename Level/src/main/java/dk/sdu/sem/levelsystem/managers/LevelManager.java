@@ -9,7 +9,9 @@ import dk.sdu.sem.commonsystem.Scene;
 import dk.sdu.sem.commonsystem.TransformComponent;
 import dk.sdu.sem.commonsystem.Vector2D;
 import dk.sdu.sem.gamesystem.GameConstants;
+import dk.sdu.sem.gamesystem.assets.managers.SceneAssetManager;
 import dk.sdu.sem.gamesystem.components.PhysicsComponent;
+import dk.sdu.sem.gamesystem.rendering.FXRenderSystem;
 import dk.sdu.sem.gamesystem.scenes.SceneManager;
 import dk.sdu.sem.gamesystem.services.IUpdate;
 import dk.sdu.sem.levelsystem.Level;
@@ -18,7 +20,9 @@ import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 import dk.sdu.sem.player.PlayerComponent;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.ServiceLoader;
 
 /**
@@ -44,6 +48,9 @@ public class LevelManager implements ILevelSPI, IUpdate {
 
 	private RoomTransitionSystem transitionSystem;
 
+	// Adjacent room snapshots are prepared once the current transition has finished
+	private boolean adjacentRoomsPending = false;
+
 	// Debugging
 	private int debugUpdateCounter = 0;
 
@@ -116,6 +123,59 @@ public class LevelManager implements ILevelSPI, IUpdate {
 
 		// Reset transition flags
 		resetTransitionTriggers();
+
+		prefetchRoomAssets();
+		prepareAdjacentRooms();
+	}
+
+	/**
+	 * Lets the render system pre-render the rooms reachable from the current room,
+	 * so entering one of them does not have to render it synchronously.
+	 */
+	private void prepareAdjacentRooms() {
+		FXRenderSystem.getInstance().prepareRoomSnapshots(getAdjacentScenes());
+		adjacentRoomsPending = false;
+	}
+
+	/**
+	 * Keeps the assets of the current room and the rooms reachable from it resident,
+	 * loading those of the adjacent rooms in the background and releasing those of all other rooms.
+	 * Their textures are then uploaded over the following frames.
+	 */
+	private void prefetchRoomAssets() {
+		List<String> sceneNames = new ArrayList<>();
+
+		Room current = roomMap.get(currentRoom);
+		if (current != null && current.getScene() != null) {
+			sceneNames.add(current.getScene().getName());
+		}
+		for (Scene scene : getAdjacentScenes()) {
+			sceneNames.add(scene.getName());
+		}
+
+		// Once loaded, the textures of the rooms are uploaded while the player is still in the current one
+		SceneAssetManager.getInstance().retainScenesAsync(sceneNames)
+			.thenRun(() -> SceneManager.getInstance().warmupScenes(sceneNames));
+	}
+
+	/**
+	 * Returns the scenes of the rooms the current room has doors to.
+	 */
+	private List<Scene> getAdjacentScenes() {
+		List<Scene> adjacentScenes = new ArrayList<>();
+
+		for (RoomTransitionSystem.Direction direction : RoomTransitionSystem.Direction.values()) {
+			if (direction == RoomTransitionSystem.Direction.NONE || !currentRoomHasDoor(direction)) {
+				continue;
+			}
+
+			Room room = roomMap.get(calculateTargetRoomId(direction));
+			if (room != null && room.getScene() != null) {
+				adjacentScenes.add(room.getScene());
+			}
+		}
+
+		return adjacentScenes;
 	}
 
 	private int countRooms(boolean[][] layout) {
@@ -138,6 +198,10 @@ public class LevelManager implements ILevelSPI, IUpdate {
 			return;
 		}
 
+		if (adjacentRoomsPending) {
+			prepareAdjacentRooms();
+		}
+
 		Entity player = Scene.getActiveScene().getEntitiesWithComponent(PlayerComponent.class)
 			.stream().findFirst().orElse(null);
 
@@ -263,6 +327,10 @@ public class LevelManager implements ILevelSPI, IUpdate {
 			player
 		);
 		currentRoom = targetRoom;
+		adjacentRoomsPending = true;
+
+		// Asset loading runs in the background, so it can start while the transition plays
+		prefetchRoomAssets();
 
 		// Reset transition triggers for the new room
 		resetTransitionTriggers();
@@ -0,0 +1,270 @@
+package dk.sdu.sem.particlesystem;
+
+import dk.sdu.sem.gamesystem.rendering.RenderStatistics;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * Rasterizes particles into a canvas-sized premultiplied ARGB buffer.
+ * Particles are blended directly into the pixel array, and the touched region is
+ * uploaded and drawn onto the canvas with a single draw call per frame.
+ */
+class ParticleRasterizer {
+	// Half the side of an unscaled particle, matching the original 4x4 rectangle
+	static final float BASE_HALF_SIZE = 2.0f;
+
+	private int width;
+	private int height;
+	private int[] pixels;
+	private WritableImage image;
+
+	// Region touched since the last blit
+	private int dirtyMinX;
+	private int dirtyMinY;
+	private int dirtyMaxX;
+	private int dirtyMaxY;
+	private boolean dirty = false;
+
+	/**
+	 * Makes sure the buffer matches the canvas size.
+	 */
+	void ensureSize(double canvasWidth, double canvasHeight) {
+		int newWidth = Math.max(1, (int) Math.ceil(canvasWidth));
+		int newHeight = Math.max(1, (int) Math.ceil(canvasHeight));
+
+		if (pixels != null && newWidth == width && newHeight == height) {
+			return;
+		}
+
+		width = newWidth;
+		height = newHeight;
+		pixels = new int[width * height];
+		image = new WritableImage(width, height);
+		dirty = false;
+	}
+
+	/**
+	 * Draws a square particle centered at (x, y).
+	 *
+	 * @param scale Scale of the base particle size
+	 * @param rotation Rotation in degrees
+	 */
+	void drawSquare(float x, float y, float scale, float rotation, Color color) {
+		int argb = toPremultipliedArgb(color);
+		float half = BASE_HALF_SIZE * Math.abs(scale);
+		if (argb == 0 || half <= 0) {
+			return;
+		}
+
+		// Particles smaller than a pixel are drawn as a single pixel weighted by their area
+		if (half < 0.5f) {
+			blendPixel((int) Math.floor(x), (int) Math.floor(y), scaleAlpha(argb, 4 * half * half));
+			return;
+		}
+
+		if (rotation % 90 == 0) {
+			fillAxisAligned(x - half, y - half, x + half, y + half, argb);
+			return;
+		}
+
+		double radians = Math.toRadians(rotation);
+		float cos = (float) Math.cos(radians);
+		float sin = (float) Math.sin(radians);
+
+		// Bounding box of the rotated square
+		float extent = half * (Math.abs(cos) + Math.abs(sin));
+		int startX = Math.max(0, (int) Math.floor(x - extent));
+		int startY = Math.max(0, (int) Math.floor(y - extent));
+		int endX = Math.min(width, (int) Math.ceil(x + extent));
+		int endY = Math.min(height, (int) Math.ceil(y + extent));
+		if (startX >= endX || startY >= endY) {
+			return;
+		}
+
+		for (int py = startY; py < endY; py++) {
+			float dy = py + 0.5f - y;
+			int row = py * width;
+			for (int px = startX; px < endX; px++) {
+				float dx = px + 0.5f - x;
+
+				// Rotate the pixel center into the square's local space
+				float u = dx * cos + dy * sin;
+				float v = dy * cos - dx * sin;
+				if (Math.abs(u) <= half && Math.abs(v) <= half) {
+					pixels[row + px] = blend(pixels[row + px], argb);
+				}
+			}
+		}
+
+		markDirty(startX, startY, endX, endY);
+	}
+
+	/**
+	 * Draws a round particle centered at (x, y) that fades out linearly towards its edge.
+	 *
+	 * @param scale Scale of the base particle size
+	 */
+	void drawSoftDot(float x, float y, float scale, Color color) {
+		int argb = toPremultipliedArgb(color);
+		float radius = BASE_HALF_SIZE * Math.abs(scale);
+		if (argb == 0 || radius <= 0) {
+			return;
+		}
+
+		if (radius < 0.5f) {
+			blendPixel((int) Math.floor(x), (int) Math.floor(y), scaleAlpha(argb, (float) (Math.PI / 3 * radius * radius)));
+			return;
+		}
+
+		int startX = Math.max(0, (int) Math.floor(x - radius));
+		int startY = Math.max(0, (int) Math.floor(y - radius));
+		int endX = Math.min(width, (int) Math.ceil(x + radius));
+		int endY = Math.min(height, (int) Math.ceil(y + radius));
+		if (startX >= endX || startY >= endY) {
+			return;
+		}
+
+		float inverseRadius = 1.0f / radius;
+		for (int py = startY; py < endY; py++) {
+			float dy = py + 0.5f - y;
+			int row = py * width;
+			for (int px = startX; px < endX; px++) {
+				float dx = px + 0.5f - x;
+				float falloff = 1.0f - (float) Math.sqrt(dx * dx + dy * dy) * inverseRadius;
+				if (falloff > 0) {
+					pixels[row + px] = blend(pixels[row + px], scaleAlpha(argb, falloff));
+				}
+			}
+		}
+
+		markDirty(startX, startY, endX, endY);
+	}
+
+	/**
+	 * Uploads the touched region, draws it onto the canvas and clears it for the next frame.
+	 */
+	void blit(GraphicsContext gc) {
+		if (!dirty) {
+			return;
+		}
+
+		int regionWidth = dirtyMaxX - dirtyMinX;
+		int regionHeight = dirtyMaxY - dirtyMinY;
+
+		image.getPixelWriter().setPixels(
+			dirtyMinX, dirtyMinY, regionWidth, regionHeight,
+			PixelFormat.getIntArgbPreInstance(),
+			pixels, dirtyMinY * width + dirtyMinX, width
+		);
+
+		gc.drawImage(
+			image,
+			dirtyMinX, dirtyMinY, regionWidth, regionHeight,
+			dirtyMinX, dirtyMinY, regionWidth, regionHeight
+		);
+		RenderStatistics.getInstance().countDrawImage();
+
+		for (int py = dirtyMinY; py < dirtyMaxY; py++) {
+			int row = py * width;
+			Arrays.fill(pixels, row + dirtyMinX, row + dirtyMaxX, 0);
+		}
+		dirty = false;
+	}
+
+	private void fillAxisAligned(float left, float top, float right, float bottom, int argb) {
+		// A pixel is covered when its center is inside the rectangle
+		int startX = Math.max(0, Math.round(left));
+		int startY = Math.max(0, Math.round(top));
+		int endX = Math.min(width, Math.round(right));
+		int endY = Math.min(height, Math.round(bottom));
+		if (startX >= endX || startY >= endY) {
+			return;
+		}
+
+		boolean opaque = (argb >>> 24) == 0xFF;
+		for (int py = startY; py < endY; py++) {
+			int row = py * width;
+			if (opaque) {
+				Arrays.fill(pixels, row + startX, row + endX, argb);
+				continue;
+			}
+			for (int px = startX; px < endX; px++) {
+				pixels[row + px] = blend(pixels[row + px], argb);
+			}
+		}
+
+		markDirty(startX, startY, endX, endY);
+	}
+
+	private void blendPixel(int x, int y, int argb) {
+		if (x < 0 || y < 0 || x >= width || y >= height || argb == 0) {
+			return;
+		}
+
+		int i = y * width + x;
+		pixels[i] = blend(pixels[i], argb);
+		markDirty(x, y, x + 1, y + 1);
+	}
+
+	private void markDirty(int minX, int minY, int maxX, int maxY) {
+		if (!dirty) {
+			dirtyMinX = minX;
+			dirtyMinY = minY;
+			dirtyMaxX = maxX;
+			dirtyMaxY = maxY;
+			dirty = true;
+			return;
+		}
+
+		dirtyMinX = Math.min(dirtyMinX, minX);
+		dirtyMinY = Math.min(dirtyMinY, minY);
+		dirtyMaxX = Math.max(dirtyMaxX, maxX);
+		dirtyMaxY = Math.max(dirtyMaxY, maxY);
+	}
+
+	/**
+	 * Source-over blending of two premultiplied ARGB colors.
+	 */
+	private static int blend(int dst, int src) {
+		int srcA = src >>> 24;
+		if (srcA == 0xFF) {
+			return src;
+		}
+
+		int inverse = 255 - srcA;
+		int a = srcA + ((dst >>> 24) * inverse + 127) / 255;
+		int r = ((src >> 16) & 0xFF) + (((dst >> 16) & 0xFF) * inverse + 127) / 255;
+		int g = ((src >> 8) & 0xFF) + (((dst >> 8) & 0xFF) * inverse + 127) / 255;
+		int b = (src & 0xFF) + ((dst & 0xFF) * inverse + 127) / 255;
+		return (a << 24) | (r << 16) | (g << 8) | b;
+	}
+
+	/**
+	 * Multiplies all channels of a premultiplied color by a factor between 0 and 1.
+	 */
+	private static int scaleAlpha(int argb, float factor) {
+		if (factor >= 1.0f) {
+			return argb;
+		}
+
+		int f = Math.round(factor * 256);
+		int a = ((argb >>> 24) * f) >> 8;
+		int r = (((argb >> 16) & 0xFF) * f) >> 8;
+		int g = (((argb >> 8) & 0xFF) * f) >> 8;
+		int b = ((argb & 0xFF) * f) >> 8;
+		return (a << 24) | (r << 16) | (g << 8) | b;
+	}
+
+	private static int toPremultipliedArgb(Color color) {
+		double opacity = color.getOpacity();
+		int a = (int) Math.round(opacity * 255);
+		int r = (int) Math.round(color.getRed() * opacity * 255);
+		int g = (int) Math.round(color.getGreen() * opacity * 255);
+		int b = (int) Math.round(color.getBlue() * opacity * 255);
+		return (a << 24) | (r << 16) | (g << 8) | b;
+	}
+}
@@ -3,21 +3,24 @@ package dk.sdu.sem.particlesystem;
 import dk.sdu.sem.commonparticle.Particle;
 import dk.sdu.sem.commonparticle.ParticleList;
 import dk.sdu.sem.commonparticle.ParticleQueueEntry;
+import dk.sdu.sem.commonparticle.ParticleShape;
 import dk.sdu.sem.commonsystem.NodeManager;
 import dk.sdu.sem.commonsystem.Vector2D;
+import dk.sdu.sem.gamesystem.GameConstants;
 import dk.sdu.sem.gamesystem.Time;
 import dk.sdu.sem.gamesystem.services.IGUIUpdate;
 import dk.sdu.sem.gamesystem.services.IUpdate;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
 
 import java.util.Set;
 
 public class ParticleSystem implements IUpdate, IGUIUpdate {
 	private static final Logging LOGGER = Logging.createLogger("ParticleSystem", LoggingLevel.DEBUG);
 
+	private final ParticleRasterizer rasterizer = new ParticleRasterizer();
+
 	@Override
 	public void update() {
 		Set<ParticlesNode> particles = NodeManager.active().getNodes(ParticlesNode.class);
@@ -52,27 +55,30 @@ public class ParticleSystem implements IUpdate, IGUIUpdate {
 	@Override
 	public void onGUI(GraphicsContext gc) {
 		Set<ParticlesNode> particles = NodeManager.active().getNodes(ParticlesNode.class);
+		if (particles.isEmpty()) {
+			return;
+		}
+
+		// The canvas is scaled to the window, particles are drawn in native coordinates
+		rasterizer.ensureSize(
+			GameConstants.WORLD_SIZE.x() * GameConstants.TILE_SIZE,
+			GameConstants.WORLD_SIZE.y() * GameConstants.TILE_SIZE
+		);
 
 		for (ParticlesNode node : particles) {
 			LOGGER.debug("onGui(node=%s)", node);
 			node.emitter.particles().forEachParticle(particle -> {
-				LOGGER.debug("Rendering particle at %f %f", particle.position().x(), particle.position().y());
-
-				gc.save();
-
-				float scale = particle.scale();
-				float rotation = particle.rotation();
 				Vector2D position = particle.position();
-				Color color = particle.color();
-
-				gc.translate(position.x(), position.y());
-				gc.rotate(rotation);
-				gc.scale(scale, scale);
-				gc.setFill(color);
 
-				gc.fillRect(-2, -2, 4, 4);
-				gc.restore();
+				if (particle.shape() == ParticleShape.SOFT_DOT) {
+					rasterizer.drawSoftDot(position.x(), position.y(), particle.scale(), particle.color());
+				} else {
+					rasterizer.drawSquare(position.x(), position.y(), particle.scale(), particle.rotation(), particle.color());
+				}
 			});
 		}
+
+		// All particles end up on the canvas in one draw call
+		rasterizer.blit(gc);
 	}
 }
@@ -4,6 +4,7 @@ import dk.sdu.sem.commonsystem.NodeManager;
 import dk.sdu.sem.commonsystem.Vector2D;
 import dk.sdu.sem.commonsystem.debug.IPathfindingRenderer;
 import dk.sdu.sem.gamesystem.GameConstants;
+import dk.sdu.sem.gamesystem.rendering.DebugDrawBuffer;
 import dk.sdu.sem.logging.Logging;
 import dk.sdu.sem.logging.LoggingLevel;
 import dk.sdu.sem.pathfindingsystem.PathfindingNode;
@@ -28,6 +29,9 @@ public class PathfindingDebugRenderer implements IPathfindingRenderer {
 	private static final Color ARROW_COLOR = Color.YELLOW;
 	private static final Color CURRENT_WAYPOINT_COLOR = Color.CYAN;
 
+	// Renderers are loaded anew every frame, so the buffer is shared
+	private static final DebugDrawBuffer buffer = new DebugDrawBuffer();
+
 	@Override
 	public void drawPaths(GraphicsContext gc) {
 		try {
@@ -44,149 +48,139 @@ public class PathfindingDebugRenderer implements IPathfindingRenderer {
 
 			for (PathfindingNode node : pathfindingNodes) {
 				List<Vector2D> route = node.pathfindingComponent.getRoute();
-				drawPathfindingRoute(gc, route, node);
+				drawPathfindingRoute(route, node);
 			}
+			buffer.flush(gc);
 
 		} catch (Exception e) {
 			LOGGER.error("Error drawing paths: " + e.getMessage());
 			e.printStackTrace();
+			buffer.clear();
 		}
 	}
 
-	private void drawPathfindingRoute(GraphicsContext gc, List<Vector2D> route, PathfindingNode node) {
+	private void drawPathfindingRoute(List<Vector2D> route, PathfindingNode node) {
 		// Only try to draw if there are at least 2 points
 		if (route == null || route.size() < 2) {
 			return;
 		}
 
-		// Draw the route as a line
-		gc.setStroke(PATH_COLOR);
-		gc.setLineWidth(3);
-
-		// Convert grid positions to world positions and draw lines connecting them
-		double[] xPoints = route.stream()
-			.map(v -> v.add(new Vector2D(0.5f, 0.5f)))
-			.map(this::toWorldPosition)
-			.map(Vector2D::x)
-			.mapToDouble(Double::valueOf)
-			.toArray();
-
-		double[] yPoints = route.stream()
-			.map(v -> v.add(new Vector2D(0.5f, 0.5f)))
-			.map(this::toWorldPosition)
-			.map(Vector2D::y)
-			.mapToDouble(Double::valueOf)
-			.toArray();
-
-		gc.strokePolyline(xPoints, yPoints, route.size());
+		// Draw the route as lines connecting the tile centers
+		float previousX = toWorldCenter(route.get(0).x());
+		float previousY = toWorldCenter(route.get(0).y());
+		for (int i = 1; i < route.size(); i++) {
+			float x = toWorldCenter(route.get(i).x());
+			float y = toWorldCenter(route.get(i).y());
+			buffer.line(previousX, previousY, x, y, PATH_COLOR, 3);
+			previousX = x;
+			previousY = y;
+		}
 
 		// Draw waypoints along the path
-		drawWaypoints(gc, route);
+		drawWaypoints(route);
 
 		// Draw start and end points with special markers
-		drawEndpoints(gc, route);
+		drawEndpoints(route);
 
 		// Draw the current waypoint the entity is moving toward
-		drawCurrentWaypoint(gc, route, node);
+		drawCurrentWaypoint(route, node);
 
 		// Draw directional arrows along the path
-		drawDirectionalArrows(gc, route);
+		drawDirectionalArrows(route);
 	}
 
-	private void drawWaypoints(GraphicsContext gc, List<Vector2D> route) {
-		gc.setFill(WAYPOINT_COLOR);
-
+	private void drawWaypoints(List<Vector2D> route) {
 		for (int i = 1; i < route.size() - 1; i++) {
-			Vector2D pos = toWorldPosition(route.get(i).add(new Vector2D(0.5f, 0.5f)));
-			gc.fillOval(pos.x() - 3, pos.y() - 3, 6, 6);
+			float x = toWorldCenter(route.get(i).x());
+			float y = toWorldCenter(route.get(i).y());
+			buffer.fillCircle(x, y, 3, WAYPOINT_COLOR);
 
 			// Draw waypoint indices
-			gc.setFill(LABEL_COLOR);
-			gc.fillText(String.valueOf(i), pos.x() + 5, pos.y() - 5);
-			gc.setFill(WAYPOINT_COLOR);
+			buffer.text(String.valueOf(i), x + 5, y - 5, LABEL_COLOR);
 		}
 	}
 
-	private void drawEndpoints(GraphicsContext gc, List<Vector2D> route) {
+	private void drawEndpoints(List<Vector2D> route) {
 		if (route.isEmpty()) return;
 
-		Vector2D start = toWorldPosition(route.get(0).add(new Vector2D(0.5f, 0.5f)));
-		Vector2D end = toWorldPosition(route.get(route.size() - 1).add(new Vector2D(0.5f, 0.5f)));
+		Vector2D start = route.get(0);
+		Vector2D end = route.get(route.size() - 1);
+		float startX = toWorldCenter(start.x());
+		float startY = toWorldCenter(start.y());
+		float endX = toWorldCenter(end.x());
+		float endY = toWorldCenter(end.y());
 
-		// Start point
-		gc.setFill(START_COLOR);
-		gc.fillOval(start.x() - 5, start.y() - 5, 10, 10);
-
-		// End point
-		gc.setFill(GOAL_COLOR);
-		gc.fillOval(end.x() - 5, end.y() - 5, 10, 10);
+		buffer.fillCircle(startX, startY, 5, START_COLOR);
+		buffer.fillCircle(endX, endY, 5, GOAL_COLOR);
 
 		// Labels
-		gc.setFill(LABEL_COLOR);
-		gc.fillText("START", start.x() + 10, start.y() - 5);
-		gc.fillText("GOAL", end.x() + 10, end.y() - 5);
+		buffer.text("START", startX + 10, startY - 5, LABEL_COLOR);
+		buffer.text("GOAL", endX + 10, endY - 5, LABEL_COLOR);
 	}
 
-	private void drawCurrentWaypoint(GraphicsContext gc, List<Vector2D> route, PathfindingNode node) {
+	private void drawCurrentWaypoint(List<Vector2D> route, PathfindingNode node) {
 		int currentIndex = node.pathfindingComponent.getCurrentPathIndex();
 
 		if (currentIndex >= 0 && currentIndex < route.size()) {
-			Vector2D pos = toWorldPosition(route.get(currentIndex).add(new Vector2D(0.5f, 0.5f)));
+			float x = toWorldCenter(route.get(currentIndex).x());
+			float y = toWorldCenter(route.get(currentIndex).y());
 
 			// Draw highlight around current waypoint
-			gc.setStroke(CURRENT_WAYPOINT_COLOR);
-			gc.setLineWidth(2);
-			gc.strokeOval(pos.x() - 7, pos.y() - 7, 14, 14);
+			buffer.circle(x, y, 7, CURRENT_WAYPOINT_COLOR, 2);
 
 			// Draw label
-			gc.setFill(CURRENT_WAYPOINT_COLOR);
-			gc.fillText("CURRENT", pos.x() + 10, pos.y() + 15);
+			buffer.text("CURRENT", x + 10, y + 15, CURRENT_WAYPOINT_COLOR);
 		}
 	}
 
-	private void drawDirectionalArrows(GraphicsContext gc, List<Vector2D> route) {
+	private void drawDirectionalArrows(List<Vector2D> route) {
 		if (route.size() < 2) return;
 
-		gc.setStroke(ARROW_COLOR);
-		gc.setLineWidth(1.5);
+		float arrowSize = 4;
 
 		for (int i = 0; i < route.size() - 1; i++) {
-			Vector2D current = toWorldPosition(route.get(i).add(new Vector2D(0.5f, 0.5f)));
-			Vector2D next = toWorldPosition(route.get(i + 1).add(new Vector2D(0.5f, 0.5f)));
+			float currentX = toWorldCenter(route.get(i).x());
+			float currentY = toWorldCenter(route.get(i).y());
+			float nextX = toWorldCenter(route.get(i + 1).x());
+			float nextY = toWorldCenter(route.get(i + 1).y());
 
 			// Calculate direction vector
-			Vector2D direction = next.subtract(current);
+			float dx = nextX - currentX;
+			float dy = nextY - currentY;
+			float lengthSquared = dx * dx + dy * dy;
 
 			// Skip very short segments
-			if (direction.magnitudeSquared() < 100) continue;
+			if (lengthSquared < 100) continue;
 
-			// Normalize and scale to arrow length
-			direction = direction.normalize().scale(10);
+			// Normalize
+			float length = (float) Math.sqrt(lengthSquared);
+			float dirX = dx / length;
+			float dirY = dy / length;
 
-			// Calculate midpoint of segment for arrow placement
-			Vector2D midpoint = current.add(next).scale(0.5f);
+			// Arrow of length 10 starting at the midpoint of the segment
+			float midX = (currentX + nextX) * 0.5f;
+			float midY = (currentY + nextY) * 0.5f;
+			float tipX = midX + dirX * 10;
+			float tipY = midY + dirY * 10;
 
 			// Draw arrow line
-			gc.strokeLine(midpoint.x(), midpoint.y(),
-				midpoint.x() + direction.x(), midpoint.y() + direction.y());
+			buffer.line(midX, midY, tipX, tipY, ARROW_COLOR, 1.5f);
 
 			// Draw arrowhead
-			double arrowSize = 4;
-			Vector2D dir = direction.normalize();
-			Vector2D perpendicular = new Vector2D(-dir.y(), dir.x());
-
-			Vector2D arrowTip = midpoint.add(direction);
-			Vector2D arrowLeft = arrowTip.subtract(dir.scale((float)arrowSize))
-				.add(perpendicular.scale((float)arrowSize * 0.5f));
-			Vector2D arrowRight = arrowTip.subtract(dir.scale((float)arrowSize))
-				.subtract(perpendicular.scale((float)arrowSize * 0.5f));
-
-			gc.strokeLine(arrowTip.x(), arrowTip.y(), arrowLeft.x(), arrowLeft.y());
-			gc.strokeLine(arrowTip.x(), arrowTip.y(), arrowRight.x(), arrowRight.y());
+			float backX = tipX - dirX * arrowSize;
+			float backY = tipY - dirY * arrowSize;
+			float sideX = -dirY * arrowSize * 0.5f;
+			float sideY = dirX * arrowSize * 0.5f;
+
+			buffer.line(tipX, tipY, backX + sideX, backY + sideY, ARROW_COLOR, 1.5f);
+			buffer.line(tipX, tipY, backX - sideX, backY - sideY, ARROW_COLOR, 1.5f);
 		}
 	}
 
-	private Vector2D toWorldPosition(Vector2D position) {
-		return position.scale((float) TILE_SIZE);
+	/**
+	 * Converts a grid coordinate to the world coordinate of the tile center.
+	 */
+	private float toWorldCenter(float gridCoordinate) {
+		return (gridCoordinate + 0.5f) * TILE_SIZE;
 	}
-}
\ No newline at end of file
+}
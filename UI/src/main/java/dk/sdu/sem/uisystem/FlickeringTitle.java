@@ -0,0 +1,211 @@
+package dk.sdu.sem.uisystem;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.effect.BlendMode;
+import javafx.scene.effect.Light;
+import javafx.scene.effect.Lighting;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+import javafx.util.Duration;
+
+import java.util.Random;
+
+/**
+ * The title image lit by two flickering torches.
+ * The light of each torch is added onto the other, so each torch is pre-rendered on its own
+ * at a fixed set of intensities when the title is created. While flickering, the two levels
+ * around each torch's intensity are cross-faded, so the timer only changes opacities.
+ * Levels are rendered at the size the title is displayed at, and again when that changes.
+ * The timer only runs while the title is shown.
+ */
+class FlickeringTitle {
+	// Number of pre-rendered intensities of each torch
+	private static final int LEVELS = 8;
+
+	private static final double FLICKER_SPEED = 0.03; // Chance per frame of picking a new target
+	private static final double FLICKER_AMPLITUDE = 1.5; // How much it flickers
+	private static final double FLICKER_SMOOTHNESS = 0.01; // Smoothing factor for gradual transition
+
+	// Horizontal positions of the torches in the unscaled title
+	private static final double[] TORCH_X = {125, 585};
+
+	// How long the displayed size has to stay put before the levels are rendered again
+	private static final Duration RERENDER_DELAY = Duration.millis(250);
+
+	private final Random random = new Random();
+	private final Image source;
+	private final double width;
+
+	// Pre-rendered levels of each torch, and the scale they were rendered at
+	private final Image[][] levels = new Image[TORCH_X.length][LEVELS];
+	private double renderedScale;
+
+	// Two views per torch, showing the levels below and above its intensity
+	private final ImageView[] lowerViews = new ImageView[TORCH_X.length];
+	private final ImageView[] upperViews = new ImageView[TORCH_X.length];
+	private final int[] shownLevels = new int[TORCH_X.length];
+	private final Group view = new Group();
+
+	private final double[] currentFlicker = {1, 1};
+	private final double[] targetFlicker = {1, 1};
+
+	private final AnimationTimer timer;
+	private final PauseTransition rerender = new PauseTransition(RERENDER_DELAY);
+	private double pendingScale;
+
+	/**
+	 * @param source The unlit title image
+	 * @param width Width the title is shown at before menu scaling
+	 * @param renderScale Scale of the screen, used until the title knows the size it is displayed at
+	 */
+	FlickeringTitle(Image source, double width, double renderScale) {
+		this.source = source;
+		this.width = width;
+
+		// Views are added onto each other in isolation, so only the title is lit and not what is behind it
+		view.setBlendMode(BlendMode.SRC_OVER);
+		for (int torch = 0; torch < TORCH_X.length; torch++) {
+			lowerViews[torch] = createLevelView();
+			upperViews[torch] = createLevelView();
+			view.getChildren().addAll(lowerViews[torch], upperViews[torch]);
+			shownLevels[torch] = -1;
+		}
+
+		renderLevels(renderScale);
+
+		timer = new AnimationTimer() {
+			@Override
+			public void handle(long now) {
+				flicker();
+			}
+		};
+
+		// Render the levels again once the title has settled at another displayed size
+		rerender.setOnFinished(event -> renderLevels(pendingScale));
+		view.localToSceneTransformProperty().addListener((observable, oldTransform, transform) -> onDisplayScaleChanged());
+		view.sceneProperty().addListener((observable, oldScene, scene) -> onDisplayScaleChanged());
+	}
+
+	Node getView() {
+		return view;
+	}
+
+	void start() {
+		timer.start();
+	}
+
+	void stop() {
+		timer.stop();
+	}
+
+	private ImageView createLevelView() {
+		ImageView levelView = new ImageView();
+		levelView.setPreserveRatio(true);
+		levelView.setFitWidth(width);
+		levelView.setBlendMode(BlendMode.ADD);
+		return levelView;
+	}
+
+	private void flicker() {
+		for (int torch = 0; torch < TORCH_X.length; torch++) {
+			if (random.nextDouble() < FLICKER_SPEED) {
+				targetFlicker[torch] = 1 + (random.nextDouble() - 0.5) * FLICKER_AMPLITUDE;
+			}
+
+			// Smoothly interpolate towards the new flicker target value
+			currentFlicker[torch] += (targetFlicker[torch] - currentFlicker[torch]) * FLICKER_SMOOTHNESS;
+
+			// Clamp the values between 0 and 1 to avoid invalid z-pos
+			currentFlicker[torch] = Math.max(0, Math.min(1, currentFlicker[torch]));
+		}
+
+		showFlicker();
+	}
+
+	/**
+	 * Cross-fades the two levels around each torch's current intensity.
+	 */
+	private void showFlicker() {
+		for (int torch = 0; torch < TORCH_X.length; torch++) {
+			double position = currentFlicker[torch] * (LEVELS - 1);
+			int lower = Math.min(LEVELS - 2, (int) position);
+			double blend = position - lower;
+
+			// Images are only swapped when the intensity moves past a level
+			if (lower != shownLevels[torch]) {
+				lowerViews[torch].setImage(levels[torch][lower]);
+				upperViews[torch].setImage(levels[torch][lower + 1]);
+				shownLevels[torch] = lower;
+			}
+
+			lowerViews[torch].setOpacity(1 - blend);
+			upperViews[torch].setOpacity(blend);
+		}
+	}
+
+	private void onDisplayScaleChanged() {
+		double scale = getDisplayScale();
+		if (scale <= 0 || Math.abs(scale - renderedScale) < 0.01) {
+			rerender.stop();
+			return;
+		}
+
+		pendingScale = scale;
+		rerender.playFromStart();
+	}
+
+	/**
+	 * Returns how many screen pixels a pixel of the unscaled title covers.
+	 */
+	private double getDisplayScale() {
+		if (view.getScene() == null || view.getScene().getWindow() == null) {
+			return 0;
+		}
+		return view.getLocalToSceneTransform().getMxx() * view.getScene().getWindow().getOutputScaleX();
+	}
+
+	/**
+	 * Renders every level of both torches at a scale.
+	 */
+	private void renderLevels(double scale) {
+		for (int torch = 0; torch < TORCH_X.length; torch++) {
+			for (int level = 0; level < LEVELS; level++) {
+				levels[torch][level] = render(TORCH_X[torch], level / (double) (LEVELS - 1), scale);
+			}
+			shownLevels[torch] = -1;
+		}
+		renderedScale = scale;
+
+		showFlicker();
+	}
+
+	private Image render(double torchX, double flicker, double scale) {
+		ImageView lit = new ImageView(source);
+		lit.setPreserveRatio(true);
+		lit.setFitWidth(width);
+
+		Lighting lighting = new Lighting();
+		lighting.setLight(createTorch(torchX, flicker, scale));
+		lit.setEffect(lighting);
+
+		SnapshotParameters parameters = new SnapshotParameters();
+		parameters.setFill(Color.TRANSPARENT);
+		parameters.setTransform(Transform.scale(scale, scale));
+		return lit.snapshot(parameters, null);
+	}
+
+	private Light.Point createTorch(double x, double flicker, double scale) {
+		Light.Point light = new Light.Point();
+		light.setX(x * scale);
+		light.setY(280 * scale);
+		light.setZ(120 * flicker * scale);
+		light.setColor(new Color(1, 0.8, 0.7, 1));
+		return light;
+	}
+}
@@ -1,9 +1,12 @@
 package dk.sdu.sem.uisystem;
 
+import dk.sdu.sem.commonstats.StatsComponent;
 import dk.sdu.sem.commonsystem.NodeManager;
 import dk.sdu.sem.gamesystem.Time;
 import dk.sdu.sem.gamesystem.assets.AssetFacade;
 import dk.sdu.sem.gamesystem.assets.providers.IAssetProvider;
+import dk.sdu.sem.gamesystem.rendering.RetainedLayer;
+import dk.sdu.sem.gamesystem.rendering.Sprite;
 import dk.sdu.sem.gamesystem.rendering.SpriteAnimation;
 import dk.sdu.sem.gamesystem.rendering.SpriteMap;
 import dk.sdu.sem.gamesystem.services.IGUIUpdate;
@@ -14,17 +17,69 @@ import javafx.scene.canvas.GraphicsContext;
 import java.util.ArrayList;
 
 public class HealthBar implements IGUIUpdate, IStart, IAssetProvider {
+	private static final int HEARTS_PER_ROW = 6;
+	private static final int HEART_SIZE = 34;
+	private static final int ROW_SPACING = 17;
+	private static final int ROW_OFFSET = 8;
+
 	ArrayList<SpriteAnimation> hearts = new ArrayList<>();
 
 	int lastHP;
 	int lastMax;
 
+	// The hearts are drawn into this layer and only redrawn when health changes or a heart animates
+	private final RetainedLayer layer = new RetainedLayer();
+	private StatsComponent lastStats;
+	private int lastVersion = -1;
+
 	@Override
 	public void onGUI(GraphicsContext gc) {
 		HealthBarNode node = NodeManager.active().getNodes(HealthBarNode.class).stream().findFirst().orElse(null);
 		if (node == null)
 			return;
 
+		int version = node.stats.getVersion();
+		boolean statsChanged = version != lastVersion || node.stats != lastStats;
+		lastVersion = version;
+		lastStats = node.stats;
+
+		if (statsChanged)
+			updateHearts(node);
+
+		// Hearts only change while one of them is animating
+		boolean animating = false;
+		for (SpriteAnimation animation : hearts) {
+			if (animation.isPlaying()) {
+				animation.update(Time.getDeltaTime());
+				animating = true;
+			}
+		}
+
+		if (statsChanged || animating || layer.isStale(version)) {
+			int rows = (hearts.size() + HEARTS_PER_ROW - 1) / HEARTS_PER_ROW;
+			layer.redraw(HEARTS_PER_ROW * HEART_SIZE + ROW_OFFSET, Math.max(0, rows - 1) * ROW_SPACING + HEART_SIZE, version, this::drawHearts);
+		}
+
+		layer.draw(gc, 0, 0);
+
+		// Debug controls
+		/*
+		if (Input.getKeyDown(Key.MOUSE1)) {
+			node.stats.setCurrentHealth(node.stats.getCurrentHealth() -1);
+		}
+		if (Input.getKeyDown(Key.MOUSE2)) {
+			node.stats.setCurrentHealth(node.stats.getCurrentHealth() + 1);
+		}
+		if (Input.getKeyDown(Key.UP)) {
+			node.stats.setMaxHealth(node.stats.getMaxHealth() + 1);
+		}
+		if (Input.getKeyDown(Key.DOWN)) {
+			node.stats.setMaxHealth(node.stats.getMaxHealth() - 1);
+		}
+		 */
+	}
+
+	private void updateHearts(HealthBarNode node) {
 		int max = (int)node.stats.getMaxHealth();
 
 		if (max > lastMax && max > 0) {
@@ -60,38 +115,25 @@ public class HealthBar implements IGUIUpdate, IStart, IAssetProvider {
 		}
 
 		lastHP = hp;
+	}
 
+	private void drawHearts(GraphicsContext gc) {
 		int i = 0;
 		int j = 0;
 		for (SpriteAnimation animation : hearts) {
-			animation.update(Time.getDeltaTime());
-
-			if (i > 5) {
+			if (i >= HEARTS_PER_ROW) {
 				j++;
 				i = 0;
 			}
 
-			Rectangle2D rect = animation.getCurrentFrame().getSourceRect();
-			gc.drawImage(animation.getCurrentFrame().getImage(), rect.getMinX(), rect.getMinY(), rect.getWidth(), rect.getHeight(), i * 34 + ((j % 2) * 8), j * 17, 34, 34);
+			Sprite frame = animation.getCurrentFrame();
+			if (frame != null) {
+				Rectangle2D rect = frame.getSourceRect();
+				gc.drawImage(frame.getImage(), rect.getMinX(), rect.getMinY(), rect.getWidth(), rect.getHeight(), i * HEART_SIZE + ((j % 2) * ROW_OFFSET), j * ROW_SPACING, HEART_SIZE, HEART_SIZE);
+			}
 
 			i++;
 		}
-
-		// Debug controls
-		/*
-		if (Input.getKeyDown(Key.MOUSE1)) {
-			node.stats.setCurrentHealth(node.stats.getCurrentHealth() -1);
-		}
-		if (Input.getKeyDown(Key.MOUSE2)) {
-			node.stats.setCurrentHealth(node.stats.getCurrentHealth() + 1);
-		}
-		if (Input.getKeyDown(Key.UP)) {
-			node.stats.setMaxHealth(node.stats.getMaxHealth() + 1);
-		}
-		if (Input.getKeyDown(Key.DOWN)) {
-			node.stats.setMaxHealth(node.stats.getMaxHealth() - 1);
-		}
-		 */
 	}
 
 	@Override
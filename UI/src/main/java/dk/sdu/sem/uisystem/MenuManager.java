@@ -1,33 +1,30 @@
 package dk.sdu.sem.uisystem;
 
-import dk.sdu.sem.commonsystem.Vector2D;
 import dk.sdu.sem.commonsystem.ui.IMenuSPI;
 import dk.sdu.sem.gamesystem.Game;
 import dk.sdu.sem.gamesystem.GameConstants;
-import javafx.animation.AnimationTimer;
+import dk.sdu.sem.gamesystem.assets.AssetFacade;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.DoubleBinding;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.CacheHint;
 import javafx.scene.Cursor;
 import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
-import javafx.scene.effect.*;
+import javafx.scene.effect.BoxBlur;
+import javafx.scene.effect.Glow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
-import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
-import java.awt.*;
-import java.util.Objects;
-import java.util.Random;
+import java.awt.GraphicsEnvironment;
 
 public class MenuManager implements IMenuSPI {
-	private final Random random = new Random();
-
 	private final double baseWidth = GameConstants.WORLD_SIZE.x() * GameConstants.TILE_SIZE;
 	private final double baseHeight = GameConstants.WORLD_SIZE.y() * GameConstants.TILE_SIZE;
 
@@ -47,7 +44,7 @@ public class MenuManager implements IMenuSPI {
 				stage.setHeight(baseHeight);
 
 				startMenu = new StackPane();
-				Image image = new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/background.png")));
+				Image image = loadImage("background");
 
 				root.getChildren().add(startMenu);
 
@@ -59,14 +56,14 @@ public class MenuManager implements IMenuSPI {
 				vbox.setAlignment(Pos.CENTER);
 				vbox.setSpacing(10);
 
-				ImageView view = new ImageView(new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/title_text.png"))));
-				view.setPreserveRatio(true);
-				view.setFitWidth(baseWidth - 50);
+				// The lit title is pre-rendered at the size it is shown at, so the lighting is not computed every frame
+				FlickeringTitle title = new FlickeringTitle(loadImage("title_text"), baseWidth - 50, getScreenScale());
+				Node view = title.getView();
 				VBox.setMargin(view, new Insets(0, 0, -160, 0));
 				vbox.getChildren().add(view);
 
 				//region Start button
-				Button startButton = createButton(new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/start_button.png"))));
+				Button startButton = createButton(loadImage("start_button"));
 				vbox.getChildren().add(startButton);
 
 				startButton.setOnAction(event -> {
@@ -77,12 +74,12 @@ public class MenuManager implements IMenuSPI {
 				//endregion
 
 				//region Options button
-				Button optionsButton = createButton(new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/options_button.png"))));
+				Button optionsButton = createButton(loadImage("options_button"));
 				vbox.getChildren().add(optionsButton);
 				//endregion
 
 				//region Quit button
-				Button quitButton = createButton(new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/quit_button.png"))));
+				Button quitButton = createButton(loadImage("quit_button"));
 				vbox.getChildren().add(quitButton);
 
 				quitButton.setOnAction(event -> {
@@ -108,70 +105,15 @@ public class MenuManager implements IMenuSPI {
 					scalingGroup.scaleYProperty().bind(scaleBinding);
 				});
 
-				Vector2D scale = new Vector2D(1, 1);
-				if (!GraphicsEnvironment.isHeadless()) {
-					var gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration().getDefaultTransform();
-					scale = new Vector2D((float) gc.getScaleX(), (float) gc.getScaleY());
-				}
-
-				Light.Point l1 = new Light.Point();
-				l1.xProperty().bind(scalingGroup.scaleXProperty().multiply(125 * scale.x()));
-				l1.yProperty().bind(scalingGroup.scaleYProperty().multiply(280 * scale.y()));
-				l1.setZ(5);
-				l1.setColor(new Color(1,0.8,0.7,1));
-
-				Light.Point l2 = new Light.Point();
-				l2.xProperty().bind(scalingGroup.scaleXProperty().multiply(585 * scale.x()));
-				l2.yProperty().bind(scalingGroup.scaleYProperty().multiply(280 * scale.y()));
-				l2.setZ(5);
-				l2.setColor(new Color(1,0.8,0.7,1));
-
-				Vector2D finalScale = scale;
-				AnimationTimer timer = new AnimationTimer() {
-					private double currentFlicker1 = 1; // Current flicker intensity for light 1
-					private double currentFlicker2 = 1; // Current flicker intensity for light 2
-					private double targetFlicker1 = 1; // Target flicker intensity for light 1
-					private double targetFlicker2 = 1; // Target flicker intensity for light 2
-					final double flickerSpeed = 0.03; // Speed of the flicker
-					final double flickerAmplitude = 1.5; // Amplitude of the flicker (how much it flickers)
-					final double flickerSmoothness = 0.01; // Smoothing factor for gradual transition
-
-					@Override
-					public void handle(long l) {
-						if (random.nextDouble() < flickerSpeed) {
-							targetFlicker1 = 1 + (random.nextDouble() - 0.5) * flickerAmplitude;
-						}
-
-						if (random.nextDouble() < flickerSpeed) {
-							targetFlicker2 = 1 + (random.nextDouble() - 0.5) * flickerAmplitude;
-						}
-
-						// Smoothly interpolate towards the new flicker target value
-						currentFlicker1 += (targetFlicker1 - currentFlicker1) * flickerSmoothness;
-						currentFlicker2 += (targetFlicker2 - currentFlicker2) * flickerSmoothness;
-
-						// Clamp the values between 0 and 1 to avoid invalid z-pos
-						currentFlicker1 = Math.max(0, Math.min(1, currentFlicker1));
-						currentFlicker2 = Math.max(0, Math.min(1, currentFlicker2));
-
-						l1.setZ(120 * currentFlicker1 * scalingGroup.getScaleX() * finalScale.x());
-						l2.setZ(120 * currentFlicker2 * scalingGroup.getScaleX() * finalScale.x());
+				// Only flicker while the menu can be seen
+				title.start();
+				startMenu.visibleProperty().addListener((observable, wasVisible, isVisible) -> {
+					if (isVisible) {
+						title.start();
+					} else {
+						title.stop();
 					}
-				};
-
-				Lighting light1 = new Lighting();
-				light1.setLight(l1);
-
-				Lighting light2 = new Lighting();
-				light2.setLight(l2);
-
-				Blend blend = new Blend(BlendMode.ADD);
-				blend.setTopInput(light1);
-				blend.setBottomInput(light2);
-
-				view.setEffect(blend);
-
-				timer.start();
+				});
 			}
 
 			startMenu.setVisible(true);
@@ -191,12 +133,10 @@ public class MenuManager implements IMenuSPI {
 		button.setGraphic(startImage);
 		button.setStyle("-fx-focus-color: transparent; -fx-background-color: transparent;");
 
-		// Hover effects
-		ColorAdjust colorAdjust = new ColorAdjust();
-		startImage.setEffect(colorAdjust);
-
-		button.setOnMouseEntered(e -> colorAdjust.setInput(new Glow(10))); // brighter on hover
-		button.setOnMouseExited(e -> colorAdjust.setInput(null)); // back to normal
+		// Hover effects, only applied while hovered so idle buttons have no effect to compute
+		Glow glow = new Glow(10);
+		button.setOnMouseEntered(e -> startImage.setEffect(glow)); // brighter on hover
+		button.setOnMouseExited(e -> startImage.setEffect(null)); // back to normal
 
 		return button;
 	}
@@ -217,7 +157,7 @@ public class MenuManager implements IMenuSPI {
 			vbox.setSpacing(10);
 
 			//region Start button
-			Button resumeButton = createButton(new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/resume_button.png"))));
+			Button resumeButton = createButton(loadImage("resume_button"));
 			vbox.getChildren().add(resumeButton);
 
 			resumeButton.setOnAction(event -> {
@@ -227,7 +167,7 @@ public class MenuManager implements IMenuSPI {
 			//endregion
 
 			//region Restart button
-			Button restartButton = createButton(new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/restart_button.png"))));
+			Button restartButton = createButton(loadImage("restart_button"));
 			vbox.getChildren().add(restartButton);
 
 			restartButton.setOnAction(event -> {
@@ -238,7 +178,7 @@ public class MenuManager implements IMenuSPI {
 			//endregion
 
 			//region Quit button
-			Button quitButton = createButton(new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/quit_button.png"))));
+			Button quitButton = createButton(loadImage("quit_button"));
 			vbox.getChildren().add(quitButton);
 
 			quitButton.setOnAction(event -> {
@@ -279,7 +219,7 @@ public class MenuManager implements IMenuSPI {
 		if (pauseOverlay != null) {
 			pauseOverlay.setVisible(false);
 		}
-		Game.getInstance().getCanvas().setEffect(null);
+		clearBlur();
 		scene.setCursor(Cursor.NONE);
 	}
 
@@ -299,7 +239,7 @@ public class MenuManager implements IMenuSPI {
 			vbox.setSpacing(10);
 
 			//region Game Over Text
-			ImageView view = new ImageView(new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/game_over_text.png"))));
+			ImageView view = new ImageView(loadImage("game_over_text"));
 			view.setPreserveRatio(true);
 			view.setFitWidth(baseWidth - 50);
 			VBox.setMargin(view, new Insets(0, 0, -220, 0));
@@ -307,7 +247,7 @@ public class MenuManager implements IMenuSPI {
 			//endregion
 
 			//region Restart button
-			Button restartButton = createButton(new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/restart_button.png"))));
+			Button restartButton = createButton(loadImage("restart_button"));
 			vbox.getChildren().add(restartButton);
 
 			restartButton.setOnAction(event -> {
@@ -318,7 +258,7 @@ public class MenuManager implements IMenuSPI {
 			//endregion
 
 			//region Quit button
-			Button quitButton = createButton(new Image(Objects.requireNonNull(MenuManager.class.getResourceAsStream("/quit_button.png"))));
+			Button quitButton = createButton(loadImage("quit_button"));
 			vbox.getChildren().add(quitButton);
 
 			quitButton.setOnAction(event -> {
@@ -360,7 +300,7 @@ public class MenuManager implements IMenuSPI {
 			gameOverOverlay.setVisible(false);
 		}
 
-		Game.getInstance().getCanvas().setEffect(null);
+		clearBlur();
 
 		scene.setCursor(Cursor.NONE);
 	}
@@ -368,6 +308,33 @@ public class MenuManager implements IMenuSPI {
 	private void blurBackground() {
 		BoxBlur blur = new BoxBlur(5, 5, 3);
 
-		Game.getInstance().getCanvas().setEffect(blur);
+		// The game does not draw while a menu is shown, so the blurred view is cached as an image
+		// instead of being blurred again whenever the menu redraws
+		Node view = Game.getInstance().getCanvasLayers().getRoot();
+		view.setEffect(blur);
+		view.setCacheHint(CacheHint.QUALITY);
+		view.setCache(true);
+	}
+
+	private void clearBlur() {
+		Node view = Game.getInstance().getCanvasLayers().getRoot();
+		view.setEffect(null);
+		view.setCache(false);
+	}
+
+	/**
+	 * Loads a menu image once through the asset system, so menus share it and showing
+	 * a menu again does not decode it again.
+	 */
+	private static Image loadImage(String name) {
+		return AssetFacade.preloadAsType(name, Image.class);
+	}
+
+	private static double getScreenScale() {
+		if (GraphicsEnvironment.isHeadless()) {
+			return 1;
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+			.getDefaultConfiguration().getDefaultTransform().getScaleX();
 	}
 }
\ No newline at end of file